@@ -0,0 +1,90 @@
+package cn.lrnev.clientstartverify.benchmarks;
+
+import cn.lrnev.clientstartverify.cache.FingerprintCache;
+import cn.lrnev.clientstartverify.command.RecordedCommandRunner;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.detector.OperatingSystemDetector;
+import cn.lrnev.clientstartverify.detector.ProbeExecutors;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 硬件指纹采集
+ * <p>
+ * {@code fakeCommands} 中 sysfs 指向空目录，全部回退到录制的命令输出，衡量检测器自身的调度与解析开销；
+ * {@code realSysfs} 读取本机 sysfs，命令全部按不存在处理，衡量真实的文件读取开销；
+ * {@code sysfsReads} 只读取 sysfs，不经过检测器。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 16:12
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FingerprintCollectionBenchmark {
+
+    private ExecutorService executor;
+    private Path emptySysfs;
+    private OperatingSystemDetector fakeCommands;
+    private OperatingSystemDetector realSysfs;
+    private LinuxSysfsReader sysfs;
+    private ConfigurableEnvironment environment;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        executor = ProbeExecutors.create(ProbeExecutors.DEFAULT_CONCURRENCY, true);
+        emptySysfs = Files.createTempDirectory("start-verify-sysfs");
+        fakeCommands = new OperatingSystemDetector(Fixtures.linuxCommands(), new LinuxSysfsReader(emptySysfs),
+                executor, FingerprintCache.disabled());
+        sysfs = new LinuxSysfsReader();
+        realSysfs = new OperatingSystemDetector(new RecordedCommandRunner(), sysfs, executor,
+                FingerprintCache.disabled());
+        environment = Fixtures.environment();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        Files.deleteIfExists(emptySysfs);
+    }
+
+    @Benchmark
+    public StarterRequest fakeCommands() {
+        return fakeCommands.detect(environment);
+    }
+
+    @Benchmark
+    public StarterRequest realSysfs() {
+        return realSysfs.detect(environment);
+    }
+
+    @Benchmark
+    public void sysfsReads(Blackhole blackhole) {
+        blackhole.consume(sysfs.readBoardSerial());
+        blackhole.consume(sysfs.readSmbiosTable());
+        blackhole.consume(sysfs.readDiskSerials());
+        blackhole.consume(sysfs.readNicAddresses());
+    }
+}
@@ -0,0 +1,83 @@
+package cn.lrnev.clientstartverify.benchmarks;
+
+import cn.lrnev.clientstartverify.command.RecordedCommandRunner;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+/**
+ * 基准测试共用的录制命令输出、应用环境与请求
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 16:10
+ **/
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * @return 录制了一台双路服务器 dmidecode/lsblk/ip 输出的命令执行器
+     */
+    static RecordedCommandRunner linuxCommands() {
+        return new RecordedCommandRunner()
+                .record("sudo -n dmidecode -s baseboard-serial-number", ".5KQ8G13.CNFCW0019N001G.")
+                .record("sudo -n dmidecode -t processor",
+                        "# dmidecode 3.3",
+                        "Handle 0x0400, DMI type 4, 48 bytes",
+                        "Processor Information",
+                        "\tSocket Designation: CPU1",
+                        "\tID: 54 06 05 00 FF FB EB BF",
+                        "Handle 0x0401, DMI type 4, 48 bytes",
+                        "Processor Information",
+                        "\tSocket Designation: CPU2",
+                        "\tID: 54 06 05 00 FF FB EB BF")
+                .record("sudo -n dmidecode -t memory",
+                        "Memory Device",
+                        "\tSerial Number: 3A1F0C2B",
+                        "Memory Device",
+                        "\tSerial Number: 3A1F0D77",
+                        "Memory Device",
+                        "\tSerial Number: Not Specified")
+                .record("sudo -n lsblk -ndo SERIAL", "", "WD-WCC4E1234567", "S4EWNX0N123456", "")
+                .record("ip link show",
+                        "1: lo: <LOOPBACK,UP,LOWER_UP> mtu 65536 qdisc noqueue state UNKNOWN mode DEFAULT group default qlen 1000",
+                        "    link/loopback 00:00:00:00:00:00 brd 00:00:00:00:00:00",
+                        "2: eth0: <BROADCAST,MULTICAST,UP,LOWER_UP> mtu 1500 qdisc fq_codel state UP mode DEFAULT group default qlen 1000",
+                        "    link/ether 52:54:00:aa:bb:01 brd ff:ff:ff:ff:ff:ff",
+                        "3: eth1: <BROADCAST,MULTICAST,UP,LOWER_UP> mtu 1500 qdisc fq_codel state UP mode DEFAULT group default qlen 1000",
+                        "    link/ether 52:54:00:aa:bb:02 brd ff:ff:ff:ff:ff:ff");
+    }
+
+    /**
+     * @return 包含端口、客户与项目的应用环境
+     */
+    static StandardEnvironment environment() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "server.port", "8080",
+                "start-verify.customer", "Mada",
+                "start-verify.project", "GGSC")));
+        return environment;
+    }
+
+    /**
+     * @return 字段齐全的请求
+     */
+    static StarterRequest request() {
+        StarterRequest request = new StarterRequest();
+        request.setMbSerialNo(".5KQ8G13.CNFCW0019N001G.");
+        request.setCpuSerialNo("54 06 05 00 FF FB EB BF, 54 06 05 00 FF FB EB BF");
+        request.setMemorySerialNo("3A1F0C2B, 3A1F0D77");
+        request.setDiskSerialNo("WD-WCC4E1234567, S4EWNX0N123456");
+        request.setNicSerialNo("52:54:00:aa:bb:01, 52:54:00:aa:bb:02");
+        request.setIp("10.0.0.12");
+        request.setPort("8080");
+        request.setCustomer("Mada");
+        request.setProject("GGSC");
+        request.setSecretKey("1!v*wQVsUyLSPDv6");
+        return request;
+    }
+}
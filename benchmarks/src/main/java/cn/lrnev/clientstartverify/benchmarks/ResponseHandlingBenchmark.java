@@ -0,0 +1,79 @@
+package cn.lrnev.clientstartverify.benchmarks;
+
+import cn.lrnev.clientstartverify.core.R;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 校验服务响应的反序列化与成功判断
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 16:16
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseHandlingBenchmark {
+
+    private static final String SUCCESS = "{\"code\":200,\"msg\":\"操作成功\",\"data\":null}";
+    private static final String FAILURE = "{\"code\":500,\"msg\":\"未授权的服务器\",\"data\":null}";
+    private static final String LEASE = "{\"code\":200,\"msg\":\"操作成功\",\"data\":{\"lease\":{"
+            + "\"customer\":\"Mada\",\"project\":\"GGSC\","
+            + "\"fingerprintDigest\":\"9f2c6d0b1e7a4c3f8a5b2d1e0f9c8b7a6d5e4f3a2b1c0d9e8f7a6b5c4d3e2f1a\","
+            + "\"expiresAt\":1798675200000,"
+            + "\"signature\":\"MEUCIQDx3x0Xo5Vn8S1m2Vb4n7z3q9r8k2j1h6g5f4d3s2a1QwIgY2b3c4d5e6f7g8h9i0j1k2l3m4n5o6p7q8r9s0t1u2v3w4=\"}}}";
+
+    @Param({"success", "failure", "lease"})
+    public String body;
+
+    private ObjectReader reader;
+    private byte[] json;
+    private R<?> parsed;
+
+    @Setup
+    public void setUp() throws IOException {
+        reader = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .readerFor(R.class);
+        String content = switch (body) {
+            case "failure" -> FAILURE;
+            case "lease" -> LEASE;
+            default -> SUCCESS;
+        };
+        json = content.getBytes(StandardCharsets.UTF_8);
+        parsed = reader.readValue(json);
+    }
+
+    @Benchmark
+    public R<?> deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public Boolean isSuccess() {
+        return R.isSuccess(parsed);
+    }
+
+    @Benchmark
+    public Boolean deserializeAndDecide() throws IOException {
+        return R.isSuccess(reader.readValue(json));
+    }
+}
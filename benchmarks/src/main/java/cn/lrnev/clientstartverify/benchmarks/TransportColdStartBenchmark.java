@@ -0,0 +1,107 @@
+package cn.lrnev.clientstartverify.benchmarks;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import cn.lrnev.clientstartverify.transport.TransportRequest;
+import cn.lrnev.clientstartverify.transport.TransportResponse;
+import cn.lrnev.clientstartverify.transport.VerificationTransport;
+import cn.lrnev.clientstartverify.transport.VerificationTransports;
+import cn.lrnev.clientstartverify.verify.HedgedVerificationClient;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import cn.lrnev.clientstartverify.verify.VerificationResponse;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 传输层冷启动
+ * <p>
+ * 每个 fork 只执行一次，衡量启动时首次请求的耗时，包括类加载与连接建立。
+ * {@code firstRequest} 经过完整的校验客户端（编码、对冲、解码），{@code transportOnly} 只通过传输层发送已编码的请求体。
+ * 结束时输出这次请求新加载的类数量。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 20:24
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class TransportColdStartBenchmark {
+
+    private static final byte[] RESPONSE = "{\"code\":200,\"msg\":\"操作成功\",\"data\":{}}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] BODY = "{\"customer\":\"Mada\",\"project\":\"GGSC\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"jdk", "forest"})
+    public String transport;
+
+    private HttpServer server;
+    private StartVerifyProperties properties;
+    private StarterRequest request;
+    private long loadedClasses;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/verify", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            exchange.getResponseBody().write(RESPONSE);
+            exchange.close();
+        });
+        server.start();
+        properties = new StartVerifyProperties();
+        properties.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/verify");
+        properties.getClient().setTransport(VerificationTransport.Kind.valueOf(transport.toUpperCase()));
+        request = Fixtures.request();
+        loadedClasses = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long loaded = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount() - loadedClasses;
+        System.out.printf("%n%s transport loaded %d classes for the first request%n", transport, loaded);
+        server.stop(0);
+    }
+
+    @Benchmark
+    public VerificationResponse firstRequest() {
+        VerificationTransport verificationTransport = VerificationTransports.of(properties.getClient());
+        try (HedgedVerificationClient client = HedgedVerificationClient.of(properties, VerificationMetrics.NOOP,
+                verificationTransport)) {
+            return client.post(request, Map.of());
+        }
+    }
+
+    @Benchmark
+    public TransportResponse transportOnly() {
+        try (VerificationTransport verificationTransport = VerificationTransports.of(properties.getClient())) {
+            return verificationTransport.send(new TransportRequest(properties.getUrl(),
+                    Map.of("Content-Type", "application/json"), BODY, null)).join();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package cn.lrnev.clientstartverify.loadtest;
+
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import cn.lrnev.clientstartverify.verify.VerificationClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 客户端群的负载测试
+ * <p>
+ * 模拟大批客户端同时重启：每一波中所有客户端以各自唯一的硬件指纹向校验接口发送启动校验请求，
+ * 请求经过与 starter 相同的 {@link VerificationClient} 编码与传输，只发送一次、不重试，
+ * 因此测得的是校验服务在启动风暴下的原始表现。同时等待响应的请求数受 {@code --concurrency} 限制，
+ * 延迟从请求实际发出时开始计算，不包括等待并发额度的时间。
+ * <pre>
+ * java -jar target/loadtest.jar --url http://license.example.com/client/startVerify --clients 5000 --waves 3
+ * java -jar target/loadtest.jar --clients 2000 --stub-latency 50ms --stub-error-rate 0.01
+ * </pre>
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 23:55
+ **/
+public final class FleetLoadTest {
+
+    private static final String USAGE = """
+            Usage: java -jar loadtest.jar [options]
+              --url <url>                  verification endpoint, starts a bundled stub when omitted
+              --clients <n>                simulated clients, each with a unique fingerprint (1000)
+              --waves <n>                  startup waves, every client restarts once per wave (3)
+              --wave-interval <duration>   time between the starts of two waves (5s)
+              --ramp <duration>            spread the starts of one wave over this window (0s)
+              --concurrency <n>            maximum requests awaiting a response (clients)
+              --timeout <duration>         connect and response timeout of one request (10s)
+              --wire-format <json|cbor>    request encoding (json)
+              --fingerprint-format <raw|digest>  fingerprint form sent to the endpoint (raw)
+              --customer <name> --project <name> --secret-key <key>
+              --seed <n>                   seed of the synthesized fleet (42)
+              --output <path>              result file (target/loadtest-result.json)
+              --stub-latency <duration>    response delay of the bundled stub (20ms)
+              --stub-error-rate <ratio>    share of 503 responses from the bundled stub (0)
+            """;
+
+    private FleetLoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            System.exit(2);
+            return;
+        }
+        LoadTestReport report = run(options);
+        System.out.print(report.summary());
+        report.write(options.output());
+        System.out.println("Results written to " + options.output().toAbsolutePath());
+    }
+
+    /**
+     * @param options 运行参数
+     * @return 测试结果
+     * @throws IOException          无法启动内置的桩校验服务
+     * @throws InterruptedException 等待时被中断
+     */
+    public static LoadTestReport run(LoadTestOptions options) throws IOException, InterruptedException {
+        StubVerificationServer stub = options.useStub()
+                ? new StubVerificationServer(options.stubLatency(), options.stubErrorRate()) : null;
+        String url = stub != null ? stub.url() : options.url();
+        // 请求在测量之前生成，摘要计算的耗时不计入延迟
+        SyntheticFleet fleet = new SyntheticFleet(options);
+        List<StarterRequest> requests = new ArrayList<>(options.clients());
+        for (int client = 0; client < options.clients(); client++) {
+            requests.add(fleet.request(client));
+        }
+        Instant startedAt = Instant.now();
+        List<LoadTestReport.Stats> waves = new ArrayList<>();
+        try (VerificationClient client = new VerificationClient(options.timeout(), options.timeout(),
+                options.wireFormat(), -1)) {
+            long runStart = System.nanoTime();
+            for (int wave = 1; wave <= options.waves(); wave++) {
+                sleepUntil(runStart + options.waveInterval().toNanos() * (wave - 1));
+                waves.add(wave(wave, client, url, requests, options));
+            }
+        } finally {
+            if (stub != null) {
+                stub.close();
+            }
+        }
+        return new LoadTestReport(url, startedAt, options, waves, LoadTestReport.Stats.merge(waves));
+    }
+
+    private static LoadTestReport.Stats wave(int wave, VerificationClient client, String url,
+                                             List<StarterRequest> requests, LoadTestOptions options)
+            throws InterruptedException {
+        WaveRecorder recorder = new WaveRecorder();
+        Semaphore inFlight = new Semaphore(options.concurrency());
+        CountDownLatch done = new CountDownLatch(requests.size());
+        long rampNanos = options.ramp().toNanos();
+        long waveStart = System.nanoTime();
+        for (int i = 0; i < requests.size(); i++) {
+            if (rampNanos > 0) {
+                sleepUntil(waveStart + rampNanos * i / requests.size());
+            }
+            inFlight.acquire();
+            long start = System.nanoTime();
+            try {
+                client.postAsync(url, requests.get(i), Map.of()).whenComplete((response, failure) -> {
+                    recorder.record(System.nanoTime() - start, response, failure);
+                    inFlight.release();
+                    done.countDown();
+                });
+            } catch (RuntimeException e) {
+                recorder.record(System.nanoTime() - start, null, e);
+                inFlight.release();
+                done.countDown();
+            }
+        }
+        done.await();
+        return recorder.stats(wave, Duration.ofNanos(System.nanoTime() - waveStart));
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package cn.lrnev.clientstartverify.loadtest;
+
+import cn.lrnev.clientstartverify.verify.FingerprintFormat;
+import cn.lrnev.clientstartverify.verify.WireFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 负载测试的参数
+ * <p>
+ * 命令行参数的形式为 {@code --name=value} 或 {@code --name value}，时长支持 {@code 500ms}、{@code 10s} 等简写。
+ * 没有指定 {@code --url} 时启动内置的桩校验服务。
+ *
+ * @param url               校验接口地址，为 null 时使用内置的桩校验服务
+ * @param clients           模拟的客户端数，每个客户端有唯一的硬件指纹
+ * @param waves             启动波次，每一波所有客户端同时重启
+ * @param waveInterval      相邻两波开始之间的间隔
+ * @param ramp              一波内的客户端在该时长内均匀地开始启动，为 0 时同时开始
+ * @param concurrency       同时等待响应的请求上限
+ * @param timeout           单个请求等待响应的超时
+ * @param wireFormat        请求的编码格式
+ * @param fingerprintFormat 硬件指纹在请求中的形式
+ * @param customer          客户
+ * @param project           项目
+ * @param secretKey         密钥，不写入结果文件
+ * @param seed              生成硬件指纹的随机数种子，同样的种子得到同样的客户端群
+ * @param output            结果文件
+ * @param stubLatency       内置桩校验服务的响应延迟
+ * @param stubErrorRate     内置桩校验服务返回 503 的比例
+ * @author 鲁子狄
+ * @since 2026/10/17 23:30
+ **/
+public record LoadTestOptions(String url, int clients, int waves, Duration waveInterval, Duration ramp,
+                              int concurrency, Duration timeout, WireFormat wireFormat,
+                              FingerprintFormat fingerprintFormat, String customer, String project,
+                              @JsonIgnore String secretKey, long seed, Path output, Duration stubLatency,
+                              double stubErrorRate) {
+
+    private static final Set<String> NAMES = Set.of("url", "clients", "waves", "wave-interval", "ramp",
+            "concurrency", "timeout", "wire-format", "fingerprint-format", "customer", "project", "secret-key",
+            "seed", "output", "stub-latency", "stub-error-rate");
+
+    public LoadTestOptions {
+        if (clients <= 0 || waves <= 0 || concurrency <= 0) {
+            throw new IllegalArgumentException("clients, waves and concurrency must be positive.");
+        }
+        if (stubErrorRate < 0 || stubErrorRate > 1) {
+            throw new IllegalArgumentException("stub-error-rate must be between 0 and 1.");
+        }
+    }
+
+    /**
+     * @param args 命令行参数
+     * @return 解析后的参数，没有指定的参数使用默认值
+     * @throws IllegalArgumentException 参数未知、缺少值或者格式错误
+     */
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            String value;
+            int equals = name.indexOf('=');
+            if (equals >= 0) {
+                value = name.substring(equals + 1);
+                name = name.substring(0, equals);
+            } else if (i + 1 < args.length) {
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException("Missing value for --" + name);
+            }
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + new TreeSet<>(NAMES));
+            }
+            values.put(name, value);
+        }
+        int clients = Integer.parseInt(values.getOrDefault("clients", "1000"));
+        return new LoadTestOptions(
+                values.get("url"),
+                clients,
+                Integer.parseInt(values.getOrDefault("waves", "3")),
+                duration(values.getOrDefault("wave-interval", "5s")),
+                duration(values.getOrDefault("ramp", "0s")),
+                Integer.parseInt(values.getOrDefault("concurrency", String.valueOf(clients))),
+                duration(values.getOrDefault("timeout", "10s")),
+                WireFormat.valueOf(values.getOrDefault("wire-format", "json").toUpperCase(Locale.ROOT)),
+                FingerprintFormat.valueOf(values.getOrDefault("fingerprint-format", "raw")
+                        .toUpperCase(Locale.ROOT)),
+                values.getOrDefault("customer", "Mada"),
+                values.getOrDefault("project", "GGSC"),
+                values.getOrDefault("secret-key", "1!v*wQVsUyLSPDv6"),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("output", "target/loadtest-result.json")),
+                duration(values.getOrDefault("stub-latency", "20ms")),
+                Double.parseDouble(values.getOrDefault("stub-error-rate", "0")));
+    }
+
+    /**
+     * @return 是否使用内置的桩校验服务
+     */
+    public boolean useStub() {
+        return url == null;
+    }
+
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+}
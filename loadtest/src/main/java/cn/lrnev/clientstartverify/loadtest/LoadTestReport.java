@@ -0,0 +1,153 @@
+package cn.lrnev.clientstartverify.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+
+/**
+ * 负载测试的结果，以 JSON 写入结果文件以便比较不同的运行
+ * <p>
+ * 延迟的分位数以毫秒为单位；{@code histogram} 是 HdrHistogram 压缩后的 Base64 编码（微秒），
+ * 可以用 {@link Histogram#decodeFromCompressedByteBuffer} 还原后与其他运行的结果合并或比较。
+ *
+ * @param url       校验接口地址
+ * @param startedAt 开始时间
+ * @param options   运行参数
+ * @param waves     每一波的统计结果
+ * @param total     全部波次合计的统计结果
+ * @author 鲁子狄
+ * @since 2026/10/17 23:50
+ **/
+public record LoadTestReport(String url, Instant startedAt, LoadTestOptions options, List<Stats> waves,
+                             Stats total) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * @param path 结果文件，所在目录不存在时创建
+     * @throws IOException 写入失败
+     */
+    public void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    /**
+     * @return 每一波与合计的一行摘要
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "%-6s %8s %8s %10s %9s %9s %9s %9s %9s  %s%n",
+                "wave", "requests", "ok", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "outcomes"));
+        waves.forEach(stats -> summary.append(stats.line(String.valueOf(stats.wave()))));
+        return summary.append(total.line("total")).toString();
+    }
+
+    /**
+     * 一波或全部波次的统计结果
+     *
+     * @param wave            波次，从 1 开始；合计时为 null
+     * @param requests        完成的请求数
+     * @param succeeded       校验通过的请求数
+     * @param durationSeconds 从第一个请求发出到最后一个请求完成的秒数，合计时为各波之和
+     * @param throughput      每秒完成的请求数
+     * @param latencyMillis   延迟分布
+     * @param outcomes        各结果的请求数，见 {@link WaveRecorder}
+     * @param histogram       压缩后的延迟直方图
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Stats(Integer wave, long requests, long succeeded, double durationSeconds, double throughput,
+                        Latency latencyMillis, Map<String, Long> outcomes, String histogram) {
+
+        static Stats of(Integer wave, Histogram histogram, long succeeded, Duration elapsed,
+                        Map<String, Long> outcomes) {
+            long requests = histogram.getTotalCount();
+            double seconds = elapsed.toNanos() / 1e9;
+            return new Stats(wave, requests, succeeded, seconds, seconds > 0 ? requests / seconds : 0,
+                    Latency.of(histogram), outcomes, encode(histogram));
+        }
+
+        /**
+         * @param waves 每一波的统计结果
+         * @return 合并后的统计结果
+         */
+        static Stats merge(List<Stats> waves) {
+            Histogram histogram = new Histogram(3);
+            long succeeded = 0;
+            Duration elapsed = Duration.ZERO;
+            Map<String, Long> outcomes = new TreeMap<>();
+            for (Stats stats : waves) {
+                histogram.add(decode(stats.histogram()));
+                succeeded += stats.succeeded();
+                elapsed = elapsed.plusNanos(Math.round(stats.durationSeconds() * 1e9));
+                stats.outcomes().forEach((outcome, count) -> outcomes.merge(outcome, count, Long::sum));
+            }
+            return of(null, histogram, succeeded, elapsed, outcomes);
+        }
+
+        private String line(String label) {
+            return String.format(Locale.ROOT, "%-6s %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    label, requests, succeeded, throughput, latencyMillis.p50(), latencyMillis.p90(),
+                    latencyMillis.p99(), latencyMillis.p999(), latencyMillis.max(), outcomes);
+        }
+    }
+
+    /**
+     * 延迟分布，单位为毫秒
+     *
+     * @param mean 平均值
+     * @param p50  50 分位
+     * @param p90  90 分位
+     * @param p99  99 分位
+     * @param p999 99.9 分位
+     * @param max  最大值
+     */
+    public record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(Histogram histogram) {
+            return new Latency(histogram.getMean() / 1000, millis(histogram, 50), millis(histogram, 90),
+                    millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    static Histogram decode(String encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Invalid encoded histogram.", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package cn.lrnev.clientstartverify.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 内置的桩校验服务
+ * <p>
+ * 基于 JDK 自带的 {@link HttpServer}，接受任意硬件，按固定的延迟响应，并按比例返回 503。
+ * 用于在没有真实校验服务时检查负载生成器本身的开销与客户端的表现，测得的延迟不代表真实校验服务的容量。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 23:40
+ **/
+final class StubVerificationServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Duration latency;
+    private final double errorRate;
+
+    /**
+     * 在随机端口上启动。
+     *
+     * @param latency   每个响应前的延迟
+     * @param errorRate 返回 503 的比例
+     * @throws IOException 无法监听端口
+     */
+    StubVerificationServer(Duration latency, double errorRate) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.createContext("/client/startVerify", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @return 校验接口地址
+     */
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/client/startVerify";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+            return;
+        }
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            respond(exchange, 503, "{\"code\":503,\"msg\":\"服务不可用\"}");
+        } else {
+            respond(exchange, 200, "{\"code\":200,\"msg\":\"操作成功\",\"data\":{\"version\":\"1\"}}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
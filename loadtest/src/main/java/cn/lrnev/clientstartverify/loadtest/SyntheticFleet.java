@@ -0,0 +1,72 @@
+package cn.lrnev.clientstartverify.loadtest;
+
+import cn.lrnev.clientstartverify.verify.FingerprintFormat;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+
+import java.util.HexFormat;
+import java.util.Random;
+
+/**
+ * 模拟的客户端群
+ * <p>
+ * 每个客户端的硬件信息由种子与客户端编号确定，同一个客户端在每一波重启时发送同样的指纹。
+ * 主板序列号、MAC 地址与 IP 中包含客户端编号，因此任意两个客户端的指纹都不相同，
+ * 校验服务的缓存与索引不会因为重复的指纹而得到不真实的命中率。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 23:35
+ **/
+final class SyntheticFleet {
+
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
+
+    private final long seed;
+    private final String customer;
+    private final String project;
+    private final String secretKey;
+    private final FingerprintFormat format;
+
+    SyntheticFleet(LoadTestOptions options) {
+        this.seed = options.seed();
+        this.customer = options.customer();
+        this.project = options.project();
+        this.secretKey = options.secretKey();
+        this.format = options.fingerprintFormat();
+    }
+
+    /**
+     * @param client 客户端编号，从 0 开始
+     * @return 该客户端发送给校验服务的请求
+     */
+    StarterRequest request(int client) {
+        Random random = new Random(seed * 31 + client);
+        StarterRequest request = new StarterRequest();
+        request.setMbSerialNo(String.format(".%07X.CN%08X%06X.", random.nextInt(1 << 28), random.nextInt(), client));
+        request.setCpuSerialNo(cpuId(random) + ", " + cpuId(random));
+        request.setMemorySerialNo(HEX.toHexDigits(random.nextInt()) + ", " + HEX.toHexDigits(random.nextInt()));
+        request.setDiskSerialNo("WD-WCC4E" + String.format("%07d", random.nextInt(10_000_000)));
+        request.setNicSerialNo(mac(client, 1) + ", " + mac(client, 2));
+        request.setIp("10." + (client >>> 16 & 0xFF) + "." + (client >>> 8 & 0xFF) + "." + (client & 0xFF));
+        request.setRuntime("none");
+        request.setContainerIdentity("");
+        request.setPort("8080");
+        request.setCustomer(customer);
+        request.setProject(project);
+        request.setSecretKey(secretKey);
+        return format.apply(request);
+    }
+
+    private static String cpuId(Random random) {
+        byte[] id = new byte[8];
+        random.nextBytes(id);
+        return HexFormat.ofDelimiter(" ").withUpperCase().formatHex(id);
+    }
+
+    /**
+     * 本地管理的单播地址，后三个字节为客户端编号，倒数第四个字节区分同一台机器上的网卡。
+     */
+    private static String mac(int client, int nic) {
+        return HexFormat.ofDelimiter(":").formatHex(new byte[]{0x52, 0x54, (byte) nic, (byte) (client >>> 16),
+                (byte) (client >>> 8), (byte) client});
+    }
+}
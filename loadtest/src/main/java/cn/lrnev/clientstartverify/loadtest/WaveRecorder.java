@@ -0,0 +1,99 @@
+package cn.lrnev.clientstartverify.loadtest;
+
+import cn.lrnev.clientstartverify.core.R;
+import cn.lrnev.clientstartverify.verify.VerificationResponse;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 记录一波启动的延迟与结果，可以被多个完成回调线程同时写入
+ * <p>
+ * 延迟以微秒记录在 {@link ConcurrentHistogram} 中，包括失败的请求。结果按以下方式归类：
+ * 得到响应体时为 {@link R#getCode()}，没有响应体时为 {@code http-<状态码>}，没有得到响应时为
+ * {@code connect-timeout}、{@code timeout}、{@code connect-refused}、{@code io-error} 或异常的类名。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 23:45
+ **/
+final class WaveRecorder {
+
+    // 超过该值的延迟按该值记录
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder succeeded = new LongAdder();
+
+    /**
+     * @param latencyNanos 从发送到完成的纳秒数
+     * @param response     校验服务的响应，没有得到响应时为 null
+     * @param failure      没有得到响应的原因，得到响应时为 null
+     */
+    void record(long latencyNanos, VerificationResponse response, Throwable failure) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_MICROS));
+        String outcome = response != null ? outcome(response) : outcome(failure);
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        if (response != null && response.isOk() && response.getBody() != null
+                && response.getBody().getCode() == R.SUCCESS) {
+            succeeded.increment();
+        }
+    }
+
+    /**
+     * @return 已记录延迟的副本
+     */
+    Histogram histogram() {
+        return histogram.copy();
+    }
+
+    /**
+     * @param wave    波次，从 1 开始
+     * @param elapsed 这一波从第一个请求发出到最后一个请求完成的耗时
+     * @return 这一波的统计结果
+     */
+    LoadTestReport.Stats stats(int wave, Duration elapsed) {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return LoadTestReport.Stats.of(wave, histogram(), succeeded.sum(), elapsed, counts);
+    }
+
+    private static String outcome(VerificationResponse response) {
+        R<?> body = response.getBody();
+        return body != null ? String.valueOf(body.getCode()) : "http-" + response.getStatus();
+    }
+
+    private static String outcome(Throwable failure) {
+        while (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        // 传输层把 I/O 异常包装为非受检异常
+        if (!(failure instanceof IOException) && failure.getCause() instanceof IOException cause) {
+            failure = cause;
+        }
+        if (failure instanceof HttpConnectTimeoutException) {
+            return "connect-timeout";
+        }
+        if (failure instanceof HttpTimeoutException) {
+            return "timeout";
+        }
+        if (failure instanceof ConnectException) {
+            return "connect-refused";
+        }
+        if (failure instanceof IOException) {
+            return "io-error";
+        }
+        return failure.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,90 @@
+package cn.lrnev.clientstartverify.loadtest;
+
+import cn.lrnev.clientstartverify.verify.FingerprintDigest;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class FleetLoadTestTests {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 测试每个模拟客户端的指纹唯一，同一个客户端在同样的种子下指纹不变，与客户端一样默认发送原始序列号。
+     */
+    @Test
+    void testFleetFingerprintsAreUniqueAndStable() {
+        SyntheticFleet fleet = new SyntheticFleet(LoadTestOptions.parse("--clients", "2000",
+                "--fingerprint-format", "digest"));
+
+        assertThat(IntStream.range(0, 2000).mapToObj(fleet::request).map(StarterRequest::getFingerprintDigest))
+                .doesNotHaveDuplicates();
+        assertThat(fleet.request(7).getFingerprintDigest()).isEqualTo(fleet.request(7).getFingerprintDigest());
+        assertThat(fleet.request(7).getMbSerialNo()).isNull();
+
+        StarterRequest raw = new SyntheticFleet(LoadTestOptions.parse()).request(7);
+        assertThat(raw.getMbSerialNo()).isNotBlank();
+        assertThat(FingerprintDigest.of(raw)).isEqualTo(fleet.request(7).getFingerprintDigest());
+    }
+
+    /**
+     * 测试对内置桩校验服务运行多个波次，结果按波次与响应码统计并写入可以读回的结果文件。
+     */
+    @Test
+    void testRunAgainstBundledStub() throws Exception {
+        Path output = directory.resolve("result.json");
+        LoadTestOptions options = LoadTestOptions.parse("--clients", "200", "--waves", "2", "--wave-interval", "0s",
+                "--concurrency", "50", "--stub-latency", "5ms", "--stub-error-rate", "0.2",
+                "--output", output.toString());
+
+        LoadTestReport report = FleetLoadTest.run(options);
+        report.write(output);
+
+        assertThat(report.waves()).hasSize(2);
+        assertThat(report.total().requests()).isEqualTo(400);
+        assertThat(report.total().outcomes()).containsOnlyKeys("200", "503");
+        assertThat(report.total().succeeded()).isEqualTo(report.total().outcomes().get("200"));
+        assertThat(report.total().latencyMillis().p50()).isGreaterThanOrEqualTo(5);
+        assertThat(report.summary()).contains("total");
+
+        JsonNode written = new ObjectMapper().readTree(output.toFile());
+        assertThat(written.at("/total/requests").asLong()).isEqualTo(400);
+        assertThat(written.at("/waves/0/wave").asInt()).isEqualTo(1);
+        assertThat(written.at("/options/clients").asInt()).isEqualTo(200);
+        assertThat(LoadTestReport.decode(written.at("/total/histogram").asText()).getTotalCount()).isEqualTo(400);
+    }
+
+    /**
+     * 测试不可达的校验接口按连接失败归类，不影响统计。
+     */
+    @Test
+    void testUnreachableEndpointIsCountedAsConnectFailure() throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse("--url", "http://127.0.0.1:1/client/startVerify",
+                "--clients", "10", "--waves", "1", "--timeout", "2s");
+
+        LoadTestReport report = FleetLoadTest.run(options);
+
+        assertThat(report.total().requests()).isEqualTo(10);
+        assertThat(report.total().succeeded()).isZero();
+        assertThat(report.total().outcomes()).containsOnlyKeys("connect-refused");
+    }
+
+    /**
+     * 测试未知参数与缺少值的参数被拒绝。
+     */
+    @Test
+    void testInvalidArguments() {
+        assertThatIllegalArgumentException().isThrownBy(() -> LoadTestOptions.parse("--client", "10"));
+        assertThatIllegalArgumentException().isThrownBy(() -> LoadTestOptions.parse("--clients"));
+        assertThatIllegalArgumentException().isThrownBy(() -> LoadTestOptions.parse("--stub-error-rate=2"));
+    }
+}
@@ -0,0 +1,38 @@
+#!/usr/bin/env sh
+# 启动示例应用，等待启动校验通过后停止，并把启动耗时追加到 target/startup-times.txt
+#
+# 用法：smoke-test.sh <名称> <启动命令...>
+#   smoke-test.sh jvm java -jar target/client-start-verify-native-sample-1.0.0.jar
+#   smoke-test.sh native target/client-start-verify-native-sample
+set -eu
+
+label="$1"
+shift
+cd "$(dirname "$0")"
+mkdir -p target
+log="target/smoke-test-$label.log"
+timeout="${SMOKE_TEST_TIMEOUT:-60}"
+
+"$@" > "$log" 2>&1 &
+pid=$!
+trap 'kill "$pid" 2>/dev/null || true' EXIT
+
+elapsed=0
+until grep -q "Client start verification successful." "$log"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+        echo "[$label] application exited before start verification completed:" >&2
+        cat "$log" >&2
+        exit 1
+    fi
+    if [ "$elapsed" -ge "$timeout" ]; then
+        echo "[$label] start verification did not complete within ${timeout}s:" >&2
+        cat "$log" >&2
+        exit 1
+    fi
+    sleep 1
+    elapsed=$((elapsed + 1))
+done
+
+# Spring Boot 输出的 "Started ... in 0.123 seconds (process running for 0.145)"
+startup=$(sed -n 's/.*Started .* in \([0-9.]*\) seconds (process running for \([0-9.]*\)).*/\1s, process \2s/p' "$log" | head -n 1)
+echo "$label: $startup" | tee -a target/startup-times.txt
@@ -0,0 +1,43 @@
+package cn.lrnev.clientstartverify.sample;
+
+import cn.lrnev.clientstartverify.core.R;
+import cn.lrnev.clientstartverify.verify.FingerprintDigest;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 原生镜像示例应用
+ * <p>
+ * 应用自身提供 {@code /client/startVerify} 接口并接受任意硬件，{@code start-verify.url} 指向本应用，
+ * 因此不依赖外部的校验服务即可走完硬件采集、请求编码、HTTP 传输与响应解码的完整流程。
+ * 默认的 {@code runner} 模式在 Web 服务启动后才校验，此时接口已可用。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 22:40
+ **/
+@Slf4j
+@RestController
+@SpringBootApplication
+public class NativeSampleApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(NativeSampleApplication.class, args);
+    }
+
+    /**
+     * @param request 客户端的校验请求
+     * @return 始终允许启动
+     */
+    @PostMapping("/client/startVerify")
+    public R<Map<String, Object>> startVerify(@RequestBody StarterRequest request) {
+        log.info("Sample verification request accepted, fingerprint digest {}", FingerprintDigest.of(request));
+        return R.ok("操作成功", Map.of("version", "1"));
+    }
+}
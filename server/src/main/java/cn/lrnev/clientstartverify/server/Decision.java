@@ -0,0 +1,44 @@
+package cn.lrnev.clientstartverify.server;
+
+import cn.lrnev.clientstartverify.core.R;
+
+import java.util.Map;
+
+/**
+ * 一次许可判定的结果
+ *
+ * @param code          返回给客户端的业务码
+ * @param msg           返回给客户端的消息
+ * @param data             返回给客户端的数据，包括许可版本、下次检查间隔与离线租约
+ * @param version          许可版本，没有许可时为空
+ * @param indexVersion     判定时许可索引的快照版本
+ * @param validUntil       判定结果的有效期（毫秒时间戳）
+ * @param licenseExpiresAt 许可的到期时间（毫秒时间戳），签发的租约不超过该时间；许可不过期或拒绝时为 {@link Long#MAX_VALUE}
+ * @author 鲁子狄
+ * @since 2026/10/17 18:44
+ **/
+public record Decision(int code, String msg, Map<String, Object> data, String version, long indexVersion,
+                       long validUntil, long licenseExpiresAt) {
+
+    /**
+     * @param data 替换后的响应数据
+     * @return 只替换响应数据的判定结果
+     */
+    public Decision withData(Map<String, Object> data) {
+        return new Decision(code, msg, data, version, indexVersion, validUntil, licenseExpiresAt);
+    }
+
+    /**
+     * @return 是否允许启动
+     */
+    public boolean allowed() {
+        return code == R.SUCCESS;
+    }
+
+    /**
+     * @return 返回给客户端的响应体
+     */
+    public R<Map<String, Object>> toResponse() {
+        return allowed() ? R.ok("操作成功", data) : R.fail(code, msg);
+    }
+}
@@ -0,0 +1,102 @@
+package cn.lrnev.clientstartverify.server;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 有界的许可判定缓存
+ * <p>
+ * 同一台服务器反复重启时直接返回上次的判定，不再重新计算。判定结果在有效期内且许可索引没有变化时才会命中；
+ * 条目数超过上限时先清理失效的条目，仍然超出时按哈希顺序淘汰，近似随机淘汰。同一时刻只有一个线程执行淘汰，
+ * 查询不加锁。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 18:46
+ **/
+public class DecisionCache {
+
+    // 淘汰后保留的比例，避免每次写入都触发淘汰
+    private static final double RETAIN_RATIO = 0.9;
+
+    private final Map<LicenseKey, Decision> decisions = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+
+    /**
+     * @param maxSize 条目数上限
+     * @param ttl     判定结果的有效期
+     */
+    public DecisionCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    DecisionCache(int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * @param key          索引键
+     * @param indexVersion 当前许可索引的快照版本
+     * @return 仍然有效的判定，不存在或已失效时返回空Optional
+     */
+    public Optional<Decision> get(LicenseKey key, long indexVersion) {
+        Decision decision = decisions.get(key);
+        if (decision == null || !isValid(decision, indexVersion, clock.millis())) {
+            return Optional.empty();
+        }
+        return Optional.of(decision);
+    }
+
+    /**
+     * @param key      索引键
+     * @param decision 判定结果
+     */
+    public void put(LicenseKey key, Decision decision) {
+        decisions.put(key, decision);
+        if (decisions.size() > maxSize && evicting.compareAndSet(false, true)) {
+            try {
+                evict(decision.indexVersion());
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+
+    /**
+     * @return 从现在开始计算的有效期截止时间
+     */
+    public long expiresAt() {
+        return clock.millis() + ttl.toMillis();
+    }
+
+    /**
+     * @return 当前条目数
+     */
+    public int size() {
+        return decisions.size();
+    }
+
+    private void evict(long indexVersion) {
+        long now = clock.millis();
+        decisions.values().removeIf(decision -> !isValid(decision, indexVersion, now));
+        int target = (int) (maxSize * RETAIN_RATIO);
+        Iterator<LicenseKey> keys = decisions.keySet().iterator();
+        while (decisions.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static boolean isValid(Decision decision, long indexVersion, long now) {
+        return decision.indexVersion() == indexVersion && decision.validUntil() > now;
+    }
+}
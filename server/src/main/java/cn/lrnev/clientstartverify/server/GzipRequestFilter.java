@@ -0,0 +1,184 @@
+package cn.lrnev.clientstartverify.server;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * 解压 {@code Content-Encoding: gzip} 的请求体，客户端开启 {@code start-verify.client.compress-requests} 时使用
+ * <p>
+ * 校验请求体很小，在交给后续处理之前整体解压到内存中：解压后超过上限时返回 413，不是有效的 gzip 时返回 400，
+ * 几 KB 的压缩数据不会在反序列化时展开成数 GB。解压后的请求体在内存中，异步读取时立即可读。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 19:30
+ **/
+@Slf4j
+public class GzipRequestFilter extends OncePerRequestFilter {
+
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final long maxDecompressedSize;
+
+    /**
+     * @param maxDecompressedSize 解压后请求体的字节数上限
+     */
+    public GzipRequestFilter(long maxDecompressedSize) {
+        this.maxDecompressedSize = maxDecompressedSize;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!"gzip".equalsIgnoreCase(request.getHeader(CONTENT_ENCODING))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        byte[] body;
+        try {
+            body = decompress(request.getInputStream());
+        } catch (ZipException | EOFException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Malformed gzip request body");
+            return;
+        }
+        if (body == null) {
+            log.warn("Rejected gzip request from {}: decompressed body exceeds {} bytes.",
+                    request.getRemoteAddr(), maxDecompressedSize);
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "Decompressed request body exceeds " + maxDecompressedSize + " bytes");
+            return;
+        }
+        chain.doFilter(new GzipRequest(request, body), response);
+    }
+
+    /**
+     * @return 解压后的请求体，超过上限时返回 null
+     */
+    private byte[] decompress(InputStream compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(compressed, BUFFER_SIZE)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                total += read;
+                if (total > maxDecompressedSize) {
+                    return null;
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static class GzipRequest extends HttpServletRequestWrapper {
+
+        private final int length;
+        private final ServletInputStream body;
+
+        GzipRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.length = body.length;
+            this.body = new DecompressedInputStream(body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return body;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(body,
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return CONTENT_ENCODING.equalsIgnoreCase(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return CONTENT_ENCODING.equalsIgnoreCase(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public int getContentLength() {
+            return length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return length;
+        }
+    }
+
+    private static class DecompressedInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream in;
+
+        DecompressedInputStream(byte[] body) {
+            this.in = new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public int read() {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            return in.read(buffer, offset, length);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        /**
+         * 请求体已经全部在内存中，立即通知可读，读取完毕时通知结束。
+         */
+        @Override
+        public void setReadListener(ReadListener listener) {
+            try {
+                if (!isFinished()) {
+                    listener.onDataAvailable();
+                }
+                if (isFinished()) {
+                    listener.onAllDataRead();
+                }
+            } catch (IOException e) {
+                listener.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package cn.lrnev.clientstartverify.server;
+
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import cn.lrnev.clientstartverify.verify.FingerprintDigest;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 许可：允许指定客户、项目在指定硬件上启动
+ *
+ * @param customer          客户名称
+ * @param project           项目名称
+ * @param fingerprintDigest 硬件指纹摘要，见 {@link FingerprintDigest}
+ * @param expiresAt         到期时间，为 null 时长期有效
+ * @param enabled           是否启用
+ * @param components        登记时每个组成部分的摘要，为空时只接受综合摘要完全一致的请求
+ * @author 鲁子狄
+ * @since 2026/10/17 18:40
+ **/
+public record License(String customer, String project, String fingerprintDigest, Instant expiresAt,
+                      @DefaultValue("true") boolean enabled, Map<FingerprintComponent, String> components) {
+
+    @ConstructorBinding
+    public License {
+        components = components == null ? Map.of() : Map.copyOf(components);
+    }
+
+    /**
+     * 不登记组成部分摘要的许可。
+     */
+    public License(String customer, String project, String fingerprintDigest, Instant expiresAt, boolean enabled) {
+        this(customer, project, fingerprintDigest, expiresAt, enabled, Map.of());
+    }
+
+    /**
+     * @return 索引键
+     */
+    public LicenseKey key() {
+        return new LicenseKey(customer, project, fingerprintDigest);
+    }
+}
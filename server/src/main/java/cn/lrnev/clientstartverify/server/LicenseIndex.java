@@ -0,0 +1,147 @@
+package cn.lrnev.clientstartverify.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 内存许可索引
+ * <p>
+ * 以客户、项目与硬件指纹摘要为键。所有许可保存在不可变的快照中，查询只读取一次 volatile 引用，不加锁；
+ * 修改时复制当前快照、修改副本后整体替换，写操作之间互斥。登记了组成部分摘要的许可另按客户与项目分组，
+ * 供部分硬件更换后按组成部分匹配。许可数据来自配置或调用方自己的存储，
+ * 许可变化远少于校验请求，复制的开销可以忽略。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 18:42
+ **/
+public class LicenseIndex {
+
+    private final Object writeLock = new Object();
+
+    private volatile Snapshot snapshot = Snapshot.of(Map.of(), 0);
+
+    /**
+     * @return 当前快照，同一次校验应只使用一个快照
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @param key 索引键
+     * @return 许可，不存在时返回空Optional
+     */
+    public Optional<Indexed> find(LicenseKey key) {
+        return snapshot.find(key);
+    }
+
+    /**
+     * 新增或替换一个许可。
+     *
+     * @param license 许可
+     */
+    public void put(License license) {
+        synchronized (writeLock) {
+            Map<LicenseKey, Indexed> licenses = new HashMap<>(snapshot.licenses());
+            long version = snapshot.version() + 1;
+            licenses.put(license.key(), new Indexed(license, version));
+            snapshot = Snapshot.of(Map.copyOf(licenses), version);
+        }
+    }
+
+    /**
+     * 删除一个许可。
+     *
+     * @param key 索引键
+     */
+    public void remove(LicenseKey key) {
+        synchronized (writeLock) {
+            if (!snapshot.licenses().containsKey(key)) {
+                return;
+            }
+            Map<LicenseKey, Indexed> licenses = new HashMap<>(snapshot.licenses());
+            licenses.remove(key);
+            snapshot = Snapshot.of(Map.copyOf(licenses), snapshot.version() + 1);
+        }
+    }
+
+    /**
+     * 以新的许可列表替换全部许可，内容没有变化的许可保留原来的版本，客户端心跳仍会收到 304。
+     *
+     * @param replacement 全部许可
+     */
+    public void replaceAll(Collection<License> replacement) {
+        synchronized (writeLock) {
+            Map<LicenseKey, Indexed> current = snapshot.licenses();
+            long version = snapshot.version() + 1;
+            Map<LicenseKey, Indexed> licenses = new HashMap<>();
+            for (License license : replacement) {
+                Indexed previous = current.get(license.key());
+                licenses.put(license.key(), previous != null && previous.license().equals(license)
+                        ? previous : new Indexed(license, version));
+            }
+            snapshot = Snapshot.of(Map.copyOf(licenses), version);
+        }
+    }
+
+    /**
+     * 许可索引的不可变快照
+     *
+     * @param licenses  全部许可
+     * @param version   快照版本，每次修改加一
+     * @param byProject 登记了组成部分摘要的许可，以综合摘要为空的索引键按客户与项目分组
+     */
+    public record Snapshot(Map<LicenseKey, Indexed> licenses, long version, Map<LicenseKey, List<Indexed>> byProject) {
+
+        /**
+         * @param licenses 全部许可
+         * @param version  快照版本
+         * @return 建立按客户与项目分组的索引后的快照
+         */
+        public static Snapshot of(Map<LicenseKey, Indexed> licenses, long version) {
+            Map<LicenseKey, List<Indexed>> byProject = new HashMap<>();
+            for (Indexed indexed : licenses.values()) {
+                License license = indexed.license();
+                if (!license.components().isEmpty()) {
+                    byProject.computeIfAbsent(new LicenseKey(license.customer(), license.project(), null),
+                            key -> new ArrayList<>()).add(indexed);
+                }
+            }
+            byProject.replaceAll((key, candidates) -> candidates.stream()
+                    .sorted(Comparator.comparing(indexed -> indexed.license().key().fingerprintDigest()))
+                    .toList());
+            return new Snapshot(licenses, version, Map.copyOf(byProject));
+        }
+
+        /**
+         * @param key 索引键
+         * @return 许可，不存在时返回空Optional
+         */
+        public Optional<Indexed> find(LicenseKey key) {
+            return Optional.ofNullable(licenses.get(key));
+        }
+
+        /**
+         * @param customer 客户名称
+         * @param project  项目名称
+         * @return 该客户、项目下登记了组成部分摘要的许可
+         */
+        public List<Indexed> candidates(String customer, String project) {
+            return byProject.getOrDefault(new LicenseKey(customer, project, null), List.of());
+        }
+    }
+
+    /**
+     * 索引中的许可
+     *
+     * @param license 许可
+     * @param version 许可最后一次变化时的快照版本，作为心跳的许可版本
+     */
+    public record Indexed(License license, long version) {
+    }
+}
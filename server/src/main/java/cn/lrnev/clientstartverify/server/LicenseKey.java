@@ -0,0 +1,23 @@
+package cn.lrnev.clientstartverify.server;
+
+/**
+ * 许可索引键
+ *
+ * @param customer          客户名称
+ * @param project           项目名称
+ * @param fingerprintDigest 硬件指纹摘要
+ * @author 鲁子狄
+ * @since 2026/10/17 18:40
+ **/
+public record LicenseKey(String customer, String project, String fingerprintDigest) {
+
+    public LicenseKey {
+        customer = nullToEmpty(customer);
+        project = nullToEmpty(project);
+        fingerprintDigest = nullToEmpty(fingerprintDigest);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value.trim();
+    }
+}
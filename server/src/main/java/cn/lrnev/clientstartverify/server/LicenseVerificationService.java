@@ -0,0 +1,269 @@
+package cn.lrnev.clientstartverify.server;
+
+import cn.lrnev.clientstartverify.core.HttpStatus;
+import cn.lrnev.clientstartverify.core.R;
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import cn.lrnev.clientstartverify.lease.LeaseManager;
+import cn.lrnev.clientstartverify.lease.LeaseSigner;
+import cn.lrnev.clientstartverify.lease.VerificationLease;
+import cn.lrnev.clientstartverify.verify.FingerprintDigest;
+import cn.lrnev.clientstartverify.verify.HeartbeatRequest;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 许可判定
+ * <p>
+ * 按客户、项目与硬件指纹摘要在许可索引中查找许可，检查启用状态与有效期，允许启动时附带许可版本、
+ * 建议的心跳间隔与签名的离线租约。判定结果写入缓存，同一台服务器再次启动时直接返回；缓存中只有判定结果，
+ * 不含租约，每次允许启动的响应都签发新的租约，有效期从本次请求开始计算。
+ * <p>
+ * 综合摘要没有对应的许可时，如果配置了最少一致的组成部分数，则在同一客户、项目下登记了组成部分摘要的许可中，
+ * 选择一致的组成部分最多且不少于该数量的许可，使更换个别硬盘或网卡的服务器仍能启动。
+ * 只携带摘要的请求不含密钥：配置了密钥时许可中登记的是以密钥计算的 HMAC 摘要，摘要一致即说明客户端持有相同的密钥。
+ * 客户端提交的综合摘要是判定缓存的键，也写入签发的租约，因此先由组成部分摘要重新计算，不一致时拒绝。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 18:50
+ **/
+@Slf4j
+public class LicenseVerificationService {
+
+    /**
+     * 响应数据中许可版本的字段名
+     */
+    public static final String VERSION_KEY = "version";
+
+    /**
+     * 响应数据中下次检查间隔（秒）的字段名
+     */
+    public static final String NEXT_CHECK_KEY = "nextCheck";
+
+    /**
+     * 响应数据中按组成部分匹配时一致的组成部分数的字段名
+     */
+    public static final String MATCHED_COMPONENTS_KEY = "matchedComponents";
+
+    private final LicenseIndex index;
+    private final DecisionCache cache;
+    private final byte[] secretKey;
+    private final String digestKey;
+    private final LeaseSigner leaseSigner;
+    private final Duration leaseTtl;
+    private final Duration nextCheck;
+    private final int minMatchingComponents;
+    private final Clock clock;
+
+    /**
+     * @param index       许可索引
+     * @param cache       判定缓存
+     * @param secretKey   密钥，为空时不校验
+     * @param leaseSigner 租约签名器，为 null 时不签发租约
+     * @param leaseTtl    租约有效期
+     * @param nextCheck   建议的心跳间隔，为 null 时不返回
+     */
+    public LicenseVerificationService(LicenseIndex index, DecisionCache cache, String secretKey,
+                                      LeaseSigner leaseSigner, Duration leaseTtl, Duration nextCheck) {
+        this(index, cache, secretKey, leaseSigner, leaseTtl, nextCheck, 0);
+    }
+
+    /**
+     * @param index                 许可索引
+     * @param cache                 判定缓存
+     * @param secretKey             密钥，为空时不校验
+     * @param leaseSigner           租约签名器，为 null 时不签发租约
+     * @param leaseTtl              租约有效期
+     * @param nextCheck             建议的心跳间隔，为 null 时不返回
+     * @param minMatchingComponents 按组成部分匹配时最少一致的组成部分数，为 0 时只接受综合摘要一致的请求
+     */
+    public LicenseVerificationService(LicenseIndex index, DecisionCache cache, String secretKey,
+                                      LeaseSigner leaseSigner, Duration leaseTtl, Duration nextCheck,
+                                      int minMatchingComponents) {
+        this(index, cache, secretKey, leaseSigner, leaseTtl, nextCheck, minMatchingComponents, Clock.systemUTC());
+    }
+
+    LicenseVerificationService(LicenseIndex index, DecisionCache cache, String secretKey, LeaseSigner leaseSigner,
+                               Duration leaseTtl, Duration nextCheck, int minMatchingComponents, Clock clock) {
+        this.index = index;
+        this.cache = cache;
+        this.secretKey = secretKey == null || secretKey.isEmpty() ? null : secretKey.getBytes(StandardCharsets.UTF_8);
+        this.digestKey = secretKey;
+        this.leaseSigner = leaseSigner;
+        this.leaseTtl = leaseTtl;
+        this.nextCheck = nextCheck;
+        this.minMatchingComponents = minMatchingComponents;
+        this.clock = clock;
+    }
+
+    /**
+     * 原始序列号的请求必须携带正确的密钥；只携带摘要的请求携带密钥时才校验密钥。
+     *
+     * @param request 客户端启动时采集的StarterRequest对象
+     * @return 判定结果
+     */
+    public Decision verify(StarterRequest request) {
+        if (request.getFingerprintDigest() != null) {
+            return decide(request.getCustomer(), request.getProject(), request.getFingerprintDigest(),
+                    request.getComponentDigests(), request.getSecretKey(), false);
+        }
+        Map<FingerprintComponent, String> components = FingerprintDigest.components(request, request.getSecretKey());
+        return decide(request.getCustomer(), request.getProject(),
+                FingerprintDigest.composite(components, request.getSecretKey()), components, request.getSecretKey(),
+                true);
+    }
+
+    /**
+     * @param request 客户端的心跳请求
+     * @return 判定结果
+     */
+    public Decision heartbeat(HeartbeatRequest request) {
+        return decide(request.getCustomer(), request.getProject(), request.getFingerprintDigest(),
+                request.getComponentDigests(), request.getSecretKey(), false);
+    }
+
+    /**
+     * @param raw 是否为原始序列号的请求：必须携带密钥，综合摘要由服务端计算；否则校验客户端提交的综合摘要
+     */
+    private Decision decide(String customer, String project, String fingerprintDigest,
+                            Map<FingerprintComponent, String> components, String requestSecretKey,
+                            boolean raw) {
+        if ((raw || requestSecretKey != null) && !secretKeyMatches(requestSecretKey)) {
+            return new Decision(HttpStatus.UNAUTHORIZED, "密钥错误", Map.of(), null, -1, 0, Long.MAX_VALUE);
+        }
+        if (!raw && !digestMatches(fingerprintDigest, components, requestSecretKey)) {
+            return new Decision(HttpStatus.BAD_REQUEST, "硬件指纹摘要与组成部分摘要不一致", Map.of(), null, -1, 0, Long.MAX_VALUE);
+        }
+        if (!FingerprintDigest.identifiesHost(components)) {
+            // 所有没有硬件信息的主机综合摘要相同，不能用于匹配许可
+            return new Decision(HttpStatus.BAD_REQUEST, "没有采集到任何硬件信息", Map.of(), null, -1, 0, Long.MAX_VALUE);
+        }
+        LicenseKey key = new LicenseKey(customer, project, fingerprintDigest);
+        LicenseIndex.Snapshot snapshot = index.snapshot();
+        Decision decision = cache.get(key, snapshot.version()).orElse(null);
+        if (decision == null) {
+            decision = evaluate(key, components == null ? Map.of() : components, snapshot);
+            cache.put(key, decision);
+        }
+        return withLease(key, decision);
+    }
+
+    /**
+     * 为允许启动的判定签发租约，有效期为租约有效期与许可到期时间中较早的一个。租约不写入缓存，
+     * 否则有效期内的续期会得到同一个到期时间。
+     */
+    private Decision withLease(LicenseKey key, Decision decision) {
+        if (leaseSigner == null || !decision.allowed()) {
+            return decision;
+        }
+        VerificationLease lease = new VerificationLease();
+        lease.setCustomer(key.customer());
+        lease.setProject(key.project());
+        lease.setFingerprintDigest(key.fingerprintDigest());
+        lease.setExpiresAt(Math.min(clock.millis() + leaseTtl.toMillis(), decision.licenseExpiresAt()));
+        Map<String, Object> data = new LinkedHashMap<>(decision.data());
+        data.put(LeaseManager.LEASE_KEY, leaseSigner.sign(lease));
+        return decision.withData(Map.copyOf(data));
+    }
+
+    private Decision evaluate(LicenseKey key, Map<FingerprintComponent, String> components,
+                              LicenseIndex.Snapshot snapshot) {
+        long validUntil = cache.expiresAt();
+        Optional<Match> found = match(key, components, snapshot);
+        if (found.isEmpty()) {
+            return denied("未授权的服务器", snapshot, validUntil);
+        }
+        License license = found.get().indexed().license();
+        if (!license.enabled()) {
+            return denied("许可已停用", snapshot, validUntil);
+        }
+        long now = clock.millis();
+        long licenseExpiresAt = license.expiresAt() == null ? Long.MAX_VALUE : license.expiresAt().toEpochMilli();
+        if (licenseExpiresAt <= now) {
+            return denied("许可已过期", snapshot, validUntil);
+        }
+
+        String version = Long.toString(found.get().indexed().version());
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put(VERSION_KEY, version);
+        if (nextCheck != null) {
+            data.put(NEXT_CHECK_KEY, nextCheck.toSeconds());
+        }
+        if (found.get().partial()) {
+            data.put(MATCHED_COMPONENTS_KEY, found.get().matched());
+            log.info("License {}/{} matched {} of {} hardware components, the fingerprint digest {} is not registered.",
+                    key.customer(), key.project(), found.get().matched(), license.components().size(),
+                    key.fingerprintDigest());
+        }
+        return new Decision(R.SUCCESS, "操作成功", Map.copyOf(data), version, snapshot.version(),
+                Math.min(validUntil, licenseExpiresAt), licenseExpiresAt);
+    }
+
+    /**
+     * 先按综合摘要查找；没有找到且配置了最少一致的组成部分数时，按组成部分选择一致最多的许可。
+     */
+    private Optional<Match> match(LicenseKey key, Map<FingerprintComponent, String> components,
+                                  LicenseIndex.Snapshot snapshot) {
+        Optional<LicenseIndex.Indexed> exact = snapshot.find(key);
+        if (exact.isPresent() || minMatchingComponents <= 0 || components.isEmpty()) {
+            return exact.map(indexed -> new Match(indexed, indexed.license().components().size(), false));
+        }
+        Match best = null;
+        for (LicenseIndex.Indexed candidate : snapshot.candidates(key.customer(), key.project())) {
+            int matched = 0;
+            for (Map.Entry<FingerprintComponent, String> registered : candidate.license().components().entrySet()) {
+                if (registered.getValue().equalsIgnoreCase(components.get(registered.getKey()))) {
+                    matched++;
+                }
+            }
+            if (matched >= minMatchingComponents && (best == null || matched > best.matched())) {
+                best = new Match(candidate, matched, true);
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private static Decision denied(String msg, LicenseIndex.Snapshot snapshot, long validUntil) {
+        return new Decision(HttpStatus.FORBIDDEN, msg, Map.of(), null, snapshot.version(), validUntil, Long.MAX_VALUE);
+    }
+
+    /**
+     * 由组成部分摘要重新计算综合摘要，与客户端提交的综合摘要比较。请求携带密钥时已经校验过与配置一致。
+     */
+    private boolean digestMatches(String fingerprintDigest, Map<FingerprintComponent, String> components,
+                                  String requestSecretKey) {
+        if (fingerprintDigest == null) {
+            return false;
+        }
+        String expected = FingerprintDigest.composite(components == null ? Map.of() : components,
+                requestSecretKey != null ? requestSecretKey : digestKey);
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                fingerprintDigest.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean secretKeyMatches(String requestSecretKey) {
+        if (secretKey == null) {
+            return true;
+        }
+        byte[] provided = requestSecretKey == null ? new byte[0] : requestSecretKey.getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(secretKey, provided);
+    }
+
+    /**
+     * 查找到的许可
+     *
+     * @param indexed 索引中的许可
+     * @param matched 一致的组成部分数
+     * @param partial 是否按组成部分匹配
+     */
+    private record Match(LicenseIndex.Indexed indexed, int matched, boolean partial) {
+    }
+}
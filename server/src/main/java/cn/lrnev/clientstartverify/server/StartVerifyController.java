@@ -0,0 +1,75 @@
+package cn.lrnev.clientstartverify.server;
+
+import cn.lrnev.clientstartverify.core.R;
+import cn.lrnev.clientstartverify.verify.HeartbeatRequest;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import cn.lrnev.clientstartverify.verify.VerificationClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 启动校验与心跳接口
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 18:54
+ **/
+@Slf4j
+@RestController
+@RequestMapping("/client")
+public class StartVerifyController {
+
+    private final LicenseVerificationService verificationService;
+
+    public StartVerifyController(LicenseVerificationService verificationService) {
+        this.verificationService = verificationService;
+    }
+
+    /**
+     * 启动校验，对应客户端的 {@code start-verify.url}。
+     */
+    @PostMapping("/startVerify")
+    public ResponseEntity<R<Map<String, Object>>> startVerify(@RequestBody StarterRequest request) {
+        Decision decision = verificationService.verify(request);
+        if (!decision.allowed()) {
+            log.info("Start verification denied for {}/{} at {}: {}", request.getCustomer(), request.getProject(),
+                    request.getIp(), decision.msg());
+        }
+        return respond(decision);
+    }
+
+    /**
+     * 心跳，对应客户端的 {@code start-verify.heartbeat.url}。许可版本与 {@code If-None-Match} 一致时返回 304。
+     */
+    @PostMapping("/heartbeat")
+    public ResponseEntity<R<Map<String, Object>>> heartbeat(@RequestBody HeartbeatRequest request,
+                                                            @RequestHeader(name = VerificationClient.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Decision decision = verificationService.heartbeat(request);
+        if (!decision.allowed()) {
+            log.info("Heartbeat denied for {}/{} at {}: {}", request.getCustomer(), request.getProject(),
+                    request.getIp(), decision.msg());
+        } else if (etag(decision).equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).header(VerificationClient.ETAG, etag(decision)).build();
+        }
+        return respond(decision);
+    }
+
+    private static ResponseEntity<R<Map<String, Object>>> respond(Decision decision) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (decision.allowed()) {
+            response.header(VerificationClient.ETAG, etag(decision));
+        }
+        return response.body(decision.toResponse());
+    }
+
+    private static String etag(Decision decision) {
+        return "\"" + decision.version() + "\"";
+    }
+}
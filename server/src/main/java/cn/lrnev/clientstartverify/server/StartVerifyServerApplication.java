@@ -0,0 +1,18 @@
+package cn.lrnev.clientstartverify.server;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 启动校验服务
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 18:40
+ **/
+@SpringBootApplication
+public class StartVerifyServerApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(StartVerifyServerApplication.class, args);
+    }
+}
@@ -0,0 +1,61 @@
+package cn.lrnev.clientstartverify.server;
+
+import cn.lrnev.clientstartverify.lease.LeaseSigner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * @author 鲁子狄
+ * @since 2026/10/17 18:52
+ **/
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(StartVerifyServerProperties.class)
+public class StartVerifyServerConfiguration {
+
+    /**
+     * 载入配置中的许可；许可保存在其他存储时，由调用方通过 {@link LicenseIndex#replaceAll} 更新。
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LicenseIndex licenseIndex(StartVerifyServerProperties properties) {
+        LicenseIndex index = new LicenseIndex();
+        index.replaceAll(properties.getLicenses());
+        log.info("License index loaded with {} licenses.", properties.getLicenses().size());
+        return index;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DecisionCache decisionCache(StartVerifyServerProperties properties) {
+        StartVerifyServerProperties.Cache cache = properties.getCache();
+        return new DecisionCache(cache.getMaxSize(), cache.getTtl());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LicenseVerificationService licenseVerificationService(LicenseIndex index, DecisionCache cache,
+                                                                 StartVerifyServerProperties properties) {
+        StartVerifyServerProperties.Lease lease = properties.getLease();
+        LeaseSigner signer = StringUtils.hasText(lease.getPrivateKey())
+                ? LeaseSigner.fromBase64(lease.getPrivateKey()) : null;
+        return new LicenseVerificationService(index, cache, properties.getSecretKey(), signer, lease.getTtl(),
+                properties.getNextCheck(), properties.getMinMatchingComponents());
+    }
+
+    /**
+     * 解压客户端 gzip 压缩的请求体，解压后超过 {@code start-verify-server.max-decompressed-size} 时返回 413。
+     */
+    @Bean
+    public FilterRegistrationBean<GzipRequestFilter> gzipRequestFilter(StartVerifyServerProperties properties) {
+        FilterRegistrationBean<GzipRequestFilter> registration = new FilterRegistrationBean<>(
+                new GzipRequestFilter(properties.getMaxDecompressedSize().toBytes()));
+        registration.addUrlPatterns("/client/*");
+        return registration;
+    }
+}
@@ -0,0 +1,88 @@
+package cn.lrnev.clientstartverify.server;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 启动校验服务配置
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 18:48
+ **/
+@Data
+@ConfigurationProperties(prefix = "start-verify-server")
+public class StartVerifyServerProperties {
+
+    /**
+     * 密钥，不为空时要求客户端的 {@code start-verify.secretKey} 与之一致
+     */
+    private String secretKey;
+
+    /**
+     * 启动时载入许可索引的许可
+     */
+    private List<License> licenses = new ArrayList<>();
+
+    /**
+     * 建议客户端心跳的间隔，为空时由客户端决定
+     */
+    private Duration nextCheck;
+
+    /**
+     * 综合摘要没有对应的许可时，按组成部分匹配所需的最少一致组成部分数（共 5 个：主板、CPU、内存、硬盘、网卡），
+     * 为 0 时只接受综合摘要一致的请求
+     */
+    private int minMatchingComponents;
+
+    /**
+     * gzip 压缩的请求体解压后的大小上限，超过时返回 413
+     */
+    private DataSize maxDecompressedSize = DataSize.ofKilobytes(256);
+
+    /**
+     * 许可判定缓存配置
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * 离线租约签发配置
+     */
+    private Lease lease = new Lease();
+
+    /**
+     * 许可判定缓存配置
+     */
+    @Data
+    public static class Cache {
+        /**
+         * 条目数上限
+         */
+        private int maxSize = 100_000;
+
+        /**
+         * 判定结果的有效期
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    /**
+     * 离线租约签发配置
+     */
+    @Data
+    public static class Lease {
+        /**
+         * 签发租约使用的私钥（Base64 编码的 PKCS#8 格式，Ed25519 或 EC），为空时不签发租约
+         */
+        private String privateKey;
+
+        /**
+         * 租约有效期，不超过许可的到期时间
+         */
+        private Duration ttl = Duration.ofDays(7);
+    }
+}
@@ -0,0 +1,49 @@
+package cn.lrnev.clientstartverify.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecisionCacheTests {
+
+    /**
+     * 测试许可索引变化或超过有效期后不再命中。
+     */
+    @Test
+    void testStaleDecisionsMiss() {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-17T00:00:00Z"), ZoneOffset.UTC);
+        DecisionCache cache = new DecisionCache(10, Duration.ofMinutes(5), clock);
+        LicenseKey key = new LicenseKey("Mada", "GGSC", "digest");
+        cache.put(key, decision(1, cache.expiresAt()));
+
+        assertThat(cache.get(key, 1)).isPresent();
+        assertThat(cache.get(key, 2)).isEmpty();
+
+        cache.put(key, decision(1, clock.millis()));
+        assertThat(cache.get(key, 1)).isEmpty();
+    }
+
+    /**
+     * 测试条目数超过上限时淘汰，缓存保持有界。
+     */
+    @Test
+    void testSizeIsBounded() {
+        DecisionCache cache = new DecisionCache(100, Duration.ofMinutes(5));
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(new LicenseKey("Mada", "GGSC", "digest-" + i), decision(1, cache.expiresAt()));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+    }
+
+    private static Decision decision(long indexVersion, long validUntil) {
+        return new Decision(200, "操作成功", Map.of(), "1", indexVersion, validUntil, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,110 @@
+package cn.lrnev.clientstartverify.server;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GzipRequestFilterTests {
+
+    private final GzipRequestFilter filter = new GzipRequestFilter(1024);
+
+    /**
+     * 测试解压后的请求体交给后续处理，去掉 Content-Encoding 并给出解压后的长度。
+     */
+    @Test
+    void testRequestIsDecompressed() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(gzip("{\"customer\":\"Mada\"}".getBytes(StandardCharsets.UTF_8))),
+                new MockHttpServletResponse(), chain);
+
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertThat(forwarded.getHeader("Content-Encoding")).isNull();
+        assertThat(forwarded.getContentLength()).isEqualTo(19);
+        assertThat(new String(forwarded.getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"customer\":\"Mada\"}");
+    }
+
+    /**
+     * 测试解压后超过上限的请求体返回 413，不交给后续处理。
+     */
+    @Test
+    void testOversizedBodyIsRejected() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(gzip(new byte[1024 * 1024])), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    /**
+     * 测试不是有效 gzip 的请求体返回 400。
+     */
+    @Test
+    void testMalformedBodyIsRejected() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("not gzip".getBytes(StandardCharsets.UTF_8)), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+
+    /**
+     * 测试异步读取时立即通知可读与读取完毕。
+     */
+    @Test
+    void testAsynchronousRead() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(gzip("{}".getBytes(StandardCharsets.UTF_8))), new MockHttpServletResponse(), chain);
+        ServletInputStream in = chain.getRequest().getInputStream();
+        AtomicReference<String> read = new AtomicReference<>();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                read.set(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void onAllDataRead() {
+                read.set(read.get() + " done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                read.set(t.toString());
+            }
+        });
+
+        assertThat(read).hasValue("{} done");
+    }
+
+    private static MockHttpServletRequest request(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/client/startVerify");
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(body);
+        return request;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
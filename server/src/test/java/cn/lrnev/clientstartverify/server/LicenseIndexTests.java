@@ -0,0 +1,50 @@
+package cn.lrnev.clientstartverify.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LicenseIndexTests {
+
+    private static final License LICENSE = new License("Mada", "GGSC", "digest-1", null, true);
+
+    /**
+     * 测试修改生成新的快照，已取得的快照不受影响。
+     */
+    @Test
+    void testWritesReplaceSnapshot() {
+        LicenseIndex index = new LicenseIndex();
+        LicenseIndex.Snapshot before = index.snapshot();
+
+        index.put(LICENSE);
+
+        assertThat(before.find(LICENSE.key())).isEmpty();
+        assertThat(index.find(LICENSE.key())).hasValueSatisfying(indexed ->
+                assertThat(indexed.license()).isEqualTo(LICENSE));
+        assertThat(index.snapshot().version()).isGreaterThan(before.version());
+
+        index.remove(LICENSE.key());
+        assertThat(index.find(new LicenseKey(" Mada ", "GGSC", "digest-1"))).isEmpty();
+    }
+
+    /**
+     * 测试整体替换时内容未变的许可保留原来的版本，变化的许可获得新版本。
+     */
+    @Test
+    void testReplaceAllKeepsVersionOfUnchangedLicenses() {
+        License other = new License("Mada", "GGSC", "digest-2", null, true);
+        LicenseIndex index = new LicenseIndex();
+        index.replaceAll(List.of(LICENSE, other));
+        long unchanged = index.find(LICENSE.key()).orElseThrow().version();
+        long changed = index.find(other.key()).orElseThrow().version();
+
+        index.replaceAll(List.of(LICENSE, new License("Mada", "GGSC", "digest-2",
+                Instant.parse("2030-01-01T00:00:00Z"), true)));
+
+        assertThat(index.find(LICENSE.key()).orElseThrow().version()).isEqualTo(unchanged);
+        assertThat(index.find(other.key()).orElseThrow().version()).isGreaterThan(changed);
+    }
+}
@@ -0,0 +1,167 @@
+package cn.lrnev.clientstartverify.server;
+
+import cn.lrnev.clientstartverify.core.HttpStatus;
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import cn.lrnev.clientstartverify.lease.LeaseManager;
+import cn.lrnev.clientstartverify.lease.LeaseSigner;
+import cn.lrnev.clientstartverify.lease.VerificationLease;
+import cn.lrnev.clientstartverify.verify.FingerprintDigest;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPairGenerator;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LicenseVerificationServiceTests {
+
+    private final LicenseIndex index = new LicenseIndex();
+
+    /**
+     * 测试只携带摘要的请求与原始序列号的请求得到相同的判定，原始序列号的请求必须携带密钥。
+     */
+    @Test
+    void testDigestAndRawRequestsAgree() {
+        StarterRequest raw = request("disk-1", "aa:bb:cc:00:00:01");
+        index.put(license(raw));
+        LicenseVerificationService service = service(0);
+
+        assertThat(service.verify(FingerprintDigest.digestOnly(raw)).allowed()).isTrue();
+        assertThat(service.verify(raw).allowed()).isTrue();
+
+        raw.setSecretKey(null);
+        assertThat(service.verify(raw).code()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        StarterRequest wrongKey = request("disk-1", "aa:bb:cc:00:00:01");
+        wrongKey.setSecretKey("wrong");
+        assertThat(service.verify(FingerprintDigest.digestOnly(wrongKey)).allowed()).isFalse();
+    }
+
+    /**
+     * 测试更换一个硬盘后，达到最少一致的组成部分数时仍允许启动，并返回一致的组成部分数。
+     */
+    @Test
+    void testReplacedComponentMatchesByComponents() {
+        index.put(license(request("disk-1", "aa:bb:cc:00:00:01")));
+        StarterRequest replacedDisk = FingerprintDigest.digestOnly(request("disk-9", "aa:bb:cc:00:00:01"));
+
+        assertThat(service(0).verify(replacedDisk).allowed()).isFalse();
+
+        Decision decision = service(3).verify(replacedDisk);
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.data()).containsEntry(LicenseVerificationService.MATCHED_COMPONENTS_KEY, 3);
+    }
+
+    /**
+     * 测试一致的组成部分少于要求时拒绝，多个候选许可中选择一致最多的许可。
+     */
+    @Test
+    void testBestCandidateMustReachThreshold() {
+        StarterRequest other = request("disk-2", "aa:bb:cc:00:00:02");
+        other.setMbSerialNo("MB-2");
+        index.replaceAll(List.of(license(request("disk-1", "aa:bb:cc:00:00:01")), license(other)));
+
+        StarterRequest twoReplaced = FingerprintDigest.digestOnly(request("disk-9", "aa:bb:cc:00:00:09"));
+        assertThat(service(3).verify(twoReplaced).code()).isEqualTo(HttpStatus.FORBIDDEN);
+
+        Decision decision = service(2).verify(twoReplaced);
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.data()).containsEntry(LicenseVerificationService.MATCHED_COMPONENTS_KEY, 2);
+    }
+
+    /**
+     * 测试客户端提交的综合摘要与组成部分摘要不一致时拒绝，不查找许可也不写入判定缓存。
+     */
+    @Test
+    void testForgedDigestIsRejected() {
+        StarterRequest licensed = request("disk-1", "aa:bb:cc:00:00:01");
+        index.put(license(licensed));
+        StarterRequest forged = FingerprintDigest.digestOnly(request("disk-9", "aa:bb:cc:00:00:09"));
+        forged.setFingerprintDigest(FingerprintDigest.of(licensed));
+        LicenseVerificationService service = service(0);
+
+        assertThat(service.verify(forged).code()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        StarterRequest tampered = FingerprintDigest.digestOnly(licensed);
+        Map<FingerprintComponent, String> withoutDisk = new EnumMap<>(tampered.getComponentDigests());
+        withoutDisk.remove(FingerprintComponent.DISK);
+        tampered.setComponentDigests(withoutDisk);
+        assertThat(service.verify(tampered).code()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(service.verify(FingerprintDigest.digestOnly(licensed)).allowed()).isTrue();
+    }
+
+    /**
+     * 测试没有采集到任何硬件信息的请求被拒绝，即使登记了同样没有硬件信息的许可。
+     */
+    @Test
+    void testRequestWithoutHardwareIsRejected() {
+        StarterRequest empty = new StarterRequest();
+        empty.setCustomer("Mada");
+        empty.setProject("GGSC");
+        empty.setSecretKey("secret");
+        index.put(license(empty));
+        LicenseVerificationService service = service(0);
+
+        assertThat(service.verify(empty).code()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(service.verify(FingerprintDigest.digestOnly(empty)).code()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * 测试判定缓存命中时仍签发新的租约，时间推移后续期得到更晚的到期时间。
+     */
+    @Test
+    void testCachedDecisionSignsFreshLease() throws Exception {
+        StarterRequest licensed = request("disk-1", "aa:bb:cc:00:00:01");
+        index.put(license(licensed));
+        Instant now = Instant.parse("2026-10-17T00:00:00Z");
+        DecisionCache cache = new DecisionCache(100, Duration.ofMinutes(5), Clock.fixed(now, ZoneOffset.UTC));
+        LeaseSigner signer = new LeaseSigner(KeyPairGenerator.getInstance("Ed25519").generateKeyPair().getPrivate());
+
+        Decision first = leaseService(cache, signer, Clock.fixed(now, ZoneOffset.UTC))
+                .verify(FingerprintDigest.digestOnly(licensed));
+        Decision renewed = leaseService(cache, signer, Clock.fixed(now.plusSeconds(60), ZoneOffset.UTC))
+                .verify(FingerprintDigest.digestOnly(licensed));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(lease(renewed).getExpiresAt())
+                .isEqualTo(lease(first).getExpiresAt() + 60_000)
+                .isEqualTo(now.plus(Duration.ofDays(7)).plusSeconds(60).toEpochMilli());
+    }
+
+    private LicenseVerificationService leaseService(DecisionCache cache, LeaseSigner signer, Clock clock) {
+        return new LicenseVerificationService(index, cache, "secret", signer, Duration.ofDays(7), null, 0, clock);
+    }
+
+    private static VerificationLease lease(Decision decision) {
+        assertThat(decision.allowed()).isTrue();
+        return (VerificationLease) decision.data().get(LeaseManager.LEASE_KEY);
+    }
+
+    private LicenseVerificationService service(int minMatchingComponents) {
+        return new LicenseVerificationService(index, new DecisionCache(100, Duration.ofMinutes(5)), "secret", null,
+                Duration.ofDays(7), null, minMatchingComponents);
+    }
+
+    private static License license(StarterRequest request) {
+        return new License("Mada", "GGSC", FingerprintDigest.of(request), null, true,
+                FingerprintDigest.components(request, request.getSecretKey()));
+    }
+
+    private static StarterRequest request(String disk, String nic) {
+        StarterRequest request = new StarterRequest();
+        request.setMbSerialNo("MB-1");
+        request.setCpuSerialNo("CPU-1");
+        request.setDiskSerialNo(disk);
+        request.setNicSerialNo(nic);
+        request.setCustomer("Mada");
+        request.setProject("GGSC");
+        request.setSecretKey("secret");
+        return request;
+    }
+}
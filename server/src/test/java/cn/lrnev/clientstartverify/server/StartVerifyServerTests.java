@@ -0,0 +1,176 @@
+package cn.lrnev.clientstartverify.server;
+
+import cn.lrnev.clientstartverify.command.RecordedCommandRunner;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.detector.OperatingSystemDetector;
+import cn.lrnev.clientstartverify.lease.LeaseManager;
+import cn.lrnev.clientstartverify.lease.LeaseVerifier;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import cn.lrnev.clientstartverify.verify.DefaultStartVerifier;
+import cn.lrnev.clientstartverify.verify.FingerprintDigest;
+import cn.lrnev.clientstartverify.verify.HedgedVerificationClient;
+import cn.lrnev.clientstartverify.verify.HeartbeatRequest;
+import cn.lrnev.clientstartverify.verify.StartVerificationException;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import cn.lrnev.clientstartverify.verify.VerificationClient;
+import cn.lrnev.clientstartverify.verify.VerificationResponse;
+import cn.lrnev.clientstartverify.verify.WireFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "start-verify-server.secret-key=secret",
+        "start-verify-server.next-check=10m"
+})
+class StartVerifyServerTests {
+
+    private static final KeyPair KEY_PAIR = keyPair();
+
+    @TempDir
+    Path directory;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    LicenseIndex index;
+
+    private OperatingSystemDetector detector;
+
+    private MockEnvironment environment;
+
+    @DynamicPropertySource
+    static void leaseKey(DynamicPropertyRegistry registry) {
+        registry.add("start-verify-server.lease.private-key",
+                () -> Base64.getEncoder().encodeToString(KEY_PAIR.getPrivate().getEncoded()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        detector = new OperatingSystemDetector(new RecordedCommandRunner(), new LinuxSysfsReader(directory));
+        environment = new MockEnvironment()
+                .withProperty("start-verify.customer", "Mada")
+                .withProperty("start-verify.project", "GGSC")
+                .withProperty("start-verify.secretKey", "secret");
+        index.replaceAll(List.of());
+    }
+
+    /**
+     * 测试客户端启动校验通过，并保存校验服务签发的离线租约。
+     */
+    @Test
+    void testLicensedHostPassesAndReceivesLease() throws IOException {
+        index.put(new License("Mada", "GGSC", digest(), null, true));
+        Path leasePath = directory.resolve("lease.properties");
+        LeaseManager leaseManager = new LeaseManager(new LeaseVerifier(KEY_PAIR.getPublic()), leasePath,
+                Duration.ofDays(1));
+
+        verifier(leaseManager).verify();
+
+        assertThat(Files.readString(leasePath)).contains("fingerprintDigest=" + digest());
+    }
+
+    /**
+     * 测试未登记的服务器与错误的密钥被拒绝。
+     */
+    @Test
+    void testUnlicensedHostIsRejected() {
+        assertThatExceptionOfType(StartVerificationException.class)
+                .isThrownBy(verifier(LeaseManager.disabled())::verify);
+
+        index.put(new License("Mada", "GGSC", digest(), null, true));
+        environment.setProperty("start-verify.secretKey", "wrong");
+        assertThatExceptionOfType(StartVerificationException.class)
+                .isThrownBy(verifier(LeaseManager.disabled())::verify);
+    }
+
+    /**
+     * 测试心跳在许可未变化时返回 304，许可变化后返回新的版本。
+     */
+    @Test
+    void testHeartbeatIsConditional() {
+        index.put(new License("Mada", "GGSC", digest(), null, true));
+        StarterRequest detected = detector.detect(environment);
+        detected.setSecretKey("secret");
+        HeartbeatRequest request = HeartbeatRequest.of(detected);
+        request.setCustomer("Mada");
+        request.setProject("GGSC");
+        VerificationClient client = new VerificationClient();
+        String url = "http://127.0.0.1:" + port + "/client/heartbeat";
+
+        VerificationResponse first = client.post(url, request, Map.of());
+        assertThat(first.isOk()).isTrue();
+        assertThat(first.getNextCheck()).isEqualTo(Duration.ofMinutes(10));
+
+        VerificationResponse unchanged = client.post(url, request,
+                Map.of(VerificationClient.IF_NONE_MATCH, first.getEtag()));
+        assertThat(unchanged.isNotModified()).isTrue();
+
+        index.put(new License("Mada", "GGSC", digest(), null, false));
+        VerificationResponse revoked = client.post(url, request,
+                Map.of(VerificationClient.IF_NONE_MATCH, first.getEtag()));
+        assertThat(revoked.isOk()).isTrue();
+        assertThat(revoked.getBody().getMsg()).isEqualTo("许可已停用");
+    }
+
+    /**
+     * 测试接收 gzip 压缩的 CBOR 请求。
+     */
+    @Test
+    void testCompressedCborRequestIsAccepted() {
+        index.put(new License("Mada", "GGSC", digest(), null, true));
+        StarterRequest request = detector.detect(environment);
+        request.setSecretKey("secret");
+        VerificationClient client = new VerificationClient((Duration) null, null, WireFormat.CBOR, 0);
+
+        VerificationResponse response = client.post("http://127.0.0.1:" + port + "/client/startVerify", request,
+                Map.of());
+
+        assertThat(response.isOk()).isTrue();
+        assertThat(response.getBody().getCode()).isEqualTo(200);
+        assertThat(response.getEtag()).isNotBlank();
+    }
+
+    private DefaultStartVerifier verifier(LeaseManager leaseManager) {
+        HedgedVerificationClient client = new HedgedVerificationClient(
+                List.of("http://127.0.0.1:" + port + "/client/startVerify"), new VerificationClient(),
+                Duration.ofSeconds(5), 0.95, Duration.ofSeconds(1), VerificationMetrics.NOOP);
+        return new DefaultStartVerifier(environment, detector, leaseManager, VerificationMetrics.NOOP, client);
+    }
+
+    private String digest() {
+        StarterRequest request = detector.detect(environment);
+        request.setSecretKey("secret");
+        return FingerprintDigest.of(request);
+    }
+
+    private static KeyPair keyPair() {
+        try {
+            return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
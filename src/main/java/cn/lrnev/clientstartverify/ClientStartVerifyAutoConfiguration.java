@@ -1,14 +1,49 @@
 package cn.lrnev.clientstartverify;
 
+import cn.lrnev.clientstartverify.agent.FingerprintAgent;
+import cn.lrnev.clientstartverify.cache.FingerprintCache;
+import cn.lrnev.clientstartverify.cache.ProbeCapabilities;
+import cn.lrnev.clientstartverify.command.CommandRunner;
+import cn.lrnev.clientstartverify.command.ProcessCommandRunner;
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.detector.ContainerDetector;
+import cn.lrnev.clientstartverify.detector.FingerprintCollector;
+import cn.lrnev.clientstartverify.detector.HardwareFingerprint;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.detector.OperatingSystemDetector;
+import cn.lrnev.clientstartverify.detector.ProbeExecutors;
+import cn.lrnev.clientstartverify.detector.SystemFingerprintCollectors;
+import cn.lrnev.clientstartverify.lease.LeaseManager;
+import cn.lrnev.clientstartverify.metrics.MicrometerVerificationMetrics;
+import cn.lrnev.clientstartverify.metrics.StartupStepVerificationMetrics;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import cn.lrnev.clientstartverify.transport.VerificationTransport;
+import cn.lrnev.clientstartverify.transport.VerificationTransports;
 import cn.lrnev.clientstartverify.verify.DefaultStartVerifier;
+import cn.lrnev.clientstartverify.verify.EarlyStartVerification;
+import cn.lrnev.clientstartverify.verify.HeartbeatStartVerifier;
+import cn.lrnev.clientstartverify.verify.StartVerificationGate;
+import cn.lrnev.clientstartverify.verify.StartVerifier;
+import cn.lrnev.clientstartverify.verify.HedgedVerificationClient;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 /**
  * @author 鲁子狄
@@ -17,19 +52,241 @@ import org.springframework.context.annotation.Bean;
 @Slf4j
 @AutoConfiguration
 @ConditionalOnProperty(name = "start-verify.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(StartVerifyProperties.class)
 public class ClientStartVerifyAutoConfiguration {
 
+    /**
+     * 探针执行器的 Bean 名称
+     */
+    public static final String PROBE_EXECUTOR_BEAN_NAME = "startVerifyProbeExecutor";
+
+    private static final String METER_REGISTRY_CLASS = "io.micrometer.core.instrument.MeterRegistry";
+
     @PostConstruct
     public void init() {
         log.info("ClientStartVerifyAutoConfiguration is being initialized.");
     }
 
+    /**
+     * 探针执行器，不作为默认的注入候选，避免影响宿主应用按类型注入 {@link Executor}。
+     */
+    @Bean(name = PROBE_EXECUTOR_BEAN_NAME, defaultCandidate = false)
+    @ConditionalOnMissingBean(name = PROBE_EXECUTOR_BEAN_NAME)
+    public ExecutorService startVerifyProbeExecutor(StartVerifyProperties properties) {
+        StartVerifyProperties.Detector detector = properties.getDetector();
+        return ProbeExecutors.create(detector.getConcurrency(), detector.isVirtualThreads());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CommandRunner startVerifyCommandRunner(StartVerifyProperties properties) {
+        return ProcessCommandRunner.of(properties.getDetector().getConcurrency());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LinuxSysfsReader startVerifySysfsReader() {
+        return new LinuxSysfsReader();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public FingerprintCache fingerprintCache(StartVerifyProperties properties, LinuxSysfsReader sysfs) {
+        return FingerprintCache.of(properties, sysfs);
+    }
+
+    /**
+     * 与硬件指纹缓存一同启用，{@code start-verify.cache.enabled=false} 时不读取也不写入档案。
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ProbeCapabilities startVerifyProbeCapabilities(StartVerifyProperties properties, LinuxSysfsReader sysfs) {
+        return ProbeCapabilities.of(properties, sysfs);
+    }
+
+    /**
+     * 启动步骤始终记录；存在 Micrometer 时同时记录到应用上下文中的指标注册表。
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public VerificationMetrics startVerifyMetrics(ConfigurableApplicationContext context) {
+        List<VerificationMetrics> metrics = new ArrayList<>();
+        if (context.getApplicationStartup() != null) {
+            metrics.add(new StartupStepVerificationMetrics(context.getApplicationStartup()));
+        }
+        if (ClassUtils.isPresent(METER_REGISTRY_CLASS, context.getClassLoader())) {
+            metrics.add(MicrometerVerificationMetrics.fromBeanFactory(context));
+        }
+        return VerificationMetrics.of(metrics);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ContainerDetector startVerifyContainerDetector(StartVerifyProperties properties) {
+        return ContainerDetector.of(properties.getDetector());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SystemFingerprintCollectors startVerifySystemCollectors(CommandRunner commandRunner, LinuxSysfsReader sysfs,
+                                                                   ContainerDetector containerDetector,
+                                                                   ProbeCapabilities capabilities,
+                                                                   StartVerifyProperties properties) {
+        return new SystemFingerprintCollectors(commandRunner, sysfs, containerDetector,
+                properties.getDetector().getSudo(), capabilities);
+    }
+
+    /*
+     * 内置的采集器，每个组成部分一个 Bean。宿主应用注册的同一组成部分的采集器排序在前，替换内置的实现。
+     */
+
+    @Bean
+    public FingerprintCollector startVerifyMbCollector(SystemFingerprintCollectors collectors) {
+        return collectors.mb();
+    }
+
+    @Bean
+    public FingerprintCollector startVerifyCpuCollector(SystemFingerprintCollectors collectors) {
+        return collectors.cpu();
+    }
+
+    @Bean
+    public FingerprintCollector startVerifyMemoryCollector(SystemFingerprintCollectors collectors) {
+        return collectors.memory();
+    }
+
+    @Bean
+    public FingerprintCollector startVerifyDiskCollector(SystemFingerprintCollectors collectors) {
+        return collectors.disk();
+    }
+
+    @Bean
+    public FingerprintCollector startVerifyNicCollector(SystemFingerprintCollectors collectors) {
+        return collectors.nic();
+    }
+
+    @Bean
+    public FingerprintCollector startVerifyIpCollector(SystemFingerprintCollectors collectors) {
+        return collectors.ip();
+    }
+
+    @Bean
+    public FingerprintCollector startVerifyContainerCollector(SystemFingerprintCollectors collectors) {
+        return collectors.container();
+    }
+
+    /**
+     * 未启用 {@code start-verify.agent.enabled} 时不使用代理，每个 JVM 各自采集硬件指纹。
+     * 提前校验已经创建代理时沿用同一个代理。
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public FingerprintAgent startVerifyFingerprintAgent(StartVerifyProperties properties,
+                                                        ObjectProvider<EarlyStartVerification> earlyVerification) {
+        EarlyStartVerification early = earlyVerification.getIfAvailable();
+        return early != null ? early.fingerprintAgent() : FingerprintAgent.of(properties.getAgent());
+    }
+
+    /**
+     * 与提前校验共用 {@link OperatingSystemDetector#of} 组装，只运行 {@code start-verify.detector.components} 中启用的采集器。
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public OperatingSystemDetector operatingSystemDetector(ObjectProvider<FingerprintCollector> collectors,
+                                                           @Qualifier(PROBE_EXECUTOR_BEAN_NAME) Executor probeExecutor,
+                                                           FingerprintCache fingerprintCache,
+                                                           VerificationMetrics metrics,
+                                                           ContainerDetector containerDetector,
+                                                           FingerprintAgent agent,
+                                                           StartVerifyProperties properties) {
+        return OperatingSystemDetector.of(properties, collectors.orderedStream().toList(), probeExecutor,
+                fingerprintCache, metrics, containerDetector, agent);
+    }
+
+    /**
+     * 启动校验与心跳共用的硬件指纹，第一次校验时采集一次；提前校验通过时直接使用其采集的结果。
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public HardwareFingerprint hardwareFingerprint(OperatingSystemDetector detector,
+                                                   ObjectProvider<EarlyStartVerification> earlyVerification) {
+        HardwareFingerprint fingerprint = new HardwareFingerprint(detector);
+        earlyVerification.ifAvailable(early -> early.shareFingerprint(fingerprint));
+        return fingerprint;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LeaseManager leaseManager(StartVerifyProperties properties) {
+        return LeaseManager.of(properties.getLease());
+    }
+
+    /**
+     * 默认使用 JDK 自带的 HttpClient，配置 {@code start-verify.client.transport=forest} 且类路径中存在 Forest 时使用 Forest。
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public VerificationTransport startVerifyTransport(StartVerifyProperties properties) {
+        return VerificationTransports.of(properties.getClient());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public HedgedVerificationClient startVerifyClient(StartVerifyProperties properties, VerificationMetrics metrics,
+                                                      VerificationTransport transport) {
+        return HedgedVerificationClient.of(properties, metrics, transport);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public StartVerifier startVerifier(ConfigurableApplicationContext context, HardwareFingerprint fingerprint,
+                                       LeaseManager leaseManager, VerificationMetrics metrics,
+                                       HedgedVerificationClient client) {
+        return new DefaultStartVerifier(context, fingerprint, leaseManager, metrics, client);
+    }
+
+    /**
+     * 后台定期重新校验，不作为 {@link StartVerifier} 的默认注入候选。
+     */
+    @Bean(defaultCandidate = false)
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "start-verify.heartbeat.enabled", havingValue = "true")
+    public HeartbeatStartVerifier heartbeatStartVerifier(ConfigurableApplicationContext context,
+                                                         HardwareFingerprint fingerprint, LeaseManager leaseManager,
+                                                         HedgedVerificationClient client,
+                                                         StartVerifyProperties properties) {
+        StartVerifyProperties.Heartbeat heartbeat = properties.getHeartbeat();
+        HedgedVerificationClient heartbeatClient = StringUtils.hasText(heartbeat.getUrl())
+                ? client.withEndpoints(List.of(heartbeat.getUrl())) : client;
+        return new HeartbeatStartVerifier(context.getEnvironment(), fingerprint, leaseManager, heartbeatClient,
+                heartbeat.getInterval(), heartbeat.getJitter(), heartbeat.getMinInterval(),
+                heartbeat.getMaxInterval(), () -> {
+                    SpringApplication.exit(context, () -> 1);
+                    System.exit(1);
+                });
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "start-verify.mode", havingValue = "early")
+    public StartVerificationGate startVerificationGate(ObjectProvider<EarlyStartVerification> earlyVerification,
+                                                       StartVerifier startVerifier, StartVerifyProperties properties,
+                                                       VerificationMetrics metrics,
+                                                       ConfigurableApplicationContext context) {
+        return new StartVerificationGate(earlyVerification, startVerifier, properties.getEarlyTimeout(), metrics,
+                () -> {
+                    log.error("Offline lease renewal rejected, shutting down.");
+                    SpringApplication.exit(context, () -> 1);
+                    System.exit(1);
+                });
+    }
+
     @Bean
-    public CommandLineRunner clientStartVerifyRunner(ConfigurableApplicationContext context) {
+    @ConditionalOnProperty(name = "start-verify.mode", havingValue = "runner", matchIfMissing = true)
+    public CommandLineRunner clientStartVerifyRunner(StartVerifier startVerifier, ConfigurableApplicationContext context) {
         return args -> {
             try {
                 log.info("Starting client verification process...");
-                new DefaultStartVerifier(context).verify();
+                startVerifier.verify();
                 log.info("Client verification completed successfully.");
             } catch (Exception e) {
                 log.error("Failed to perform start verification: {}", e.getMessage(), e);
@@ -37,4 +294,4 @@ public class ClientStartVerifyAutoConfiguration {
             }
         };
     }
-}
\ No newline at end of file
+}
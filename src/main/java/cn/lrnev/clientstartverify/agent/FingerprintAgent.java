@@ -0,0 +1,506 @@
+package cn.lrnev.clientstartverify.agent;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import jdk.net.ExtendedSocketOptions;
+import jdk.net.UnixDomainPrincipal;
+
+/**
+ * 主机级共享的硬件指纹代理
+ * <p>
+ * 同一主机上的多个 JVM 通过 {@code <socketPath>.lock} 文件锁选出一个代理：取得锁的进程（或
+ * {@link FingerprintAgentLauncher} 独立进程）采集一次硬件指纹，并在 Unix 域套接字上提供给其他进程；
+ * 其他进程直接读取结果，不再各自运行探针。代理不可用、超时或启用的组成部分不一致时返回空Optional，
+ * 由调用方在本地采集。
+ * <p>
+ * 协议：客户端发送一行以逗号分隔的组成部分名称；代理在指纹发布后返回 {@link Properties} 格式的硬件字段，
+ * 组成部分不一致时直接关闭连接。套接字只允许本用户访问，支持读取对端凭据的平台上拒绝其他用户的连接；
+ * 在超时时间内没有发送请求的连接被关闭，同时处理的连接数有上限。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 19:20
+ **/
+@Slf4j
+public class FingerprintAgent implements AutoCloseable {
+
+    private static final FingerprintAgent DISABLED = new FingerprintAgent(null, Duration.ZERO);
+
+    private static final String COMPONENTS = "components";
+
+    // 请求与响应的大小上限，超出时视为代理不可用
+    private static final int MAX_MESSAGE_BYTES = 64 * 1024;
+
+    // 取得文件锁的进程绑定套接字之前，客户端重试连接的时长
+    private static final Duration CONNECT_RETRY = Duration.ofMillis(200);
+
+    // 同时处理的连接数上限，另有同样数量的连接排队，超出时直接关闭连接，由客户端在本地采集
+    private static final int MAX_HANDLERS = 16;
+
+    private final Path socketPath;
+    private final Path lockPath;
+    private final Duration timeout;
+    private final Object monitor = new Object();
+
+    // 采集完成后由 publish 设置，等待中的连接在完成时返回
+    private volatile CompletableFuture<Snapshot> snapshot = new CompletableFuture<>();
+    private volatile ServerSocketChannel server;
+    private volatile boolean closed;
+    private FileChannel lockChannel;
+    private FileLock lock;
+    private ExecutorService handlers;
+    // 套接字文件的所有者，只接受同一用户的连接
+    private UserPrincipal owner;
+
+    /**
+     * @param socketPath Unix 域套接字路径，锁文件为同目录下的 {@code <socketPath>.lock}
+     * @param timeout    等待代理返回指纹的最长时间
+     */
+    public FingerprintAgent(Path socketPath, Duration timeout) {
+        this.socketPath = socketPath;
+        this.lockPath = socketPath == null ? null : socketPath.resolveSibling(socketPath.getFileName() + ".lock");
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return 不使用代理的实例，{@link #fetch} 始终返回空Optional
+     */
+    public static FingerprintAgent disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * 按配置创建代理。
+     *
+     * @param agent 代理配置
+     * @return 未启用时返回 {@link #disabled()}
+     */
+    public static FingerprintAgent of(StartVerifyProperties.Agent agent) {
+        if (!agent.isEnabled() || agent.getSocketPath() == null || agent.getSocketPath().isBlank()) {
+            return disabled();
+        }
+        return new FingerprintAgent(Path.of(agent.getSocketPath()), agent.getTimeout());
+    }
+
+    /**
+     * @return 本进程是否为代理
+     */
+    public boolean isServing() {
+        return server != null;
+    }
+
+    /**
+     * 获取硬件指纹。本进程取得文件锁时成为代理，返回本进程已发布的结果；否则向代理请求。
+     *
+     * @param components 启用的硬件组成部分
+     * @return 组成部分一致的硬件指纹，不可用时返回空Optional
+     */
+    public Optional<StarterRequest> fetch(Set<FingerprintComponent> components) {
+        if (socketPath == null || closed) {
+            return Optional.empty();
+        }
+        if (!serve()) {
+            return request(components);
+        }
+        CompletableFuture<Snapshot> current = snapshot;
+        return current.isDone() ? current.join().matching(components) : Optional.empty();
+    }
+
+    /**
+     * 发布本进程采集的硬件指纹，本进程不是代理时忽略。
+     *
+     * @param request    包含硬件字段的StarterRequest对象
+     * @param components 启用的硬件组成部分
+     */
+    public void publish(StarterRequest request, Set<FingerprintComponent> components) {
+        if (!isServing()) {
+            return;
+        }
+        Snapshot published = Snapshot.of(request, components);
+        if (!snapshot.complete(published)) {
+            snapshot = CompletableFuture.completedFuture(published);
+        }
+    }
+
+    /**
+     * 尝试取得文件锁并在套接字上提供硬件指纹。
+     *
+     * @return 本进程是否为代理
+     */
+    public boolean serve() {
+        if (socketPath == null || closed) {
+            return false;
+        }
+        synchronized (monitor) {
+            if (server != null) {
+                return true;
+            }
+            try {
+                Files.createDirectories(socketPath.toAbsolutePath().getParent());
+                lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                lock = lockChannel.tryLock();
+                if (lock == null) {
+                    release();
+                    return false;
+                }
+                // 持有锁时残留的套接字文件来自已退出的代理
+                Files.deleteIfExists(socketPath);
+                ServerSocketChannel channel = bind();
+                ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_HANDLERS, MAX_HANDLERS, 30, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(MAX_HANDLERS),
+                        runnable -> daemon(runnable, "start-verify-agent-handler"));
+                pool.allowCoreThreadTimeOut(true);
+                handlers = pool;
+                server = channel;
+                daemon(this::accept, "start-verify-agent").start();
+                log.info("Serving hardware fingerprint on {}", socketPath);
+                return true;
+            } catch (IOException | OverlappingFileLockException e) {
+                // 同一 JVM 中的其他实例已持有锁时抛出 OverlappingFileLockException
+                log.debug("Not serving hardware fingerprint on {}: {}", socketPath, e.toString());
+                release();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 停止提供指纹，删除套接字文件并释放文件锁。
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (monitor) {
+            if (server != null) {
+                try {
+                    server.close();
+                    Files.deleteIfExists(socketPath);
+                } catch (IOException e) {
+                    log.debug("Unable to close fingerprint agent {}: {}", socketPath, e.getMessage());
+                }
+                handlers.shutdownNow();
+                server = null;
+            }
+            release();
+        }
+    }
+
+    /**
+     * 在只有本用户可以访问的临时目录中绑定套接字并限制权限，再移动到配置的路径，
+     * 其他用户在绑定与修改权限之间无法连接。
+     */
+    private ServerSocketChannel bind() throws IOException {
+        Path staging = Files.createTempDirectory(socketPath.toAbsolutePath().getParent(), ".agent-");
+        Path staged = staging.resolve(socketPath.getFileName());
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            channel.bind(UnixDomainSocketAddress.of(staged));
+            restrictToOwner(staged);
+            owner = ownerOf(staged);
+            Files.move(staged, socketPath, StandardCopyOption.ATOMIC_MOVE);
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(staged);
+            throw e;
+        } finally {
+            Files.deleteIfExists(staging);
+        }
+    }
+
+    private void accept() {
+        ServerSocketChannel channel = server;
+        while (!closed && channel != null) {
+            try {
+                SocketChannel connection = channel.accept();
+                try {
+                    handlers.execute(() -> handle(connection));
+                } catch (RejectedExecutionException e) {
+                    log.debug("Fingerprint agent busy, closing connection.");
+                    connection.close();
+                }
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                log.debug("Fingerprint agent accept failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 读取请求的组成部分，等待指纹发布后在组成部分一致时返回硬件字段；其他用户的连接、读取或等待超时、
+     * 组成部分不一致时直接关闭连接。
+     */
+    private void handle(SocketChannel connection) {
+        try (connection) {
+            if (!fromOwner(connection)) {
+                log.warn("Fingerprint agent {} rejected a connection from another user.", socketPath);
+                return;
+            }
+            String requested = readLine(connection, System.nanoTime() + timeout.toNanos());
+            connection.configureBlocking(true);
+            Snapshot current = snapshot.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            if (current.components().equals(requested)) {
+                ByteBuffer payload = ByteBuffer.wrap(current.payload());
+                while (payload.hasRemaining()) {
+                    connection.write(payload);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | ExecutionException | TimeoutException e) {
+            log.debug("Fingerprint agent request not served: {}", e.toString());
+        }
+    }
+
+    private Optional<StarterRequest> request(Set<FingerprintComponent> components) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        String requested = FingerprintComponent.names(components);
+        try (SocketChannel channel = connect(deadline)) {
+            ByteBuffer line = ByteBuffer.wrap((requested + "\n").getBytes(StandardCharsets.UTF_8));
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            byte[] response = readAll(channel, deadline);
+            Optional<StarterRequest> fetched = Snapshot.parse(response, requested);
+            if (fetched.isPresent()) {
+                log.info("Fingerprint fetched from agent {} in {} us", socketPath,
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            } else {
+                log.info("Fingerprint agent {} has no matching fingerprint, probing locally", socketPath);
+            }
+            return fetched;
+        } catch (IOException e) {
+            log.debug("Fingerprint agent {} unavailable, probing locally: {}", socketPath, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 连接代理。取得锁的进程可能尚未绑定套接字，在 {@link #CONNECT_RETRY} 内重试。
+     */
+    private SocketChannel connect(long deadline) throws IOException {
+        long retryUntil = Math.min(deadline, System.nanoTime() + CONNECT_RETRY.toNanos());
+        while (true) {
+            SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            try {
+                channel.connect(UnixDomainSocketAddress.of(socketPath));
+                return channel;
+            } catch (IOException e) {
+                channel.close();
+                if (System.nanoTime() >= retryUntil || !Files.exists(lockPath)) {
+                    throw e;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        }
+    }
+
+    /**
+     * 比较对端凭据与套接字文件的所有者。不支持读取对端凭据的平台上依赖套接字文件的权限。
+     */
+    private boolean fromOwner(SocketChannel connection) {
+        if (owner == null) {
+            return true;
+        }
+        try {
+            UnixDomainPrincipal peer = connection.getOption(ExtendedSocketOptions.SO_PEERCRED);
+            return owner.equals(peer.user());
+        } catch (UnsupportedOperationException | IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * 读取响应直到代理关闭连接，超过截止时间时视为不可用。
+     */
+    private byte[] readAll(SocketChannel channel, long deadline) throws IOException {
+        channel.configureBlocking(false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        try (Selector selector = Selector.open()) {
+            channel.register(selector, SelectionKey.OP_READ);
+            while (true) {
+                awaitReadable(selector, deadline);
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    return out.toByteArray();
+                }
+                out.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+                if (out.size() > MAX_MESSAGE_BYTES) {
+                    throw new IOException("response exceeds " + MAX_MESSAGE_BYTES + " bytes");
+                }
+            }
+        }
+    }
+
+    /**
+     * 读取请求行，超过截止时间仍没有读到换行时视为无效请求。
+     */
+    private String readLine(SocketChannel channel, long deadline) throws IOException {
+        channel.configureBlocking(false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        try (Selector selector = Selector.open()) {
+            channel.register(selector, SelectionKey.OP_READ);
+            while (out.size() <= MAX_MESSAGE_BYTES) {
+                awaitReadable(selector, deadline);
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("incomplete request");
+                }
+                for (int i = 0; i < buffer.position(); i++) {
+                    if (buffer.get(i) == '\n') {
+                        out.write(buffer.array(), 0, i);
+                        return out.toString(StandardCharsets.UTF_8);
+                    }
+                }
+                out.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            throw new IOException("request exceeds " + MAX_MESSAGE_BYTES + " bytes");
+        }
+    }
+
+    /**
+     * 等待通道可读，超过截止时间时抛出异常。
+     */
+    private void awaitReadable(Selector selector, long deadline) throws IOException {
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new IOException("timed out after " + timeout.toMillis() + " ms");
+            }
+            if (selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining))) > 0) {
+                selector.selectedKeys().clear();
+                return;
+            }
+        }
+    }
+
+    private void release() {
+        try {
+            if (lock != null) {
+                lock.release();
+            }
+            if (lockChannel != null) {
+                lockChannel.close();
+            }
+        } catch (IOException e) {
+            log.debug("Unable to release fingerprint agent lock {}: {}", lockPath, e.getMessage());
+        }
+        lock = null;
+        lockChannel = null;
+    }
+
+    private static void restrictToOwner(Path path) {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException | IOException e) {
+            log.debug("Unable to restrict permissions of {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static UserPrincipal ownerOf(Path path) {
+        try {
+            return Files.getOwner(path);
+        } catch (UnsupportedOperationException | IOException e) {
+            log.debug("Unable to read the owner of {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * 已发布的硬件指纹
+     *
+     * @param components 以逗号拼接的组成部分名称
+     * @param payload    返回给客户端的 {@link Properties} 格式的硬件字段
+     */
+    private record Snapshot(String components, byte[] payload) {
+
+        static Snapshot of(StarterRequest request, Set<FingerprintComponent> components) {
+            Properties properties = new Properties();
+            properties.setProperty(COMPONENTS, FingerprintComponent.names(components));
+            for (FingerprintComponent component : components) {
+                String value = component.read(request);
+                properties.setProperty(component.name().toLowerCase(), value == null ? "" : value);
+            }
+            StringWriter writer = new StringWriter();
+            try {
+                properties.store(writer, null);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return new Snapshot(properties.getProperty(COMPONENTS),
+                    writer.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        Optional<StarterRequest> matching(Set<FingerprintComponent> requested) {
+            return parse(payload, FingerprintComponent.names(requested));
+        }
+
+        static Optional<StarterRequest> parse(byte[] payload, String requested) {
+            if (payload.length == 0) {
+                return Optional.empty();
+            }
+            Properties properties = new Properties();
+            try {
+                properties.load(new StringReader(new String(payload, StandardCharsets.UTF_8)));
+            } catch (IOException | IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            if (!requested.equals(properties.getProperty(COMPONENTS))) {
+                return Optional.empty();
+            }
+            StarterRequest request = new StarterRequest();
+            for (FingerprintComponent component : FingerprintComponent.hardware()) {
+                component.apply(request, properties.getProperty(component.name().toLowerCase(), ""));
+            }
+            return Optional.of(request);
+        }
+    }
+}
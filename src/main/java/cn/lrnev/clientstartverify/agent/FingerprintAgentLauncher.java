@@ -0,0 +1,59 @@
+package cn.lrnev.clientstartverify.agent;
+
+import cn.lrnev.clientstartverify.cache.FingerprintCache;
+import cn.lrnev.clientstartverify.command.ProcessCommandRunner;
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.detector.ContainerDetector;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.detector.OperatingSystemDetector;
+import cn.lrnev.clientstartverify.detector.ProbeExecutors;
+import cn.lrnev.clientstartverify.detector.SystemFingerprintCollectors;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 独立运行的硬件指纹代理
+ * <p>
+ * 在应用启动之前运行，采集一次硬件指纹后持续提供给同一主机上的应用，直到进程退出：
+ * <pre>
+ * java -cp client-start-verify.jar cn.lrnev.clientstartverify.agent.FingerprintAgentLauncher [socketPath]
+ * </pre>
+ * 其他进程已持有代理的文件锁时直接退出。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 19:40
+ **/
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FingerprintAgentLauncher {
+
+    // 独立代理上等待采集完成的时间不受应用启动耗时的限制
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) throws InterruptedException {
+        Path socketPath = Path.of(args.length > 0 ? args[0] : new StartVerifyProperties.Agent().getSocketPath());
+        FingerprintAgent agent = new FingerprintAgent(socketPath, TIMEOUT);
+        if (!agent.serve()) {
+            log.error("Another fingerprint agent already holds {}.lock", socketPath);
+            System.exit(1);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(agent::close, "start-verify-agent-shutdown"));
+
+        ExecutorService executor = ProbeExecutors.create(ProbeExecutors.DEFAULT_CONCURRENCY, true);
+        ContainerDetector containerDetector = new ContainerDetector();
+        SystemFingerprintCollectors collectors = new SystemFingerprintCollectors(new ProcessCommandRunner(),
+                new LinuxSysfsReader(), containerDetector);
+        new OperatingSystemDetector(collectors.all(), executor, FingerprintCache.disabled(), VerificationMetrics.NOOP,
+                OperatingSystemDetector.DEFAULT_DEADLINE, containerDetector, agent).detect(new StandardEnvironment());
+        executor.shutdown();
+
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,47 @@
+package cn.lrnev.clientstartverify.aot;
+
+import cn.lrnev.clientstartverify.core.R;
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import cn.lrnev.clientstartverify.lease.VerificationLease;
+import cn.lrnev.clientstartverify.verify.HeartbeatRequest;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.context.properties.bind.BindableRuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * GraalVM native-image 所需的运行时提示
+ * <p>
+ * 通过 {@code META-INF/spring/aot.factories} 注册，不依赖自动配置是否生效：
+ * <ul>
+ *     <li>Jackson 序列化与反序列化的请求、响应与离线租约</li>
+ *     <li>提前校验监听器与启动校验在应用上下文之外通过 {@link org.springframework.boot.context.properties.bind.Binder}
+ *     绑定的 {@link StartVerifyProperties}</li>
+ *     <li>{@link cn.lrnev.clientstartverify.detector.ProbeExecutors} 通过反射创建的虚拟线程工厂</li>
+ * </ul>
+ * Forest 依赖动态代理，原生镜像中固定使用 JDK 自带的 HttpClient，见
+ * {@link cn.lrnev.clientstartverify.transport.VerificationTransports}。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 22:30
+ **/
+public class ClientStartVerifyRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                StarterRequest.class, HeartbeatRequest.class, R.class, VerificationLease.class,
+                FingerprintComponent.class);
+        BindableRuntimeHintsRegistrar.forTypes(StartVerifyProperties.class).registerHints(hints, classLoader);
+        hints.reflection().registerType(Thread.class,
+                type -> type.withMethod("ofVirtual", List.of(), ExecutableMode.INVOKE));
+        hints.reflection().registerTypeIfPresent(classLoader, "java.lang.Thread$Builder",
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
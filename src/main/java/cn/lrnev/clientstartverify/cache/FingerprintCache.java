@@ -0,0 +1,312 @@
+package cn.lrnev.clientstartverify.cache;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.NetworkInterface;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * 硬件指纹磁盘缓存
+ * <p>
+ * 将采集到的主板/CPU/内存/硬盘/网卡信息连同校验和、创建时间与主机特征一起保存到本地文件。
+ * 下次启动时，如果缓存未过期、校验和正确，且启动ID、机器ID与网卡地址列表都没有变化，
+ * 则直接使用缓存的结果，跳过耗时的硬件探测。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 13:20
+ **/
+@Slf4j
+public class FingerprintCache {
+
+    private static final String FORMAT_VERSION = "2";
+    private static final String VERSION = "version";
+    private static final String CREATED_AT = "createdAt";
+    private static final String BOOT_ID = "bootId";
+    private static final String MACHINE_ID = "machineId";
+    private static final String NIC_ADDRESSES = "nicAddresses";
+    private static final String COMPONENTS = "components";
+    private static final String MB_SERIAL_NO = "mbSerialNo";
+    private static final String CPU_SERIAL_NO = "cpuSerialNo";
+    private static final String MEMORY_SERIAL_NO = "memorySerialNo";
+    private static final String DISK_SERIAL_NO = "diskSerialNo";
+    private static final String NIC_SERIAL_NO = "nicSerialNo";
+    private static final String CHECKSUM = "checksum";
+
+    private static final List<String> CHECKED_KEYS = List.of(VERSION, CREATED_AT, BOOT_ID, MACHINE_ID, NIC_ADDRESSES,
+            COMPONENTS, MB_SERIAL_NO, CPU_SERIAL_NO, MEMORY_SERIAL_NO, DISK_SERIAL_NO, NIC_SERIAL_NO);
+
+    private static final FingerprintCache DISABLED = new FingerprintCache(null, Duration.ZERO, false, null,
+            new LinuxSysfsReader(), Clock.systemUTC());
+
+    private final Path path;
+    private final Duration ttl;
+    private final boolean forceRefresh;
+    private final String secretKey;
+    private final LinuxSysfsReader sysfs;
+    private final Clock clock;
+
+    /**
+     * @param path         缓存文件路径
+     * @param ttl          有效期
+     * @param forceRefresh 是否忽略已有缓存，强制重新探测
+     * @param secretKey    密钥，不为空时使用 HMAC 计算校验和
+     * @param sysfs        用于读取启动ID、机器ID与网卡地址
+     */
+    public FingerprintCache(Path path, Duration ttl, boolean forceRefresh, String secretKey, LinuxSysfsReader sysfs) {
+        this(path, ttl, forceRefresh, secretKey, sysfs, Clock.systemUTC());
+    }
+
+    FingerprintCache(Path path, Duration ttl, boolean forceRefresh, String secretKey, LinuxSysfsReader sysfs, Clock clock) {
+        this.path = path;
+        this.ttl = ttl;
+        this.forceRefresh = forceRefresh;
+        this.secretKey = secretKey;
+        this.sysfs = sysfs;
+        this.clock = clock;
+    }
+
+    /**
+     * @return 不读取也不写入任何文件的缓存
+     */
+    public static FingerprintCache disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * 按配置创建缓存。
+     *
+     * @param properties 启动校验配置
+     * @param sysfs      用于读取启动ID、机器ID与网卡地址
+     * @return 未启用缓存时返回 {@link #disabled()}
+     */
+    public static FingerprintCache of(StartVerifyProperties properties, LinuxSysfsReader sysfs) {
+        StartVerifyProperties.Cache cache = properties.getCache();
+        if (!cache.isEnabled()) {
+            return disabled();
+        }
+        return new FingerprintCache(Path.of(cache.getPath()), cache.getTtl(), cache.isForceRefresh(),
+                properties.getSecretKey(), sysfs);
+    }
+
+    /**
+     * 读取采集了全部硬件组成部分的缓存。
+     *
+     * @return 只包含硬件字段的StarterRequest对象，缓存不存在、已失效或主机特征变化时返回空Optional
+     */
+    public Optional<StarterRequest> load() {
+        return load(FingerprintComponent.hardware());
+    }
+
+    /**
+     * 读取缓存的硬件信息。
+     *
+     * @param components 启用的硬件组成部分，与写入缓存时不同则视为缓存失效
+     * @return 只包含硬件字段的StarterRequest对象，缓存不存在、已失效或主机特征变化时返回空Optional
+     */
+    public Optional<StarterRequest> load(Set<FingerprintComponent> components) {
+        if (path == null) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        if (forceRefresh) {
+            log.info("Fingerprint cache refresh forced, probing hardware.");
+            return Optional.empty();
+        }
+        Optional<Properties> read = read();
+        Optional<String> invalid = read.isEmpty() ? Optional.of("absent") : validate(read.get(), components);
+        long elapsedMicros = (System.nanoTime() - start) / 1000;
+        if (invalid.isPresent()) {
+            log.info("Fingerprint cache miss ({}), checked in {} us.", invalid.get(), elapsedMicros);
+            return Optional.empty();
+        }
+        Properties cached = read.get();
+        StarterRequest request = new StarterRequest();
+        request.setMbSerialNo(cached.getProperty(MB_SERIAL_NO));
+        request.setCpuSerialNo(cached.getProperty(CPU_SERIAL_NO));
+        request.setMemorySerialNo(cached.getProperty(MEMORY_SERIAL_NO));
+        request.setDiskSerialNo(cached.getProperty(DISK_SERIAL_NO));
+        request.setNicSerialNo(cached.getProperty(NIC_SERIAL_NO));
+        log.info("Fingerprint cache hit, loaded from {} in {} us.", path, elapsedMicros);
+        return Optional.of(request);
+    }
+
+    /**
+     * 保存采集了全部硬件组成部分的硬件信息。
+     *
+     * @param request 包含硬件信息的StarterRequest对象
+     */
+    public void store(StarterRequest request) {
+        store(request, FingerprintComponent.hardware());
+    }
+
+    /**
+     * 保存硬件信息。写入临时文件后原子替换，写入失败只记录日志。
+     *
+     * @param request    包含硬件信息的StarterRequest对象
+     * @param components 采集的硬件组成部分
+     */
+    public void store(StarterRequest request, Set<FingerprintComponent> components) {
+        if (path == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty(VERSION, FORMAT_VERSION);
+        properties.setProperty(CREATED_AT, Long.toString(clock.millis()));
+        properties.setProperty(BOOT_ID, sysfs.readBootId().orElse(""));
+        properties.setProperty(MACHINE_ID, sysfs.readMachineId().orElse(""));
+        properties.setProperty(NIC_ADDRESSES, nicAddresses());
+        properties.setProperty(COMPONENTS, FingerprintComponent.names(components));
+        properties.setProperty(MB_SERIAL_NO, nullToEmpty(request.getMbSerialNo()));
+        properties.setProperty(CPU_SERIAL_NO, nullToEmpty(request.getCpuSerialNo()));
+        properties.setProperty(MEMORY_SERIAL_NO, nullToEmpty(request.getMemorySerialNo()));
+        properties.setProperty(DISK_SERIAL_NO, nullToEmpty(request.getDiskSerialNo()));
+        properties.setProperty(NIC_SERIAL_NO, nullToEmpty(request.getNicSerialNo()));
+        properties.setProperty(CHECKSUM, checksum(properties));
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "client-start-verify fingerprint cache");
+                writer.close();
+                move(temp, path);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.debug("Fingerprint cache written to {}", path);
+        } catch (IOException e) {
+            log.warn("Unable to write fingerprint cache {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 校验缓存内容。
+     *
+     * @return 缓存无效的原因，有效时返回空Optional
+     */
+    private Optional<String> validate(Properties cached, Set<FingerprintComponent> components) {
+        if (!FORMAT_VERSION.equals(cached.getProperty(VERSION))) {
+            return Optional.of("format version changed");
+        }
+        if (!checksum(cached).equals(cached.getProperty(CHECKSUM))) {
+            return Optional.of("checksum mismatch");
+        }
+        long createdAt;
+        try {
+            createdAt = Long.parseLong(cached.getProperty(CREATED_AT));
+        } catch (NumberFormatException e) {
+            return Optional.of("invalid creation time");
+        }
+        long now = clock.millis();
+        if (createdAt > now || now - createdAt > ttl.toMillis()) {
+            return Optional.of("expired");
+        }
+        if (!FingerprintComponent.names(components).equals(cached.getProperty(COMPONENTS))) {
+            return Optional.of("enabled components changed");
+        }
+        if (!sysfs.readBootId().orElse("").equals(cached.getProperty(BOOT_ID))) {
+            return Optional.of("boot id changed");
+        }
+        if (!sysfs.readMachineId().orElse("").equals(cached.getProperty(MACHINE_ID))) {
+            return Optional.of("machine id changed");
+        }
+        if (!nicAddresses().equals(cached.getProperty(NIC_ADDRESSES))) {
+            return Optional.of("network interfaces changed");
+        }
+        return Optional.empty();
+    }
+
+    private Optional<Properties> read() {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            return Optional.of(properties);
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Unable to read fingerprint cache {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 计算除校验和外所有字段的摘要，配置了密钥时使用 HMAC-SHA256，否则使用 SHA-256。
+     */
+    private String checksum(Properties properties) {
+        StringJoiner content = new StringJoiner("\n");
+        for (String key : CHECKED_KEYS) {
+            content.add(key + "=" + properties.getProperty(key, ""));
+        }
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            if (secretKey == null || secretKey.isEmpty()) {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+            }
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(bytes));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 网卡地址列表，Linux 下读取 sysfs，其他系统通过 {@link NetworkInterface} 获取，两者都不进行 DNS 解析。
+     */
+    private String nicAddresses() {
+        Optional<String> sysfsAddresses = sysfs.readNicAddresses();
+        if (sysfsAddresses.isPresent()) {
+            return sysfsAddresses.get();
+        }
+        List<String> addresses = new ArrayList<>();
+        try {
+            for (NetworkInterface nic : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+                byte[] mac = nic.getHardwareAddress();
+                if (mac != null && mac.length > 0 && !nic.isLoopback()) {
+                    addresses.add(HexFormat.ofDelimiter(":").formatHex(mac));
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Unable to enumerate network interfaces: {}", e.getMessage());
+        }
+        Collections.sort(addresses);
+        return String.join(", ", addresses);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,234 @@
+package cn.lrnev.clientstartverify.cache;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.detector.ProbeCapability;
+import cn.lrnev.clientstartverify.detector.ProbeStrategy;
+import cn.lrnev.clientstartverify.detector.SudoMode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * 探针能力档案
+ * <p>
+ * 记录每个探针在本机上哪种方式（sysfs、sudo 执行命令、直接执行命令）取得了结果以及耗时，
+ * 所有方式都没有结果时记录为不可用。之后的启动直接使用取得结果的方式，跳过已知不可用的探针，
+ * 不再每次都等待没有安装的 dmidecode 或被拒绝的 sudo。内核版本、启动ID或 sudo 设置变化时档案失效。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 23:59
+ **/
+@Slf4j
+public class ProbeCapabilities {
+
+    private static final String FORMAT_VERSION = "1";
+    private static final String VERSION = "version";
+    private static final String KERNEL = "kernel";
+    private static final String BOOT_ID = "bootId";
+    private static final String SUDO = "sudo";
+    private static final String STRATEGY = ".strategy";
+    private static final String ELAPSED_MILLIS = ".elapsedMillis";
+    private static final String UNAVAILABLE = "none";
+
+    private static final ProbeCapabilities DISABLED = new ProbeCapabilities(null, false, SudoMode.AUTO,
+            new LinuxSysfsReader());
+
+    private final Path path;
+    private final boolean forceRefresh;
+    private final SudoMode sudo;
+    private final LinuxSysfsReader sysfs;
+
+    // 第一次查询时读取
+    private Map<FingerprintComponent, ProbeCapability> capabilities;
+
+    /**
+     * @param path         档案文件路径
+     * @param forceRefresh 是否忽略已有档案，重新尝试所有方式
+     * @param sudo         当前的 sudo 设置，与写入档案时不同则档案失效
+     * @param sysfs        用于读取内核版本与启动ID
+     */
+    public ProbeCapabilities(Path path, boolean forceRefresh, SudoMode sudo, LinuxSysfsReader sysfs) {
+        this.path = path;
+        this.forceRefresh = forceRefresh;
+        this.sudo = sudo;
+        this.sysfs = sysfs;
+    }
+
+    /**
+     * @return 不读取也不写入任何文件的档案
+     */
+    public static ProbeCapabilities disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * 按配置创建档案，与硬件指纹缓存一同启用并遵循 {@code start-verify.cache.force-refresh}。
+     *
+     * @param properties 启动校验配置
+     * @param sysfs      用于读取内核版本与启动ID
+     * @return 未启用缓存时返回 {@link #disabled()}
+     */
+    public static ProbeCapabilities of(StartVerifyProperties properties, LinuxSysfsReader sysfs) {
+        StartVerifyProperties.Cache cache = properties.getCache();
+        if (!cache.isEnabled()) {
+            return disabled();
+        }
+        return new ProbeCapabilities(Path.of(cache.getCapabilitiesPath()), cache.isForceRefresh(),
+                properties.getDetector().getSudo(), sysfs);
+    }
+
+    /**
+     * @param component 组成部分
+     * @return 上次启动记录的能力，没有记录或档案失效时返回空Optional
+     */
+    public synchronized Optional<ProbeCapability> find(FingerprintComponent component) {
+        if (path == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(capabilities().get(component));
+    }
+
+    /**
+     * 记录探针的能力，取得结果的方式或可用性变化时写入档案；写入失败只记录日志。
+     *
+     * @param component  组成部分
+     * @param capability 本次启动的能力
+     */
+    public synchronized void record(FingerprintComponent component, ProbeCapability capability) {
+        if (path == null) {
+            return;
+        }
+        ProbeCapability previous = capabilities().put(component, capability);
+        if (previous == null || previous.strategy() != capability.strategy()) {
+            store();
+        }
+    }
+
+    private Map<FingerprintComponent, ProbeCapability> capabilities() {
+        if (capabilities == null) {
+            capabilities = new EnumMap<>(FingerprintComponent.class);
+            if (forceRefresh) {
+                log.info("Probe capability refresh forced, trying every probe strategy.");
+            } else {
+                read().ifPresent(this::load);
+            }
+        }
+        return capabilities;
+    }
+
+    private void load(Properties profile) {
+        Optional<String> invalid = validate(profile);
+        if (invalid.isPresent()) {
+            log.info("Probe capability profile discarded ({}).", invalid.get());
+            return;
+        }
+        for (FingerprintComponent component : FingerprintComponent.values()) {
+            String key = component.name().toLowerCase(Locale.ROOT);
+            String strategy = profile.getProperty(key + STRATEGY);
+            if (strategy == null) {
+                continue;
+            }
+            try {
+                Duration elapsed = Duration.ofMillis(Long.parseLong(profile.getProperty(key + ELAPSED_MILLIS, "0")));
+                capabilities.put(component, UNAVAILABLE.equals(strategy) ? ProbeCapability.unavailable(elapsed)
+                        : new ProbeCapability(ProbeStrategy.valueOf(strategy), elapsed));
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring invalid probe capability for {}: {}", key, e.getMessage());
+            }
+        }
+        log.debug("Probe capability profile loaded from {}: {}", path, capabilities);
+    }
+
+    /**
+     * @return 档案失效的原因，有效时返回空Optional
+     */
+    private Optional<String> validate(Properties profile) {
+        if (!FORMAT_VERSION.equals(profile.getProperty(VERSION))) {
+            return Optional.of("format version changed");
+        }
+        if (!kernel().equals(profile.getProperty(KERNEL))) {
+            return Optional.of("kernel changed");
+        }
+        if (!sysfs.readBootId().orElse("").equals(profile.getProperty(BOOT_ID))) {
+            return Optional.of("boot id changed");
+        }
+        if (!sudo.name().equals(profile.getProperty(SUDO))) {
+            return Optional.of("sudo mode changed");
+        }
+        return Optional.empty();
+    }
+
+    private Optional<Properties> read() {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            return Optional.of(properties);
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Unable to read probe capability profile {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 写入临时文件后原子替换。
+     */
+    private void store() {
+        Properties properties = new Properties();
+        properties.setProperty(VERSION, FORMAT_VERSION);
+        properties.setProperty(KERNEL, kernel());
+        properties.setProperty(BOOT_ID, sysfs.readBootId().orElse(""));
+        properties.setProperty(SUDO, sudo.name());
+        capabilities.forEach((component, capability) -> {
+            String key = component.name().toLowerCase(Locale.ROOT);
+            properties.setProperty(key + STRATEGY, capability.available() ? capability.strategy().name() : UNAVAILABLE);
+            properties.setProperty(key + ELAPSED_MILLIS, Long.toString(capability.elapsed().toMillis()));
+        });
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "client-start-verify probe capabilities");
+                writer.close();
+                move(temp, path);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.debug("Probe capability profile written to {}", path);
+        } catch (IOException e) {
+            log.warn("Unable to write probe capability profile {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Linux 下读取内核版本，其他系统使用 {@code os.version}。
+     */
+    private String kernel() {
+        return sysfs.readKernelRelease().orElseGet(() -> System.getProperty("os.version", ""));
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package cn.lrnev.clientstartverify.command;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 命令执行结果
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 10:48
+ **/
+@Getter
+@ToString
+public class CommandResult {
+
+    /**
+     * 进程未能启动或被强制结束时的退出码
+     */
+    public static final int NOT_EXITED = -1;
+
+    /**
+     * 命令及参数
+     */
+    private final List<String> command;
+
+    /**
+     * 退出码
+     */
+    private final int exitCode;
+
+    /**
+     * 标准输出
+     */
+    private final List<String> stdout;
+
+    /**
+     * 标准错误输出
+     */
+    private final List<String> stderr;
+
+    /**
+     * 是否超时
+     */
+    private final boolean timedOut;
+
+    /**
+     * 输出是否因超过上限而被截断
+     */
+    private final boolean truncated;
+
+    /**
+     * 执行耗时
+     */
+    private final Duration elapsed;
+
+    public CommandResult(List<String> command, int exitCode, List<String> stdout, List<String> stderr,
+                         boolean timedOut, boolean truncated, Duration elapsed) {
+        this.command = List.copyOf(command);
+        this.exitCode = exitCode;
+        this.stdout = List.copyOf(stdout);
+        this.stderr = List.copyOf(stderr);
+        this.timedOut = timedOut;
+        this.truncated = truncated;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * 创建正常退出的结果。
+     *
+     * @param command 命令及参数
+     * @param stdout  标准输出
+     * @return 执行结果
+     */
+    public static CommandResult of(List<String> command, List<String> stdout) {
+        return new CommandResult(command, 0, stdout, List.of(), false, false, Duration.ZERO);
+    }
+
+    /**
+     * 创建进程未能启动的结果。
+     *
+     * @param command 命令及参数
+     * @param message 失败原因
+     * @return 执行结果
+     */
+    public static CommandResult failed(List<String> command, String message) {
+        return new CommandResult(command, NOT_EXITED, List.of(), List.of(message), false, false, Duration.ZERO);
+    }
+
+    /**
+     * @return 是否在超时前正常退出且退出码为 0
+     */
+    public boolean isSuccess() {
+        return !timedOut && exitCode == 0;
+    }
+
+    /**
+     * 去掉首尾空白并过滤掉空行后的标准输出。
+     *
+     * @return 输出行的流，每次调用都返回新的流
+     */
+    public Stream<String> lines() {
+        return stdout.stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty());
+    }
+
+    /**
+     * @return 命令行形式的命令，用于日志
+     */
+    public String commandLine() {
+        return String.join(" ", command);
+    }
+}
@@ -0,0 +1,25 @@
+package cn.lrnev.clientstartverify.command;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 外部命令执行接口
+ * <p>
+ * 命令以参数列表的形式传入，不经过 shell 解析，管道、重定向等需要由调用方在 Java 中完成。
+ * 实现必须在返回前读取完全部输出并释放进程资源，返回的结果可以被多次读取。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 10:48
+ **/
+public interface CommandRunner {
+
+    /**
+     * 执行命令并返回完整的执行结果。执行失败、超时等情况不抛出异常，而是体现在结果中。
+     *
+     * @param command 命令及参数
+     * @param timeout 超时时间
+     * @return 执行结果
+     */
+    CommandResult run(List<String> command, Duration timeout);
+}
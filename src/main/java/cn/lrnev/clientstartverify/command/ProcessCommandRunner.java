@@ -0,0 +1,218 @@
+package cn.lrnev.clientstartverify.command;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于 {@link ProcessBuilder} 的命令执行器
+ * <p>
+ * 标准输出与标准错误在守护线程上并发读取，避免输出填满管道缓冲区后进程阻塞。每个输出流在启动进程时就有
+ * 自己的读取线程，读取任务不排队；读取线程数有上限（每个命令占用两个），同时运行的命令超过上限的一半时
+ * 新的命令立即失败，而不是继续创建线程。空闲线程在超时后回收。
+ * 输出超过上限时继续读取但丢弃超出部分；超时后强制结束整个进程树。读取在命令的超时时间内等待完成，
+ * 未完成时关闭输出流并标记为截断。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 10:48
+ **/
+@Slf4j
+public class ProcessCommandRunner implements CommandRunner {
+
+    /**
+     * 默认的输出上限（字符数），stdout 与 stderr 分别计算
+     */
+    public static final int DEFAULT_MAX_OUTPUT_CHARS = 64 * 1024;
+
+    // 默认的读取线程数上限，对应默认探针并发数 6，每个命令占用两个线程
+    private static final int DEFAULT_DRAIN_THREADS = 12;
+    private static final int DRAINS_PER_COMMAND = 2;
+    // 超时结束进程树后，等待进程退出与输出流关闭的时间
+    private static final long DRAIN_GRACE_MILLIS = 500;
+
+    private final ThreadPoolExecutor drainPool;
+    private final int maxOutputChars;
+    private final Charset charset;
+
+    public ProcessCommandRunner() {
+        this(DEFAULT_DRAIN_THREADS, DEFAULT_MAX_OUTPUT_CHARS);
+    }
+
+    /**
+     * @param drainThreads   读取线程数上限，每个命令占用两个线程
+     * @param maxOutputChars 每个输出流保留的最大字符数
+     */
+    public ProcessCommandRunner(int drainThreads, int maxOutputChars) {
+        // 不排队也不超过上限：没有空闲线程且已达上限时拒绝，由 run 立即返回失败
+        int size = Math.max(DRAINS_PER_COMMAND, drainThreads);
+        this.drainPool = new ThreadPoolExecutor(size, size, 30, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new DrainThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.drainPool.allowCoreThreadTimeOut(true);
+        this.maxOutputChars = maxOutputChars;
+        this.charset = Charset.defaultCharset();
+    }
+
+    /**
+     * 按同时运行的命令数创建，例如探针执行器的并发数。
+     *
+     * @param concurrency 同时运行的命令数上限
+     * @return 命令执行器
+     */
+    public static ProcessCommandRunner of(int concurrency) {
+        return new ProcessCommandRunner(DRAINS_PER_COMMAND * Math.max(1, concurrency), DEFAULT_MAX_OUTPUT_CHARS);
+    }
+
+    @Override
+    public CommandResult run(List<String> command, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        Process process;
+        try {
+            process = new ProcessBuilder(command).start();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Unable to start command '{}': {}", String.join(" ", command), e.getMessage());
+            return CommandResult.failed(command, e.getMessage());
+        }
+        // 命令不需要任何输入，立即关闭标准输入，避免等待交互
+        closeQuietly(process);
+
+        Future<Output> stdout = null;
+        Future<Output> stderr;
+        try {
+            stdout = drainPool.submit(() -> drain(process.getInputStream()));
+            stderr = drainPool.submit(() -> drain(process.getErrorStream()));
+        } catch (RejectedExecutionException e) {
+            if (stdout != null) {
+                stdout.cancel(true);
+            }
+            destroyTree(process);
+            log.warn("Too many concurrent commands ({} drain threads busy), not running '{}'",
+                    drainPool.getMaximumPoolSize(), String.join(" ", command));
+            return CommandResult.failed(command, "too many concurrent commands");
+        }
+
+        boolean timedOut = false;
+        try {
+            if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                timedOut = true;
+                log.warn("Command '{}' timed out after {} ms", String.join(" ", command), timeout.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            timedOut = true;
+            log.warn("Command execution was interrupted: {}", String.join(" ", command));
+        }
+        if (timedOut) {
+            destroyTree(process);
+        }
+
+        Output out = await(stdout, process.getInputStream(), deadline);
+        Output err = await(stderr, process.getErrorStream(), deadline);
+        err.lines.forEach(line -> log.debug("Command '{}' stderr: {}", command.get(0), line));
+        int exitCode = timedOut || process.isAlive() ? CommandResult.NOT_EXITED : process.exitValue();
+        return new CommandResult(command, exitCode, out.lines, err.lines, timedOut,
+                out.truncated || err.truncated, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * 关闭读取线程池。
+     */
+    public void shutdown() {
+        drainPool.shutdownNow();
+    }
+
+    private Output drain(InputStream stream) throws IOException {
+        Output output = new Output();
+        int retained = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, charset))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (retained + line.length() > maxOutputChars) {
+                    // 超出上限后继续读取，防止进程因管道写满而阻塞
+                    output.truncated = true;
+                    continue;
+                }
+                retained += line.length();
+                output.lines.add(line);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * 在命令的截止时间之前等待读取完成；已经超时结束的进程再等待 {@link #DRAIN_GRACE_MILLIS}。
+     * 未完成时关闭输出流，使阻塞在读取上的线程返回，例如后台子进程仍然持有管道时。
+     */
+    private static Output await(Future<Output> future, InputStream stream, long deadline) {
+        long wait = Math.max(deadline - System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(DRAIN_GRACE_MILLIS));
+        try {
+            return future.get(wait, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            future.cancel(true);
+            closeQuietly(stream);
+        }
+        Output incomplete = new Output();
+        incomplete.truncated = true;
+        return incomplete;
+    }
+
+    private static void destroyTree(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+        try {
+            process.waitFor(DRAIN_GRACE_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.trace("Unable to close output stream: {}", e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(Process process) {
+        try {
+            process.getOutputStream().close();
+        } catch (IOException e) {
+            log.trace("Unable to close stdin: {}", e.getMessage());
+        }
+    }
+
+    private static class Output {
+        private final List<String> lines = new ArrayList<>();
+        private boolean truncated;
+    }
+
+    private static class DrainThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "start-verify-command-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package cn.lrnev.clientstartverify.command;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 回放预先录制输出的命令执行器
+ * <p>
+ * 不启动任何进程，按命令行返回录制的输出，可以模拟执行耗时，
+ * 用于在测试与基准测试中得到确定的检测结果。未录制的命令按 "command not found" 处理。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 10:48
+ **/
+public class RecordedCommandRunner implements CommandRunner {
+
+    // shell 中命令不存在时的退出码
+    private static final int COMMAND_NOT_FOUND = 127;
+
+    private final Map<String, List<String>> outputs = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> invocations = new ConcurrentHashMap<>();
+    private volatile Duration latency = Duration.ZERO;
+
+    /**
+     * 录制一条命令的输出。
+     *
+     * @param commandLine 以空格分隔的命令行
+     * @param stdout      标准输出
+     * @return 当前执行器
+     */
+    public RecordedCommandRunner record(String commandLine, String... stdout) {
+        outputs.put(commandLine, List.of(stdout));
+        return this;
+    }
+
+    /**
+     * 设置每条命令的模拟执行耗时，超过调用方给出的超时时间时按超时处理。
+     *
+     * @param latency 执行耗时
+     * @return 当前执行器
+     */
+    public RecordedCommandRunner withLatency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * @param commandLine 以空格分隔的命令行
+     * @return 该命令被执行的次数
+     */
+    public int invocations(String commandLine) {
+        AtomicInteger count = invocations.get(commandLine);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * @return 所有命令被执行的总次数
+     */
+    public int totalInvocations() {
+        return invocations.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    @Override
+    public CommandResult run(List<String> command, Duration timeout) {
+        String commandLine = String.join(" ", command);
+        invocations.computeIfAbsent(commandLine, key -> new AtomicInteger()).incrementAndGet();
+
+        Duration delay = latency.compareTo(timeout) > 0 ? timeout : latency;
+        if (!delay.isZero()) {
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new CommandResult(command, CommandResult.NOT_EXITED, List.of(), List.of(), true, false, delay);
+            }
+        }
+        if (latency.compareTo(timeout) > 0) {
+            return new CommandResult(command, CommandResult.NOT_EXITED, List.of(), List.of(), true, false, delay);
+        }
+        List<String> stdout = outputs.get(commandLine);
+        if (stdout == null) {
+            return new CommandResult(command, COMMAND_NOT_FOUND, List.of(), List.of(command.get(0) + ": command not found"),
+                    false, false, delay);
+        }
+        return new CommandResult(command, 0, stdout, List.of(), false, false, delay);
+    }
+}
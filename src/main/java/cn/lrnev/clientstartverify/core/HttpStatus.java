@@ -77,6 +77,11 @@ public interface HttpStatus {
      */
     int UNSUPPORTED_TYPE = 415;
 
+    /**
+     * 请求过于频繁，稍后重试
+     */
+    int TOO_MANY_REQUESTS = 429;
+
     /**
      * 系统内部错误
      */
@@ -87,6 +92,11 @@ public interface HttpStatus {
      */
     int NOT_IMPLEMENTED = 501;
 
+    /**
+     * 服务暂时不可用，稍后重试
+     */
+    int SERVICE_UNAVAILABLE = 503;
+
     /**
      * 系统警告消息
      */
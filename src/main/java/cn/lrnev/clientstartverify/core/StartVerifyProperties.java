@@ -1,8 +1,23 @@
 package cn.lrnev.clientstartverify.core;
 
+import cn.lrnev.clientstartverify.detector.ContainerDetector;
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import cn.lrnev.clientstartverify.detector.ProbeExecutors;
+import cn.lrnev.clientstartverify.detector.SudoMode;
+import cn.lrnev.clientstartverify.transport.VerificationTransport;
+import cn.lrnev.clientstartverify.verify.FingerprintFormat;
+import cn.lrnev.clientstartverify.verify.WireFormat;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 配置类
@@ -38,4 +53,347 @@ public class StartVerifyProperties {
      * 密钥
      */
     private String secretKey;
-}
\ No newline at end of file
+
+    /**
+     * 校验服务节点地址，按观测到的延迟选择，为空时使用 {@link #url}
+     */
+    private List<String> endpoints = new ArrayList<>();
+
+    /**
+     * 校验服务请求配置
+     */
+    private Client client = new Client();
+
+    /**
+     * 启动校验方式
+     */
+    private Mode mode = Mode.RUNNER;
+
+    /**
+     * 提前校验时，Web 服务器开始接收请求前等待校验结果的最长时间
+     */
+    private Duration earlyTimeout = Duration.ofMinutes(2);
+
+    /**
+     * 硬件检测配置
+     */
+    private Detector detector = new Detector();
+
+    /**
+     * 硬件指纹缓存配置
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * 同一主机上共享硬件指纹的本地代理配置
+     */
+    private Agent agent = new Agent();
+
+    /**
+     * 离线校验租约配置
+     */
+    private Lease lease = new Lease();
+
+    /**
+     * 后台定期重新校验配置
+     */
+    private Heartbeat heartbeat = new Heartbeat();
+
+    /**
+     * 校验服务过载时的重试配置
+     */
+    private Retry retry = new Retry();
+
+    /**
+     * @return 配置的校验服务节点地址，没有配置 {@link #endpoints} 时为 {@link #url}
+     */
+    public List<String> resolveEndpoints() {
+        List<String> resolved = endpoints.stream().filter(StringUtils::hasText).map(String::trim).toList();
+        if (!resolved.isEmpty()) {
+            return resolved;
+        }
+        return StringUtils.hasText(url) ? List.of(url.trim()) : List.of();
+    }
+
+    /**
+     * 启动校验方式
+     */
+    public enum Mode {
+        /**
+         * 应用启动完成后在 CommandLineRunner 中校验
+         */
+        RUNNER,
+
+        /**
+         * 环境准备完成后立即在后台开始校验，与 Bean 创建并行，Web 服务器启动前等待校验结果
+         */
+        EARLY
+    }
+
+    /**
+     * 校验服务请求配置
+     */
+    @Data
+    public static class Client {
+        /**
+         * 连接超时
+         */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * 等待单个节点响应的超时
+         */
+        private Duration readTimeout = Duration.ofSeconds(5);
+
+        /**
+         * 整体超时，包括对冲请求与切换节点
+         */
+        private Duration deadline = Duration.ofSeconds(10);
+
+        /**
+         * 超过最快节点最近延迟的该分位数仍未响应时，向下一个节点发送对冲请求
+         */
+        private double hedgePercentile = 0.95;
+
+        /**
+         * 节点样本不足时的对冲等待时间
+         */
+        private Duration hedgeDelay = Duration.ofSeconds(1);
+
+        /**
+         * 传输层实现，{@code forest} 需要类路径中有 Forest，否则使用 JDK 实现
+         */
+        private VerificationTransport.Kind transport = VerificationTransport.Kind.JDK;
+
+        /**
+         * 请求的编码格式，校验服务不支持 CBOR 时自动改用 JSON
+         */
+        private WireFormat wireFormat = WireFormat.JSON;
+
+        /**
+         * 硬件指纹的形式，默认发送原始序列号；校验服务支持摘要比较时设置为 digest，不再传输原始序列号与密钥
+         */
+        private FingerprintFormat fingerprintFormat = FingerprintFormat.RAW;
+
+        /**
+         * 是否对请求体进行 gzip 压缩，校验服务不支持时自动关闭
+         */
+        private boolean compressRequests;
+
+        /**
+         * 请求体达到该大小时才压缩
+         */
+        private DataSize compressMinSize = DataSize.ofKilobytes(1);
+
+        /**
+         * @return 请求体达到该字节数时进行压缩，不压缩时为 -1
+         */
+        public int resolveCompressMinSize() {
+            return compressRequests ? (int) Math.min(Integer.MAX_VALUE, compressMinSize.toBytes()) : -1;
+        }
+    }
+
+    /**
+     * 硬件检测配置
+     */
+    @Data
+    public static class Detector {
+        /**
+         * 同时运行的探针数上限
+         */
+        private int concurrency = ProbeExecutors.DEFAULT_CONCURRENCY;
+
+        /**
+         * 运行在 JDK 21 及以上版本时是否使用虚拟线程执行探针
+         */
+        private boolean virtualThreads = true;
+
+        /**
+         * 全部采集器共用的截止时间，到达时使用已经取得的结果并标记为不完整
+         */
+        private Duration deadline = Duration.ofSeconds(15);
+
+        /**
+         * 各组成部分是否启用，未配置的组成部分默认启用，例如 {@code start-verify.detector.components.memory=false}
+         */
+        private Map<FingerprintComponent, Boolean> components = new EnumMap<>(FingerprintComponent.class);
+
+        /**
+         * 是否检测容器运行时，在容器中只读取文件、不执行命令，并采集容器身份
+         */
+        private boolean containerDetection = true;
+
+        /**
+         * Downward API 卷的挂载路径，读取其中的 {@code nodename} 与 {@code uid} 文件
+         */
+        private String podInfoPath = ContainerDetector.DEFAULT_POD_INFO_PATH;
+
+        /**
+         * 执行 dmidecode、lsblk 等需要 root 权限的命令时是否使用 {@code sudo -n}
+         */
+        private SudoMode sudo = SudoMode.AUTO;
+
+        /**
+         * @param component 组成部分
+         * @return 是否启用
+         */
+        public boolean isEnabled(FingerprintComponent component) {
+            return components.getOrDefault(component, true);
+        }
+    }
+
+    /**
+     * 硬件指纹缓存配置
+     */
+    @Data
+    public static class Cache {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+
+        /**
+         * 缓存文件路径
+         */
+        private String path = System.getProperty("user.home") + "/.client-start-verify/fingerprint.properties";
+
+        /**
+         * 有效期
+         */
+        private Duration ttl = Duration.ofHours(24);
+
+        /**
+         * 探针能力档案路径，记录每个探针取得结果的方式与不可用的探针
+         */
+        private String capabilitiesPath = System.getProperty("user.home") + "/.client-start-verify/capabilities.properties";
+
+        /**
+         * 是否忽略已有缓存，强制重新探测
+         */
+        private boolean forceRefresh;
+    }
+
+    /**
+     * 同一主机上共享硬件指纹的本地代理配置
+     */
+    @Data
+    public static class Agent {
+        /**
+         * 是否启用。启用后第一个取得文件锁的进程采集硬件指纹并通过 Unix 域套接字提供给其他进程
+         */
+        private boolean enabled;
+
+        /**
+         * 套接字路径，同目录下的 {@code .lock} 文件用于选举
+         */
+        private String socketPath = System.getProperty("user.home") + "/.client-start-verify/agent.sock";
+
+        /**
+         * 等待代理返回硬件指纹的最长时间，代理仍在采集时会等待采集完成，超时后在本进程中采集
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+
+    /**
+     * 离线校验租约配置
+     */
+    @Data
+    public static class Lease {
+        /**
+         * 校验服务签发租约使用的公钥（Base64 编码的 X.509 格式，Ed25519 或 EC），为空时不使用离线租约
+         */
+        private String publicKey;
+
+        /**
+         * 租约文件路径
+         */
+        private String path = System.getProperty("user.home") + "/.client-start-verify/lease.properties";
+
+        /**
+         * 到期前多久开始在后台续期
+         */
+        private Duration renewBefore = Duration.ofDays(1);
+    }
+
+    /**
+     * 后台定期重新校验配置
+     */
+    @Data
+    public static class Heartbeat {
+        /**
+         * 是否启用
+         */
+        private boolean enabled;
+
+        /**
+         * 心跳接口地址，为空时使用 {@code start-verify.url}
+         */
+        private String url;
+
+        /**
+         * 默认校验间隔，校验服务可以通过响应给出建议值
+         */
+        private Duration interval = Duration.ofHours(1);
+
+        /**
+         * 随机抖动比例，0.1 表示在间隔的 ±10% 内随机
+         */
+        private double jitter = 0.1;
+
+        /**
+         * 间隔下限
+         */
+        private Duration minInterval = Duration.ofMinutes(1);
+
+        /**
+         * 间隔上限
+         */
+        private Duration maxInterval = Duration.ofDays(1);
+    }
+
+    /**
+     * 校验服务过载时的重试配置
+     */
+    @Data
+    public static class Retry {
+        /**
+         * 启动预算，超过后判定校验失败，为 0 时不重试
+         */
+        private Duration budget = Duration.ofMinutes(2);
+
+        /**
+         * 退避的基础间隔
+         */
+        private Duration baseDelay = Duration.ofMillis(500);
+
+        /**
+         * 单次等待的上限
+         */
+        private Duration maxDelay = Duration.ofSeconds(30);
+
+        /**
+         * 重试令牌桶容量，即允许连续重试的次数
+         */
+        private int burst = 3;
+
+        /**
+         * 令牌用完后每生成一个重试令牌的间隔
+         */
+        private Duration tokenInterval = Duration.ofSeconds(5);
+
+        /**
+         * 同时重启的实例数，大于 0 时第一次请求前随机延迟，把请求分散到 fleet-size / admission-rate 秒内
+         */
+        private int fleetSize;
+
+        /**
+         * 校验服务每秒可以处理的启动校验请求数
+         */
+        private double admissionRate = 50;
+
+        /**
+         * 第一次请求前随机延迟的上限
+         */
+        private Duration maxAdmissionDelay = Duration.ofSeconds(30);
+    }
+}
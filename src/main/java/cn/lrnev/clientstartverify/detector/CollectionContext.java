@@ -0,0 +1,72 @@
+package cn.lrnev.clientstartverify.detector;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 一次指纹采集的上下文
+ * <p>
+ * 提供本次采集剩余的时间，以及在采集器之间共用的数据，例如只需要读取一次的 SMBIOS 结构表。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 20:41
+ **/
+public class CollectionContext {
+
+    private final long deadlineNanos;
+    private final Map<Object, Object> shared = new ConcurrentHashMap<>();
+    // 记录当前采集器是否有命令超时，每个采集器都在同一个线程中执行
+    private final ThreadLocal<Boolean> timedOut = new ThreadLocal<>();
+
+    /**
+     * @param deadlineNanos 截止时间，{@link System#nanoTime()} 的取值
+     */
+    public CollectionContext(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @return 距离截止时间的剩余时间，已经超过时返回 {@link Duration#ZERO}
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * 获取在本次采集中共用的数据，第一次获取时计算，同时获取的其他采集器等待计算完成。
+     *
+     * @param key      数据的键
+     * @param supplier 计算数据
+     * @param <T>      数据类型
+     * @return 数据
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T shared(Object key, Supplier<T> supplier) {
+        return (T) shared.computeIfAbsent(key, k -> supplier.get());
+    }
+
+    /**
+     * 标记当前采集器有命令超时，没有取得值时记录为 timeout 而不是 empty。
+     */
+    public void markTimedOut() {
+        timedOut.set(Boolean.TRUE);
+    }
+
+    /**
+     * @return 当前线程中的采集器是否有命令超时，不清除标记
+     */
+    boolean isTimedOut() {
+        return Boolean.TRUE.equals(timedOut.get());
+    }
+
+    /**
+     * @return 当前线程中的采集器是否有命令超时，同时清除标记
+     */
+    boolean takeTimedOut() {
+        boolean result = Boolean.TRUE.equals(timedOut.get());
+        timedOut.remove();
+        return result;
+    }
+}
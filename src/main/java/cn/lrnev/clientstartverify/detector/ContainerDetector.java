@@ -0,0 +1,216 @@
+package cn.lrnev.clientstartverify.detector;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 容器运行时检测
+ * <p>
+ * 依次检查 {@code KUBERNETES_SERVICE_HOST} 环境变量、{@code /proc/1/cgroup} 中的运行时标记、
+ * {@code /.dockerenv} 与 {@code /run/.containerenv} 文件、{@code container} 环境变量，
+ * 以及 cgroup v2 命名空间的根路径配合 overlay 根文件系统。只读取环境变量与文件，检测结果在第一次调用后缓存。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 21:06
+ **/
+@Slf4j
+public class ContainerDetector {
+
+    /**
+     * 默认的 Downward API 卷挂载路径
+     */
+    public static final String DEFAULT_POD_INFO_PATH = "/etc/podinfo";
+
+    // 64 位十六进制的容器ID，出现在 cgroup 路径或 mountinfo 中
+    private static final Pattern CONTAINER_ID = Pattern.compile("([0-9a-f]{64})");
+    private static final List<String> NODE_NAME_ENV = List.of("NODE_NAME", "K8S_NODE_NAME", "KUBERNETES_NODE_NAME");
+    private static final List<String> POD_UID_ENV = List.of("POD_UID", "K8S_POD_UID", "KUBERNETES_POD_UID");
+
+    private final Path root;
+    private final Function<String, String> env;
+    private final Path podInfo;
+    private volatile ContainerRuntime runtime;
+
+    public ContainerDetector() {
+        this(Path.of("/"), System::getenv, Path.of(DEFAULT_POD_INFO_PATH));
+    }
+
+    /**
+     * @param root    文件系统根目录，测试时可指向伪造的目录
+     * @param env     读取环境变量
+     * @param podInfo Downward API 卷挂载路径，相对路径按 {@code root} 解析
+     */
+    public ContainerDetector(Path root, Function<String, String> env, Path podInfo) {
+        this.root = root;
+        this.env = env;
+        this.podInfo = podInfo.isAbsolute() ? root.resolve(podInfo.toString().substring(1)) : root.resolve(podInfo);
+    }
+
+    /**
+     * @param root 文件系统根目录
+     * @return 使用系统环境变量与默认 Downward API 路径的检测
+     */
+    static ContainerDetector rootedAt(Path root) {
+        return new ContainerDetector(root, System::getenv, Path.of(DEFAULT_POD_INFO_PATH));
+    }
+
+    /**
+     * @return 不检测容器，总是返回 {@link ContainerRuntime#NONE}
+     */
+    public static ContainerDetector disabled() {
+        ContainerDetector detector = new ContainerDetector(Path.of("/"), name -> null, Path.of(DEFAULT_POD_INFO_PATH));
+        detector.runtime = ContainerRuntime.NONE;
+        return detector;
+    }
+
+    /**
+     * 按配置创建检测，自动配置与提前校验共用。
+     *
+     * @param detector 硬件检测配置
+     * @return 未启用 {@code start-verify.detector.container-detection} 时返回 {@link #disabled()}
+     */
+    public static ContainerDetector of(StartVerifyProperties.Detector detector) {
+        if (!detector.isContainerDetection()) {
+            return disabled();
+        }
+        return new ContainerDetector(Path.of("/"), System::getenv, Path.of(detector.getPodInfoPath()));
+    }
+
+    /**
+     * @return 当前进程所在的容器运行时
+     */
+    public ContainerRuntime runtime() {
+        ContainerRuntime detected = runtime;
+        if (detected == null) {
+            long start = System.nanoTime();
+            detected = detect();
+            runtime = detected;
+            log.debug("Container runtime {} detected in {} us.", detected, (System.nanoTime() - start) / 1000);
+        }
+        return detected;
+    }
+
+    /**
+     * @return 容器中的身份信息，不在容器中运行时返回空Optional
+     */
+    public Optional<ContainerIdentity> identity() {
+        ContainerRuntime current = runtime();
+        if (!current.isContainer()) {
+            return Optional.empty();
+        }
+        return Optional.of(new ContainerIdentity(current,
+                readValue(root.resolve("etc/machine-id")).orElse(null),
+                firstEnv(NODE_NAME_ENV).or(() -> readValue(podInfo.resolve("nodename"))).orElse(null),
+                firstEnv(POD_UID_ENV).or(() -> readValue(podInfo.resolve("uid"))).orElse(null),
+                cgroupId().orElse(null)));
+    }
+
+    private ContainerRuntime detect() {
+        if (hasText(env.apply("KUBERNETES_SERVICE_HOST"))) {
+            return ContainerRuntime.KUBERNETES;
+        }
+        String cgroup = readFile(root.resolve("proc/1/cgroup")).orElse("");
+        if (cgroup.contains("kubepods")) {
+            return ContainerRuntime.KUBERNETES;
+        }
+        if (cgroup.contains("libpod")) {
+            return ContainerRuntime.PODMAN;
+        }
+        if (cgroup.contains("docker")) {
+            return ContainerRuntime.DOCKER;
+        }
+        if (cgroup.contains("containerd") || cgroup.contains("crio") || cgroup.contains("lxc")) {
+            return ContainerRuntime.OTHER;
+        }
+        if (Files.exists(root.resolve("run/.containerenv"))) {
+            return ContainerRuntime.PODMAN;
+        }
+        if (Files.exists(root.resolve(".dockerenv"))) {
+            return ContainerRuntime.DOCKER;
+        }
+        if (hasText(env.apply("container"))) {
+            return ContainerRuntime.OTHER;
+        }
+        return isCgroupNamespaceRoot() && isOverlayRoot() ? ContainerRuntime.OTHER : ContainerRuntime.NONE;
+    }
+
+    /**
+     * cgroup v2 下容器进程位于独立的 cgroup 命名空间，{@code /proc/self/cgroup} 只有一行 {@code 0::/}。
+     */
+    private boolean isCgroupNamespaceRoot() {
+        return readFile(root.resolve("proc/self/cgroup")).map(String::trim).filter("0::/"::equals).isPresent();
+    }
+
+    /**
+     * 容器的根文件系统通常是 overlay，{@code /proc/self/mountinfo} 中挂载点为 {@code /} 的行的文件系统类型。
+     */
+    private boolean isOverlayRoot() {
+        return readFile(root.resolve("proc/self/mountinfo")).stream()
+                .flatMap(String::lines)
+                .filter(line -> {
+                    String[] fields = line.split(" ");
+                    return fields.length > 4 && "/".equals(fields[4]);
+                })
+                .anyMatch(line -> {
+                    int separator = line.indexOf(" - ");
+                    return separator >= 0 && line.startsWith("overlay", separator + 3);
+                });
+    }
+
+    /**
+     * 优先取 cgroup 路径中的容器ID，其次取 mountinfo 中的容器ID（Docker 挂载的 hostname 等文件位于容器目录下），
+     * 最后使用 cgroup v2 的路径。
+     */
+    private Optional<String> cgroupId() {
+        String cgroup = readFile(root.resolve("proc/self/cgroup")).orElse("");
+        Optional<String> id = findContainerId(cgroup)
+                .or(() -> readFile(root.resolve("proc/self/mountinfo")).flatMap(ContainerDetector::findContainerId));
+        if (id.isPresent()) {
+            return id;
+        }
+        return cgroup.lines()
+                .filter(line -> line.startsWith("0::"))
+                .map(line -> line.substring(3))
+                .filter(path -> !"/".equals(path) && !path.isEmpty())
+                .findFirst();
+    }
+
+    private static Optional<String> findContainerId(String content) {
+        Matcher matcher = CONTAINER_ID.matcher(content);
+        return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    private Optional<String> firstEnv(List<String> names) {
+        return names.stream().map(env).filter(ContainerDetector::hasText).map(String::trim).findFirst();
+    }
+
+    private static Optional<String> readValue(Path file) {
+        return readFile(file).map(String::trim).filter(value -> !value.isEmpty());
+    }
+
+    private static Optional<String> readFile(Path file) {
+        if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readString(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.debug("Unable to read {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
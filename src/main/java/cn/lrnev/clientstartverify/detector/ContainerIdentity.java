@@ -0,0 +1,50 @@
+package cn.lrnev.clientstartverify.detector;
+
+import java.util.StringJoiner;
+
+/**
+ * 容器中的身份信息
+ * <p>
+ * 容器中通常读取不到真实的硬件信息，改用机器ID、所在节点、Pod UID 与容器的 cgroup 标识区分实例，
+ * 全部来自环境变量与文件，不启动任何进程。
+ *
+ * @param runtime   容器运行时
+ * @param machineId 机器ID，容器镜像中通常没有
+ * @param nodeName  所在节点名称，来自 Downward API
+ * @param podUid    Pod UID，来自 Downward API
+ * @param cgroupId  容器ID或 cgroup 路径
+ * @author 鲁子狄
+ * @since 2026/10/17 21:06
+ **/
+public record ContainerIdentity(ContainerRuntime runtime, String machineId, String nodeName, String podUid,
+                                String cgroupId) {
+
+    /**
+     * @return 是否取得了运行时之外的任何身份信息
+     */
+    public boolean isEmpty() {
+        return isBlank(machineId) && isBlank(nodeName) && isBlank(podUid) && isBlank(cgroupId);
+    }
+
+    /**
+     * @return 发送给校验服务的规范形式，只包含取得的字段，例如 {@code node=worker-1, pod=..., cgroup=...}
+     */
+    public String canonical() {
+        StringJoiner joiner = new StringJoiner(", ");
+        add(joiner, "machineId", machineId);
+        add(joiner, "node", nodeName);
+        add(joiner, "pod", podUid);
+        add(joiner, "cgroup", cgroupId);
+        return joiner.toString();
+    }
+
+    private static void add(StringJoiner joiner, String name, String value) {
+        if (!isBlank(value)) {
+            joiner.add(name + "=" + value);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,46 @@
+package cn.lrnev.clientstartverify.detector;
+
+import java.util.Locale;
+
+/**
+ * 容器运行时
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 21:06
+ **/
+public enum ContainerRuntime {
+    /**
+     * 不在容器中运行
+     */
+    NONE,
+    /**
+     * Kubernetes Pod
+     */
+    KUBERNETES,
+    /**
+     * Docker 容器
+     */
+    DOCKER,
+    /**
+     * Podman 容器
+     */
+    PODMAN,
+    /**
+     * 其他容器，例如 containerd、CRI-O、LXC 或 systemd-nspawn
+     */
+    OTHER;
+
+    /**
+     * @return 是否在容器中运行
+     */
+    public boolean isContainer() {
+        return this != NONE;
+    }
+
+    /**
+     * @return 请求中使用的名称
+     */
+    public String tagValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
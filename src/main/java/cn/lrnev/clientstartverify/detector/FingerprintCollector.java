@@ -0,0 +1,90 @@
+package cn.lrnev.clientstartverify.detector;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 硬件指纹采集器
+ * <p>
+ * 每个采集器负责一个 {@link FingerprintComponent}，注册为 Bean 即可替换内置的实现；
+ * 同一组成部分有多个采集器时使用排序最靠前的一个。
+ * 检测器在同一个截止时间内运行全部启用的采集器，截止时间到达时仍未完成的采集器的结果视为缺失。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 20:41
+ **/
+public interface FingerprintCollector {
+
+    /**
+     * @return 负责的组成部分
+     */
+    FingerprintComponent component();
+
+    /**
+     * @return 采集开销的提示，默认为 {@link Cost#MEDIUM}
+     */
+    default Cost cost() {
+        return Cost.MEDIUM;
+    }
+
+    /**
+     * 采集一次。耗时的操作应当在 {@link CollectionContext#remaining()} 内结束。
+     *
+     * @param context 本次采集共用的上下文
+     * @return 采集结果，没有取得值时返回空Optional
+     */
+    Optional<String> collect(CollectionContext context);
+
+    /**
+     * 创建采集器。
+     *
+     * @param component 负责的组成部分
+     * @param cost      采集开销
+     * @param collector 采集操作
+     * @return 采集器
+     */
+    static FingerprintCollector of(FingerprintComponent component, Cost cost,
+                                   Function<CollectionContext, Optional<String>> collector) {
+        return new FingerprintCollector() {
+            @Override
+            public FingerprintComponent component() {
+                return component;
+            }
+
+            @Override
+            public Cost cost() {
+                return cost;
+            }
+
+            @Override
+            public Optional<String> collect(CollectionContext context) {
+                return collector.apply(context);
+            }
+
+            @Override
+            public String toString() {
+                return component.name().toLowerCase() + " collector";
+            }
+        };
+    }
+
+    /**
+     * 采集开销
+     * <p>
+     * 全部采集器都在探针执行器上运行并受同一个截止时间约束，开销大的采集器最先提交，{@link #LOW} 的采集器最后提交。
+     */
+    enum Cost {
+        /**
+         * 只读取内存中的数据或少量文件
+         */
+        LOW,
+        /**
+         * 优先读取文件，失败时执行外部命令
+         */
+        MEDIUM,
+        /**
+         * 总是执行外部命令
+         */
+        HIGH
+    }
+}
@@ -0,0 +1,109 @@
+package cn.lrnev.clientstartverify.detector;
+
+import cn.lrnev.clientstartverify.metrics.VerificationPhase;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 硬件指纹的组成部分
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 20:41
+ **/
+public enum FingerprintComponent {
+    /**
+     * 主板序列号
+     */
+    MB(VerificationPhase.MB, true, StarterRequest::setMbSerialNo, StarterRequest::getMbSerialNo),
+    /**
+     * CPU序列号
+     */
+    CPU(VerificationPhase.CPU, true, StarterRequest::setCpuSerialNo, StarterRequest::getCpuSerialNo),
+    /**
+     * 内存序列号
+     */
+    MEMORY(VerificationPhase.MEMORY, true, StarterRequest::setMemorySerialNo, StarterRequest::getMemorySerialNo),
+    /**
+     * 硬盘序列号
+     */
+    DISK(VerificationPhase.DISK, true, StarterRequest::setDiskSerialNo, StarterRequest::getDiskSerialNo),
+    /**
+     * 网卡地址
+     */
+    NIC(VerificationPhase.NIC, true, StarterRequest::setNicSerialNo, StarterRequest::getNicSerialNo),
+    /**
+     * 本机IP地址
+     */
+    IP(VerificationPhase.IP, false, StarterRequest::setIp, StarterRequest::getIp),
+    /**
+     * 容器身份，只在容器中取得
+     */
+    CONTAINER(VerificationPhase.CONTAINER, false, StarterRequest::setContainerIdentity, StarterRequest::getContainerIdentity);
+
+    private final VerificationPhase phase;
+    private final boolean hardware;
+    private final BiConsumer<StarterRequest, String> setter;
+    private final Function<StarterRequest, String> getter;
+
+    FingerprintComponent(VerificationPhase phase, boolean hardware, BiConsumer<StarterRequest, String> setter,
+                         Function<StarterRequest, String> getter) {
+        this.phase = phase;
+        this.hardware = hardware;
+        this.setter = setter;
+        this.getter = getter;
+    }
+
+    /**
+     * @return 记录耗时使用的阶段
+     */
+    public VerificationPhase phase() {
+        return phase;
+    }
+
+    /**
+     * @return 是否为硬件信息，硬件信息保存在指纹缓存中，其他组成部分每次启动都重新获取
+     */
+    public boolean isHardware() {
+        return hardware;
+    }
+
+    /**
+     * 将采集结果保存到请求对应的字段。
+     *
+     * @param request StarterRequest对象
+     * @param value   采集结果
+     */
+    public void apply(StarterRequest request, String value) {
+        setter.accept(request, value);
+    }
+
+    /**
+     * 读取请求中对应字段的值。
+     *
+     * @param request StarterRequest对象
+     * @return 字段的值
+     */
+    public String read(StarterRequest request) {
+        return getter.apply(request);
+    }
+
+    /**
+     * @param components 组成部分
+     * @return 按声明顺序以逗号拼接的名称，用于比较两次采集的组成部分是否相同
+     */
+    public static String names(Set<FingerprintComponent> components) {
+        return components.stream().sorted().map(Enum::name).collect(Collectors.joining(","));
+    }
+
+    /**
+     * @return 全部硬件组成部分
+     */
+    public static Set<FingerprintComponent> hardware() {
+        return EnumSet.of(MB, CPU, MEMORY, DISK, NIC);
+    }
+}
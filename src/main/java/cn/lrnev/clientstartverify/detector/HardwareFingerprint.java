@@ -0,0 +1,158 @@
+package cn.lrnev.clientstartverify.detector;
+
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 进程内共享的硬件指纹
+ * <p>
+ * 第一次访问时通过 {@link OperatingSystemDetector} 采集全部启用的组成部分，之后直接返回同一份不可变的快照；
+ * 启动校验、心跳以及宿主应用的诊断共用这一份结果，每次组装 {@link StarterRequest} 只复制快照中的字段。
+ * 采集不完整的快照不会被保留，下次访问时重新采集。需要重新探测时调用 {@link #refresh()}。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 20:30
+ **/
+public class HardwareFingerprint {
+
+    private final OperatingSystemDetector detector;
+
+    private final Object monitor = new Object();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param detector 采集硬件信息的检测器
+     */
+    public HardwareFingerprint(OperatingSystemDetector detector) {
+        this.detector = detector;
+    }
+
+    /**
+     * @return 使用默认检测器的硬件指纹
+     */
+    public static HardwareFingerprint getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * @return 硬件指纹快照，第一次访问时采集
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (monitor) {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            return remember(detector.collect(false));
+        }
+    }
+
+    /**
+     * @param component 组成部分
+     * @return 组成部分的值，未启用或没有取得值时为空字符串
+     */
+    public String get(FingerprintComponent component) {
+        return snapshot().value(component);
+    }
+
+    /**
+     * 忽略已有的快照、指纹代理与硬件指纹缓存，重新采集全部组成部分。
+     *
+     * @return 新的快照
+     */
+    public Snapshot refresh() {
+        synchronized (monitor) {
+            return remember(detector.collect(true));
+        }
+    }
+
+    /**
+     * @return 已保留的快照，还没有采集或上次采集不完整时返回空Optional，不会触发采集
+     */
+    public Optional<Snapshot> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * 采用在其他地方采集的快照，例如提前校验的结果。已有快照或快照不完整时忽略。
+     *
+     * @param collected 采集结果
+     */
+    public void adopt(Snapshot collected) {
+        synchronized (monitor) {
+            if (snapshot == null && !collected.partial()) {
+                snapshot = collected;
+            }
+        }
+    }
+
+    /**
+     * 由快照与应用环境中的端口、客户与项目组装请求。
+     *
+     * @param env 应用环境
+     * @return 新的StarterRequest对象，修改它不影响快照
+     */
+    public StarterRequest toRequest(ConfigurableEnvironment env) {
+        return snapshot().toRequest(env);
+    }
+
+    private Snapshot remember(Snapshot collected) {
+        snapshot = collected.partial() ? null : collected;
+        return collected;
+    }
+
+    /**
+     * 一次采集的结果
+     *
+     * @param values  每个组成部分的值，未启用或没有取得值时为空字符串
+     * @param runtime 容器运行时
+     * @param partial 是否有组成部分在截止时间内未完成或失败
+     */
+    public record Snapshot(Map<FingerprintComponent, String> values, String runtime, boolean partial) {
+
+        public Snapshot {
+            Map<FingerprintComponent, String> copy = new EnumMap<>(FingerprintComponent.class);
+            for (FingerprintComponent component : FingerprintComponent.values()) {
+                String value = values.get(component);
+                copy.put(component, value == null ? "" : value);
+            }
+            values = Collections.unmodifiableMap(copy);
+        }
+
+        /**
+         * @param component 组成部分
+         * @return 组成部分的值，未启用或没有取得值时为空字符串
+         */
+        public String value(FingerprintComponent component) {
+            return values.get(component);
+        }
+
+        /**
+         * @param env 应用环境
+         * @return 包含快照与应用环境中端口、客户与项目的新StarterRequest对象
+         */
+        public StarterRequest toRequest(ConfigurableEnvironment env) {
+            StarterRequest request = new StarterRequest();
+            values.forEach((component, value) -> component.apply(request, value));
+            request.setRuntime(runtime);
+            request.setPartial(partial);
+            request.setPort(env.getProperty("server.port"));
+            request.setCustomer(env.getProperty("start-verify.customer"));
+            request.setProject(env.getProperty("start-verify.project"));
+            return request;
+        }
+    }
+
+    private static final class DefaultHolder {
+        private static final HardwareFingerprint INSTANCE = new HardwareFingerprint(OperatingSystemDetector.getDefault());
+    }
+}
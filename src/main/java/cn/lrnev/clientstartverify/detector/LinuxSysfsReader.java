@@ -0,0 +1,211 @@
+package cn.lrnev.clientstartverify.detector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Linux sysfs 读取器
+ * <p>
+ * 直接读取 {@code /sys}、{@code /proc} 下的 DMI、块设备与网卡等属性文件，避免为每个探针启动外部进程。
+ * 文件不存在或无权限读取时返回空结果，由调用方决定是否回退到命令方式。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 09:12
+ **/
+@Slf4j
+public class LinuxSysfsReader {
+
+    private static final String NOT_SPECIFIED = "not specified";
+    private static final String EMPTY_MAC = "00:00:00:00:00:00";
+    // ARPHRD_ETHER，与 ip link 输出中的 link/ether 对应
+    private static final String ETHER_TYPE = "1";
+    // 没有物理序列号的块设备
+    private static final List<String> VIRTUAL_BLOCK_PREFIXES = List.of("loop", "ram", "zram", "dm-", "md", "sr", "fd");
+
+    private final Path root;
+
+    public LinuxSysfsReader() {
+        this(Path.of("/"));
+    }
+
+    /**
+     * @param root 文件系统根目录，测试时可指向伪造的 sysfs 目录
+     */
+    public LinuxSysfsReader(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * @return 文件系统根目录
+     */
+    Path root() {
+        return root;
+    }
+
+    /**
+     * 读取主板序列号 {@code /sys/class/dmi/id/board_serial}。
+     *
+     * @return 主板序列号，文件缺失、不可读或内容为空时返回空Optional
+     */
+    public Optional<String> readBoardSerial() {
+        return readValue(root.resolve("sys/class/dmi/id/board_serial"));
+    }
+
+    /**
+     * 读取系统UUID {@code /sys/class/dmi/id/product_uuid}。
+     *
+     * @return 系统UUID，文件缺失、不可读或内容为空时返回空Optional
+     */
+    public Optional<String> readProductUuid() {
+        return readValue(root.resolve("sys/class/dmi/id/product_uuid"));
+    }
+
+    /**
+     * 读取本次开机的启动ID {@code /proc/sys/kernel/random/boot_id}，每次重启都会变化。
+     *
+     * @return 启动ID，文件缺失或不可读时返回空Optional
+     */
+    public Optional<String> readBootId() {
+        return readValue(root.resolve("proc/sys/kernel/random/boot_id"));
+    }
+
+    /**
+     * 读取机器ID {@code /etc/machine-id}，在系统安装时生成。
+     *
+     * @return 机器ID，文件缺失或不可读时返回空Optional
+     */
+    public Optional<String> readMachineId() {
+        return readValue(root.resolve("etc/machine-id"));
+    }
+
+    /**
+     * 读取内核版本 {@code /proc/sys/kernel/osrelease}，升级内核后变化。
+     *
+     * @return 内核版本，文件缺失或不可读时返回空Optional
+     */
+    public Optional<String> readKernelRelease() {
+        return readValue(root.resolve("proc/sys/kernel/osrelease"));
+    }
+
+    /**
+     * 读取并解析 SMBIOS 结构表 {@code /sys/firmware/dmi/tables/DMI}。
+     * sysfs 的二进制属性不支持内存映射，因此整表读入一次后交给 {@link SmbiosTable} 解析。
+     *
+     * @return 解析结果，结构表缺失或不可读（通常需要 root 权限）时返回空Optional
+     */
+    public Optional<SmbiosTable> readSmbiosTable() {
+        Path tables = root.resolve("sys/firmware/dmi/tables");
+        Path table = tables.resolve("DMI");
+        if (!Files.isRegularFile(table) || !Files.isReadable(table)) {
+            return Optional.empty();
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(table);
+            if (bytes.length == 0) {
+                return Optional.empty();
+            }
+            Path entryPoint = tables.resolve("smbios_entry_point");
+            byte[] entry = Files.isReadable(entryPoint) ? Files.readAllBytes(entryPoint) : new byte[0];
+            return Optional.of(SmbiosTable.parse(entry, bytes));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Unable to read SMBIOS table {}: {}", table, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 读取所有物理块设备的序列号，优先 {@code device/serial}，其次 {@code device/wwid}。
+     * 如果有多个硬盘，返回以逗号分隔的字符串。
+     *
+     * @return 硬盘序列号，没有任何可读的序列号时返回空Optional
+     */
+    public Optional<String> readDiskSerials() {
+        List<String> serials = new ArrayList<>();
+        for (Path device : listEntries(root.resolve("sys/block"))) {
+            String name = device.getFileName().toString();
+            if (VIRTUAL_BLOCK_PREFIXES.stream().anyMatch(name::startsWith)) {
+                continue;
+            }
+            readValue(device.resolve("device/serial"))
+                    .or(() -> readValue(device.resolve("device/wwid")))
+                    .or(() -> readValue(device.resolve("wwid")))
+                    .ifPresent(serials::add);
+        }
+        return join(serials);
+    }
+
+    /**
+     * 读取所有以太网类型网卡的MAC地址，按接口索引排序，与 {@code ip link show} 的顺序一致。
+     * 如果有多个网卡，返回以逗号分隔的字符串。
+     *
+     * @return 网卡MAC地址，没有任何可读的网卡时返回空Optional
+     */
+    public Optional<String> readNicAddresses() {
+        List<Path> interfaces = new ArrayList<>(listEntries(root.resolve("sys/class/net")));
+        interfaces.sort(Comparator.comparingInt(this::readIfIndex));
+        List<String> addresses = new ArrayList<>();
+        for (Path nic : interfaces) {
+            if (readValue(nic.resolve("type")).filter(ETHER_TYPE::equals).isEmpty()) {
+                continue;
+            }
+            readValue(nic.resolve("address"))
+                    .filter(address -> !EMPTY_MAC.equals(address))
+                    .ifPresent(addresses::add);
+        }
+        return join(addresses);
+    }
+
+    private int readIfIndex(Path nic) {
+        return readValue(nic.resolve("ifindex")).map(value -> {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return Integer.MAX_VALUE;
+            }
+        }).orElse(Integer.MAX_VALUE);
+    }
+
+    private static List<Path> listEntries(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            stream.forEach(entries::add);
+        } catch (IOException e) {
+            log.debug("Unable to list {}: {}", directory, e.getMessage());
+            return List.of();
+        }
+        entries.sort(Comparator.comparing(path -> path.getFileName().toString()));
+        return entries;
+    }
+
+    /**
+     * 读取单值属性文件，去掉首尾空白，并过滤掉空值与 "Not Specified"。
+     */
+    private static Optional<String> readValue(Path file) {
+        if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+            return Optional.empty();
+        }
+        try {
+            String value = Files.readString(file, StandardCharsets.UTF_8).trim();
+            return value.isEmpty() || NOT_SPECIFIED.equalsIgnoreCase(value) ? Optional.empty() : Optional.of(value);
+        } catch (IOException e) {
+            log.debug("Unable to read {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> join(List<String> values) {
+        return values.isEmpty() ? Optional.empty() : Optional.of(String.join(", ", values));
+    }
+}
@@ -0,0 +1,174 @@
+package cn.lrnev.clientstartverify.detector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 本机网络身份快照
+ * <p>
+ * 通过 {@link NetworkInterface} 枚举处于启用状态、非环回且不是虚拟网桥或隧道的网卡，记录每个网卡的 MAC 地址与
+ * IPv4/IPv6 地址。只读取内核中的接口信息，不进行主机名解析，因此 {@code /etc/hosts} 配置错误或 DNS 缓慢时不会阻塞。
+ * 网卡按接口序号与名称排序、地址按 IPv4 在前排序，同一台主机上每次得到相同的结果与 {@link #hash() 摘要}。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 21:10
+ **/
+@Slf4j
+public final class NetworkIdentity {
+
+    // 容器网桥、虚拟网卡对与隧道等由软件创建的接口，重启或启停容器时会变化
+    private static final List<String> VIRTUAL_PREFIXES = List.of("docker", "veth", "br-", "virbr", "cni", "flannel",
+            "cali", "vxlan", "tun", "tap", "kube-", "lxc", "podman", "vmnet", "vboxnet", "dummy");
+
+    private final List<Interface> interfaces;
+
+    private final String hash;
+
+    /**
+     * @param interfaces 网卡，按接口序号与名称排序后保存
+     */
+    public NetworkIdentity(List<Interface> interfaces) {
+        List<Interface> sorted = new ArrayList<>(interfaces);
+        sorted.sort(Comparator.comparingInt(Interface::index).thenComparing(Interface::name));
+        this.interfaces = Collections.unmodifiableList(sorted);
+        this.hash = sha256(canonical());
+    }
+
+    /**
+     * 枚举本机网卡。枚举失败时返回没有网卡的快照。
+     *
+     * @return 本机网络身份
+     */
+    public static NetworkIdentity capture() {
+        List<Interface> interfaces = new ArrayList<>();
+        try {
+            for (NetworkInterface nic : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+                if (!nic.isUp() || nic.isLoopback() || nic.isVirtual() || isVirtual(nic.getName())) {
+                    continue;
+                }
+                List<String> addresses = new ArrayList<>();
+                for (InetAddress address : Collections.list(nic.getInetAddresses())) {
+                    if (!address.isLoopbackAddress()) {
+                        addresses.add(address.getHostAddress());
+                    }
+                }
+                byte[] mac = nic.getHardwareAddress();
+                interfaces.add(new Interface(nic.getName(), nic.getIndex(),
+                        mac == null ? "" : HexFormat.ofDelimiter(":").formatHex(mac), addresses));
+            }
+        } catch (IOException e) {
+            log.warn("Error enumerating network interfaces: {}", e.getMessage());
+        }
+        return new NetworkIdentity(interfaces);
+    }
+
+    /**
+     * @return 网卡，按接口序号与名称排序
+     */
+    public List<Interface> interfaces() {
+        return interfaces;
+    }
+
+    /**
+     * @return 以逗号分隔的 MAC 地址，没有网卡时返回空Optional
+     */
+    public Optional<String> macs() {
+        String joined = interfaces.stream()
+                .map(Interface::mac)
+                .filter(mac -> !mac.isEmpty())
+                .collect(Collectors.joining(", "));
+        return joined.isEmpty() ? Optional.empty() : Optional.of(joined);
+    }
+
+    /**
+     * @return 排序后第一个网卡的第一个 IPv4 地址，没有时返回空Optional
+     */
+    public Optional<String> primaryIpv4() {
+        return interfaces.stream()
+                .flatMap(nic -> nic.addresses().stream())
+                .filter(address -> address.indexOf(':') < 0)
+                .findFirst();
+    }
+
+    /**
+     * @return 规范化的文本形式，每个网卡一段：{@code 名称=MAC;地址,地址}
+     */
+    public String canonical() {
+        return interfaces.stream()
+                .map(nic -> nic.name() + "=" + nic.mac() + ";" + String.join(",", nic.addresses()))
+                .collect(Collectors.joining("|"));
+    }
+
+    /**
+     * @return {@link #canonical()} 的 SHA-256 摘要，用于判断网络身份是否变化
+     */
+    public String hash() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof NetworkIdentity identity && interfaces.equals(identity.interfaces);
+    }
+
+    @Override
+    public int hashCode() {
+        return interfaces.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return canonical();
+    }
+
+    /**
+     * @param name 网卡名称
+     * @return 是否为由软件创建的虚拟网卡
+     */
+    static boolean isVirtual(String name) {
+        return VIRTUAL_PREFIXES.stream().anyMatch(name::startsWith);
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 一个网卡
+     *
+     * @param name      网卡名称
+     * @param index     接口序号
+     * @param mac       小写、冒号分隔的 MAC 地址，没有时为空字符串
+     * @param addresses IP 地址，去掉 IPv6 的作用域后 IPv4 在前排序
+     */
+    public record Interface(String name, int index, String mac, List<String> addresses) {
+
+        public Interface {
+            mac = mac == null ? "" : mac.toLowerCase();
+            addresses = addresses.stream()
+                    .map(address -> address.contains("%") ? address.substring(0, address.indexOf('%')) : address)
+                    .distinct()
+                    .sorted(Comparator.comparing((String address) -> address.indexOf(':') >= 0)
+                            .thenComparing(Comparator.naturalOrder()))
+                    .toList();
+        }
+    }
+}
@@ -1,325 +1,317 @@
 package cn.lrnev.clientstartverify.detector;
 
+import cn.lrnev.clientstartverify.agent.FingerprintAgent;
+import cn.lrnev.clientstartverify.cache.FingerprintCache;
+import cn.lrnev.clientstartverify.command.CommandRunner;
+import cn.lrnev.clientstartverify.command.ProcessCommandRunner;
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import cn.lrnev.clientstartverify.metrics.VerificationOutcome;
 import cn.lrnev.clientstartverify.verify.StarterRequest;
-import lombok.AccessLevel;
-import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.env.ConfigurableEnvironment;
-
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.Inet4Address;
-import java.net.InetAddress;
-import java.net.NetworkInterface;
-import java.util.Enumeration;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 操作系统检测器
+ * <p>
+ * 在同一个截止时间内运行全部启用的 {@link FingerprintCollector}，开销大的采集器最先提交到探针执行器。
+ * 截止时间到达时不再等待，未完成或失败的组成部分为空字符串，并将请求标记为 {@link StarterRequest#isPartial() 不完整}。
  *
  * @author 鲁子狄
  * @since 2024/12/2 16:01
  **/
 @Slf4j
-@NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class OperatingSystemDetector {
 
-    private static final String WMIC_COMMAND_PREFIX = "wmic ";
-    private static final String SERIAL_NUMBER = "SerialNumber";
-    private static final String WIN = "win";
-
-    // 是否使用sudo，可以通过配置文件或环境变量设置
-    private static final boolean USE_SUDO = true;
-    // 命令执行超时时间
-    private static final int COMMAND_TIMEOUT_SECONDS = 10;
-
     /**
-     * 获取操作系统信息并填充StarterRequest对象。
-     *
-     * @return 包含操作系统信息的StarterRequest对象
+     * 默认的采集截止时间
      */
-    public static StarterRequest getOperatingSystemInfo(ConfigurableEnvironment env) {
-        StarterRequest request = new StarterRequest();
-        String osName = System.getProperty("os.name").toLowerCase();
-
-        CompletableFuture<Void> mbSerialNoFuture = CompletableFuture.supplyAsync(() ->
-                        osName.contains(WIN) ? getMotherboardSerialNumberWindows() : getMotherboardSerialNumberLinux())
-                .thenApply(optional -> optional.orElse(""))
-                .thenAccept(request::setMbSerialNo);
-
-        CompletableFuture<Void> cpuSerialNoFuture = CompletableFuture.supplyAsync(() ->
-                        osName.contains(WIN) ? getCpuSerialNumberWindows() : getCpuSerialNumberLinux())
-                .thenApply(optional -> optional.orElse(""))
-                .thenAccept(request::setCpuSerialNo);
-
-        CompletableFuture<Void> memorySerialNoFuture = CompletableFuture.supplyAsync(() ->
-                        osName.contains(WIN) ? getMemorySerialNumbersWindows() : getMemorySerialNumbersLinux())
-                .thenApply(optional -> optional.orElse(""))
-                .thenAccept(request::setMemorySerialNo);
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(15);
+
+    private static final OperatingSystemDetector DEFAULT = new OperatingSystemDetector(new ProcessCommandRunner(),
+            new LinuxSysfsReader(), ProbeExecutors.create(ProbeExecutors.DEFAULT_CONCURRENCY, true));
+
+    // 每个组成部分一个采集器
+    private final Map<FingerprintComponent, FingerprintCollector> collectors;
+    // 探针在独立的执行器上运行，不占用公共的 ForkJoinPool
+    private final Executor executor;
+    // 主机特征未变化时直接使用上次采集的结果
+    private final FingerprintCache fingerprintCache;
+    // 记录每个探针的耗时与结果
+    private final VerificationMetrics metrics;
+    // 全部采集器共用的截止时间
+    private final Duration deadline;
+    // 容器运行时检测
+    private final ContainerDetector containerDetector;
+    // 同一主机上的其他 JVM 已采集的硬件指纹
+    private final FingerprintAgent agent;
+
+    public OperatingSystemDetector(CommandRunner commandRunner) {
+        this(commandRunner, new LinuxSysfsReader());
+    }
 
-        CompletableFuture<Void> diskSerialNoFuture = CompletableFuture.supplyAsync(() ->
-                        osName.contains(WIN) ? getDiskSerialNumbersWindows() : getDiskSerialNumbersLinux())
-                .thenApply(optional -> optional.orElse(""))
-                .thenAccept(request::setDiskSerialNo);
+    public OperatingSystemDetector(CommandRunner commandRunner, LinuxSysfsReader sysfs) {
+        this(commandRunner, sysfs, DEFAULT.executor);
+    }
 
-        CompletableFuture<Void> nicSerialNoFuture = CompletableFuture.supplyAsync(() ->
-                        osName.contains(WIN) ? getNicSerialNumbersWindows() : getNicSerialNumbersLinux())
-                .thenApply(optional -> optional.orElse(""))
-                .thenAccept(request::setNicSerialNo);
+    public OperatingSystemDetector(CommandRunner commandRunner, LinuxSysfsReader sysfs, Executor executor) {
+        this(commandRunner, sysfs, executor, FingerprintCache.disabled());
+    }
 
-        // 等待所有异步任务完成
-        CompletableFuture.allOf(mbSerialNoFuture, cpuSerialNoFuture, memorySerialNoFuture, diskSerialNoFuture, nicSerialNoFuture).join();
+    public OperatingSystemDetector(CommandRunner commandRunner, LinuxSysfsReader sysfs, Executor executor,
+                                   FingerprintCache fingerprintCache) {
+        this(commandRunner, sysfs, executor, fingerprintCache, VerificationMetrics.NOOP);
+    }
 
-        // 设置IP地址
-        request.setIp(getLocalIp().orElse(""));
-        request.setPort(env.getProperty("server.port"));
-        request.setCustomer(env.getProperty("start-verify.customer"));
-        request.setProject(env.getProperty("start-verify.project"));
+    public OperatingSystemDetector(CommandRunner commandRunner, LinuxSysfsReader sysfs, Executor executor,
+                                   FingerprintCache fingerprintCache, VerificationMetrics metrics) {
+        this(commandRunner, sysfs, executor, fingerprintCache, metrics, ContainerDetector.rootedAt(sysfs.root()));
+    }
 
-        return request;
+    private OperatingSystemDetector(CommandRunner commandRunner, LinuxSysfsReader sysfs, Executor executor,
+                                    FingerprintCache fingerprintCache, VerificationMetrics metrics,
+                                    ContainerDetector containerDetector) {
+        this(new SystemFingerprintCollectors(commandRunner, sysfs, containerDetector).all(), executor,
+                fingerprintCache, metrics, DEFAULT_DEADLINE, containerDetector);
     }
 
     /**
-     * 执行命令并返回结果流，带超时机制。
-     *
-     * @param command 命令
-     * @return 命令输出的流
+     * @param collectors       启用的采集器，同一组成部分有多个采集器时使用最靠前的一个
+     * @param executor         探针执行器
+     * @param fingerprintCache 硬件指纹缓存
+     * @param metrics          记录每个采集器的耗时与结果
+     * @param deadline         全部采集器共用的截止时间
      */
-    private static Stream<String> executeCommandWithTimeout(String command) {
-        try {
-            Process process = Runtime.getRuntime().exec(command);
-            if (!process.waitFor(OperatingSystemDetector.COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
-                process.destroy();
-                log.warn("Command '{}' timed out after {} seconds", command, OperatingSystemDetector.COMMAND_TIMEOUT_SECONDS);
-                return Stream.empty();
-            }
-
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            BufferedReader errorReader = new BufferedReader(new InputStreamReader(process.getErrorStream()));
-
-            // 启动一个线程来读取错误流，避免阻塞
-            Thread errorThread = new Thread(() -> errorReader.lines().forEach(line -> log.error("Error: {}", line)));
-            errorThread.start();
-
-            return reader.lines();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("Command execution was interrupted: {}", command);
-            return Stream.empty();
-        } catch (Exception e) {
-            log.error("Error executing command: {}", command, e);
-            return Stream.empty();
-        }
+    public OperatingSystemDetector(List<FingerprintCollector> collectors, Executor executor,
+                                   FingerprintCache fingerprintCache, VerificationMetrics metrics, Duration deadline) {
+        this(collectors, executor, fingerprintCache, metrics, deadline, new ContainerDetector());
     }
 
     /**
-     * 执行命令并过滤掉空行和去空格。
-     *
-     * @param command 命令
-     * @return 过滤后的命令输出流
+     * @param collectors        启用的采集器，同一组成部分有多个采集器时使用最靠前的一个
+     * @param executor          探针执行器
+     * @param fingerprintCache  硬件指纹缓存
+     * @param metrics           记录每个采集器的耗时与结果
+     * @param deadline          全部采集器共用的截止时间
+     * @param containerDetector 容器运行时检测
      */
-    private static Stream<String> executeCommandAndFilter(String command) {
-        return executeCommandWithTimeout(command)
-                .filter(line -> !line.trim().isEmpty())
-                .map(String::trim);
+    public OperatingSystemDetector(List<FingerprintCollector> collectors, Executor executor,
+                                   FingerprintCache fingerprintCache, VerificationMetrics metrics, Duration deadline,
+                                   ContainerDetector containerDetector) {
+        this(collectors, executor, fingerprintCache, metrics, deadline, containerDetector, FingerprintAgent.disabled());
     }
 
     /**
-     * 获取主板序列号（Windows系统）。
-     *
-     * @return 主板序列号的Optional对象，如果获取失败则返回空Optional
+     * @param collectors        启用的采集器，同一组成部分有多个采集器时使用最靠前的一个
+     * @param executor          探针执行器
+     * @param fingerprintCache  硬件指纹缓存
+     * @param metrics           记录每个采集器的耗时与结果
+     * @param deadline          全部采集器共用的截止时间
+     * @param containerDetector 容器运行时检测
+     * @param agent             主机级共享的硬件指纹代理，优先于硬件指纹缓存
      */
-    private static Optional<String> getMotherboardSerialNumberWindows() {
-        return executeCommandAndFilter(WMIC_COMMAND_PREFIX + "baseboard get serialnumber")
-                .filter(line -> !SERIAL_NUMBER.equalsIgnoreCase(line))
-                .findFirst();
+    public OperatingSystemDetector(List<FingerprintCollector> collectors, Executor executor,
+                                   FingerprintCache fingerprintCache, VerificationMetrics metrics, Duration deadline,
+                                   ContainerDetector containerDetector, FingerprintAgent agent) {
+        this.collectors = new EnumMap<>(FingerprintComponent.class);
+        collectors.forEach(collector -> this.collectors.putIfAbsent(collector.component(), collector));
+        this.executor = executor;
+        this.fingerprintCache = fingerprintCache;
+        this.metrics = metrics;
+        this.deadline = deadline;
+        this.containerDetector = containerDetector;
+        this.agent = agent;
     }
 
     /**
-     * 获取CPU序列号（Windows系统）。
+     * 按配置组装检测器，自动配置与提前校验共用：只运行 {@code start-verify.detector.components} 中启用的采集器，
+     * 截止时间为 {@code start-verify.detector.deadline}。
+     * <p>
+     * 提前校验在应用上下文创建之前开始，无法使用宿主应用注册的采集器 Bean；在 {@code META-INF/spring.factories}
+     * 中以 {@link FingerprintCollector} 为键声明的采集器两种模式都会使用，并排在传入的采集器之前。
      *
-     * @return CPU序列号的Optional对象，如果获取失败则返回空Optional
+     * @param properties        启动校验配置
+     * @param collectors        采集器，同一组成部分有多个采集器时使用最靠前的一个
+     * @param executor          探针执行器
+     * @param fingerprintCache  硬件指纹缓存
+     * @param metrics           记录每个采集器的耗时与结果
+     * @param containerDetector 容器运行时检测
+     * @param agent             主机级共享的硬件指纹代理
+     * @return 检测器
      */
-    private static Optional<String> getCpuSerialNumberWindows() {
-        // 执行命令并过滤掉标题行，收集所有非空的处理器ID
-        String cpuSerialNumbers = executeCommandAndFilter(WMIC_COMMAND_PREFIX + "cpu get ProcessorId")
-                .filter(line -> !"ProcessorId".equalsIgnoreCase(line.trim()))
-                .map(String::trim)
-                .collect(Collectors.joining(", "));
-        // 如果结果为空，则返回空Optional，否则返回包含拼接结果的Optional
-        return cpuSerialNumbers.isEmpty() ? Optional.empty() : Optional.of(cpuSerialNumbers);
+    public static OperatingSystemDetector of(StartVerifyProperties properties, List<FingerprintCollector> collectors,
+                                             Executor executor, FingerprintCache fingerprintCache,
+                                             VerificationMetrics metrics, ContainerDetector containerDetector,
+                                             FingerprintAgent agent) {
+        StartVerifyProperties.Detector detector = properties.getDetector();
+        List<FingerprintCollector> enabled = new ArrayList<>(SpringFactoriesLoader.loadFactories(
+                FingerprintCollector.class, OperatingSystemDetector.class.getClassLoader()));
+        enabled.addAll(collectors);
+        enabled.removeIf(collector -> !detector.isEnabled(collector.component()));
+        return new OperatingSystemDetector(enabled, executor, fingerprintCache, metrics, detector.getDeadline(),
+                containerDetector, agent);
     }
 
     /**
-     * 获取所有内存模块的序列号（Windows系统）。
-     * 如果有多个内存模块，返回以逗号分隔的字符串。
-     *
-     * @return 内存序列号的Optional对象，如果获取失败则返回空Optional
+     * @return 使用默认命令执行器与执行器的检测器
      */
-    private static Optional<String> getMemorySerialNumbersWindows() {
-        return executeCommandAndFilter(WMIC_COMMAND_PREFIX + "memorychip get SerialNumber")
-                .filter(line -> !SERIAL_NUMBER.equalsIgnoreCase(line))
-                .collect(Collectors.joining(", "))
-                .isEmpty() ? Optional.empty() : Optional.of(executeCommandAndFilter(WMIC_COMMAND_PREFIX + "memorychip get SerialNumber")
-                .filter(line -> !SERIAL_NUMBER.equalsIgnoreCase(line))
-                .collect(Collectors.joining(", ")));
+    public static OperatingSystemDetector getDefault() {
+        return DEFAULT;
     }
 
     /**
-     * 获取所有硬盘的序列号（Windows系统）。
-     * 如果有多个硬盘，返回以逗号分隔的字符串。
+     * 使用默认的命令执行器获取操作系统信息并填充StarterRequest对象。硬件信息只在第一次调用时采集。
      *
-     * @return 硬盘序列号的Optional对象，如果获取失败则返回空Optional
+     * @return 包含操作系统信息的StarterRequest对象
      */
-    private static Optional<String> getDiskSerialNumbersWindows() {
-        return executeCommandAndFilter(WMIC_COMMAND_PREFIX + "diskdrive get SerialNumber")
-                .filter(line -> !SERIAL_NUMBER.equalsIgnoreCase(line))
-                .collect(Collectors.joining(", "))
-                .isEmpty() ? Optional.empty() : Optional.of(executeCommandAndFilter(WMIC_COMMAND_PREFIX + "diskdrive get SerialNumber")
-                .filter(line -> !SERIAL_NUMBER.equalsIgnoreCase(line))
-                .collect(Collectors.joining(", ")));
+    public static StarterRequest getOperatingSystemInfo(ConfigurableEnvironment env) {
+        return HardwareFingerprint.getDefault().toRequest(env);
     }
 
     /**
-     * 获取所有启用的网卡的MAC地址（Windows系统）。
-     * 如果有多个网卡，返回以逗号分隔的字符串。
-     *
-     * @return 网卡MAC地址的Optional对象，如果获取失败则返回空Optional
+     * @return 启用的组成部分
      */
-    private static Optional<String> getNicSerialNumbersWindows() {
-        return executeCommandAndFilter(WMIC_COMMAND_PREFIX + "nic where 'NetEnabled=true' get MACAddress")
-                .filter(line -> !"MACAddress".equalsIgnoreCase(line))
-                .collect(Collectors.joining(", "))
-                .isEmpty() ? Optional.empty() : Optional.of(executeCommandAndFilter(WMIC_COMMAND_PREFIX + "nic where 'NetEnabled=true' get MACAddress")
-                .filter(line -> !"MACAddress".equalsIgnoreCase(line))
-                .collect(Collectors.joining(", ")));
+    public Set<FingerprintComponent> components() {
+        return collectors.isEmpty() ? EnumSet.noneOf(FingerprintComponent.class) : EnumSet.copyOf(collectors.keySet());
     }
 
     /**
-     * 获取本地IP地址。
-     * 尝试返回第一个非环回接口的IPv4地址。
+     * 重新采集操作系统信息并填充StarterRequest对象。需要反复获取时使用 {@link HardwareFingerprint}。
      *
-     * @return 本地IP地址的Optional对象，如果获取失败则返回空Optional
+     * @return 包含操作系统信息的StarterRequest对象
      */
-    private static Optional<String> getLocalIp() {
-        try {
-            InetAddress localhost = InetAddress.getLocalHost();
-            if (!localhost.isLoopbackAddress() && localhost instanceof Inet4Address) {
-                return Optional.of(localhost.getHostAddress());
-            } else {
-                return findNonLoopbackIpv4Address();
-            }
-        } catch (Exception e) {
-            log.warn("Error getting local IP address: {}", e.getMessage());
-            return Optional.empty();
-        }
+    public StarterRequest detect(ConfigurableEnvironment env) {
+        return collect(false).toRequest(env);
     }
 
     /**
-     * 查找并返回第一个非环回的IPv4地址。
+     * 采集全部启用的组成部分。
      *
-     * @return 第一个找到的非环回IPv4地址的Optional对象，如果没有找到则返回空Optional
+     * @param refresh 为 true 时不使用指纹代理与硬件指纹缓存中的结果
+     * @return 采集结果
      */
-    private static Optional<String> findNonLoopbackIpv4Address() {
-        try {
-            Enumeration<NetworkInterface> networkInterfaces = NetworkInterface.getNetworkInterfaces();
-            while (networkInterfaces.hasMoreElements()) {
-                NetworkInterface networkInterface = networkInterfaces.nextElement();
-                if (!networkInterface.isUp() || networkInterface.isLoopback()) {
-                    continue;
-                }
-                Enumeration<InetAddress> inetAddresses = networkInterface.getInetAddresses();
-                while (inetAddresses.hasMoreElements()) {
-                    InetAddress inetAddress = inetAddresses.nextElement();
-                    if (inetAddress instanceof Inet4Address && !inetAddress.isLoopbackAddress()) {
-                        return Optional.of(inetAddress.getHostAddress());
-                    }
-                }
+    public HardwareFingerprint.Snapshot collect(boolean refresh) {
+        Set<FingerprintComponent> hardware = EnumSet.copyOf(FingerprintComponent.hardware());
+        hardware.retainAll(collectors.keySet());
+        Optional<StarterRequest> cached = refresh ? Optional.empty()
+                : agent.fetch(hardware).or(() -> fingerprintCache.load(hardware));
+
+        StarterRequest request = cached.orElseGet(StarterRequest::new);
+        List<FingerprintCollector> pending = new ArrayList<>();
+        for (FingerprintComponent component : FingerprintComponent.values()) {
+            if (cached.isPresent() && component.isHardware()) {
+                continue;
+            }
+            // 未启用与没有取得值的组成部分都为空字符串
+            component.apply(request, "");
+            if (collectors.containsKey(component)) {
+                pending.add(collectors.get(component));
             }
-            return Optional.empty();
-        } catch (Exception e) {
-            log.warn("Error iterating network interfaces: {}", e.getMessage());
-            return Optional.empty();
         }
-    }
 
-    /**
-     * 获取主板序列号（Linux系统）。
-     *
-     * @return 主板序列号的Optional对象，如果获取失败则返回空Optional
-     */
-    private static Optional<String> getMotherboardSerialNumberLinux() {
-        final String command = USE_SUDO ? "sudo dmidecode -s baseboard-serial-number" : "dmidecode -s baseboard-serial-number";
-        return executeCommandAndFilter(command)
-                .findFirst();
+        Set<FingerprintComponent> missing = collect(pending, request);
+        if (missing.stream().noneMatch(FingerprintComponent::isHardware)) {
+            if (cached.isEmpty()) {
+                fingerprintCache.store(request, hardware);
+            }
+            agent.publish(request, hardware);
+        }
+
+        Map<FingerprintComponent, String> values = new EnumMap<>(FingerprintComponent.class);
+        for (FingerprintComponent component : FingerprintComponent.values()) {
+            values.put(component, component.read(request));
+        }
+        return new HardwareFingerprint.Snapshot(values, containerDetector.runtime().tagValue(), !missing.isEmpty());
     }
 
     /**
-     * 获取CPU序列号（Linux系统）。
+     * 运行采集器并保存结果：全部采集器按开销从大到小提交到探针执行器，调用线程只等待到截止时间，
+     * 阻塞的 {@link FingerprintCollector.Cost#LOW} 采集器同样不会拖过截止时间。
      *
-     * @return CPU序列号的Optional对象，如果获取失败则返回空Optional
+     * @param pending 需要运行的采集器
+     * @param request 保存结果的StarterRequest对象
+     * @return 未完成或失败的组成部分
      */
-    private static Optional<String> getCpuSerialNumberLinux() {
-        // 构建命令
-        final String command = USE_SUDO ? "sudo dmidecode -t processor | grep ID" : "dmidecode -t processor | grep ID";
-
-        // 执行命令并过滤掉无关行，收集所有非空的处理器ID
-        String cpuSerialNumbers = executeCommandAndFilter(command)
-                .filter(line -> line.contains("ID"))
-                .map(line -> line.split(":")[1].trim())
-                .collect(Collectors.joining(", "));
+    private Set<FingerprintComponent> collect(List<FingerprintCollector> pending, StarterRequest request) {
+        long start = System.nanoTime();
+        CollectionContext context = new CollectionContext(start + deadline.toNanos());
+        List<FingerprintCollector> ordered = new ArrayList<>(pending);
+        ordered.sort(Comparator.comparing(FingerprintCollector::cost).reversed());
+
+        Map<FingerprintComponent, CompletableFuture<String>> futures = new EnumMap<>(FingerprintComponent.class);
+        for (FingerprintCollector collector : ordered) {
+            futures.put(collector.component(), CompletableFuture.supplyAsync(() -> run(collector, context), executor));
+        }
 
-        return Optional.of(cpuSerialNumbers).filter(s -> !s.isEmpty());
-    }
+        await(CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)), context.remaining());
 
-    /**
-     * 获取所有内存模块的序列号（Linux系统）。
-     * 如果有多个内存模块，返回以逗号分隔的字符串。
-     *
-     * @return 内存序列号的Optional对象，如果获取失败则返回空Optional
-     */
-    private static Optional<String> getMemorySerialNumbersLinux() {
-        final String command = USE_SUDO ? "sudo dmidecode -t memory | grep 'Serial Number'" : "dmidecode -t memory | grep 'Serial Number'";
-        return executeCommandAndFilter(command)
-                .map(line -> line.split(":")[1].trim())
-                .filter(line -> !"not specified".equalsIgnoreCase(line) && !line.isEmpty())
-                .collect(Collectors.joining(", "))
-                .isEmpty() ? Optional.empty() : Optional.of(executeCommandAndFilter(command)
-                .map(line -> line.split(":")[1].trim())
-                .filter(line -> !"not specified".equalsIgnoreCase(line) && !line.isEmpty())
-                .collect(Collectors.joining(", ")));
+        Set<FingerprintComponent> missing = EnumSet.noneOf(FingerprintComponent.class);
+        futures.forEach((component, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                component.apply(request, future.join());
+            } else {
+                future.cancel(false);
+                missing.add(component);
+            }
+        });
+        if (!missing.isEmpty()) {
+            log.warn("Fingerprint collection incomplete after {} ms, missing: {}",
+                    Duration.ofNanos(System.nanoTime() - start).toMillis(), missing);
+        }
+        return missing;
     }
 
     /**
-     * 获取所有硬盘的序列号（Linux系统）。
-     * 如果有多个硬盘，返回以逗号分隔的字符串。
+     * 运行一个采集器并记录耗时与结果：取得值为 success，有命令超时且没有取得值为 timeout，
+     * 否则为 empty；抛出异常为 error。
      *
-     * @return 硬盘序列号的Optional对象，如果获取失败则返回空Optional
+     * @param collector 采集器
+     * @param context   本次采集的上下文
+     * @return 采集结果，没有取得值时为空字符串
      */
-    private static Optional<String> getDiskSerialNumbersLinux() {
-        final String command = USE_SUDO ? "sudo lsblk -ndo SERIAL" : "lsblk -ndo SERIAL";
-        return executeCommandAndFilter(command)
-                .collect(Collectors.joining(", "))
-                .isEmpty() ? Optional.empty() : Optional.of(executeCommandAndFilter(command)
-                .collect(Collectors.joining(", ")));
+    private String run(FingerprintCollector collector, CollectionContext context) {
+        VerificationMetrics.Sample sample = metrics.start(collector.component().phase());
+        context.takeTimedOut();
+        try {
+            Optional<String> value = collector.collect(context);
+            if (value.isPresent()) {
+                sample.stop(VerificationOutcome.SUCCESS);
+            } else {
+                sample.stop(context.takeTimedOut() ? VerificationOutcome.TIMEOUT : VerificationOutcome.EMPTY);
+            }
+            return value.orElse("");
+        } catch (RuntimeException e) {
+            sample.stop(VerificationOutcome.ERROR);
+            log.warn("Fingerprint collector {} failed: {}", collector, e.getMessage());
+            throw e;
+        } finally {
+            context.takeTimedOut();
+        }
     }
 
-    /**
-     * 获取所有启用的网卡的MAC地址（Linux系统）。
-     * 如果有多个网卡，返回以逗号分隔的字符串。
-     *
-     * @return 网卡MAC地址的Optional对象，如果获取失败则返回空Optional
-     */
-    private static Optional<String> getNicSerialNumbersLinux() {
-        return executeCommandAndFilter("ip link show | grep 'link/ether'")
-                .map(line -> line.split(" ")[1].trim())
-                .collect(Collectors.joining(", "))
-                .isEmpty() ? Optional.empty() : Optional.of(executeCommandAndFilter("ip link show | grep 'link/ether'")
-                .map(line -> line.split(" ")[1].trim())
-                .collect(Collectors.joining(", ")));
+    private static void await(CompletableFuture<Void> all, Duration timeout) {
+        try {
+            all.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // 逐个检查每个采集器的结果
+        }
     }
 }
@@ -0,0 +1,29 @@
+package cn.lrnev.clientstartverify.detector;
+
+import java.time.Duration;
+
+/**
+ * 一个探针在本机上的能力：哪种方式取得了结果、耗时多少，所有方式都没有结果时不可用
+ *
+ * @param strategy 取得结果的方式，不可用时为 null
+ * @param elapsed  取得结果或确认不可用的耗时
+ * @author 鲁子狄
+ * @since 2026/10/17 23:58
+ **/
+public record ProbeCapability(ProbeStrategy strategy, Duration elapsed) {
+
+    /**
+     * @param elapsed 尝试全部方式的耗时
+     * @return 不可用的探针
+     */
+    public static ProbeCapability unavailable(Duration elapsed) {
+        return new ProbeCapability(null, elapsed);
+    }
+
+    /**
+     * @return 是否有方式取得了结果
+     */
+    public boolean available() {
+        return strategy != null;
+    }
+}
@@ -0,0 +1,81 @@
+package cn.lrnev.clientstartverify.detector;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 硬件探针执行器工厂
+ * <p>
+ * 探针大多阻塞在进程或文件 I/O 上，不适合放在 {@code ForkJoinPool.commonPool()} 中执行：
+ * 低核数的容器里公共池只有一两个工作线程，探针会被串行化，并且会挤占宿主应用的并行流。
+ * 这里创建独立的有界线程池，运行在 JDK 21 及以上版本时使用虚拟线程，否则使用命名的守护线程。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 11:40
+ **/
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ProbeExecutors {
+
+    /**
+     * 默认并发数，对应主板/CPU/内存/硬盘/网卡/IP 六个探针
+     */
+    public static final int DEFAULT_CONCURRENCY = 6;
+
+    private static final String THREAD_NAME_PREFIX = "start-verify-probe-";
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    /**
+     * 创建探针执行器。线程池大小即为同时运行的探针数上限，空闲线程会在超时后回收。
+     *
+     * @param concurrency    最大并发数
+     * @param virtualThreads 是否在支持时使用虚拟线程
+     * @return 执行器，使用完毕后需要调用 {@code shutdown}
+     */
+    public static ThreadPoolExecutor create(int concurrency, boolean virtualThreads) {
+        int size = Math.max(1, concurrency);
+        ThreadFactory threadFactory = virtualThreads ? virtualThreadFactory() : null;
+        if (threadFactory == null) {
+            threadFactory = new DaemonThreadFactory();
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 通过反射获取虚拟线程工厂，以便同一个构件可以同时运行在 JDK 17 与 JDK 21 上。
+     *
+     * @return 虚拟线程工厂，当前 JDK 不支持时返回 null
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, THREAD_NAME_PREFIX, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Virtual threads are not available, using platform threads: {}", e.toString());
+            return null;
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package cn.lrnev.clientstartverify.detector;
+
+/**
+ * 探针取得硬件信息的方式，同一个探针按声明的顺序尝试
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 23:58
+ **/
+public enum ProbeStrategy {
+
+    /**
+     * 读取 sysfs 中的文件或 SMBIOS 结构表
+     */
+    SYSFS,
+
+    /**
+     * 以 {@code sudo -n} 执行命令
+     */
+    SUDO_COMMAND,
+
+    /**
+     * 直接执行命令
+     */
+    COMMAND
+}
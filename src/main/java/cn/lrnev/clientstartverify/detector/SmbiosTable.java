@@ -0,0 +1,211 @@
+package cn.lrnev.clientstartverify.detector;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * SMBIOS/DMI 结构表解析结果
+ * <p>
+ * 一次遍历 {@code /sys/firmware/dmi/tables/DMI} 中的结构，提取主板序列号（type 2）、
+ * 处理器ID（type 4）与内存序列号（type 17），格式与 {@code dmidecode} 的输出保持一致。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 10:05
+ **/
+@Getter
+public class SmbiosTable {
+
+    private static final int TYPE_BASEBOARD = 2;
+    private static final int TYPE_PROCESSOR = 4;
+    private static final int TYPE_MEMORY_DEVICE = 17;
+    private static final int TYPE_END_OF_TABLE = 127;
+    private static final int HEADER_LENGTH = 4;
+    private static final String NOT_SPECIFIED = "not specified";
+
+    /**
+     * SMBIOS 主版本号，入口点不可用时为 0
+     */
+    private final int majorVersion;
+
+    /**
+     * SMBIOS 次版本号，入口点不可用时为 0
+     */
+    private final int minorVersion;
+
+    /**
+     * 主板序列号
+     */
+    private final String baseboardSerial;
+
+    /**
+     * 处理器ID，每个已安装的处理器一项
+     */
+    private final List<String> processorIds;
+
+    /**
+     * 内存序列号，每个已安装的内存模块一项
+     */
+    private final List<String> memorySerials;
+
+    private SmbiosTable(int majorVersion, int minorVersion, String baseboardSerial,
+                        List<String> processorIds, List<String> memorySerials) {
+        this.majorVersion = majorVersion;
+        this.minorVersion = minorVersion;
+        this.baseboardSerial = baseboardSerial;
+        this.processorIds = Collections.unmodifiableList(processorIds);
+        this.memorySerials = Collections.unmodifiableList(memorySerials);
+    }
+
+    /**
+     * 解析 SMBIOS 入口点与结构表。
+     *
+     * @param entryPoint {@code smbios_entry_point} 的内容，可以为空数组
+     * @param table      {@code DMI} 结构表的内容
+     * @return 解析结果
+     */
+    public static SmbiosTable parse(byte[] entryPoint, byte[] table) {
+        ByteBuffer entry = ByteBuffer.wrap(entryPoint).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer buffer = ByteBuffer.wrap(table).order(ByteOrder.LITTLE_ENDIAN);
+
+        int major = 0;
+        int minor = 0;
+        int limit = table.length;
+        if (startsWith(entry, "_SM3_") && entry.limit() >= 0x10) {
+            // SMBIOS 3.x 64位入口点：0x0C 为结构表最大长度
+            major = entry.get(0x07) & 0xFF;
+            minor = entry.get(0x08) & 0xFF;
+            limit = (int) Math.min(limit, entry.getInt(0x0C) & 0xFFFFFFFFL);
+        } else if (startsWith(entry, "_SM_") && entry.limit() >= 0x18) {
+            // SMBIOS 2.x 32位入口点：0x16 为结构表长度
+            major = entry.get(0x06) & 0xFF;
+            minor = entry.get(0x07) & 0xFF;
+            limit = Math.min(limit, entry.getShort(0x16) & 0xFFFF);
+        }
+
+        String baseboardSerial = "";
+        List<String> processorIds = new ArrayList<>();
+        List<String> memorySerials = new ArrayList<>();
+
+        int offset = 0;
+        while (offset + HEADER_LENGTH <= limit) {
+            int type = buffer.get(offset) & 0xFF;
+            int length = buffer.get(offset + 1) & 0xFF;
+            if (length < HEADER_LENGTH || offset + length > limit) {
+                break;
+            }
+            List<String> strings = readStrings(buffer, offset + length, limit);
+
+            if (type == TYPE_BASEBOARD && length > 0x07 && baseboardSerial.isEmpty()) {
+                baseboardSerial = string(strings, buffer.get(offset + 0x07));
+            } else if (type == TYPE_PROCESSOR && length >= 0x10) {
+                processorId(buffer, offset + 0x08).ifPresent(processorIds::add);
+            } else if (type == TYPE_MEMORY_DEVICE && length > 0x18) {
+                String serial = string(strings, buffer.get(offset + 0x18));
+                if (!serial.isEmpty()) {
+                    memorySerials.add(serial);
+                }
+            } else if (type == TYPE_END_OF_TABLE) {
+                break;
+            }
+            offset = nextStructure(buffer, offset + length, limit);
+        }
+        return new SmbiosTable(major, minor, baseboardSerial, processorIds, memorySerials);
+    }
+
+    /**
+     * @return 主板序列号，未设置时返回空Optional
+     */
+    public Optional<String> findBaseboardSerial() {
+        return baseboardSerial.isEmpty() ? Optional.empty() : Optional.of(baseboardSerial);
+    }
+
+    /**
+     * @return 以逗号分隔的处理器ID，与 {@code dmidecode -t processor} 中的 ID 行一致
+     */
+    public String joinedProcessorIds() {
+        return String.join(", ", processorIds);
+    }
+
+    /**
+     * @return 以逗号分隔的内存序列号，已过滤 "Not Specified"
+     */
+    public String joinedMemorySerials() {
+        return String.join(", ", memorySerials);
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, String anchor) {
+        if (buffer.limit() < anchor.length()) {
+            return false;
+        }
+        for (int i = 0; i < anchor.length(); i++) {
+            if (buffer.get(i) != anchor.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 读取格式化区域之后的字符串集，每个字符串以 0 结尾，整个字符串集以两个 0 结尾。
+     */
+    private static List<String> readStrings(ByteBuffer buffer, int start, int limit) {
+        List<String> strings = new ArrayList<>();
+        int begin = start;
+        for (int i = start; i < limit; i++) {
+            if (buffer.get(i) != 0) {
+                continue;
+            }
+            if (i == begin) {
+                break;
+            }
+            byte[] bytes = new byte[i - begin];
+            buffer.get(begin, bytes);
+            strings.add(new String(bytes, StandardCharsets.ISO_8859_1).trim());
+            begin = i + 1;
+        }
+        return strings;
+    }
+
+    private static int nextStructure(ByteBuffer buffer, int start, int limit) {
+        for (int i = start; i + 1 < limit; i++) {
+            if (buffer.get(i) == 0 && buffer.get(i + 1) == 0) {
+                return i + 2;
+            }
+        }
+        return limit;
+    }
+
+    private static String string(List<String> strings, byte index) {
+        int i = index & 0xFF;
+        if (i == 0 || i > strings.size()) {
+            return "";
+        }
+        String value = strings.get(i - 1);
+        return NOT_SPECIFIED.equalsIgnoreCase(value) ? "" : value;
+    }
+
+    /**
+     * 处理器ID为8个字节，按 dmidecode 的格式输出为空格分隔的大写十六进制；全零表示插槽未安装处理器。
+     */
+    private static Optional<String> processorId(ByteBuffer buffer, int offset) {
+        StringBuilder id = new StringBuilder(23);
+        boolean populated = false;
+        for (int i = 0; i < 8; i++) {
+            int b = buffer.get(offset + i) & 0xFF;
+            populated |= b != 0;
+            if (i > 0) {
+                id.append(' ');
+            }
+            id.append(Character.toUpperCase(Character.forDigit(b >> 4, 16)))
+                    .append(Character.toUpperCase(Character.forDigit(b & 0x0F, 16)));
+        }
+        return populated ? Optional.of(id.toString()) : Optional.empty();
+    }
+}
@@ -0,0 +1,25 @@
+package cn.lrnev.clientstartverify.detector;
+
+/**
+ * 执行需要 root 权限的命令（dmidecode、lsblk）时是否使用 {@code sudo -n}
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 23:58
+ **/
+public enum SudoMode {
+
+    /**
+     * 先以 {@code sudo -n} 执行，sudo 不可用、需要密码或没有输出时再直接执行
+     */
+    AUTO,
+
+    /**
+     * 只以 {@code sudo -n} 执行
+     */
+    ALWAYS,
+
+    /**
+     * 只直接执行，适用于以 root 运行或禁止使用 sudo 的主机
+     */
+    NEVER
+}
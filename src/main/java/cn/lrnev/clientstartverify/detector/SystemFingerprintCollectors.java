@@ -0,0 +1,457 @@
+package cn.lrnev.clientstartverify.detector;
+
+import cn.lrnev.clientstartverify.cache.ProbeCapabilities;
+import cn.lrnev.clientstartverify.command.CommandResult;
+import cn.lrnev.clientstartverify.command.CommandRunner;
+import cn.lrnev.clientstartverify.detector.FingerprintCollector.Cost;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 内置的指纹采集器
+ * <p>
+ * Linux 下优先通过 sysfs 读取硬件信息，读取失败时才回退到 dmidecode 等命令；Windows 下通过 wmic 获取。
+ * 命令的超时不超过本次采集的剩余时间。在容器中 dmidecode 通常没有安装或需要输入密码，
+ * 因此只读取文件、不执行任何命令，并通过 {@link #container()} 采集容器身份。
+ * <p>
+ * 每个硬件探针按 sysfs、{@code sudo -n} 执行命令、直接执行命令的顺序尝试（见 {@link SudoMode}），
+ * 取得结果的方式记录在 {@link ProbeCapabilities} 中：之后的启动先尝试该方式，所有方式都没有结果的探针直接跳过。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 20:41
+ **/
+@Slf4j
+public class SystemFingerprintCollectors {
+
+    private static final String WMIC = "wmic";
+    private static final String SERIAL_NUMBER = "SerialNumber";
+    private static final String WIN = "win";
+
+    // 单条命令的超时时间
+    private static final Duration COMMAND_TIMEOUT = Duration.ofSeconds(10);
+
+    // SMBIOS 结构表在一次采集中只读取一次，主板/CPU/内存共用同一次解析结果
+    private static final String SMBIOS_KEY = SmbiosTable.class.getName();
+    // 网卡地址与IP地址共用同一次网卡枚举
+    private static final String NETWORK_KEY = NetworkIdentity.class.getName();
+
+    private final CommandRunner commandRunner;
+    private final LinuxSysfsReader sysfs;
+    private final ContainerDetector containerDetector;
+    private final Supplier<NetworkIdentity> network;
+    private final SudoMode sudo;
+    private final ProbeCapabilities capabilities;
+    private final boolean windows;
+
+    /**
+     * 使用与 {@code sysfs} 相同根目录的容器检测。
+     */
+    public SystemFingerprintCollectors(CommandRunner commandRunner, LinuxSysfsReader sysfs) {
+        this(commandRunner, sysfs, ContainerDetector.rootedAt(sysfs.root()));
+    }
+
+    /**
+     * @param commandRunner     命令执行器
+     * @param sysfs             sysfs 读取器
+     * @param containerDetector 容器运行时检测
+     */
+    public SystemFingerprintCollectors(CommandRunner commandRunner, LinuxSysfsReader sysfs,
+                                       ContainerDetector containerDetector) {
+        this(commandRunner, sysfs, containerDetector, NetworkIdentity::capture);
+    }
+
+    /**
+     * @param commandRunner     命令执行器
+     * @param sysfs             sysfs 读取器
+     * @param containerDetector 容器运行时检测
+     * @param sudo              需要 root 权限的命令是否使用 sudo
+     * @param capabilities      探针能力档案
+     */
+    public SystemFingerprintCollectors(CommandRunner commandRunner, LinuxSysfsReader sysfs,
+                                       ContainerDetector containerDetector, SudoMode sudo,
+                                       ProbeCapabilities capabilities) {
+        this(commandRunner, sysfs, containerDetector, NetworkIdentity::capture, sudo, capabilities);
+    }
+
+    /**
+     * @param commandRunner     命令执行器
+     * @param sysfs             sysfs 读取器
+     * @param containerDetector 容器运行时检测
+     * @param network           网卡枚举，每次采集调用一次
+     */
+    public SystemFingerprintCollectors(CommandRunner commandRunner, LinuxSysfsReader sysfs,
+                                       ContainerDetector containerDetector, Supplier<NetworkIdentity> network) {
+        this(commandRunner, sysfs, containerDetector, network, SudoMode.AUTO, ProbeCapabilities.disabled());
+    }
+
+    /**
+     * @param commandRunner     命令执行器
+     * @param sysfs             sysfs 读取器
+     * @param containerDetector 容器运行时检测
+     * @param network           网卡枚举，每次采集调用一次
+     * @param sudo              需要 root 权限的命令是否使用 sudo
+     * @param capabilities      探针能力档案
+     */
+    public SystemFingerprintCollectors(CommandRunner commandRunner, LinuxSysfsReader sysfs,
+                                       ContainerDetector containerDetector, Supplier<NetworkIdentity> network,
+                                       SudoMode sudo, ProbeCapabilities capabilities) {
+        this.commandRunner = commandRunner;
+        this.sysfs = sysfs;
+        this.containerDetector = containerDetector;
+        this.network = network;
+        this.sudo = sudo;
+        this.capabilities = capabilities;
+        this.windows = System.getProperty("os.name").toLowerCase().contains(WIN);
+    }
+
+    /**
+     * @return 全部内置采集器
+     */
+    public List<FingerprintCollector> all() {
+        return List.of(mb(), cpu(), memory(), disk(), nic(), ip(), container());
+    }
+
+    /**
+     * 主板没有序列号时不以系统UUID代替，sysfs、SMBIOS 结构表与 dmidecode 对同一主机得到相同的结果。
+     *
+     * @return 主板序列号采集器
+     */
+    public FingerprintCollector mb() {
+        return FingerprintCollector.of(FingerprintComponent.MB, commandCost(), context -> windows
+                ? windows(FingerprintComponent.MB, context, this::getMotherboardSerialNumberWindows)
+                : linux(FingerprintComponent.MB, context, c -> sysfs.readBoardSerial()
+                                .or(() -> smbios(c).flatMap(SmbiosTable::findBaseboardSerial)),
+                        this::getMotherboardSerialNumberLinux, "dmidecode", "-s", "baseboard-serial-number"));
+    }
+
+    /**
+     * 结构表中有处理器结构时其结果即为最终结果，不再回退到 dmidecode；没有处理器结构时回退。
+     *
+     * @return CPU序列号采集器
+     */
+    public FingerprintCollector cpu() {
+        return FingerprintCollector.of(FingerprintComponent.CPU, commandCost(), context -> windows
+                ? windows(FingerprintComponent.CPU, context, this::getCpuSerialNumberWindows)
+                : linux(FingerprintComponent.CPU, context, c -> smbios(c).map(SmbiosTable::joinedProcessorIds)
+                                .filter(ids -> !ids.isEmpty()),
+                        this::getCpuSerialNumberLinux, "dmidecode", "-t", "processor"));
+    }
+
+    /**
+     * 结构表中没有带序列号的内存结构时回退到 dmidecode。
+     *
+     * @return 内存序列号采集器
+     */
+    public FingerprintCollector memory() {
+        return FingerprintCollector.of(FingerprintComponent.MEMORY, commandCost(), context -> windows
+                ? windows(FingerprintComponent.MEMORY, context, this::getMemorySerialNumbersWindows)
+                : linux(FingerprintComponent.MEMORY, context, c -> smbios(c).map(SmbiosTable::joinedMemorySerials)
+                                .filter(serials -> !serials.isEmpty()),
+                        this::getMemorySerialNumbersLinux, "dmidecode", "-t", "memory"));
+    }
+
+    /**
+     * @return 硬盘序列号采集器
+     */
+    public FingerprintCollector disk() {
+        return FingerprintCollector.of(FingerprintComponent.DISK, commandCost(), context -> windows
+                ? windows(FingerprintComponent.DISK, context, this::getDiskSerialNumbersWindows)
+                : linux(FingerprintComponent.DISK, context, c -> sysfs.readDiskSerials(),
+                        this::getDiskSerialNumbersLinux, "lsblk", "-ndo", "SERIAL"));
+    }
+
+    /**
+     * Linux 下优先读取 sysfs，读取失败时使用 {@link NetworkIdentity} 中的网卡地址，不执行 {@code ip link}。
+     *
+     * @return 网卡地址采集器
+     */
+    public FingerprintCollector nic() {
+        return FingerprintCollector.of(FingerprintComponent.NIC, windows ? commandCost() : Cost.MEDIUM, context -> windows
+                ? getNicSerialNumbersWindows(context)
+                : sysfs.readNicAddresses().or(() -> network(context).macs()));
+    }
+
+    /**
+     * 取 {@link NetworkIdentity} 中第一个网卡的 IPv4 地址，不进行主机名解析。
+     * 与其他探针一起在探针执行器上运行，受同一个截止时间约束。
+     *
+     * @return 本机IP地址采集器
+     */
+    public FingerprintCollector ip() {
+        return FingerprintCollector.of(FingerprintComponent.IP, Cost.MEDIUM, context -> network(context).primaryIpv4());
+    }
+
+    /**
+     * @return 容器身份采集器，不在容器中运行时没有结果
+     */
+    public FingerprintCollector container() {
+        return FingerprintCollector.of(FingerprintComponent.CONTAINER, Cost.LOW, context -> containerDetector.identity()
+                .filter(identity -> !identity.isEmpty())
+                .map(ContainerIdentity::canonical));
+    }
+
+    /**
+     * Windows 下只有 wmic 一种方式。
+     */
+    private Optional<String> windows(FingerprintComponent component, CollectionContext context,
+                                     Function<CollectionContext, Optional<String>> command) {
+        return probe(component, context, List.of(new Step(ProbeStrategy.COMMAND, command)));
+    }
+
+    /**
+     * Linux 下先读取 sysfs，再按 {@link SudoMode} 以 sudo 或直接执行需要 root 权限的命令。
+     *
+     * @param fromSysfs   读取 sysfs
+     * @param fromCommand 执行命令并解析输出
+     * @param command     不含 sudo 的命令及参数
+     */
+    private Optional<String> linux(FingerprintComponent component, CollectionContext context,
+                                   Function<CollectionContext, Optional<String>> fromSysfs,
+                                   BiFunction<CollectionContext, List<String>, Optional<String>> fromCommand,
+                                   String... command) {
+        List<Step> steps = new ArrayList<>(3);
+        steps.add(new Step(ProbeStrategy.SYSFS, fromSysfs));
+        if (sudo != SudoMode.NEVER) {
+            steps.add(new Step(ProbeStrategy.SUDO_COMMAND, c -> fromCommand.apply(c, privileged(command))));
+        }
+        if (sudo != SudoMode.ALWAYS) {
+            steps.add(new Step(ProbeStrategy.COMMAND, c -> fromCommand.apply(c, List.of(command))));
+        }
+        return probe(component, context, steps);
+    }
+
+    /**
+     * 按顺序尝试各种方式，上次启动取得结果的方式排在最前；上次所有方式都没有结果时直接跳过。
+     * 在容器中不执行命令，不使用也不更新能力档案；有命令超时时不记录为不可用。
+     *
+     * @param component 组成部分
+     * @param context   本次采集的上下文
+     * @param steps     按默认顺序排列的方式
+     * @return 第一个取得的结果
+     */
+    private Optional<String> probe(FingerprintComponent component, CollectionContext context, List<Step> steps) {
+        boolean container = containerDetector.runtime().isContainer();
+        Optional<ProbeCapability> known = container ? Optional.empty() : capabilities.find(component);
+        if (known.isPresent() && !known.get().available()) {
+            log.debug("Skipping {} probe, no strategy succeeded on an earlier startup.", component);
+            return Optional.empty();
+        }
+        List<Step> ordered = new ArrayList<>(steps);
+        known.flatMap(capability -> steps.stream().filter(step -> step.strategy() == capability.strategy()).findFirst())
+                .ifPresent(preferred -> {
+                    ordered.remove(preferred);
+                    ordered.add(0, preferred);
+                });
+        long start = System.nanoTime();
+        for (Step step : ordered) {
+            long stepStart = System.nanoTime();
+            Optional<String> value = step.probe().apply(context);
+            if (value.isPresent()) {
+                if (!container) {
+                    capabilities.record(component,
+                            new ProbeCapability(step.strategy(), Duration.ofNanos(System.nanoTime() - stepStart)));
+                }
+                return value;
+            }
+        }
+        if (!container && !context.isTimedOut()) {
+            capabilities.record(component, ProbeCapability.unavailable(Duration.ofNanos(System.nanoTime() - start)));
+        }
+        return Optional.empty();
+    }
+
+    private NetworkIdentity network(CollectionContext context) {
+        return context.shared(NETWORK_KEY, network);
+    }
+
+    /**
+     * 容器中只读取文件；Windows 下总是执行 wmic，Linux 下只在 sysfs 读取失败时执行命令。
+     */
+    private Cost commandCost() {
+        if (containerDetector.runtime().isContainer()) {
+            return Cost.LOW;
+        }
+        return windows ? Cost.HIGH : Cost.MEDIUM;
+    }
+
+    private Optional<SmbiosTable> smbios(CollectionContext context) {
+        return context.shared(SMBIOS_KEY, sysfs::readSmbiosTable);
+    }
+
+    /**
+     * 执行命令并过滤掉空行和去空格，在容器中、命令超时或已经没有剩余时间时返回空流。
+     *
+     * @param context 本次采集的上下文
+     * @param command 命令及参数
+     * @return 过滤后的命令输出流
+     */
+    private Stream<String> executeCommandAndFilter(CollectionContext context, List<String> command) {
+        if (containerDetector.runtime().isContainer()) {
+            return Stream.empty();
+        }
+        Duration remaining = context.remaining();
+        if (remaining.isZero()) {
+            context.markTimedOut();
+            return Stream.empty();
+        }
+        CommandResult result = commandRunner.run(command,
+                remaining.compareTo(COMMAND_TIMEOUT) < 0 ? remaining : COMMAND_TIMEOUT);
+        if (result.isTimedOut()) {
+            context.markTimedOut();
+            return Stream.empty();
+        }
+        if (!result.isSuccess()) {
+            log.debug("Command '{}' exited with {}: {}", result.commandLine(), result.getExitCode(), result.getStderr());
+        }
+        return result.lines();
+    }
+
+    /**
+     * 构建以 sudo 执行的命令，使用非交互的 sudo，避免等待密码输入。
+     *
+     * @param command 命令及参数
+     * @return 最终执行的命令
+     */
+    private static List<String> privileged(String... command) {
+        List<String> full = new ArrayList<>(command.length + 2);
+        full.add("sudo");
+        full.add("-n");
+        full.addAll(List.of(command));
+        return full;
+    }
+
+    /**
+     * 以逗号拼接多个值，没有任何值时返回空Optional。
+     *
+     * @param values 值
+     * @return 拼接结果的Optional对象
+     */
+    private static Optional<String> joined(Stream<String> values) {
+        String joined = values.collect(Collectors.joining(", "));
+        return joined.isEmpty() ? Optional.empty() : Optional.of(joined);
+    }
+
+    /**
+     * 获取主板序列号（Windows系统）。
+     *
+     * @return 主板序列号的Optional对象，如果获取失败则返回空Optional
+     */
+    private Optional<String> getMotherboardSerialNumberWindows(CollectionContext context) {
+        return executeCommandAndFilter(context, List.of(WMIC, "baseboard", "get", "serialnumber"))
+                .filter(line -> !SERIAL_NUMBER.equalsIgnoreCase(line))
+                .findFirst();
+    }
+
+    /**
+     * 获取CPU序列号（Windows系统）。
+     *
+     * @return CPU序列号的Optional对象，如果获取失败则返回空Optional
+     */
+    private Optional<String> getCpuSerialNumberWindows(CollectionContext context) {
+        // 执行命令并过滤掉标题行，收集所有非空的处理器ID
+        return joined(executeCommandAndFilter(context, List.of(WMIC, "cpu", "get", "ProcessorId"))
+                .filter(line -> !"ProcessorId".equalsIgnoreCase(line)));
+    }
+
+    /**
+     * 获取所有内存模块的序列号（Windows系统）。
+     * 如果有多个内存模块，返回以逗号分隔的字符串。
+     *
+     * @return 内存序列号的Optional对象，如果获取失败则返回空Optional
+     */
+    private Optional<String> getMemorySerialNumbersWindows(CollectionContext context) {
+        return joined(executeCommandAndFilter(context, List.of(WMIC, "memorychip", "get", "SerialNumber"))
+                .filter(line -> !SERIAL_NUMBER.equalsIgnoreCase(line)));
+    }
+
+    /**
+     * 获取所有硬盘的序列号（Windows系统）。
+     * 如果有多个硬盘，返回以逗号分隔的字符串。
+     *
+     * @return 硬盘序列号的Optional对象，如果获取失败则返回空Optional
+     */
+    private Optional<String> getDiskSerialNumbersWindows(CollectionContext context) {
+        return joined(executeCommandAndFilter(context, List.of(WMIC, "diskdrive", "get", "SerialNumber"))
+                .filter(line -> !SERIAL_NUMBER.equalsIgnoreCase(line)));
+    }
+
+    /**
+     * 获取所有启用的网卡的MAC地址（Windows系统）。
+     * 如果有多个网卡，返回以逗号分隔的字符串。
+     *
+     * @return 网卡MAC地址的Optional对象，如果获取失败则返回空Optional
+     */
+    private Optional<String> getNicSerialNumbersWindows(CollectionContext context) {
+        return joined(executeCommandAndFilter(context, List.of(WMIC, "nic", "where", "NetEnabled=true", "get", "MACAddress"))
+                .filter(line -> !"MACAddress".equalsIgnoreCase(line)));
+    }
+
+    /**
+     * 获取主板序列号（Linux系统）。
+     *
+     * @return 主板序列号的Optional对象，如果获取失败则返回空Optional
+     */
+    private Optional<String> getMotherboardSerialNumberLinux(CollectionContext context, List<String> command) {
+        return executeCommandAndFilter(context, command).findFirst();
+    }
+
+    /**
+     * 获取CPU序列号（Linux系统）。
+     *
+     * @return CPU序列号的Optional对象，如果获取失败则返回空Optional
+     */
+    private Optional<String> getCpuSerialNumberLinux(CollectionContext context, List<String> command) {
+        // 执行命令并过滤掉无关行，收集所有非空的处理器ID
+        return joined(executeCommandAndFilter(context, command)
+                .filter(line -> line.startsWith("ID:"))
+                .map(SystemFingerprintCollectors::valueOf)
+                .filter(line -> !line.isEmpty()));
+    }
+
+    /**
+     * 获取所有内存模块的序列号（Linux系统）。
+     * 如果有多个内存模块，返回以逗号分隔的字符串。
+     *
+     * @return 内存序列号的Optional对象，如果获取失败则返回空Optional
+     */
+    private Optional<String> getMemorySerialNumbersLinux(CollectionContext context, List<String> command) {
+        return joined(executeCommandAndFilter(context, command)
+                .filter(line -> line.startsWith("Serial Number:"))
+                .map(SystemFingerprintCollectors::valueOf)
+                .filter(line -> !"not specified".equalsIgnoreCase(line) && !line.isEmpty()));
+    }
+
+    /**
+     * 获取所有硬盘的序列号（Linux系统）。
+     * 如果有多个硬盘，返回以逗号分隔的字符串。
+     *
+     * @return 硬盘序列号的Optional对象，如果获取失败则返回空Optional
+     */
+    private Optional<String> getDiskSerialNumbersLinux(CollectionContext context, List<String> command) {
+        return joined(executeCommandAndFilter(context, command));
+    }
+
+    /**
+     * 取 "key: value" 形式的输出行中冒号之后的部分。
+     */
+    private static String valueOf(String line) {
+        int index = line.indexOf(':');
+        return index < 0 ? "" : line.substring(index + 1).trim();
+    }
+
+    /**
+     * @param strategy 方式
+     * @param probe    取得结果，没有结果时返回空Optional
+     */
+    private record Step(ProbeStrategy strategy, Function<CollectionContext, Optional<String>> probe) {
+    }
+}
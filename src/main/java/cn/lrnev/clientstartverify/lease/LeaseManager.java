@@ -0,0 +1,257 @@
+package cn.lrnev.clientstartverify.lease;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.verify.FingerprintDigest;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 离线校验租约管理
+ * <p>
+ * 校验服务在 {@code R.data.lease} 中返回签名的租约，客户端保存到本地。
+ * 之后的启动在本地校验签名、指纹摘要、客户、项目与有效期，全部通过时无需访问校验服务；
+ * 租约临近到期时由调用方在后台向校验服务续期。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 14:02
+ **/
+@Slf4j
+public class LeaseManager {
+
+    /**
+     * 响应数据中租约的字段名
+     */
+    public static final String LEASE_KEY = "lease";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final LeaseManager DISABLED = new LeaseManager(null, null, Duration.ZERO, Clock.systemUTC());
+
+    private final LeaseVerifier verifier;
+    private final Path path;
+    private final Duration renewBefore;
+    private final Clock clock;
+
+    /**
+     * @param verifier    租约签名校验器
+     * @param path        租约文件路径
+     * @param renewBefore 到期前多久开始续期
+     */
+    public LeaseManager(LeaseVerifier verifier, Path path, Duration renewBefore) {
+        this(verifier, path, renewBefore, Clock.systemUTC());
+    }
+
+    LeaseManager(LeaseVerifier verifier, Path path, Duration renewBefore, Clock clock) {
+        this.verifier = verifier;
+        this.path = path;
+        this.renewBefore = renewBefore;
+        this.clock = clock;
+    }
+
+    /**
+     * @return 不使用离线租约的管理器
+     */
+    public static LeaseManager disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * 按配置创建租约管理器。
+     *
+     * @param lease 离线租约配置
+     * @return 未配置公钥时返回 {@link #disabled()}
+     */
+    public static LeaseManager of(StartVerifyProperties.Lease lease) {
+        if (lease.getPublicKey() == null || lease.getPublicKey().isBlank()) {
+            return disabled();
+        }
+        return new LeaseManager(LeaseVerifier.fromBase64(lease.getPublicKey()), Path.of(lease.getPath()),
+                lease.getRenewBefore());
+    }
+
+    /**
+     * 查找与当前硬件、客户、项目匹配且签名有效、未到期的租约。
+     *
+     * @param request 本次启动采集的StarterRequest对象
+     * @return 有效的租约，不存在时返回空Optional
+     */
+    public Optional<VerificationLease> findValid(StarterRequest request) {
+        if (verifier == null) {
+            return Optional.empty();
+        }
+        Optional<VerificationLease> stored = read();
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<String> rejected = reject(stored.get(), request);
+        if (rejected.isPresent()) {
+            log.info("Offline lease not usable: {}.", rejected.get());
+            return Optional.empty();
+        }
+        return stored;
+    }
+
+    /**
+     * @param lease 有效的租约
+     * @return 是否已进入续期窗口
+     */
+    public boolean needsRenewal(VerificationLease lease) {
+        return lease.getExpiresAt() - clock.millis() <= renewBefore.toMillis();
+    }
+
+    /**
+     * 从校验服务的响应数据中提取租约并保存。只保存签名有效且与本次请求匹配的租约。
+     *
+     * @param data    响应数据 {@code R.data}
+     * @param request 本次启动采集的StarterRequest对象
+     */
+    public void accept(Object data, StarterRequest request) {
+        if (verifier == null || !(data instanceof Map<?, ?> map) || map.get(LEASE_KEY) == null) {
+            return;
+        }
+        VerificationLease lease;
+        try {
+            lease = MAPPER.convertValue(map.get(LEASE_KEY), VerificationLease.class);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed offline lease: {}", e.getMessage());
+            return;
+        }
+        Optional<String> rejected = reject(lease, request);
+        if (rejected.isPresent()) {
+            log.warn("Ignoring offline lease from the verification service: {}.", rejected.get());
+            return;
+        }
+        write(lease);
+        log.info("Offline lease stored, valid until {}.", Instant.ofEpochMilli(lease.getExpiresAt()));
+    }
+
+    /**
+     * 删除本地保存的租约，例如校验服务拒绝续期时。
+     */
+    public void revoke() {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Unable to delete offline lease {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 在后台守护线程中续期，不阻塞启动流程。
+     *
+     * @param renewal 续期操作
+     * @return 续期结束时完成，续期操作抛出异常时以该异常完成
+     */
+    public CompletableFuture<Void> renewInBackground(Runnable renewal) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                renewal.run();
+                result.complete(null);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, "start-verify-lease-renewal");
+        thread.setDaemon(true);
+        thread.start();
+        return result;
+    }
+
+    /**
+     * 依次检查有效期、是否采集到硬件组成部分、客户与项目、硬件指纹摘要与签名。
+     *
+     * @return 租约不可用的原因，可用时返回空Optional
+     */
+    private Optional<String> reject(VerificationLease lease, StarterRequest request) {
+        if (lease.getExpiresAt() <= clock.millis()) {
+            return Optional.of("expired");
+        }
+        if (!FingerprintDigest.identifiesHost(request)) {
+            return Optional.of("no hardware component collected");
+        }
+        if (!nullToEmpty(lease.getCustomer()).equals(nullToEmpty(request.getCustomer()))
+                || !nullToEmpty(lease.getProject()).equals(nullToEmpty(request.getProject()))) {
+            return Optional.of("customer or project changed");
+        }
+        if (!FingerprintDigest.of(request).equals(lease.getFingerprintDigest())) {
+            return Optional.of("hardware fingerprint changed");
+        }
+        if (!verifier.verify(lease)) {
+            return Optional.of("invalid signature");
+        }
+        return Optional.empty();
+    }
+
+    private Optional<VerificationLease> read() {
+        if (path == null || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            VerificationLease lease = new VerificationLease();
+            lease.setCustomer(properties.getProperty("customer"));
+            lease.setProject(properties.getProperty("project"));
+            lease.setFingerprintDigest(properties.getProperty("fingerprintDigest"));
+            lease.setExpiresAt(Long.parseLong(properties.getProperty("expiresAt", "0")));
+            lease.setSignature(properties.getProperty("signature"));
+            return Optional.of(lease);
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Unable to read offline lease {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void write(VerificationLease lease) {
+        Properties properties = new Properties();
+        properties.setProperty("customer", nullToEmpty(lease.getCustomer()));
+        properties.setProperty("project", nullToEmpty(lease.getProject()));
+        properties.setProperty("fingerprintDigest", nullToEmpty(lease.getFingerprintDigest()));
+        properties.setProperty("expiresAt", Long.toString(lease.getExpiresAt()));
+        properties.setProperty("signature", nullToEmpty(lease.getSignature()));
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "client-start-verify offline lease");
+                writer.close();
+                try {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to write offline lease {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
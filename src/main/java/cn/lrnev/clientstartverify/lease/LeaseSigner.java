@@ -0,0 +1,57 @@
+package cn.lrnev.clientstartverify.lease;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * 租约签名器，由校验服务使用私钥签发租约
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 14:02
+ **/
+public class LeaseSigner {
+
+    private final PrivateKey privateKey;
+
+    public LeaseSigner(PrivateKey privateKey) {
+        this.privateKey = privateKey;
+    }
+
+    /**
+     * @param encodedPrivateKey Base64 编码的 PKCS#8 私钥，支持 Ed25519 与 EC
+     */
+    public static LeaseSigner fromBase64(String encodedPrivateKey) {
+        byte[] der = Base64.getDecoder().decode(encodedPrivateKey.trim());
+        GeneralSecurityException last = null;
+        for (String algorithm : LeaseVerifier.KEY_ALGORITHMS) {
+            try {
+                return new LeaseSigner(KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(der)));
+            } catch (GeneralSecurityException e) {
+                last = e;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported lease private key", last);
+    }
+
+    /**
+     * 签发租约，写入签名字段。
+     *
+     * @param lease 待签名的租约
+     * @return 已签名的租约
+     */
+    public VerificationLease sign(VerificationLease lease) {
+        try {
+            Signature signature = Signature.getInstance(LeaseVerifier.signatureAlgorithm(privateKey.getAlgorithm()));
+            signature.initSign(privateKey);
+            signature.update(lease.signedPayload());
+            lease.setSignature(Base64.getEncoder().encodeToString(signature.sign()));
+            return lease;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign lease", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package cn.lrnev.clientstartverify.lease;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 租约签名校验器，使用校验服务的公钥在本地校验租约
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 14:02
+ **/
+public class LeaseVerifier {
+
+    /**
+     * 支持的密钥算法
+     */
+    static final List<String> KEY_ALGORITHMS = List.of("Ed25519", "EC");
+
+    private final PublicKey publicKey;
+    private final String signatureAlgorithm;
+
+    public LeaseVerifier(PublicKey publicKey) {
+        this.publicKey = publicKey;
+        this.signatureAlgorithm = signatureAlgorithm(publicKey.getAlgorithm());
+    }
+
+    /**
+     * @param encodedPublicKey Base64 编码的 X.509 公钥，支持 Ed25519 与 EC
+     */
+    public static LeaseVerifier fromBase64(String encodedPublicKey) {
+        byte[] der = Base64.getDecoder().decode(encodedPublicKey.trim());
+        GeneralSecurityException last = null;
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return new LeaseVerifier(KeyFactory.getInstance(algorithm).generatePublic(new X509EncodedKeySpec(der)));
+            } catch (GeneralSecurityException e) {
+                last = e;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported lease public key", last);
+    }
+
+    /**
+     * 校验租约签名。
+     *
+     * @param lease 租约
+     * @return 签名是否有效
+     */
+    public boolean verify(VerificationLease lease) {
+        if (lease.getSignature() == null) {
+            return false;
+        }
+        try {
+            Signature signature = Signature.getInstance(signatureAlgorithm);
+            signature.initVerify(publicKey);
+            signature.update(lease.signedPayload());
+            return signature.verify(Base64.getDecoder().decode(lease.getSignature()));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    static String signatureAlgorithm(String keyAlgorithm) {
+        return switch (keyAlgorithm) {
+            case "Ed25519", "EdDSA" -> "Ed25519";
+            case "EC" -> "SHA256withECDSA";
+            default -> throw new IllegalArgumentException("Unsupported lease key algorithm: " + keyAlgorithm);
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package cn.lrnev.clientstartverify.lease;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 离线校验租约
+ * <p>
+ * 由校验服务签发，在有效期内允许客户端不经网络直接通过启动校验。
+ * 签名覆盖硬件指纹摘要、客户、项目与到期时间。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 14:02
+ **/
+@Data
+public class VerificationLease implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 客户
+     */
+    private String customer;
+
+    /**
+     * 项目
+     */
+    private String project;
+
+    /**
+     * 硬件指纹摘要
+     */
+    private String fingerprintDigest;
+
+    /**
+     * 到期时间（毫秒时间戳）
+     */
+    private long expiresAt;
+
+    /**
+     * Base64 编码的签名
+     */
+    private String signature;
+
+    /**
+     * @return 参与签名的内容
+     */
+    public byte[] signedPayload() {
+        String payload = String.join("\n", "v1", nullToEmpty(fingerprintDigest), nullToEmpty(customer),
+                nullToEmpty(project), Long.toString(expiresAt));
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,81 @@
+package cn.lrnev.clientstartverify.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.BeanFactory;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 通过 Micrometer 记录每个阶段的 {@link Timer}，以阶段与结果作为标签，计时器的次数即为各结果的计数。
+ * <p>
+ * 指标注册表在每次记录时才查找，应用上下文中还没有注册表时不记录。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 15:46
+ **/
+public class MicrometerVerificationMetrics implements VerificationMetrics {
+
+    /**
+     * 计时器名称
+     */
+    public static final String TIMER_NAME = "start.verify.phase";
+
+    /**
+     * 校验服务节点请求计时器名称
+     */
+    public static final String ENDPOINT_TIMER_NAME = "start.verify.endpoint";
+
+    private final Supplier<MeterRegistry> registry;
+
+    public MicrometerVerificationMetrics(MeterRegistry registry) {
+        this(() -> registry);
+    }
+
+    private MicrometerVerificationMetrics(Supplier<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param beanFactory 包含 {@link MeterRegistry} 的 BeanFactory
+     * @return 从 BeanFactory 中查找唯一指标注册表的实现
+     */
+    public static VerificationMetrics fromBeanFactory(BeanFactory beanFactory) {
+        return new MicrometerVerificationMetrics(() -> beanFactory.getBeanProvider(MeterRegistry.class).getIfUnique());
+    }
+
+    @Override
+    public Sample start(VerificationPhase phase) {
+        long start = System.nanoTime();
+        return outcome -> record(phase, outcome, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    @Override
+    public void record(VerificationPhase phase, VerificationOutcome outcome, Duration elapsed) {
+        MeterRegistry meterRegistry = registry.get();
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder(TIMER_NAME)
+                .description("Time spent in each client start verification phase")
+                .tag("phase", phase.tagValue())
+                .tag("outcome", outcome.tagValue())
+                .register(meterRegistry)
+                .record(elapsed);
+    }
+
+    @Override
+    public void recordEndpoint(String endpoint, VerificationOutcome outcome, Duration elapsed) {
+        MeterRegistry meterRegistry = registry.get();
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder(ENDPOINT_TIMER_NAME)
+                .description("Latency of requests to each verification service endpoint")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome.tagValue())
+                .register(meterRegistry)
+                .record(elapsed);
+    }
+}
@@ -0,0 +1,53 @@
+package cn.lrnev.clientstartverify.metrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 在内存中保存已结束的阶段，供之后转发给指标注册表，例如在应用上下文创建之前开始的提前校验。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 15:48
+ **/
+public class RecordedVerificationMetrics implements VerificationMetrics {
+
+    private final List<Measurement> measurements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Sample start(VerificationPhase phase) {
+        long start = System.nanoTime();
+        return outcome -> record(phase, outcome, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    @Override
+    public void record(VerificationPhase phase, VerificationOutcome outcome, Duration elapsed) {
+        measurements.add(new Measurement(phase, outcome, elapsed));
+    }
+
+    /**
+     * @return 按结束顺序排列的记录
+     */
+    public List<Measurement> measurements() {
+        return List.copyOf(measurements);
+    }
+
+    /**
+     * 把已保存的记录转发给另一个实现。
+     *
+     * @param target 目标实现
+     */
+    public void replayTo(VerificationMetrics target) {
+        measurements.forEach(m -> target.record(m.phase(), m.outcome(), m.elapsed()));
+    }
+
+    /**
+     * 一次已结束的阶段
+     *
+     * @param phase   阶段
+     * @param outcome 结果
+     * @param elapsed 耗时
+     */
+    public record Measurement(VerificationPhase phase, VerificationOutcome outcome, Duration elapsed) {
+    }
+}
@@ -0,0 +1,31 @@
+package cn.lrnev.clientstartverify.metrics;
+
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * 通过 {@link ApplicationStartup} 把每个阶段记录为启动步骤，启用 {@code BufferingApplicationStartup} 后可在
+ * {@code /actuator/startup} 中查看。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 15:44
+ **/
+public class StartupStepVerificationMetrics implements VerificationMetrics {
+
+    /**
+     * 启动步骤名称的前缀
+     */
+    public static final String STEP_PREFIX = "start-verify.";
+
+    private final ApplicationStartup applicationStartup;
+
+    public StartupStepVerificationMetrics(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public Sample start(VerificationPhase phase) {
+        StartupStep step = applicationStartup.start(STEP_PREFIX + phase.tagValue());
+        return outcome -> step.tag("outcome", outcome.tagValue()).end();
+    }
+}
@@ -0,0 +1,85 @@
+package cn.lrnev.clientstartverify.metrics;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 启动校验各阶段的耗时记录
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 15:42
+ **/
+public interface VerificationMetrics {
+
+    /**
+     * 不记录任何内容
+     */
+    VerificationMetrics NOOP = phase -> outcome -> {
+    };
+
+    /**
+     * 开始计时。
+     *
+     * @param phase 阶段
+     * @return 阶段结束时调用 {@link Sample#stop(VerificationOutcome)}
+     */
+    Sample start(VerificationPhase phase);
+
+    /**
+     * 记录一次已经结束的阶段，例如在指标注册表可用之前完成的提前校验。
+     * 只能实时记录的实现（如启动步骤）忽略此调用。
+     *
+     * @param phase   阶段
+     * @param outcome 结果
+     * @param elapsed 耗时
+     */
+    default void record(VerificationPhase phase, VerificationOutcome outcome, Duration elapsed) {
+    }
+
+    /**
+     * 记录一次对单个校验服务节点的请求。
+     *
+     * @param endpoint 节点地址
+     * @param outcome  结果
+     * @param elapsed  耗时
+     */
+    default void recordEndpoint(String endpoint, VerificationOutcome outcome, Duration elapsed) {
+    }
+
+    /**
+     * @param metrics 需要同时记录的实现
+     * @return 依次转发给所有实现的组合
+     */
+    static VerificationMetrics of(List<VerificationMetrics> metrics) {
+        return new VerificationMetrics() {
+            @Override
+            public Sample start(VerificationPhase phase) {
+                List<Sample> samples = metrics.stream().map(m -> m.start(phase)).toList();
+                return outcome -> samples.forEach(sample -> sample.stop(outcome));
+            }
+
+            @Override
+            public void record(VerificationPhase phase, VerificationOutcome outcome, Duration elapsed) {
+                metrics.forEach(m -> m.record(phase, outcome, elapsed));
+            }
+
+            @Override
+            public void recordEndpoint(String endpoint, VerificationOutcome outcome, Duration elapsed) {
+                metrics.forEach(m -> m.recordEndpoint(endpoint, outcome, elapsed));
+            }
+        };
+    }
+
+    /**
+     * 进行中的阶段
+     */
+    @FunctionalInterface
+    interface Sample {
+        /**
+         * 结束计时。
+         *
+         * @param outcome 结果
+         */
+        void stop(VerificationOutcome outcome);
+    }
+}
@@ -0,0 +1,35 @@
+package cn.lrnev.clientstartverify.metrics;
+
+import java.util.Locale;
+
+/**
+ * 启动校验阶段的结果
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 15:40
+ **/
+public enum VerificationOutcome {
+    /**
+     * 取得了结果
+     */
+    SUCCESS,
+    /**
+     * 命令或请求超时
+     */
+    TIMEOUT,
+    /**
+     * 正常结束但没有结果
+     */
+    EMPTY,
+    /**
+     * 出现异常或校验服务拒绝
+     */
+    ERROR;
+
+    /**
+     * @return 指标与启动步骤中使用的名称
+     */
+    public String tagValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,51 @@
+package cn.lrnev.clientstartverify.metrics;
+
+import java.util.Locale;
+
+/**
+ * 启动校验的阶段
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 15:40
+ **/
+public enum VerificationPhase {
+    /**
+     * 主板序列号探测
+     */
+    MB,
+    /**
+     * CPU序列号探测
+     */
+    CPU,
+    /**
+     * 内存序列号探测
+     */
+    MEMORY,
+    /**
+     * 硬盘序列号探测
+     */
+    DISK,
+    /**
+     * 网卡地址探测
+     */
+    NIC,
+    /**
+     * 本机IP地址获取
+     */
+    IP,
+    /**
+     * 容器身份获取
+     */
+    CONTAINER,
+    /**
+     * 向校验服务发送请求
+     */
+    HTTP;
+
+    /**
+     * @return 指标与启动步骤中使用的名称
+     */
+    public String tagValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
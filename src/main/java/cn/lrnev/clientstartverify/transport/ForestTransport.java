@@ -0,0 +1,98 @@
+package cn.lrnev.clientstartverify.transport;
+
+import com.dtflys.forest.Forest;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.utils.ForestDataType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于 Forest 的传输层，需要 {@code forest-spring-boot3-starter}
+ * <p>
+ * Forest 的请求是阻塞的，在独立的守护线程池中执行。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 19:54
+ **/
+public class ForestTransport implements VerificationTransport {
+
+    static final String FOREST_CLASS = "com.dtflys.forest.Forest";
+
+    private final Duration connectTimeout;
+    private final ExecutorService executor;
+
+    /**
+     * @param connectTimeout 连接超时，为 null 时使用 Forest 的默认值
+     */
+    public ForestTransport(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "start-verify-forest-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> send(TransportRequest request) {
+        return CompletableFuture.supplyAsync(() -> execute(request), executor);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private TransportResponse execute(TransportRequest transportRequest) {
+        ForestRequest<?> request = Forest.post(transportRequest.url())
+                // 请求体已编码，按原样发送
+                .bodyType(ForestDataType.BINARY)
+                // 304 表示许可未变化，不作为重定向处理
+                .autoRedirects(false)
+                .onError((exception, req, res) -> {
+                    // 由调用方根据状态判断
+                });
+        if (connectTimeout != null) {
+            request.connectTimeout(connectTimeout);
+        }
+        if (transportRequest.timeout() != null) {
+            request.readTimeout(transportRequest.timeout());
+        }
+        transportRequest.headers().forEach((name, value) -> {
+            if ("Content-Type".equalsIgnoreCase(name)) {
+                request.contentType(value);
+            } else {
+                request.addHeader(name, value);
+            }
+        });
+        ForestResponse<?> response = request.addBody(transportRequest.body()).executeAsResponse();
+        if (response.getStatusCode() <= 0) {
+            Throwable exception = response.getException();
+            if (exception instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CompletionException(exception != null ? exception
+                    : new IOException("No response from " + transportRequest.url()));
+        }
+        Map<String, String> headers = new HashMap<>();
+        for (String name : response.getHeaders().names()) {
+            headers.putIfAbsent(name, response.getHeaderValue(name));
+        }
+        try {
+            return new TransportResponse(response.getStatusCode(), headers, response.getByteArray());
+        } catch (Exception e) {
+            throw new UncheckedIOException(new IOException("Unable to read the verification response", e));
+        }
+    }
+}
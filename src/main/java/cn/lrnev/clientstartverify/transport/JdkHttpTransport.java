@@ -0,0 +1,74 @@
+package cn.lrnev.clientstartverify.transport;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 基于 {@link HttpClient} 的传输层
+ * <p>
+ * 所有请求共用一个客户端，心跳等重复请求复用已有连接；HTTPS 通过 ALPN 协商 HTTP/2，
+ * 明文 HTTP 使用 HTTP/1.1，避免向不支持的服务发送 h2c 升级请求。请求异步发送，不占用调用方线程。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 19:52
+ **/
+public class JdkHttpTransport implements VerificationTransport {
+
+    private final HttpClient httpClient;
+
+    /**
+     * @param connectTimeout 连接超时，为 null 时不限制
+     */
+    public JdkHttpTransport(Duration connectTimeout) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                // 304 表示许可未变化，不跟随重定向
+                .followRedirects(HttpClient.Redirect.NEVER);
+        if (connectTimeout != null) {
+            builder.connectTimeout(connectTimeout);
+        }
+        this.httpClient = builder.build();
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> send(TransportRequest request) {
+        URI uri = URI.create(request.url());
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .version("https".equalsIgnoreCase(uri.getScheme()) ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(request.body()));
+        if (request.timeout() != null) {
+            builder.timeout(request.timeout());
+        }
+        request.headers().forEach(builder::header);
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(JdkHttpTransport::toResponse);
+    }
+
+    @Override
+    public void close() {
+        // JDK 21 起 HttpClient 可以关闭，更早的版本在没有引用后由 GC 回收
+        if (httpClient instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static TransportResponse toResponse(HttpResponse<byte[]> response) {
+        Map<String, String> headers = new HashMap<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!values.isEmpty()) {
+                headers.put(name, values.get(0));
+            }
+        });
+        return new TransportResponse(response.statusCode(), headers, response.body());
+    }
+}
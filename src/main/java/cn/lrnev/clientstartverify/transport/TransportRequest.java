@@ -0,0 +1,17 @@
+package cn.lrnev.clientstartverify.transport;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 已编码的校验请求
+ *
+ * @param url     接口地址
+ * @param headers 请求头，包括 Content-Type 与 Content-Encoding
+ * @param body    请求体
+ * @param timeout 等待响应的超时，为 null 时使用实现的默认值
+ * @author 鲁子狄
+ * @since 2026/10/17 19:50
+ **/
+public record TransportRequest(String url, Map<String, String> headers, byte[] body, Duration timeout) {
+}
@@ -0,0 +1,32 @@
+package cn.lrnev.clientstartverify.transport;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 校验服务的原始响应
+ *
+ * @param status  HTTP 状态码
+ * @param headers 响应头，名称不区分大小写，同名的多个值只保留第一个
+ * @param body    响应体，没有内容时为空数组
+ * @author 鲁子狄
+ * @since 2026/10/17 19:50
+ **/
+public record TransportResponse(int status, Map<String, String> headers, byte[] body) {
+
+    public TransportResponse {
+        Map<String, String> caseInsensitive = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.forEach(caseInsensitive::putIfAbsent);
+        headers = Collections.unmodifiableMap(caseInsensitive);
+        body = body == null ? new byte[0] : body;
+    }
+
+    /**
+     * @param name 响应头名称，不区分大小写
+     * @return 响应头的值，不存在时为 null
+     */
+    public String header(String name) {
+        return headers.get(name);
+    }
+}
@@ -0,0 +1,46 @@
+package cn.lrnev.clientstartverify.transport;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 向校验服务发送已编码请求的 HTTP 传输层
+ * <p>
+ * 默认实现 {@link JdkHttpTransport} 只依赖 JDK；类路径中有 Forest 时可以选择 {@link ForestTransport}，
+ * 以便沿用宿主应用的 Forest 配置。也可以提供自己的实现，例如接入已有的 HTTP 客户端与代理。
+ * 按配置创建见 {@link VerificationTransports#of}。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 19:50
+ **/
+public interface VerificationTransport extends AutoCloseable {
+
+    /**
+     * 发送 POST 请求。
+     *
+     * @param request 请求
+     * @return 得到 HTTP 响应时完成，任何状态码都正常完成；连接失败、超时等没有得到响应时以异常完成
+     */
+    CompletableFuture<TransportResponse> send(TransportRequest request);
+
+    /**
+     * 释放连接与线程，重复调用没有影响。
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * 传输层实现
+     */
+    enum Kind {
+        /**
+         * {@code java.net.http.HttpClient}
+         */
+        JDK,
+
+        /**
+         * Forest，需要 {@code forest-spring-boot3-starter}
+         */
+        FOREST
+    }
+}
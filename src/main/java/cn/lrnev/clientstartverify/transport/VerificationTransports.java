@@ -0,0 +1,46 @@
+package cn.lrnev.clientstartverify.transport;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NativeDetector;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 传输层的创建
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 19:54
+ **/
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class VerificationTransports {
+
+    /**
+     * @return 类路径中是否有 Forest
+     */
+    public static boolean isForestAvailable() {
+        return ClassUtils.isPresent(ForestTransport.FOREST_CLASS, VerificationTransports.class.getClassLoader());
+    }
+
+    /**
+     * 按配置创建传输层，选择 Forest 但类路径中没有或运行在原生镜像中时使用 JDK 实现：
+     * Forest 依赖的动态代理与反射在原生镜像中不可用。
+     *
+     * @param client 校验服务请求配置
+     * @return 传输层
+     */
+    public static VerificationTransport of(StartVerifyProperties.Client client) {
+        if (client.getTransport() == VerificationTransport.Kind.FOREST) {
+            if (NativeDetector.inNativeImage()) {
+                log.warn("Forest transport is not supported in a native image, using the JDK HttpClient.");
+            } else if (isForestAvailable()) {
+                return new ForestTransport(client.getConnectTimeout());
+            } else {
+                log.warn("Forest transport requested but Forest is not on the classpath, using the JDK HttpClient.");
+            }
+        }
+        return new JdkHttpTransport(client.getConnectTimeout());
+    }
+}
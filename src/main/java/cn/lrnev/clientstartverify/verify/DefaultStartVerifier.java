@@ -1,15 +1,30 @@
 package cn.lrnev.clientstartverify.verify;
 
 import cn.lrnev.clientstartverify.core.R;
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.detector.HardwareFingerprint;
 import cn.lrnev.clientstartverify.detector.OperatingSystemDetector;
-import com.dtflys.forest.Forest;
+import cn.lrnev.clientstartverify.lease.LeaseManager;
+import cn.lrnev.clientstartverify.lease.VerificationLease;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import cn.lrnev.clientstartverify.metrics.VerificationOutcome;
+import cn.lrnev.clientstartverify.metrics.VerificationPhase;
 import io.micrometer.common.util.StringUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.stereotype.Component;
 
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 客户端启动默认校验
  *
@@ -20,10 +35,109 @@ import org.springframework.stereotype.Component;
 @Component
 public class DefaultStartVerifier implements StartVerifier {
 
+    private final ConfigurableEnvironment environment;
+
     private final ConfigurableApplicationContext context;
 
+    private final HardwareFingerprint fingerprint;
+
+    private final LeaseManager leaseManager;
+
+    private final VerificationMetrics metrics;
+
+    private final HedgedVerificationClient client;
+
+    private final FingerprintFormat fingerprintFormat;
+
+    // 最近一次开始的后台续期
+    private volatile CompletableFuture<Void> renewal = CompletableFuture.completedFuture(null);
+
     public DefaultStartVerifier(ConfigurableApplicationContext context) {
+        this(context, HardwareFingerprint.getDefault(), LeaseManager.disabled(), VerificationMetrics.NOOP);
+    }
+
+    public DefaultStartVerifier(ConfigurableApplicationContext context, OperatingSystemDetector detector) {
+        this(context, detector, LeaseManager.disabled());
+    }
+
+    public DefaultStartVerifier(ConfigurableApplicationContext context, OperatingSystemDetector detector,
+                                LeaseManager leaseManager) {
+        this(context, detector, leaseManager, VerificationMetrics.NOOP);
+    }
+
+    public DefaultStartVerifier(ConfigurableApplicationContext context, OperatingSystemDetector detector,
+                                LeaseManager leaseManager, VerificationMetrics metrics) {
+        this(context, new HardwareFingerprint(detector), leaseManager, metrics);
+    }
+
+    private DefaultStartVerifier(ConfigurableApplicationContext context, HardwareFingerprint fingerprint,
+                                 LeaseManager leaseManager, VerificationMetrics metrics) {
+        this(context, fingerprint, leaseManager, metrics, HedgedVerificationClient.of(
+                Binder.get(context.getEnvironment()).bindOrCreate("start-verify", StartVerifyProperties.class), metrics));
+    }
+
+    public DefaultStartVerifier(ConfigurableApplicationContext context, OperatingSystemDetector detector,
+                                LeaseManager leaseManager, VerificationMetrics metrics,
+                                HedgedVerificationClient client) {
+        this(context, new HardwareFingerprint(detector), leaseManager, metrics, client);
+    }
+
+    /**
+     * @param context      应用上下文，校验失败时退出
+     * @param fingerprint  进程内共享的硬件指纹
+     * @param leaseManager 离线租约管理器
+     * @param metrics      记录校验请求的耗时与结果
+     * @param client       校验服务客户端
+     */
+    public DefaultStartVerifier(ConfigurableApplicationContext context, HardwareFingerprint fingerprint,
+                                LeaseManager leaseManager, VerificationMetrics metrics,
+                                HedgedVerificationClient client) {
+        this(context.getEnvironment(), context, fingerprint, leaseManager, metrics, client);
+    }
+
+    /**
+     * 创建不依赖应用上下文的校验器，用于上下文创建之前提前开始校验。
+     * 校验失败时抛出 {@link StartVerificationException}，由调用方决定如何终止启动。
+     *
+     * @param environment  应用环境
+     * @param detector     硬件信息探测器
+     * @param leaseManager 离线租约管理器
+     * @param metrics      记录校验请求的耗时与结果
+     * @param client       校验服务客户端
+     */
+    public DefaultStartVerifier(ConfigurableEnvironment environment, OperatingSystemDetector detector,
+                                LeaseManager leaseManager, VerificationMetrics metrics,
+                                HedgedVerificationClient client) {
+        this(environment, new HardwareFingerprint(detector), leaseManager, metrics, client);
+    }
+
+    /**
+     * 创建不依赖应用上下文的校验器，用于上下文创建之前提前开始校验。
+     * 校验失败时抛出 {@link StartVerificationException}，由调用方决定如何终止启动。
+     *
+     * @param environment  应用环境
+     * @param fingerprint  硬件指纹
+     * @param leaseManager 离线租约管理器
+     * @param metrics      记录校验请求的耗时与结果
+     * @param client       校验服务客户端
+     */
+    public DefaultStartVerifier(ConfigurableEnvironment environment, HardwareFingerprint fingerprint,
+                                LeaseManager leaseManager, VerificationMetrics metrics,
+                                HedgedVerificationClient client) {
+        this(environment, null, fingerprint, leaseManager, metrics, client);
+    }
+
+    private DefaultStartVerifier(ConfigurableEnvironment environment, ConfigurableApplicationContext context,
+                                 HardwareFingerprint fingerprint, LeaseManager leaseManager,
+                                 VerificationMetrics metrics, HedgedVerificationClient client) {
+        this.environment = environment;
         this.context = context;
+        this.fingerprint = fingerprint;
+        this.leaseManager = leaseManager;
+        this.metrics = metrics;
+        this.client = client;
+        this.fingerprintFormat = Binder.get(environment).bind("start-verify.client.fingerprint-format",
+                FingerprintFormat.class).orElse(FingerprintFormat.RAW);
     }
 
     /**
@@ -31,35 +145,183 @@ public class DefaultStartVerifier implements StartVerifier {
      */
     @Override
     public void verify() throws IllegalArgumentException {
-        ConfigurableEnvironment env = context.getEnvironment();
+        ConfigurableEnvironment env = environment;
 
-        StarterRequest request = OperatingSystemDetector.getOperatingSystemInfo(env);
+        StarterRequest request = fingerprint.toRequest(env);
         String secretKey = env.getProperty("start-verify.secretKey");
         if (StringUtils.isNotEmpty(secretKey)) {
             request.setSecretKey(secretKey);
         }
-        try {
-            R<?> response = Forest.post(env.getProperty("start-verify.url"))
-                    .contentType("application/json")
-                    .addBody(request)
-                    .execute(R.class);
-            if (Boolean.FALSE.equals(R.isSuccess(response))) {
-                log.warn(response.getMsg());
-                exitWithError();
-            } else {
-                log.info("Client start verification successful.");
+
+        // 本地租约有效时无需访问校验服务，临近到期时在后台续期
+        Optional<VerificationLease> lease = leaseManager.findValid(request);
+        if (lease.isPresent()) {
+            log.info("Client start verification satisfied by offline lease valid until {}.",
+                    Instant.ofEpochMilli(lease.get().getExpiresAt()));
+            if (leaseManager.needsRenewal(lease.get())) {
+                renewal = leaseManager.renewInBackground(() -> renewLease(request));
             }
+            return;
+        }
+
+        R<?> response;
+        try {
+            response = postWithRetry(request);
         } catch (Exception e) {
             log.error("Unable to connect to the authentication service: {}", e.getMessage());
             exitWithError();
+            return;
+        }
+        if (Boolean.FALSE.equals(R.isSuccess(response))) {
+            log.warn(response.getMsg());
+            // 登记许可时需要的摘要
+            log.info("Hardware fingerprint digest: {}, component digests: {}", FingerprintDigest.of(request),
+                    FingerprintDigest.components(request, request.getSecretKey()));
+            exitWithError();
+        } else {
+            leaseManager.accept(response.getData(), request);
+            log.info("Client start verification successful.");
+        }
+    }
+
+    /**
+     * 没有应用上下文时，续期被拒绝以 {@link StartVerificationException} 完成，由调用方终止应用；
+     * 续期使用的客户端在完成之前不能关闭。
+     *
+     * @return 最近一次开始的后台续期，没有续期时为已完成的Future
+     */
+    public CompletableFuture<Void> renewal() {
+        return renewal;
+    }
+
+    /**
+     * 向校验服务续期离线租约。校验服务不可用时保留当前租约，明确拒绝时删除租约并退出。
+     */
+    private void renewLease(StarterRequest request) {
+        R<?> response;
+        try {
+            response = post(request);
+        } catch (Exception e) {
+            log.warn("Unable to renew offline lease, keeping the current one: {}", e.getMessage());
+            return;
+        }
+        if (Boolean.FALSE.equals(R.isSuccess(response))) {
+            log.warn("Offline lease renewal rejected: {}", response.getMsg());
+            leaseManager.revoke();
+            exitWithError();
+        } else {
+            leaseManager.accept(response.getData(), request);
+        }
+    }
+
+    /**
+     * 第一次请求前随机延迟，把大量实例同时重启产生的请求分散开；之后校验服务过载或无法连接时按重试策略退避，
+     * 超过启动预算后抛出最后一次的异常。校验服务明确拒绝时不重试。
+     */
+    private R<?> postWithRetry(StarterRequest request) {
+        RetryPolicy retryPolicy = client.getRetryPolicy();
+        sleep(retryPolicy.admissionDelay());
+        RetryPolicy.Backoff backoff = retryPolicy.start();
+        while (true) {
+            try {
+                return post(request);
+            } catch (RuntimeException e) {
+                if (!isRetryable(e)) {
+                    throw e;
+                }
+                Duration retryAfter = e instanceof ServiceBusyException busy ? busy.retryAfter : null;
+                Optional<Duration> delay = backoff.next(retryAfter);
+                if (delay.isEmpty()) {
+                    throw e;
+                }
+                log.warn("Verification service unavailable ({}), retrying in {} ms.", e.getMessage(),
+                        delay.get().toMillis());
+                sleep(delay.get());
+            }
+        }
+    }
+
+    /**
+     * 向校验服务发送请求并记录耗时与结果，响应为空时抛出异常。
+     */
+    private R<?> post(StarterRequest request) {
+        VerificationMetrics.Sample sample = metrics.start(VerificationPhase.HTTP);
+        VerificationResponse response;
+        try {
+            response = client.post(fingerprintFormat.apply(request), Map.of());
+        } catch (RuntimeException e) {
+            sample.stop(isTimeout(e) ? VerificationOutcome.TIMEOUT : VerificationOutcome.ERROR);
+            throw e;
+        }
+        if (response.isRetryable()) {
+            sample.stop(VerificationOutcome.ERROR);
+            throw new ServiceBusyException(response);
+        }
+        if (!response.isOk()) {
+            sample.stop(VerificationOutcome.ERROR);
+            throw new StartVerificationException("HTTP status " + response.getStatus());
         }
+        R<?> body = response.getBody();
+        if (body == null) {
+            sample.stop(VerificationOutcome.EMPTY);
+            throw new StartVerificationException("Empty response from the authentication service.");
+        }
+        sample.stop(Boolean.TRUE.equals(R.isSuccess(body)) ? VerificationOutcome.SUCCESS : VerificationOutcome.ERROR);
+        return body;
+    }
+
+    /**
+     * 过载、超时与网络错误可以重试；校验服务的明确答复、配置错误与线程中断不重试。
+     */
+    private static boolean isRetryable(RuntimeException e) {
+        return e instanceof ServiceBusyException
+                || !(e instanceof StartVerificationException || e instanceof IllegalStateException);
+    }
+
+    private static void sleep(Duration delay) {
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry the verification.", e);
+        }
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException || cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * 以非零退出码退出应用程序，表示启动失败。
+     * 以非零退出码退出应用程序，表示启动失败。没有应用上下文时抛出 {@link StartVerificationException}。
      */
-    private void exitWithError() {
+    protected void exitWithError() {
+        if (context == null) {
+            throw new StartVerificationException("Client start verification failed.");
+        }
         SpringApplication.exit(context, () -> 1);
         System.exit(1);
     }
+
+    /**
+     * 校验服务返回 429、5xx 等表示稍后重试的响应
+     */
+    private static class ServiceBusyException extends RuntimeException {
+
+        private final transient Duration retryAfter;
+
+        ServiceBusyException(VerificationResponse response) {
+            super("HTTP status " + response.getStatus()
+                    + (response.getBody() != null && response.getBody().getMsg() != null
+                    ? ": " + response.getBody().getMsg() : ""));
+            this.retryAfter = response.getRetryAfter();
+        }
+    }
 }
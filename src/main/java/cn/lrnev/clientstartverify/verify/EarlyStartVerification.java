@@ -0,0 +1,219 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.agent.FingerprintAgent;
+import cn.lrnev.clientstartverify.cache.FingerprintCache;
+import cn.lrnev.clientstartverify.cache.ProbeCapabilities;
+import cn.lrnev.clientstartverify.command.ProcessCommandRunner;
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.detector.ContainerDetector;
+import cn.lrnev.clientstartverify.detector.HardwareFingerprint;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.detector.OperatingSystemDetector;
+import cn.lrnev.clientstartverify.detector.ProbeExecutors;
+import cn.lrnev.clientstartverify.detector.SystemFingerprintCollectors;
+import cn.lrnev.clientstartverify.lease.LeaseManager;
+import cn.lrnev.clientstartverify.metrics.RecordedVerificationMetrics;
+import cn.lrnev.clientstartverify.metrics.StartupStepVerificationMetrics;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.metrics.ApplicationStartup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 提前开始的启动校验
+ * <p>
+ * 在应用上下文创建之前于后台线程中完成硬件探测与校验请求，与 Bean 创建并行；
+ * {@link StartVerificationGate} 在 Web 服务器启动前等待结果。检测器与自动配置一样由
+ * {@link OperatingSystemDetector#of} 按配置组装；指纹代理与校验通过时的硬件指纹快照交给应用上下文继续使用。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 15:12
+ **/
+@Slf4j
+public class EarlyStartVerification {
+
+    /**
+     * 注册到应用上下文中的 Bean 名称
+     */
+    public static final String BEAN_NAME = "startVerifyEarlyVerification";
+
+    private final CompletableFuture<Void> result;
+
+    // 指标注册表在上下文刷新之后才可用，先保存各阶段的记录
+    private final RecordedVerificationMetrics recorded;
+
+    private final HardwareFingerprint fingerprint;
+
+    private final FingerprintAgent agent;
+
+    // 校验通过时开始的离线租约续期，续期被拒绝时以 StartVerificationException 完成
+    private final CompletableFuture<Void> renewal;
+
+    /**
+     * @param result 校验结果，校验未通过时以异常完成
+     */
+    public EarlyStartVerification(CompletableFuture<Void> result) {
+        this(result, CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * @param result  校验结果，校验未通过时以异常完成
+     * @param renewal 离线租约续期，续期被拒绝时以 {@link StartVerificationException} 完成
+     */
+    public EarlyStartVerification(CompletableFuture<Void> result, CompletableFuture<Void> renewal) {
+        this(result, renewal, new RecordedVerificationMetrics(), null, FingerprintAgent.disabled());
+    }
+
+    private EarlyStartVerification(CompletableFuture<Void> result, CompletableFuture<Void> renewal,
+                                   RecordedVerificationMetrics recorded, HardwareFingerprint fingerprint,
+                                   FingerprintAgent agent) {
+        this.result = result;
+        this.renewal = renewal;
+        this.recorded = recorded;
+        this.fingerprint = fingerprint;
+        this.agent = agent;
+    }
+
+    /**
+     * 在后台守护线程中开始校验。探测所用的线程池与校验服务客户端在校验以及离线租约续期结束后关闭。
+     *
+     * @param environment        已准备好的应用环境
+     * @param properties         从环境中绑定的启动校验配置
+     * @param applicationStartup 记录各阶段的启动步骤
+     * @return 正在进行的校验
+     */
+    public static EarlyStartVerification start(ConfigurableEnvironment environment, StartVerifyProperties properties,
+                                               ApplicationStartup applicationStartup) {
+        RecordedVerificationMetrics recorded = new RecordedVerificationMetrics();
+        VerificationMetrics metrics = VerificationMetrics.of(
+                List.of(new StartupStepVerificationMetrics(applicationStartup), recorded));
+        StartVerifyProperties.Detector detectorProperties = properties.getDetector();
+        ProcessCommandRunner commandRunner = ProcessCommandRunner.of(detectorProperties.getConcurrency());
+        LinuxSysfsReader sysfs = new LinuxSysfsReader();
+        ExecutorService probeExecutor = ProbeExecutors.create(detectorProperties.getConcurrency(),
+                detectorProperties.isVirtualThreads());
+        ContainerDetector containerDetector = ContainerDetector.of(detectorProperties);
+        SystemFingerprintCollectors collectors = new SystemFingerprintCollectors(commandRunner, sysfs,
+                containerDetector, detectorProperties.getSudo(), ProbeCapabilities.of(properties, sysfs));
+        FingerprintAgent agent = FingerprintAgent.of(properties.getAgent());
+        OperatingSystemDetector detector = OperatingSystemDetector.of(properties, collectors.all(), probeExecutor,
+                FingerprintCache.of(properties, sysfs), metrics, containerDetector, agent);
+        HardwareFingerprint fingerprint = new HardwareFingerprint(detector);
+        HedgedVerificationClient client = HedgedVerificationClient.of(properties, metrics);
+        DefaultStartVerifier verifier = new DefaultStartVerifier(environment, fingerprint,
+                LeaseManager.of(properties.getLease()), metrics, client);
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        CompletableFuture<Void> renewal = new CompletableFuture<>();
+        Runnable close = () -> {
+            probeExecutor.shutdown();
+            commandRunner.shutdown();
+            client.close();
+        };
+        Thread thread = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                verifier.verify();
+            } catch (Throwable e) {
+                close.run();
+                renewal.complete(null);
+                result.completeExceptionally(e);
+                return;
+            } finally {
+                log.debug("Early start verification finished in {} ms.",
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            // 续期复用同一个客户端，结束之后才关闭
+            verifier.renewal().whenComplete((ignored, error) -> {
+                close.run();
+                if (error != null) {
+                    renewal.completeExceptionally(error);
+                } else {
+                    renewal.complete(null);
+                }
+            });
+            result.complete(null);
+        }, "start-verify-early");
+        thread.setDaemon(true);
+        thread.start();
+        return new EarlyStartVerification(result, renewal, recorded, fingerprint, agent);
+    }
+
+    /**
+     * 提前校验使用的指纹代理。本进程成为代理后继续为其他 JVM 提供指纹，由应用上下文接管并在关闭时停止。
+     *
+     * @return 指纹代理，未启用时为 {@link FingerprintAgent#disabled()}
+     */
+    public FingerprintAgent fingerprintAgent() {
+        return agent;
+    }
+
+    /**
+     * 校验通过后把采集到的完整快照交给应用上下文中的硬件指纹，心跳与宿主应用不再重新探测。
+     *
+     * @param target 应用上下文中的硬件指纹
+     */
+    public void shareFingerprint(HardwareFingerprint target) {
+        if (fingerprint != null) {
+            result.thenRun(() -> fingerprint.current().ifPresent(target::adopt));
+        }
+    }
+
+    /**
+     * 提前校验没有应用上下文，离线租约续期被校验服务拒绝时交给应用上下文处理，例如退出应用。
+     * 续期已经被拒绝时立即调用。
+     *
+     * @param onRevoked 续期被拒绝时的处理
+     */
+    public void onRenewalRejected(Runnable onRevoked) {
+        renewal.whenComplete((ignored, error) -> {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof StartVerificationException) {
+                onRevoked.run();
+            } else if (cause != null) {
+                log.warn("Offline lease renewal failed: {}", cause.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 把校验过程中各阶段的记录转发给指标注册表。
+     *
+     * @param metrics 目标实现
+     */
+    public void replayTo(VerificationMetrics metrics) {
+        recorded.replayTo(metrics);
+    }
+
+    /**
+     * 等待校验结束。
+     *
+     * @param timeout 最长等待时间
+     * @throws StartVerificationException 校验未通过、超时或等待被中断
+     */
+    public void await(Duration timeout) {
+        try {
+            result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new StartVerificationException("Client start verification did not complete within " + timeout + ".", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StartVerificationException failed) {
+                throw failed;
+            }
+            throw new StartVerificationException("Client start verification failed: " + e.getCause().getMessage(),
+                    e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StartVerificationException("Interrupted while waiting for client start verification.", e);
+        }
+    }
+}
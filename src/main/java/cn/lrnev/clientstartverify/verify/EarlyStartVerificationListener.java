@@ -0,0 +1,55 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.metrics.ApplicationStartup;
+
+/**
+ * 提前校验监听器
+ * <p>
+ * {@code start-verify.mode=early} 时，在环境准备完成后立即开始校验，
+ * 并在上下文刷新前把 {@link EarlyStartVerification} 注册为单例，供 {@link StartVerificationGate} 等待。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 15:16
+ **/
+@Slf4j
+public class EarlyStartVerificationListener implements SmartApplicationListener {
+
+    private EarlyStartVerification verification;
+
+    @Override
+    public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+        return ApplicationEnvironmentPreparedEvent.class.isAssignableFrom(eventType)
+                || ApplicationPreparedEvent.class.isAssignableFrom(eventType);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof ApplicationEnvironmentPreparedEvent prepared) {
+            onEnvironmentPrepared(prepared.getEnvironment(), prepared.getSpringApplication().getApplicationStartup());
+        } else if (event instanceof ApplicationPreparedEvent prepared && verification != null) {
+            prepared.getApplicationContext().getBeanFactory()
+                    .registerSingleton(EarlyStartVerification.BEAN_NAME, verification);
+        }
+    }
+
+    private void onEnvironmentPrepared(ConfigurableEnvironment environment, ApplicationStartup applicationStartup) {
+        if (verification != null || !environment.getProperty("start-verify.enabled", Boolean.class, true)) {
+            return;
+        }
+        StartVerifyProperties properties = Binder.get(environment)
+                .bindOrCreate("start-verify", StartVerifyProperties.class);
+        if (properties.getMode() != StartVerifyProperties.Mode.EARLY) {
+            return;
+        }
+        log.info("Starting client verification in parallel with application context refresh...");
+        verification = EarlyStartVerification.start(environment, properties, applicationStartup);
+    }
+}
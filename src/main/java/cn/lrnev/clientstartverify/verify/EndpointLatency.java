@@ -0,0 +1,17 @@
+package cn.lrnev.clientstartverify.verify;
+
+import java.time.Duration;
+
+/**
+ * 校验服务节点的延迟快照
+ *
+ * @param endpoint  接口地址
+ * @param ewma      成功请求的指数加权移动平均延迟，失败不计入；还没有成功的请求时为 null
+ * @param errorRate 按相同系数衰减的错误率，0 到 1
+ * @param successes 成功次数
+ * @param failures  失败次数
+ * @author 鲁子狄
+ * @since 2026/10/17 17:20
+ **/
+public record EndpointLatency(String endpoint, Duration ewma, double errorRate, long successes, long failures) {
+}
@@ -0,0 +1,92 @@
+package cn.lrnev.clientstartverify.verify;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 单个校验服务节点的延迟统计：指数加权移动平均与最近若干次延迟的分位数
+ * <p>
+ * 延迟只统计得到明确答复的请求，失败的请求不计入延迟，否则几次失败就会把对冲等待时间推到整体超时。
+ * 失败另外计入按相同系数衰减的错误率，排序时按错误率乘以惩罚时长加到平均延迟上，出错的节点排到后面，
+ * 恢复后随着成功的请求逐渐回到前面。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 17:20
+ **/
+class EndpointStats {
+
+    // 平滑系数，越大越偏向最近的延迟
+    private static final double ALPHA = 0.3;
+    // 计算分位数使用的最近样本数
+    private static final int WINDOW = 64;
+    // 样本少于该数量时不计算分位数
+    private static final int MIN_SAMPLES = 5;
+
+    private final String endpoint;
+    private final long penaltyNanos;
+    private final long[] window = new long[WINDOW];
+    private int samples;
+    private double ewmaNanos = -1;
+    private double errorRate = -1;
+    private long successes;
+    private long failures;
+
+    /**
+     * @param endpoint 接口地址
+     * @param penalty  错误率为 1 时排序增加的延迟，一般为整体超时
+     */
+    EndpointStats(String endpoint, Duration penalty) {
+        this.endpoint = endpoint;
+        this.penaltyNanos = penalty.toNanos();
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @param latency 本次延迟，只在成功时计入
+     * @param success 是否得到明确的答复，过载、5xx 与连接失败为 false
+     */
+    synchronized void record(Duration latency, boolean success) {
+        double error = success ? 0 : 1;
+        errorRate = errorRate < 0 ? error : ALPHA * error + (1 - ALPHA) * errorRate;
+        if (!success) {
+            failures++;
+            return;
+        }
+        successes++;
+        long nanos = latency.toNanos();
+        ewmaNanos = ewmaNanos < 0 ? nanos : ALPHA * nanos + (1 - ALPHA) * ewmaNanos;
+        window[samples % WINDOW] = nanos;
+        samples++;
+    }
+
+    /**
+     * @return 排序使用的延迟：平均延迟加上错误率乘以惩罚时长，还没有请求的节点为 0，优先尝试
+     */
+    synchronized double sortKey() {
+        return Math.max(ewmaNanos, 0) + Math.max(errorRate, 0) * penaltyNanos;
+    }
+
+    /**
+     * @param quantile 分位，例如 0.95
+     * @return 最近成功请求延迟的分位数，样本不足时返回空Optional
+     */
+    synchronized Optional<Duration> percentile(double quantile) {
+        int size = Math.min(samples, WINDOW);
+        if (size < MIN_SAMPLES) {
+            return Optional.empty();
+        }
+        long[] sorted = Arrays.copyOf(window, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.min(size - 1, Math.max(0, Math.ceil(quantile * size) - 1));
+        return Optional.of(Duration.ofNanos(sorted[index]));
+    }
+
+    synchronized EndpointLatency snapshot() {
+        return new EndpointLatency(endpoint, ewmaNanos < 0 ? null : Duration.ofNanos(Math.round(ewmaNanos)),
+                Math.max(errorRate, 0), successes, failures);
+    }
+}
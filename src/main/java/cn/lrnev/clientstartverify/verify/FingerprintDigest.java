@@ -0,0 +1,150 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 硬件指纹摘要
+ * <p>
+ * 主板/CPU/内存/硬盘/网卡每个组成部分先规范化（按逗号拆分、去掉空白与空值、转为小写、去重并排序），
+ * 再分别计算摘要；全部组成部分的摘要按固定顺序拼接后计算综合摘要。请求中有密钥时使用以密钥为键的 HMAC-SHA256，
+ * 否则使用 SHA-256。客户端与服务端使用相同的算法，用于在不传输原始序列号的情况下比较两次采集的硬件是否一致；
+ * 网卡或硬盘的顺序变化不影响摘要，个别组成部分变化时只有对应的摘要变化。
+ * 没有任何硬件组成部分时（例如容器中不执行命令），所有主机的综合摘要都相同，见 {@link #identifiesHost}。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 14:02
+ **/
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FingerprintDigest {
+
+    /**
+     * 计算综合摘要。请求已经只携带摘要时直接返回其中的综合摘要。
+     *
+     * @param request 包含硬件信息的StarterRequest对象，其中的密钥作为 HMAC 的键
+     * @return 十六进制的综合摘要
+     */
+    public static String of(StarterRequest request) {
+        if (request.getFingerprintDigest() != null) {
+            return request.getFingerprintDigest();
+        }
+        return composite(components(request, request.getSecretKey()), request.getSecretKey());
+    }
+
+    /**
+     * 计算每个组成部分的摘要，规范化后为空的组成部分不计入。
+     *
+     * @param request   包含硬件信息的StarterRequest对象
+     * @param secretKey 密钥，为空时使用 SHA-256
+     * @return 按组成部分排序的十六进制摘要
+     */
+    public static Map<FingerprintComponent, String> components(StarterRequest request, String secretKey) {
+        Map<FingerprintComponent, String> digests = new EnumMap<>(FingerprintComponent.class);
+        for (FingerprintComponent component : FingerprintComponent.hardware()) {
+            String normalized = normalize(component.read(request));
+            if (!normalized.isEmpty()) {
+                digests.put(component, hash(component.name() + "\n" + normalized, secretKey));
+            }
+        }
+        return Collections.unmodifiableMap(digests);
+    }
+
+    /**
+     * @param components 每个组成部分的摘要
+     * @param secretKey  密钥，为空时使用 SHA-256
+     * @return 十六进制的综合摘要
+     */
+    public static String composite(Map<FingerprintComponent, String> components, String secretKey) {
+        StringJoiner canonical = new StringJoiner("\n");
+        new TreeMap<>(components).forEach((component, digest) -> canonical.add(component.name() + "=" + digest));
+        return hash(canonical.toString(), secretKey);
+    }
+
+    /**
+     * 综合摘要只有在至少一个硬件组成部分有值时才能区分主机，否则不能用于登记许可、匹配许可或离线租约。
+     *
+     * @param components 每个组成部分的摘要
+     * @return 是否至少有一个硬件组成部分
+     */
+    public static boolean identifiesHost(Map<FingerprintComponent, String> components) {
+        return components != null && components.keySet().stream().anyMatch(FingerprintComponent::isHardware);
+    }
+
+    /**
+     * @param request 包含硬件信息或只携带摘要的StarterRequest对象
+     * @return 是否至少有一个硬件组成部分
+     * @see #identifiesHost(Map)
+     */
+    public static boolean identifiesHost(StarterRequest request) {
+        if (request.getFingerprintDigest() != null) {
+            return identifiesHost(request.getComponentDigests());
+        }
+        return identifiesHost(components(request, null));
+    }
+
+    /**
+     * 只携带摘要的请求：去掉原始的硬件序列号与密钥，填入每个组成部分的摘要与综合摘要，其余字段不变。
+     *
+     * @param request 包含硬件信息与密钥的StarterRequest对象
+     * @return 新的StarterRequest对象
+     */
+    public static StarterRequest digestOnly(StarterRequest request) {
+        Map<FingerprintComponent, String> components = components(request, request.getSecretKey());
+        StarterRequest digested = new StarterRequest();
+        digested.setIp(request.getIp());
+        digested.setRuntime(request.getRuntime());
+        digested.setContainerIdentity(request.getContainerIdentity());
+        digested.setPort(request.getPort());
+        digested.setCustomer(request.getCustomer());
+        digested.setProject(request.getProject());
+        digested.setPartial(request.isPartial());
+        digested.setComponentDigests(components);
+        digested.setFingerprintDigest(composite(components, request.getSecretKey()));
+        return digested;
+    }
+
+    /**
+     * @param value 组成部分的原始值，多个值以逗号分隔
+     * @return 规范化后的值
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Arrays.stream(value.split(","))
+                .map(item -> item.trim().toLowerCase())
+                .filter(item -> !item.isEmpty())
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private static String hash(String value, String secretKey) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        try {
+            if (secretKey == null || secretKey.isEmpty()) {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+            }
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(bytes));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
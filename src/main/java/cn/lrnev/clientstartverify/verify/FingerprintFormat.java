@@ -0,0 +1,29 @@
+package cn.lrnev.clientstartverify.verify;
+
+/**
+ * 硬件指纹在校验请求中的形式
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 21:40
+ **/
+public enum FingerprintFormat {
+
+    /**
+     * 只发送每个组成部分的摘要与综合摘要，不发送原始序列号与密钥，见 {@link FingerprintDigest#digestOnly}；
+     * 需要校验服务支持摘要比较，通过 {@code start-verify.client.fingerprint-format=digest} 启用
+     */
+    DIGEST,
+
+    /**
+     * 默认值，发送原始序列号与密钥，与只能比较原始序列号的校验服务兼容
+     */
+    RAW;
+
+    /**
+     * @param request 包含硬件信息与密钥的StarterRequest对象
+     * @return 发送给校验服务的请求
+     */
+    public StarterRequest apply(StarterRequest request) {
+        return this == DIGEST ? FingerprintDigest.digestOnly(request) : request;
+    }
+}
@@ -0,0 +1,73 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * 心跳请求，只携带硬件指纹摘要，不重复发送原始序列号
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 16:46
+ **/
+@Data
+public class HeartbeatRequest implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 硬件指纹摘要，见 {@link FingerprintDigest}
+     */
+    private String fingerprintDigest;
+
+    /**
+     * 每个组成部分的摘要，供校验服务在部分硬件更换后按组成部分比较
+     */
+    private Map<FingerprintComponent, String> componentDigests;
+
+    /**
+     * ip
+     */
+    private String ip;
+
+    /**
+     * 端口
+     */
+    private String port;
+
+    /**
+     * 客户名称
+     */
+    private String customer;
+
+    /**
+     * 项目名称
+     */
+    private String project;
+
+    /**
+     * 密钥
+     */
+    private String secretKey;
+
+    /**
+     * @param request 启动时采集的StarterRequest对象
+     * @return 对应的心跳请求
+     */
+    public static HeartbeatRequest of(StarterRequest request) {
+        HeartbeatRequest heartbeat = new HeartbeatRequest();
+        heartbeat.setFingerprintDigest(FingerprintDigest.of(request));
+        heartbeat.setComponentDigests(request.getComponentDigests() != null ? request.getComponentDigests()
+                : FingerprintDigest.components(request, request.getSecretKey()));
+        heartbeat.setIp(request.getIp());
+        heartbeat.setPort(request.getPort());
+        heartbeat.setCustomer(request.getCustomer());
+        heartbeat.setProject(request.getProject());
+        heartbeat.setSecretKey(request.getSecretKey());
+        return heartbeat;
+    }
+}
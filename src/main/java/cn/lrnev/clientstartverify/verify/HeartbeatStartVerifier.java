@@ -0,0 +1,204 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.core.R;
+import cn.lrnev.clientstartverify.detector.HardwareFingerprint;
+import cn.lrnev.clientstartverify.detector.OperatingSystemDetector;
+import cn.lrnev.clientstartverify.lease.LeaseManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 后台定期重新校验
+ * <p>
+ * 每次校验只发送硬件指纹摘要，并以 {@code If-None-Match} 携带上次响应的许可版本，许可未变化时校验服务返回 304。
+ * 下次校验的间隔优先使用校验服务给出的建议值，并加入随机抖动，避免大量实例同时请求。
+ * 校验服务明确拒绝时删除离线租约并执行撤销处理；校验服务不可用时保持运行，按原间隔重试。
+ * <p>
+ * 所有校验都在一个独立的守护线程上执行，不占用处理请求的线程。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 16:50
+ **/
+@Slf4j
+public class HeartbeatStartVerifier implements StartVerifier, SmartLifecycle {
+
+    private final ConfigurableEnvironment environment;
+    private final HardwareFingerprint fingerprint;
+    private final LeaseManager leaseManager;
+    private final HedgedVerificationClient client;
+    private final Duration interval;
+    private final double jitter;
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final Runnable onRevoked;
+
+    private ScheduledThreadPoolExecutor scheduler;
+    private volatile HeartbeatRequest request;
+    private volatile String etag;
+
+    public HeartbeatStartVerifier(ConfigurableEnvironment environment, OperatingSystemDetector detector,
+                                  LeaseManager leaseManager, HedgedVerificationClient client,
+                                  Duration interval, double jitter, Duration minInterval, Duration maxInterval,
+                                  Runnable onRevoked) {
+        this(environment, new HardwareFingerprint(detector), leaseManager, client, interval, jitter, minInterval,
+                maxInterval, onRevoked);
+    }
+
+    /**
+     * @param environment  应用环境
+     * @param fingerprint  进程内共享的硬件指纹，与启动校验共用同一次采集
+     * @param leaseManager 离线租约管理器
+     * @param client       校验服务客户端
+     * @param interval     默认校验间隔
+     * @param jitter       随机抖动比例，0.1 表示在间隔的 ±10% 内随机
+     * @param minInterval  间隔下限，同时约束校验服务给出的建议值
+     * @param maxInterval  间隔上限
+     * @param onRevoked    许可被撤销时的处理
+     */
+    public HeartbeatStartVerifier(ConfigurableEnvironment environment, HardwareFingerprint fingerprint,
+                                  LeaseManager leaseManager, HedgedVerificationClient client,
+                                  Duration interval, double jitter, Duration minInterval, Duration maxInterval,
+                                  Runnable onRevoked) {
+        this.environment = environment;
+        this.fingerprint = fingerprint;
+        this.leaseManager = leaseManager;
+        this.client = client;
+        this.interval = interval;
+        this.jitter = Math.max(0, Math.min(jitter, 1));
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        this.onRevoked = onRevoked;
+    }
+
+    /**
+     * 立即校验一次。
+     *
+     * @throws StartVerificationException 校验服务拒绝
+     */
+    @Override
+    public void verify() {
+        verifyOnce();
+    }
+
+    /**
+     * 校验一次。
+     *
+     * @return 下次校验前的等待时间（未加抖动）
+     * @throws StartVerificationException 校验服务拒绝
+     */
+    Duration verifyOnce() {
+        Map<String, String> headers = etag == null ? Map.of() : Map.of(VerificationClient.IF_NONE_MATCH, etag);
+        VerificationResponse response = client.post(request(), headers);
+        if (response.isNotModified()) {
+            log.debug("Heartbeat: license unchanged.");
+        } else if (response.isRetryable()) {
+            // 校验服务过载时不视为吊销，按建议的等待时间再试
+            log.warn("Heartbeat: verification service busy (HTTP {}), keeping the license.", response.getStatus());
+            return response.findRetryAfter().map(this::clamp).orElse(interval);
+        } else if (!response.isOk()) {
+            throw new IllegalStateException("HTTP status " + response.getStatus());
+        } else if (response.getBody() == null || !Boolean.TRUE.equals(R.isSuccess(response.getBody()))) {
+            String message = response.getBody() == null ? "empty response" : response.getBody().getMsg();
+            leaseManager.revoke();
+            throw new StartVerificationException("License revoked: " + message);
+        } else {
+            etag = response.getEtag();
+            log.debug("Heartbeat: license confirmed, version {}.", etag);
+        }
+        return response.findNextCheck().map(this::clamp).orElse(interval);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "start-verify-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        schedule(interval);
+        log.info("Verification heartbeat started, every {} ±{}%.", interval, Math.round(jitter * 100));
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * 在间隔上加入随机抖动。
+     *
+     * @param delay 间隔
+     * @return 抖动后的间隔
+     */
+    Duration jittered(Duration delay) {
+        if (jitter == 0) {
+            return delay;
+        }
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Duration.ofMillis(Math.round(delay.toMillis() * factor));
+    }
+
+    private void beat() {
+        Duration delay = interval;
+        try {
+            delay = verifyOnce();
+        } catch (StartVerificationException e) {
+            log.error("Verification heartbeat failed: {}", e.getMessage());
+            stop();
+            onRevoked.run();
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Verification heartbeat could not reach the verification service, keeping the license: {}",
+                    e.getMessage());
+        }
+        schedule(delay);
+    }
+
+    private synchronized void schedule(Duration delay) {
+        if (scheduler != null) {
+            scheduler.schedule(this::beat, jittered(delay).toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Duration clamp(Duration hint) {
+        if (hint.compareTo(minInterval) < 0) {
+            return minInterval;
+        }
+        return hint.compareTo(maxInterval) > 0 ? maxInterval : hint;
+    }
+
+    private HeartbeatRequest request() {
+        if (request == null) {
+            StarterRequest starterRequest = fingerprint.toRequest(environment);
+            String secretKey = environment.getProperty("start-verify.secretKey");
+            if (StringUtils.hasText(secretKey)) {
+                starterRequest.setSecretKey(secretKey);
+            }
+            FingerprintFormat format = Binder.get(environment).bind("start-verify.client.fingerprint-format",
+                    FingerprintFormat.class).orElse(FingerprintFormat.RAW);
+            request = HeartbeatRequest.of(format.apply(starterRequest));
+        }
+        return request;
+    }
+}
@@ -0,0 +1,250 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import cn.lrnev.clientstartverify.metrics.VerificationOutcome;
+import cn.lrnev.clientstartverify.transport.VerificationTransport;
+import cn.lrnev.clientstartverify.transport.VerificationTransports;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.UncheckedIOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多节点校验服务客户端
+ * <p>
+ * 按观测到的指数加权平均延迟选择最快的节点发送请求；超过该节点最近延迟的指定分位数仍未响应时，
+ * 向下一个节点发送一份对冲请求，采用最先得到的有效响应并取消其余请求。节点连接失败或返回 429、5xx 时立即切换到下一个节点；
+ * 其他 4xx 是校验服务对请求本身的明确答复，直接返回给调用方，不切换节点，也不计为节点故障。
+ * 所有请求受整体超时约束。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 17:24
+ **/
+@Slf4j
+public class HedgedVerificationClient implements AutoCloseable {
+
+    // 对冲等待时间的下限，避免样本很快时几乎同时发出两份请求
+    private static final Duration MIN_HEDGE_DELAY = Duration.ofMillis(10);
+
+    private final List<EndpointStats> endpoints;
+    private final VerificationClient client;
+    private final Duration deadline;
+    private final double hedgePercentile;
+    private final Duration hedgeDelay;
+    private final VerificationMetrics metrics;
+    private final RetryPolicy retryPolicy;
+
+    /**
+     * @param endpoints       节点地址
+     * @param client          单个节点的客户端
+     * @param deadline        整体超时
+     * @param hedgePercentile 对冲请求的触发分位
+     * @param hedgeDelay      节点样本不足时的对冲等待时间
+     * @param metrics         记录每个节点的请求耗时
+     */
+    public HedgedVerificationClient(List<String> endpoints, VerificationClient client, Duration deadline,
+                                    double hedgePercentile, Duration hedgeDelay, VerificationMetrics metrics) {
+        this(endpoints, client, deadline, hedgePercentile, hedgeDelay, metrics, RetryPolicy.none());
+    }
+
+    /**
+     * @param endpoints       节点地址
+     * @param client          单个节点的客户端
+     * @param deadline        整体超时
+     * @param hedgePercentile 对冲请求的触发分位
+     * @param hedgeDelay      节点样本不足时的对冲等待时间
+     * @param metrics         记录每个节点的请求耗时
+     * @param retryPolicy     校验服务过载时的重试策略
+     */
+    public HedgedVerificationClient(List<String> endpoints, VerificationClient client, Duration deadline,
+                                    double hedgePercentile, Duration hedgeDelay, VerificationMetrics metrics,
+                                    RetryPolicy retryPolicy) {
+        this.endpoints = endpoints.stream().map(endpoint -> new EndpointStats(endpoint, deadline)).toList();
+        this.client = client;
+        this.deadline = deadline;
+        this.hedgePercentile = hedgePercentile;
+        this.hedgeDelay = hedgeDelay;
+        this.metrics = metrics;
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * 按配置创建客户端，没有配置 {@code start-verify.endpoints} 时使用 {@code start-verify.url}。
+     *
+     * @param properties 启动校验配置
+     * @param metrics    记录每个节点的请求耗时
+     * @return 客户端
+     */
+    public static HedgedVerificationClient of(StartVerifyProperties properties, VerificationMetrics metrics) {
+        return of(properties, metrics, VerificationTransports.of(properties.getClient()));
+    }
+
+    /**
+     * 按配置创建使用指定传输层的客户端。
+     *
+     * @param properties 启动校验配置
+     * @param metrics    记录每个节点的请求耗时
+     * @param transport  传输层
+     * @return 客户端
+     */
+    public static HedgedVerificationClient of(StartVerifyProperties properties, VerificationMetrics metrics,
+                                              VerificationTransport transport) {
+        StartVerifyProperties.Client client = properties.getClient();
+        return new HedgedVerificationClient(properties.resolveEndpoints(),
+                new VerificationClient(transport, client.getReadTimeout(), client.getWireFormat(),
+                        client.resolveCompressMinSize()), client.getDeadline(),
+                client.getHedgePercentile(), client.getHedgeDelay(), metrics, RetryPolicy.of(properties.getRetry()));
+    }
+
+    /**
+     * @return 使用相同超时、对冲与重试策略、只访问指定节点的客户端
+     */
+    public HedgedVerificationClient withEndpoints(List<String> endpoints) {
+        return new HedgedVerificationClient(endpoints, client, deadline, hedgePercentile, hedgeDelay, metrics,
+                retryPolicy);
+    }
+
+    /**
+     * 发送请求。
+     *
+     * @param body    请求体
+     * @param headers 额外的请求头
+     * @return 最先得到的有效响应（2xx 或 304）或 429 以外的 4xx 响应；所有节点都过载或不可用时返回最后一个 HTTP 响应
+     * @throws UncheckedIOException 超过整体超时，原因为 {@link HttpTimeoutException}
+     */
+    public VerificationResponse post(Object body, Map<String, String> headers) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("No verification endpoint configured.");
+        }
+        List<EndpointStats> ordered = endpoints.stream()
+                .sorted(Comparator.comparingDouble(EndpointStats::sortKey))
+                .toList();
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        Duration hedgeAfter = ordered.get(0).percentile(hedgePercentile)
+                .map(p -> p.compareTo(MIN_HEDGE_DELAY) < 0 ? MIN_HEDGE_DELAY : p)
+                .orElse(hedgeDelay);
+
+        BlockingQueue<Attempt> completed = new LinkedBlockingQueue<>();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        int next = 0;
+        int pending = 0;
+        RuntimeException lastError = null;
+        VerificationResponse lastResponse = null;
+        try {
+            inFlight.add(launch(ordered.get(next++), body, headers, completed));
+            pending++;
+            while (true) {
+                long remaining = deadlineNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new UncheckedIOException(new HttpTimeoutException(
+                            "No response from the verification service within " + deadline));
+                }
+                boolean canHedge = next < ordered.size();
+                long wait = canHedge ? Math.min(remaining, hedgeAfter.toNanos()) : remaining;
+                Attempt attempt = completed.poll(wait, TimeUnit.NANOSECONDS);
+                if (attempt == null) {
+                    if (canHedge) {
+                        log.debug("No response within {}, hedging to {}.", hedgeAfter, ordered.get(next).endpoint());
+                        inFlight.add(launch(ordered.get(next++), body, headers, completed));
+                        pending++;
+                    }
+                    continue;
+                }
+                pending--;
+                if (attempt.response() != null && answered(attempt.response())) {
+                    return attempt.response();
+                }
+                if (attempt.response() != null) {
+                    lastResponse = attempt.response();
+                } else {
+                    lastError = attempt.error();
+                }
+                if (next < ordered.size()) {
+                    log.debug("Verification endpoint {} failed, trying {}.", attempt.endpoint(), ordered.get(next).endpoint());
+                    inFlight.add(launch(ordered.get(next++), body, headers, completed));
+                    pending++;
+                } else if (pending == 0) {
+                    if (lastResponse != null) {
+                        return lastResponse;
+                    }
+                    throw lastError;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the verification service.", e);
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * @return 校验服务过载时的重试策略，由调用方决定哪些请求需要重试
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * @return 每个节点的延迟快照，供运维查看哪个节点变慢
+     */
+    public List<EndpointLatency> latencies() {
+        return endpoints.stream().map(EndpointStats::snapshot).toList();
+    }
+
+    /**
+     * 关闭传输层。通过 {@link #withEndpoints} 创建的客户端共用同一个传输层。
+     */
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    private CompletableFuture<?> launch(EndpointStats endpoint, Object body, Map<String, String> headers,
+                                        BlockingQueue<Attempt> completed) {
+        long start = System.nanoTime();
+        return client.postAsync(endpoint.endpoint(), body, headers).whenComplete((response, error) -> {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            if (error instanceof CancellationException) {
+                // 已经采用了其他节点的响应
+                return;
+            }
+            if (error != null) {
+                record(endpoint, false, elapsed, VerificationOutcome.ERROR);
+                completed.add(new Attempt(endpoint.endpoint(), null, VerificationClient.unwrap(error)));
+                return;
+            }
+            boolean valid = response.isOk() || response.isNotModified();
+            record(endpoint, answered(response), elapsed, valid ? VerificationOutcome.SUCCESS : VerificationOutcome.ERROR);
+            completed.add(new Attempt(endpoint.endpoint(), response, null));
+        });
+    }
+
+    /**
+     * 节点是否给出了明确的答复：2xx、304，以及 429 以外的 4xx（例如许可被拒绝时的 403），
+     * 这些响应换一个节点也不会不同。
+     */
+    private static boolean answered(VerificationResponse response) {
+        return response.isOk() || response.isNotModified() || !response.isRetryable();
+    }
+
+    private void record(EndpointStats endpoint, boolean success, Duration elapsed, VerificationOutcome outcome) {
+        // 失败只计入错误率，按整体超时惩罚排序，不计入延迟与对冲等待时间
+        endpoint.record(elapsed, success);
+        metrics.recordEndpoint(endpoint.endpoint(), outcome, elapsed);
+    }
+
+    private record Attempt(String endpoint, VerificationResponse response, RuntimeException error) {
+    }
+}
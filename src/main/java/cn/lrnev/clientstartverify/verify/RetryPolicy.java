@@ -0,0 +1,132 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 启动校验的重试策略
+ * <p>
+ * 大量实例同时重启时，校验服务可能以 429/503 拒绝或暂时不可用。客户端在第一次请求前随机延迟一段按实例规模估算的时间，
+ * 之后使用去相关抖动的指数退避重试：每次等待在基础间隔与上次等待的三倍之间随机，且不超过上限；
+ * 校验服务给出 {@code Retry-After} 时至少等待该时间。令牌桶限制同一进程内的重试速率。
+ * 超过启动预算后才判定失败。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 18:04
+ **/
+public class RetryPolicy {
+
+    private static final RetryPolicy NONE = new RetryPolicy(Duration.ZERO, Duration.ZERO, Duration.ZERO,
+            1, Duration.ZERO, Duration.ZERO);
+
+    private final Duration budget;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration admissionWindow;
+    private final TokenBucket tokens;
+
+    /**
+     * @param budget          启动预算，从第一次请求开始计算
+     * @param baseDelay       退避的基础间隔
+     * @param maxDelay        单次等待的上限
+     * @param burst           令牌桶容量
+     * @param tokenInterval   每生成一个重试令牌的间隔
+     * @param admissionWindow 第一次请求前随机延迟的最大值
+     */
+    public RetryPolicy(Duration budget, Duration baseDelay, Duration maxDelay, int burst, Duration tokenInterval,
+                       Duration admissionWindow) {
+        this.budget = budget;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay.compareTo(baseDelay) < 0 ? baseDelay : maxDelay;
+        this.admissionWindow = admissionWindow;
+        this.tokens = new TokenBucket(burst, tokenInterval);
+    }
+
+    /**
+     * @return 不重试、不延迟的策略
+     */
+    public static RetryPolicy none() {
+        return NONE;
+    }
+
+    /**
+     * 按配置创建重试策略。准入窗口为实例规模除以校验服务可承受的请求速率，且不超过上限。
+     *
+     * @param retry 重试配置
+     * @return 重试策略
+     */
+    public static RetryPolicy of(StartVerifyProperties.Retry retry) {
+        Duration admissionWindow = Duration.ZERO;
+        if (retry.getFleetSize() > 0 && retry.getAdmissionRate() > 0) {
+            admissionWindow = Duration.ofMillis(Math.round(retry.getFleetSize() * 1000.0 / retry.getAdmissionRate()));
+            if (admissionWindow.compareTo(retry.getMaxAdmissionDelay()) > 0) {
+                admissionWindow = retry.getMaxAdmissionDelay();
+            }
+        }
+        return new RetryPolicy(retry.getBudget(), retry.getBaseDelay(), retry.getMaxDelay(), retry.getBurst(),
+                retry.getTokenInterval(), admissionWindow);
+    }
+
+    /**
+     * @return 第一次请求前的随机延迟
+     */
+    public Duration admissionDelay() {
+        if (admissionWindow.isZero() || admissionWindow.isNegative()) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(admissionWindow.toMillis() + 1));
+    }
+
+    /**
+     * @return 从现在开始计算预算的一次重试过程
+     */
+    public Backoff start() {
+        return new Backoff(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * 一次启动校验的重试过程
+     */
+    public final class Backoff {
+
+        private final long deadlineNanos;
+        private Duration previous = Duration.ZERO;
+
+        private Backoff(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * 计算下次重试前的等待时间。
+         *
+         * @param retryAfter 校验服务建议的等待时间
+         * @return 等待时间，超出启动预算时返回空Optional
+         */
+        public Optional<Duration> next(Duration retryAfter) {
+            Duration delay = decorrelated();
+            if (retryAfter != null && retryAfter.compareTo(delay) > 0) {
+                // 在建议时间之后再加一段随机时间，避免所有实例在同一时刻重试
+                delay = retryAfter.plusMillis(ThreadLocalRandom.current().nextLong(baseDelay.toMillis() + 1));
+            }
+            Duration throttled = tokens.reserve();
+            if (throttled.compareTo(delay) > 0) {
+                delay = throttled;
+            }
+            if (System.nanoTime() + delay.toNanos() >= deadlineNanos) {
+                return Optional.empty();
+            }
+            return Optional.of(delay);
+        }
+
+        private Duration decorrelated() {
+            long base = baseDelay.toMillis();
+            long upper = Math.max(base, previous.toMillis() * 3);
+            long millis = Math.min(maxDelay.toMillis(), base + ThreadLocalRandom.current().nextLong(upper - base + 1));
+            previous = Duration.ofMillis(millis);
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package cn.lrnev.clientstartverify.verify;
+
+/**
+ * 启动校验未通过
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 15:10
+ **/
+public class StartVerificationException extends RuntimeException {
+
+    public StartVerificationException(String message) {
+        super(message);
+    }
+
+    public StartVerificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
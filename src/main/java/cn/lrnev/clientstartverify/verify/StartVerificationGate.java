@@ -0,0 +1,104 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动校验关口
+ * <p>
+ * 在 Web 服务器开始接收请求之前等待提前校验的结果，校验未通过时抛出 {@link StartVerificationException} 终止启动。
+ * 提前校验没有开始时（例如未通过 {@code SpringApplication} 启动），在此处同步校验。
+ * 提前校验开始的离线租约续期被拒绝时，由应用上下文提供的处理终止应用。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 15:20
+ **/
+@Slf4j
+public class StartVerificationGate implements SmartLifecycle {
+
+    /**
+     * 早于 Web 服务器启动的阶段
+     */
+    public static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private final ObjectProvider<EarlyStartVerification> earlyVerification;
+    private final StartVerifier startVerifier;
+    private final Duration timeout;
+    private final VerificationMetrics metrics;
+    private final Runnable onRevoked;
+
+    private volatile boolean running;
+
+    /**
+     * @param earlyVerification 提前开始的校验
+     * @param startVerifier     提前校验没有开始时使用的校验器
+     * @param timeout           等待提前校验结果的最长时间
+     * @param metrics           接收提前校验各阶段记录的实现
+     */
+    public StartVerificationGate(ObjectProvider<EarlyStartVerification> earlyVerification,
+                                 StartVerifier startVerifier, Duration timeout, VerificationMetrics metrics) {
+        this(earlyVerification, startVerifier, timeout, metrics, () -> {
+        });
+    }
+
+    /**
+     * @param earlyVerification 提前开始的校验
+     * @param startVerifier     提前校验没有开始时使用的校验器
+     * @param timeout           等待提前校验结果的最长时间
+     * @param metrics           接收提前校验各阶段记录的实现
+     * @param onRevoked         提前校验开始的离线租约续期被拒绝时的处理
+     */
+    public StartVerificationGate(ObjectProvider<EarlyStartVerification> earlyVerification,
+                                 StartVerifier startVerifier, Duration timeout, VerificationMetrics metrics,
+                                 Runnable onRevoked) {
+        this.earlyVerification = earlyVerification;
+        this.startVerifier = startVerifier;
+        this.timeout = timeout;
+        this.metrics = metrics;
+        this.onRevoked = onRevoked;
+    }
+
+    @Override
+    public void start() {
+        EarlyStartVerification verification = earlyVerification.getIfAvailable();
+        if (verification == null) {
+            log.info("Early start verification was not started, verifying before the web server starts.");
+            startVerifier.verify();
+        } else {
+            long start = System.nanoTime();
+            try {
+                verification.await(timeout);
+            } catch (StartVerificationException e) {
+                log.error("Failed to perform start verification: {}", e.getMessage());
+                throw e;
+            } finally {
+                verification.replayTo(metrics);
+            }
+            log.info("Client verification completed successfully, waited {} ms after context refresh.",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            verification.onRenewalRejected(onRevoked);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
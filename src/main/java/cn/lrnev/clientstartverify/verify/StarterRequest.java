@@ -1,7 +1,11 @@
 package cn.lrnev.clientstartverify.verify;
 
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
+import java.util.Map;
+
 /**
  *
  * 启动参数
@@ -10,6 +14,7 @@ import lombok.Data;
  * @since 2024/12/2 16:01
  **/
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class StarterRequest {
     /**
      * 主板序列号
@@ -41,6 +46,16 @@ public class StarterRequest {
      */
     private String ip;
 
+    /**
+     * 容器运行时，不在容器中运行时为 none
+     */
+    private String runtime;
+
+    /**
+     * 容器身份：机器ID、所在节点、Pod UID 与容器的 cgroup 标识，不在容器中运行时为空字符串
+     */
+    private String containerIdentity;
+
     /**
      * 端口
      */
@@ -60,4 +75,19 @@ public class StarterRequest {
      * 密钥
      */
     private String secretKey;
+
+    /**
+     * 是否有硬件信息在采集截止时间内没有取得
+     */
+    private boolean partial;
+
+    /**
+     * 硬件指纹的综合摘要，只携带摘要时代替原始的硬件序列号，见 {@link FingerprintDigest}
+     */
+    private String fingerprintDigest;
+
+    /**
+     * 每个组成部分的摘要，只携带摘要时代替原始的硬件序列号
+     */
+    private Map<FingerprintComponent, String> componentDigests;
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package cn.lrnev.clientstartverify.verify;
+
+import java.time.Duration;
+
+/**
+ * 令牌桶，限制同一进程内重试请求的速率
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 18:02
+ **/
+class TokenBucket {
+
+    private final int capacity;
+    private final long intervalNanos;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param capacity 桶容量，即允许的突发请求数
+     * @param interval 每生成一个令牌的间隔
+     */
+    TokenBucket(int capacity, Duration interval) {
+        this.capacity = Math.max(1, capacity);
+        this.intervalNanos = Math.max(1, interval.toNanos());
+        this.tokens = this.capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * 预留一个令牌。
+     *
+     * @return 令牌可用前需要等待的时间，有令牌时为 0
+     */
+    synchronized Duration reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (double) (now - refilledAt) / intervalNanos);
+        refilledAt = now;
+        tokens -= 1;
+        if (tokens >= 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos((long) Math.ceil(-tokens * intervalNanos));
+    }
+}
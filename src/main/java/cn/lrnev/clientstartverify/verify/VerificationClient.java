@@ -0,0 +1,240 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.core.R;
+import cn.lrnev.clientstartverify.transport.JdkHttpTransport;
+import cn.lrnev.clientstartverify.transport.TransportRequest;
+import cn.lrnev.clientstartverify.transport.TransportResponse;
+import cn.lrnev.clientstartverify.transport.VerificationTransport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 校验服务客户端
+ * <p>
+ * 以 JSON 或 CBOR 编码请求，可以对较大的请求体进行 gzip 压缩，通过 {@link VerificationTransport} 发送，
+ * 按响应的 Content-Type 解码响应体。校验服务以 415 拒绝 CBOR 或压缩的请求时改用未压缩的 JSON 重新发送，之后的请求都使用 JSON。
+ * 返回 HTTP 状态、响应体与条件请求相关的响应头；非 2xx 状态不抛出异常，由调用方判断。
+ * 只有连接失败、超时等没有得到 HTTP 响应的情况抛出异常。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 16:42
+ **/
+@Slf4j
+public class VerificationClient implements AutoCloseable {
+
+    /**
+     * 条件请求头，携带上次响应的许可版本
+     */
+    public static final String IF_NONE_MATCH = "If-None-Match";
+
+    /**
+     * 许可版本响应头
+     */
+    public static final String ETAG = "ETag";
+
+    /**
+     * 下次检查间隔（秒）响应头
+     */
+    public static final String NEXT_CHECK_HEADER = "X-Start-Verify-Next-Check";
+
+    /**
+     * 重试等待时间响应头，秒数或 HTTP 日期
+     */
+    public static final String RETRY_AFTER = "Retry-After";
+
+    private static final int UNSUPPORTED_MEDIA_TYPE = 415;
+
+    private final VerificationTransport transport;
+    private final Duration readTimeout;
+    private final WireFormat format;
+    private final int compressMinSize;
+
+    // 校验服务不支持 CBOR 或压缩时改用 JSON
+    private volatile boolean jsonOnly;
+
+    /**
+     * 不限制超时的客户端
+     */
+    public VerificationClient() {
+        this(null, null);
+    }
+
+    /**
+     * @param connectTimeout 连接超时，为 null 时不限制
+     * @param readTimeout    等待响应的超时，为 null 时不限制
+     */
+    public VerificationClient(Duration connectTimeout, Duration readTimeout) {
+        this(connectTimeout, readTimeout, WireFormat.JSON, -1);
+    }
+
+    /**
+     * @param connectTimeout  连接超时，为 null 时不限制
+     * @param readTimeout     等待响应的超时，为 null 时不限制
+     * @param format          请求的编码格式，选择 CBOR 但类路径中没有 {@code jackson-dataformat-cbor} 时使用 JSON
+     * @param compressMinSize 请求体达到该字节数时进行 gzip 压缩，为负数时不压缩
+     */
+    public VerificationClient(Duration connectTimeout, Duration readTimeout, WireFormat format, int compressMinSize) {
+        this(new JdkHttpTransport(connectTimeout), readTimeout, format, compressMinSize);
+    }
+
+    /**
+     * @param transport       传输层
+     * @param readTimeout     等待响应的超时，为 null 时使用传输层的默认值
+     * @param format          请求的编码格式，选择 CBOR 但类路径中没有 {@code jackson-dataformat-cbor} 时使用 JSON
+     * @param compressMinSize 请求体达到该字节数时进行 gzip 压缩，为负数时不压缩
+     */
+    public VerificationClient(VerificationTransport transport, Duration readTimeout, WireFormat format,
+                              int compressMinSize) {
+        this.transport = transport;
+        this.readTimeout = readTimeout;
+        if (format == WireFormat.CBOR && !VerificationCodec.isCborAvailable()) {
+            log.warn("CBOR requested but jackson-dataformat-cbor is not on the classpath, using JSON.");
+            format = WireFormat.JSON;
+        }
+        this.format = format;
+        this.compressMinSize = compressMinSize;
+    }
+
+    /**
+     * 发送请求并等待响应。
+     *
+     * @param url     接口地址
+     * @param body    请求体
+     * @param headers 额外的请求头
+     * @return 校验服务的响应
+     */
+    public VerificationResponse post(String url, Object body, Map<String, String> headers) {
+        try {
+            return postAsync(url, body, headers).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the verification service.", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    /**
+     * 异步发送请求。
+     *
+     * @param url     接口地址
+     * @param body    请求体
+     * @param headers 额外的请求头
+     * @return 得到 HTTP 响应时完成；没有得到响应时以异常完成
+     */
+    public CompletableFuture<VerificationResponse> postAsync(String url, Object body, Map<String, String> headers) {
+        boolean negotiated = !jsonOnly && (format != WireFormat.JSON || compressMinSize >= 0);
+        if (!negotiated) {
+            return send(url, body, headers, WireFormat.JSON, -1);
+        }
+        return send(url, body, headers, format, compressMinSize).thenCompose(response -> {
+            if (response.getStatus() != UNSUPPORTED_MEDIA_TYPE) {
+                return CompletableFuture.completedFuture(response);
+            }
+            log.info("Verification service {} does not accept {}{}, falling back to JSON.", url, format.mediaType(),
+                    compressMinSize >= 0 ? " or gzip" : "");
+            jsonOnly = true;
+            return send(url, body, headers, WireFormat.JSON, -1);
+        });
+    }
+
+    @Override
+    public void close() {
+        transport.close();
+    }
+
+    /**
+     * 把异步请求的异常还原为同步调用时的异常：运行时异常原样抛出，I/O 异常包装为 {@link UncheckedIOException}。
+     *
+     * @param cause 异步请求的异常
+     * @return 需要抛出的异常
+     */
+    static RuntimeException unwrap(Throwable cause) {
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof IOException io) {
+            return new UncheckedIOException(io);
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private CompletableFuture<VerificationResponse> send(String url, Object body, Map<String, String> headers,
+                                                         WireFormat requestFormat, int compressAbove) {
+        byte[] content = VerificationCodec.encode(body, requestFormat);
+        Map<String, String> requestHeaders = new HashMap<>();
+        requestHeaders.put("Content-Type", requestFormat.mediaType());
+        requestHeaders.put("Accept", requestFormat == WireFormat.CBOR
+                ? WireFormat.CBOR.mediaType() + ", " + WireFormat.JSON.mediaType() + ";q=0.9"
+                : WireFormat.JSON.mediaType());
+        requestHeaders.put("Accept-Encoding", VerificationCodec.GZIP);
+        if (compressAbove >= 0 && content.length >= compressAbove) {
+            content = VerificationCodec.gzip(content);
+            requestHeaders.put("Content-Encoding", VerificationCodec.GZIP);
+        }
+        requestHeaders.putAll(headers);
+        return transport.send(new TransportRequest(url, requestHeaders, content, readTimeout))
+                .thenApply(VerificationClient::toResponse);
+    }
+
+    private static VerificationResponse toResponse(TransportResponse response) {
+        String nextCheck = response.header(NEXT_CHECK_HEADER);
+        return new VerificationResponse(response.status(), body(response), response.header(ETAG),
+                nextCheck == null ? null : VerificationResponse.seconds(nextCheck),
+                retryAfter(response.header(RETRY_AFTER)));
+    }
+
+    private static R<?> body(TransportResponse response) {
+        if (response.status() == VerificationResponse.NOT_MODIFIED || response.body().length == 0) {
+            return null;
+        }
+        try {
+            return VerificationCodec.decode(response.body(), WireFormat.fromContentType(response.header("Content-Type")),
+                    response.header("Content-Encoding"));
+        } catch (RuntimeException e) {
+            // 网关在过载时可能返回非 JSON 的错误页
+            if (response.status() >= 200 && response.status() < 300) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 解析 {@code Retry-After}，支持秒数与 HTTP 日期，无法解析时返回 null。
+     *
+     * @param value 响应头的值
+     * @return 等待时间
+     */
+    static Duration retryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Duration seconds = VerificationResponse.seconds(value);
+        if (seconds != null) {
+            return seconds;
+        }
+        try {
+            Instant at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            Duration wait = Duration.between(Instant.now(), at);
+            return wait.isNegative() ? Duration.ZERO : wait;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
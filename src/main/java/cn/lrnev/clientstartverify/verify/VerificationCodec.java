@@ -0,0 +1,113 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.core.R;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 校验请求与响应的编解码
+ * <p>
+ * 支持 JSON 与 CBOR，并可以对请求体进行 gzip 压缩。CBOR 依赖 {@code jackson-dataformat-cbor}，类路径中没有时只能使用 JSON。
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 19:20
+ **/
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class VerificationCodec {
+
+    /**
+     * gzip 内容编码
+     */
+    public static final String GZIP = "gzip";
+
+    private static final boolean CBOR_PRESENT = ClassUtils.isPresent(
+            "com.fasterxml.jackson.dataformat.cbor.CBORFactory", VerificationCodec.class.getClassLoader());
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * @return 类路径中是否有 {@code jackson-dataformat-cbor}
+     */
+    public static boolean isCborAvailable() {
+        return CBOR_PRESENT;
+    }
+
+    /**
+     * @param body   请求体
+     * @param format 编码格式
+     * @return 编码后的字节
+     */
+    public static byte[] encode(Object body, WireFormat format) {
+        try {
+            return mapper(format).writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param content         响应体
+     * @param format          编码格式
+     * @param contentEncoding 响应的 Content-Encoding，为 gzip 时先解压
+     * @return 响应对象
+     */
+    public static R<?> decode(byte[] content, WireFormat format, String contentEncoding) {
+        try {
+            byte[] decoded = GZIP.equalsIgnoreCase(contentEncoding) ? gunzip(content) : content;
+            return mapper(format).readValue(decoded, R.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param content 原始字节
+     * @return gzip 压缩后的字节
+     */
+    public static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] content) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static ObjectMapper mapper(WireFormat format) {
+        if (format == WireFormat.CBOR) {
+            if (!CBOR_PRESENT) {
+                throw new IllegalStateException("CBOR requires com.fasterxml.jackson.dataformat:jackson-dataformat-cbor");
+            }
+            return CborMapperHolder.MAPPER;
+        }
+        return JSON_MAPPER;
+    }
+
+    /**
+     * 延迟加载，类路径中没有 {@code jackson-dataformat-cbor} 时不会初始化
+     */
+    private static final class CborMapperHolder {
+        private static final ObjectMapper MAPPER = new ObjectMapper(new CBORFactory())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+}
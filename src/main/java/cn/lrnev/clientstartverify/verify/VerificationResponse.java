@@ -0,0 +1,123 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.core.HttpStatus;
+import cn.lrnev.clientstartverify.core.R;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 校验服务的响应：HTTP 状态、响应体与条件请求相关的响应头
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 16:40
+ **/
+@Getter
+public class VerificationResponse {
+
+    /**
+     * 许可未变化
+     */
+    public static final int NOT_MODIFIED = 304;
+
+    private final int status;
+
+    /**
+     * 响应体，304 或没有内容时为 null
+     */
+    private final R<?> body;
+
+    /**
+     * 许可版本，取自 ETag 响应头，没有时取 {@code R.data.version}
+     */
+    private final String etag;
+
+    /**
+     * 校验服务建议的下次检查间隔，取自 {@value VerificationClient#NEXT_CHECK_HEADER} 响应头或 {@code R.data.nextCheck}（秒）
+     */
+    private final Duration nextCheck;
+
+    /**
+     * 校验服务建议的重试等待时间，取自 {@code Retry-After} 响应头或 {@code R.data.retryAfter}（秒）
+     */
+    private final Duration retryAfter;
+
+    public VerificationResponse(int status, R<?> body, String etag, Duration nextCheck) {
+        this(status, body, etag, nextCheck, null);
+    }
+
+    public VerificationResponse(int status, R<?> body, String etag, Duration nextCheck, Duration retryAfter) {
+        this.status = status;
+        this.body = body;
+        this.etag = etag != null ? etag : dataValue(body, "version").map(String::valueOf).orElse(null);
+        this.nextCheck = nextCheck != null ? nextCheck : dataValue(body, "nextCheck")
+                .map(VerificationResponse::seconds).orElse(null);
+        this.retryAfter = retryAfter != null ? retryAfter : dataValue(body, "retryAfter")
+                .map(VerificationResponse::seconds).orElse(null);
+    }
+
+    /**
+     * @return 是否为 2xx 状态
+     */
+    public boolean isOk() {
+        return status >= 200 && status < 300;
+    }
+
+    /**
+     * @return 是否为 304 状态
+     */
+    public boolean isNotModified() {
+        return status == NOT_MODIFIED;
+    }
+
+    /**
+     * 校验服务过载或暂时不可用：HTTP 429、5xx，或响应体中的业务码为 429、503。
+     *
+     * @return 是否可以稍后重试
+     */
+    public boolean isRetryable() {
+        if (status == HttpStatus.TOO_MANY_REQUESTS || status >= HttpStatus.ERROR) {
+            return true;
+        }
+        Integer code = body == null ? null : body.getCode();
+        return code != null && (code == HttpStatus.TOO_MANY_REQUESTS || code == HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * @return 校验服务建议的重试等待时间
+     */
+    public Optional<Duration> findRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+
+    /**
+     * @return 校验服务建议的下次检查间隔
+     */
+    public Optional<Duration> findNextCheck() {
+        return Optional.ofNullable(nextCheck);
+    }
+
+    /**
+     * 解析以秒为单位的间隔，无法解析时返回 null。
+     *
+     * @param value 秒数
+     * @return 间隔
+     */
+    static Duration seconds(Object value) {
+        try {
+            long seconds = value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value).trim());
+            return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Optional<Object> dataValue(R<?> body, String key) {
+        if (body != null && body.getData() instanceof Map<?, ?> data) {
+            return Optional.ofNullable(data.get(key));
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,41 @@
+package cn.lrnev.clientstartverify.verify;
+
+/**
+ * 校验请求与响应的编码格式
+ *
+ * @author 鲁子狄
+ * @since 2026/10/17 19:20
+ **/
+public enum WireFormat {
+
+    /**
+     * JSON，所有校验服务都支持
+     */
+    JSON("application/json"),
+
+    /**
+     * CBOR，字段名与数值以二进制编码，需要 {@code jackson-dataformat-cbor}
+     */
+    CBOR("application/cbor");
+
+    private final String mediaType;
+
+    WireFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * @return 对应的 Content-Type
+     */
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @param contentType 响应的 Content-Type
+     * @return 对应的编码格式，无法识别时为 {@link #JSON}
+     */
+    public static WireFormat fromContentType(String contentType) {
+        return contentType != null && contentType.toLowerCase().contains("cbor") ? CBOR : JSON;
+    }
+}
@@ -1,9 +1,24 @@
 package cn.lrnev.clientstartverify;
 
+import cn.lrnev.clientstartverify.command.CommandRunner;
+import cn.lrnev.clientstartverify.command.RecordedCommandRunner;
+import cn.lrnev.clientstartverify.detector.FingerprintCollector;
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.detector.OperatingSystemDetector;
+import cn.lrnev.clientstartverify.transport.ForestTransport;
+import cn.lrnev.clientstartverify.transport.JdkHttpTransport;
+import cn.lrnev.clientstartverify.transport.VerificationTransport;
 import cn.lrnev.clientstartverify.verify.DefaultStartVerifier;
+import cn.lrnev.clientstartverify.verify.HeartbeatStartVerifier;
+import cn.lrnev.clientstartverify.verify.StartVerificationGate;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
@@ -11,8 +26,13 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.*;
@@ -21,8 +41,22 @@ import static org.mockito.Mockito.*;
 @ExtendWith(SpringExtension.class)
 class DefaultStartVerifierAutoConfigurationTests {
 
-    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
-            .withConfiguration(AutoConfigurations.of(ClientStartVerifyAutoConfiguration.class));
+    @TempDir
+    Path home;
+
+    private ApplicationContextRunner contextRunner;
+
+    /**
+     * 硬件指纹缓存、探针能力档案与代理套接字都放在临时目录中，不读写用户主目录。
+     */
+    @BeforeEach
+    void setUp() {
+        contextRunner = new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ClientStartVerifyAutoConfiguration.class))
+                .withPropertyValues("start-verify.cache.path=" + home.resolve("fingerprint.properties"),
+                        "start-verify.cache.capabilities-path=" + home.resolve("capabilities.properties"),
+                        "start-verify.agent.socket-path=" + home.resolve("agent.sock"));
+    }
 
     /**
      * 测试当属性 start-verify.enabled 设置为 true 时，clientStartVerifyRunner Bean 是否被创建。
@@ -54,6 +88,89 @@ class DefaultStartVerifierAutoConfigurationTests {
                         .isThrownBy(() -> context.getBean(CommandLineRunner.class)));
     }
 
+    /**
+     * 测试探针执行器以独立的 Bean 注册，且不会成为宿主应用按类型注入 Executor 时的候选。
+     */
+    @Test
+    void testProbeExecutorIsNotDefaultCandidate() {
+        contextRunner
+                .withUserConfiguration(ExecutorConsumerConfiguration.class)
+                .run(context -> {
+                    assertThat(context).hasBean(ClientStartVerifyAutoConfiguration.PROBE_EXECUTOR_BEAN_NAME);
+                    assertThat(context.getBean(ExecutorConsumerConfiguration.class).executor).isNull();
+                });
+    }
+
+    /**
+     * 测试宿主应用注册的采集器替换内置实现，关闭的组成部分不采集。内置采集器使用回放的命令执行器与
+     * 空的临时 sysfs 目录，不读取本机硬件也不执行 dmidecode、lsblk 等命令。
+     */
+    @Test
+    void testFingerprintCollectorsAreConfigurable() {
+        RecordedCommandRunner commandRunner = new RecordedCommandRunner();
+        contextRunner
+                .withUserConfiguration(CustomCollectorConfiguration.class)
+                .withBean(CommandRunner.class, () -> commandRunner)
+                .withBean(LinuxSysfsReader.class, () -> new LinuxSysfsReader(home.resolve("sysfs")))
+                .withPropertyValues("start-verify.detector.components.memory=false",
+                        "start-verify.cache.enabled=false")
+                .run(context -> {
+                    OperatingSystemDetector detector = context.getBean(OperatingSystemDetector.class);
+                    assertThat(detector.components()).doesNotContain(FingerprintComponent.MEMORY)
+                            .contains(FingerprintComponent.MB, FingerprintComponent.IP);
+                    StarterRequest request = detector.detect(new MockEnvironment());
+                    assertThat(request.getMbSerialNo()).isEqualTo("custom");
+                    assertThat(request.getMemorySerialNo()).isEmpty();
+                    assertThat(request.getCpuSerialNo()).isEmpty();
+                });
+    }
+
+    /**
+     * 测试默认使用 JDK HttpClient 传输层，配置 forest 时使用 Forest。
+     */
+    @Test
+    void testTransportSelection() {
+        contextRunner
+                .run(context -> assertThat(context).getBean(VerificationTransport.class)
+                        .isInstanceOf(JdkHttpTransport.class));
+        contextRunner
+                .withPropertyValues("start-verify.client.transport=forest")
+                .run(context -> assertThat(context).getBean(VerificationTransport.class)
+                        .isInstanceOf(ForestTransport.class));
+    }
+
+    /**
+     * 测试提前校验模式下注册校验关口代替 CommandLineRunner，且没有提前校验时由关口在刷新期间同步校验。
+     */
+    @Test
+    void testEarlyModeRegistersGateInsteadOfRunner() {
+        contextRunner
+                .withUserConfiguration(MockClientStartVerifyConfiguration.class)
+                .withPropertyValues("start-verify.mode=early")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(StartVerificationGate.class);
+                    assertThat(context).doesNotHaveBean(CommandLineRunner.class);
+                    assertThat(context.getBean(StartVerificationGate.class).isRunning()).isTrue();
+                    verify(context.getBean(DefaultStartVerifier.class), times(1)).verify();
+                });
+    }
+
+    /**
+     * 测试启用心跳后注册后台校验，且不影响按类型注入 StartVerifier。
+     */
+    @Test
+    void testHeartbeatIsRegisteredWhenEnabled() {
+        contextRunner
+                .withUserConfiguration(MockClientStartVerifyConfiguration.class)
+                .withPropertyValues("start-verify.heartbeat.enabled=true", "start-verify.url=http://127.0.0.1:9/verify")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(HeartbeatStartVerifier.class);
+                    assertThat(context.getBean(HeartbeatStartVerifier.class).isRunning()).isTrue();
+                    // CommandLineRunner 按类型注入 StartVerifier，心跳不是默认候选，不会产生歧义
+                    assertThat(context).hasSingleBean(CommandLineRunner.class);
+                });
+    }
+
     @Test
     void testClientStartVerifyRunnerBehavior() {
         // 模拟 ConfigurableApplicationContext 对象
@@ -89,6 +206,27 @@ class DefaultStartVerifierAutoConfigurationTests {
                 });
     }
 
+    /**
+     * 按类型注入 Executor 的宿主应用配置。
+     */
+    @Configuration
+    static class ExecutorConsumerConfiguration {
+        @Autowired(required = false)
+        Executor executor;
+    }
+
+    /**
+     * 替换主板序列号采集器的宿主应用配置。
+     */
+    @Configuration
+    static class CustomCollectorConfiguration {
+        @Bean
+        public FingerprintCollector customMbCollector() {
+            return FingerprintCollector.of(FingerprintComponent.MB, FingerprintCollector.Cost.LOW,
+                    context -> Optional.of("custom"));
+        }
+    }
+
     /**
      * 自定义配置类，用于向测试中注入模拟的 DefaultStartVerifier Bean。
      */
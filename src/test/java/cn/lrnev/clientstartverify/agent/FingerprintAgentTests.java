@@ -0,0 +1,130 @@
+package cn.lrnev.clientstartverify.agent;
+
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class FingerprintAgentTests {
+
+    private static final Set<FingerprintComponent> HARDWARE = FingerprintComponent.hardware();
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 测试第一个实例成为代理，其他实例直接读取代理发布的硬件字段。
+     */
+    @Test
+    void testSecondInstanceFetchesFromAgent() {
+        Path socket = directory.resolve("agent.sock");
+        try (FingerprintAgent server = new FingerprintAgent(socket, Duration.ofSeconds(5));
+             FingerprintAgent client = new FingerprintAgent(socket, Duration.ofSeconds(5))) {
+            assertThat(server.fetch(HARDWARE)).isEmpty();
+            assertThat(server.isServing()).isTrue();
+            server.publish(request(), HARDWARE);
+
+            Optional<StarterRequest> fetched = client.fetch(HARDWARE);
+
+            assertThat(client.isServing()).isFalse();
+            assertThat(fetched).hasValueSatisfying(request -> {
+                assertThat(request.getMbSerialNo()).isEqualTo("mb=1");
+                assertThat(request.getCpuSerialNo()).isEqualTo("cpu 1");
+                assertThat(request.getNicSerialNo()).isEqualTo("00:11:22:33:44:55");
+                assertThat(request.getIp()).isNull();
+            });
+            assertThat(server.fetch(HARDWARE)).isPresent();
+        }
+    }
+
+    /**
+     * 测试代理仍在采集时客户端等待发布的结果。
+     */
+    @Test
+    void testClientWaitsForPublish() {
+        Path socket = directory.resolve("agent.sock");
+        try (FingerprintAgent server = new FingerprintAgent(socket, Duration.ofSeconds(5));
+             FingerprintAgent client = new FingerprintAgent(socket, Duration.ofSeconds(5))) {
+            assertThat(server.serve()).isTrue();
+            CompletableFuture<Optional<StarterRequest>> fetched = CompletableFuture.supplyAsync(
+                    () -> client.fetch(HARDWARE));
+
+            server.publish(request(), HARDWARE);
+
+            assertThat(fetched.join()).hasValueSatisfying(
+                    request -> assertThat(request.getDiskSerialNo()).isEqualTo("disk"));
+        }
+    }
+
+    /**
+     * 测试启用的组成部分不一致、代理超时或代理已退出时返回空，由调用方在本地采集。
+     */
+    @Test
+    void testFallsBackWhenAgentUnavailable() {
+        Path socket = directory.resolve("agent.sock");
+        try (FingerprintAgent server = new FingerprintAgent(socket, Duration.ofMillis(200));
+             FingerprintAgent client = new FingerprintAgent(socket, Duration.ofMillis(200))) {
+            assertThat(server.serve()).isTrue();
+            assertThat(client.fetch(HARDWARE)).isEmpty();
+
+            server.publish(request(), HARDWARE);
+            assertThat(client.fetch(EnumSet.of(FingerprintComponent.MB))).isEmpty();
+
+            server.close();
+            assertThat(Files.exists(socket)).isFalse();
+            assertThat(client.fetch(HARDWARE)).isEmpty();
+            // 代理退出后下一个实例取得文件锁
+            assertThat(client.isServing()).isTrue();
+        }
+        assertThat(FingerprintAgent.disabled().fetch(HARDWARE)).isEmpty();
+    }
+
+    /**
+     * 测试连接后不发送请求的客户端在超时后被断开，不影响其他客户端；套接字只允许本用户访问。
+     */
+    @Test
+    void testSilentClientIsDisconnected() throws IOException {
+        Path socket = directory.resolve("agent.sock");
+        try (FingerprintAgent server = new FingerprintAgent(socket, Duration.ofMillis(300));
+             FingerprintAgent client = new FingerprintAgent(socket, Duration.ofSeconds(5))) {
+            assertThat(server.serve()).isTrue();
+            server.publish(request(), HARDWARE);
+            assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(socket))).isEqualTo("rw-------");
+            assertThat(directory).isDirectoryNotContaining(path -> path.getFileName().toString().startsWith(".agent-"));
+
+            try (SocketChannel silent = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+                assertThat(client.fetch(HARDWARE)).isPresent();
+
+                int read = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> silent.read(ByteBuffer.allocate(1)));
+                assertThat(read).isEqualTo(-1);
+            }
+        }
+    }
+
+    private static StarterRequest request() {
+        StarterRequest request = new StarterRequest();
+        request.setMbSerialNo("mb=1");
+        request.setCpuSerialNo("cpu 1");
+        request.setMemorySerialNo("memory");
+        request.setDiskSerialNo("disk");
+        request.setNicSerialNo("00:11:22:33:44:55");
+        request.setIp("10.0.0.1");
+        return request;
+    }
+}
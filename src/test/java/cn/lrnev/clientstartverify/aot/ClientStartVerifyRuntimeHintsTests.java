@@ -0,0 +1,49 @@
+package cn.lrnev.clientstartverify.aot;
+
+import cn.lrnev.clientstartverify.core.R;
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.lease.VerificationLease;
+import cn.lrnev.clientstartverify.verify.HeartbeatRequest;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientStartVerifyRuntimeHintsTests {
+
+    /**
+     * 测试 Jackson 序列化的类型与绑定的配置类型都注册了反射提示。
+     */
+    @Test
+    void testReflectionHintsAreRegistered() {
+        RuntimeHints hints = new RuntimeHints();
+        new ClientStartVerifyRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(StarterRequest.class, "getMbSerialNo"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(StarterRequest.class, "setComponentDigests"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(HeartbeatRequest.class, "setFingerprintDigest"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(R.class, "setData")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(VerificationLease.class, "setExpiresAt"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(StartVerifyProperties.Client.class,
+                "setFingerprintFormat")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Thread.class)).accepts(hints);
+    }
+
+    /**
+     * 测试通过 aot.factories 注册，AOT 处理时无论自动配置是否生效都会加载。
+     */
+    @Test
+    void testRegisteredInAotFactories() {
+        assertThat(SpringFactoriesLoader.forResourceLocation("META-INF/spring/aot.factories")
+                .load(RuntimeHintsRegistrar.class))
+                .hasAtLeastOneElementOfType(ClientStartVerifyRuntimeHints.class);
+    }
+}
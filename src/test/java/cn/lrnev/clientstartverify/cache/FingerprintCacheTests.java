@@ -0,0 +1,119 @@
+package cn.lrnev.clientstartverify.cache;
+
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FingerprintCacheTests {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T05:00:00Z");
+
+    @TempDir
+    Path root;
+
+    private Path cacheFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cacheFile = root.resolve("home/.client-start-verify/fingerprint.properties");
+        write("proc/sys/kernel/random/boot_id", "9b31a6b5-fc3b-4566-9fe9-98027b16f1a1");
+        write("etc/machine-id", "2f792dd09acb41229091a963bed5b2c7");
+        write("sys/class/net/eth0/type", "1");
+        write("sys/class/net/eth0/ifindex", "2");
+        write("sys/class/net/eth0/address", "52:54:00:aa:bb:01");
+    }
+
+    /**
+     * 测试保存后在主机特征不变时命中缓存。
+     */
+    @Test
+    void testStoreThenLoadHit() {
+        cache(NOW, false).store(hardware());
+
+        assertThat(cache(NOW.plusSeconds(60), false).load())
+                .hasValueSatisfying(request -> {
+                    assertThat(request.getMbSerialNo()).isEqualTo("BSN12345");
+                    assertThat(request.getNicSerialNo()).isEqualTo("52:54:00:aa:bb:01");
+                    assertThat(request.getCustomer()).isNull();
+                });
+    }
+
+    /**
+     * 测试重启（启动ID变化）、网卡变化、过期与强制刷新都会使缓存失效。
+     */
+    @Test
+    void testInvalidation() throws IOException {
+        cache(NOW, false).store(hardware());
+
+        assertThat(cache(NOW.plus(Duration.ofHours(25)), false).load()).isEmpty();
+        assertThat(cache(NOW, true).load()).isEmpty();
+
+        write("sys/class/net/eth0/address", "52:54:00:aa:bb:99");
+        assertThat(cache(NOW, false).load()).isEmpty();
+
+        write("sys/class/net/eth0/address", "52:54:00:aa:bb:01");
+        write("proc/sys/kernel/random/boot_id", "00000000-0000-0000-0000-000000000000");
+        assertThat(cache(NOW, false).load()).isEmpty();
+    }
+
+    /**
+     * 测试缓存文件被修改后校验和不匹配。
+     */
+    @Test
+    void testTamperedCacheIsRejected() throws IOException {
+        cache(NOW, false).store(hardware());
+        Files.writeString(cacheFile, Files.readString(cacheFile).replace("BSN12345", "BSN99999"));
+
+        assertThat(cache(NOW, false).load()).isEmpty();
+    }
+
+    /**
+     * 测试启用的组成部分变化后缓存失效，避免使用未采集的组成部分的空值。
+     */
+    @Test
+    void testComponentsChangeInvalidatesCache() {
+        Set<FingerprintComponent> withoutMemory = EnumSet.of(FingerprintComponent.MB, FingerprintComponent.CPU,
+                FingerprintComponent.DISK, FingerprintComponent.NIC);
+        cache(NOW, false).store(hardware(), withoutMemory);
+
+        assertThat(cache(NOW, false).load(withoutMemory)).isPresent();
+        assertThat(cache(NOW, false).load()).isEmpty();
+    }
+
+    private FingerprintCache cache(Instant now, boolean forceRefresh) {
+        return new FingerprintCache(cacheFile, Duration.ofHours(24), forceRefresh, "1!v*wQVsUyLSPDv6",
+                new LinuxSysfsReader(root), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static StarterRequest hardware() {
+        StarterRequest request = new StarterRequest();
+        request.setMbSerialNo("BSN12345");
+        request.setCpuSerialNo("54 06 05 00 FF FB EB BF");
+        request.setMemorySerialNo("3A1F0C2B");
+        request.setDiskSerialNo("WD-WCC4E1234567");
+        request.setNicSerialNo("52:54:00:aa:bb:01");
+        request.setCustomer("ignored");
+        return request;
+    }
+
+    private void write(String relative, String content) throws IOException {
+        Path file = root.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content + "\n");
+    }
+}
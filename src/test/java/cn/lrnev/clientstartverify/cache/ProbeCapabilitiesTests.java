@@ -0,0 +1,90 @@
+package cn.lrnev.clientstartverify.cache;
+
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.detector.ProbeCapability;
+import cn.lrnev.clientstartverify.detector.ProbeStrategy;
+import cn.lrnev.clientstartverify.detector.SudoMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProbeCapabilitiesTests {
+
+    @TempDir
+    Path root;
+
+    private Path profile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        profile = root.resolve("home/.client-start-verify/capabilities.properties");
+        write("proc/sys/kernel/random/boot_id", "9b31a6b5-fc3b-4566-9fe9-98027b16f1a1");
+        write("proc/sys/kernel/osrelease", "6.8.0-45-generic");
+    }
+
+    /**
+     * 测试记录的方式与不可用的探针在下次启动时读取。
+     */
+    @Test
+    void testRecordThenFind() {
+        ProbeCapabilities capabilities = capabilities(SudoMode.AUTO, false);
+        capabilities.record(FingerprintComponent.DISK, new ProbeCapability(ProbeStrategy.COMMAND, Duration.ofMillis(12)));
+        capabilities.record(FingerprintComponent.MEMORY, ProbeCapability.unavailable(Duration.ofMillis(30)));
+
+        ProbeCapabilities next = capabilities(SudoMode.AUTO, false);
+        assertThat(next.find(FingerprintComponent.DISK))
+                .hasValue(new ProbeCapability(ProbeStrategy.COMMAND, Duration.ofMillis(12)));
+        assertThat(next.find(FingerprintComponent.MEMORY)).hasValueSatisfying(
+                capability -> assertThat(capability.available()).isFalse());
+        assertThat(next.find(FingerprintComponent.MB)).isEmpty();
+    }
+
+    /**
+     * 测试内核版本、启动ID或 sudo 设置变化以及强制刷新时档案失效。
+     */
+    @Test
+    void testInvalidation() throws IOException {
+        capabilities(SudoMode.AUTO, false).record(FingerprintComponent.MB,
+                ProbeCapability.unavailable(Duration.ofMillis(5)));
+
+        assertThat(capabilities(SudoMode.NEVER, false).find(FingerprintComponent.MB)).isEmpty();
+        assertThat(capabilities(SudoMode.AUTO, true).find(FingerprintComponent.MB)).isEmpty();
+
+        write("proc/sys/kernel/osrelease", "6.8.0-47-generic");
+        assertThat(capabilities(SudoMode.AUTO, false).find(FingerprintComponent.MB)).isEmpty();
+
+        write("proc/sys/kernel/osrelease", "6.8.0-45-generic");
+        assertThat(capabilities(SudoMode.AUTO, false).find(FingerprintComponent.MB)).isPresent();
+        write("proc/sys/kernel/random/boot_id", "00000000-0000-0000-0000-000000000000");
+        assertThat(capabilities(SudoMode.AUTO, false).find(FingerprintComponent.MB)).isEmpty();
+    }
+
+    /**
+     * 测试未启用时不写入文件。
+     */
+    @Test
+    void testDisabledWritesNothing() {
+        ProbeCapabilities.disabled().record(FingerprintComponent.MB, ProbeCapability.unavailable(Duration.ZERO));
+
+        assertThat(ProbeCapabilities.disabled().find(FingerprintComponent.MB)).isEmpty();
+        assertThat(profile).doesNotExist();
+    }
+
+    private ProbeCapabilities capabilities(SudoMode sudo, boolean forceRefresh) {
+        return new ProbeCapabilities(profile, forceRefresh, sudo, new LinuxSysfsReader(root));
+    }
+
+    private void write(String relative, String content) throws IOException {
+        Path file = root.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content + "\n");
+    }
+}
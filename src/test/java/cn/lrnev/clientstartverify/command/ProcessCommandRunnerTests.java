@@ -0,0 +1,121 @@
+package cn.lrnev.clientstartverify.command;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledOnOs({OS.LINUX, OS.MAC})
+class ProcessCommandRunnerTests {
+
+    private final ProcessCommandRunner runner = new ProcessCommandRunner(8, 16 * 1024);
+
+    @AfterEach
+    void shutdown() {
+        runner.shutdown();
+    }
+
+    /**
+     * 测试输出超过管道缓冲区时不会阻塞，超出上限的部分被截断。
+     */
+    @Test
+    void testLargeOutputIsDrainedAndCapped() {
+        CommandResult result = runner.run(List.of("sh", "-c", "yes 0123456789012345678901234567890123456789 | head -n 20000"),
+                Duration.ofSeconds(5));
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.isTruncated()).isTrue();
+        assertThat(result.getStdout()).hasSizeLessThanOrEqualTo(16 * 1024 / 40);
+        assertThat(result.getElapsed()).isLessThan(Duration.ofSeconds(5));
+    }
+
+    /**
+     * 测试标准输出与标准错误分别收集，结果可以被重复读取。
+     */
+    @Test
+    void testStdoutAndStderrAreCollected() {
+        CommandResult result = runner.run(List.of("sh", "-c", "echo '  first '; echo; echo second; echo oops >&2"),
+                Duration.ofSeconds(5));
+
+        assertThat(result.getExitCode()).isZero();
+        assertThat(result.lines()).containsExactly("first", "second");
+        assertThat(result.lines()).containsExactly("first", "second");
+        assertThat(result.getStderr()).containsExactly("oops");
+    }
+
+    /**
+     * 测试超时后结束整个进程树，并及时返回。
+     */
+    @Test
+    void testTimeoutKillsProcessTree() {
+        CommandResult result = runner.run(List.of("sh", "-c", "sleep 30 & sleep 30"), Duration.ofMillis(300));
+
+        assertThat(result.isTimedOut()).isTrue();
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getElapsed()).isLessThan(Duration.ofSeconds(5));
+        assertThat(ProcessHandle.current().descendants()
+                .filter(ProcessHandle::isAlive)
+                .map(handle -> handle.info().commandLine().orElse(""))
+                .filter(line -> line.contains("sleep 30")))
+                .isEmpty();
+    }
+
+    /**
+     * 测试同时运行的命令多于空闲的读取线程时，快速结束的命令不会因为读取任务排队而得到空输出。
+     */
+    @Test
+    void testConcurrentCommandsDoNotQueueDrains() {
+        List<CompletableFuture<CommandResult>> slow = IntStream.range(0, 3)
+                .mapToObj(i -> CompletableFuture.supplyAsync(
+                        () -> runner.run(List.of("sh", "-c", "sleep 1; echo slow"), Duration.ofSeconds(5))))
+                .toList();
+        try {
+            CommandResult fast = runner.run(List.of("sh", "-c", "sleep 0.2; echo fast"), Duration.ofSeconds(5));
+
+            assertThat(fast.lines()).containsExactly("fast");
+            assertThat(fast.isTruncated()).isFalse();
+        } finally {
+            assertThat(slow).allSatisfy(result -> assertThat(result.join().lines()).containsExactly("slow"));
+        }
+    }
+
+    /**
+     * 测试读取线程用满时新的命令立即失败，不再创建线程。
+     */
+    @Test
+    void testCommandFailsFastWhenDrainPoolIsFull() throws Exception {
+        ProcessCommandRunner bounded = ProcessCommandRunner.of(1);
+        try {
+            CompletableFuture<CommandResult> slow = CompletableFuture.supplyAsync(
+                    () -> bounded.run(List.of("sh", "-c", "sleep 1; echo slow"), Duration.ofSeconds(5)));
+            Thread.sleep(300);
+
+            long start = System.nanoTime();
+            CommandResult rejected = bounded.run(List.of("sh", "-c", "echo fast"), Duration.ofSeconds(5));
+
+            assertThat(rejected.getExitCode()).isEqualTo(CommandResult.NOT_EXITED);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+            assertThat(slow.join().lines()).containsExactly("slow");
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    /**
+     * 测试命令不存在时返回失败结果而不是抛出异常。
+     */
+    @Test
+    void testMissingCommand() {
+        CommandResult result = runner.run(List.of("definitely-not-a-command-start-verify"), Duration.ofSeconds(1));
+
+        assertThat(result.getExitCode()).isEqualTo(CommandResult.NOT_EXITED);
+        assertThat(result.lines()).isEmpty();
+    }
+}
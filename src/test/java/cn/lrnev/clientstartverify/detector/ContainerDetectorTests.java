@@ -0,0 +1,90 @@
+package cn.lrnev.clientstartverify.detector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContainerDetectorTests {
+
+    private static final String CONTAINER_ID = "3f4e1c2b9a8d7e6f5a4b3c2d1e0f9a8b7c6d5e4f3a2b1c0d9e8f7a6b5c4d3e2f";
+
+    @TempDir
+    Path root;
+
+    /**
+     * 测试 Kubernetes 中从环境变量、Downward API 文件与 cgroup 路径取得身份信息。
+     */
+    @Test
+    void testKubernetesIdentity() throws IOException {
+        write("proc/1/cgroup", "12:memory:/kubepods/burstable/pod7c1a/" + CONTAINER_ID);
+        write("proc/self/cgroup", "12:memory:/kubepods/burstable/pod7c1a/" + CONTAINER_ID);
+        write("etc/podinfo/uid", "7c1a8f6e-2b1d-4e5f-9a0b-1c2d3e4f5a6b");
+
+        ContainerDetector detector = new ContainerDetector(root,
+                Map.of("KUBERNETES_SERVICE_HOST", "10.96.0.1", "NODE_NAME", "worker-1")::get, Path.of("/etc/podinfo"));
+
+        assertThat(detector.runtime()).isEqualTo(ContainerRuntime.KUBERNETES);
+        assertThat(detector.identity()).hasValueSatisfying(identity -> {
+            assertThat(identity.nodeName()).isEqualTo("worker-1");
+            assertThat(identity.podUid()).isEqualTo("7c1a8f6e-2b1d-4e5f-9a0b-1c2d3e4f5a6b");
+            assertThat(identity.cgroupId()).isEqualTo(CONTAINER_ID);
+            assertThat(identity.machineId()).isNull();
+            assertThat(identity.canonical()).isEqualTo("node=worker-1, pod=7c1a8f6e-2b1d-4e5f-9a0b-1c2d3e4f5a6b, cgroup="
+                    + CONTAINER_ID);
+        });
+    }
+
+    /**
+     * 测试 cgroup v2 下 Docker 容器通过 {@code /.dockerenv} 识别，容器ID取自 mountinfo。
+     */
+    @Test
+    void testDockerWithCgroupV2() throws IOException {
+        write("proc/1/cgroup", "0::/");
+        write("proc/self/cgroup", "0::/");
+        write(".dockerenv", "");
+        write("proc/self/mountinfo", "520 440 0:155 / / rw,relatime - overlay overlay rw\n"
+                + "541 520 254:1 /var/lib/docker/containers/" + CONTAINER_ID + "/hostname /etc/hostname rw - ext4 /dev/vda1 rw");
+
+        ContainerDetector detector = new ContainerDetector(root, name -> null, Path.of("/etc/podinfo"));
+
+        assertThat(detector.runtime()).isEqualTo(ContainerRuntime.DOCKER);
+        assertThat(detector.identity()).map(ContainerIdentity::cgroupId).hasValue(CONTAINER_ID);
+    }
+
+    /**
+     * 测试没有其他标记时，cgroup 命名空间的根路径与 overlay 根文件系统同时出现才视为容器。
+     */
+    @Test
+    void testCgroupNamespaceMarkers() throws IOException {
+        write("proc/self/cgroup", "0::/");
+        write("proc/self/mountinfo", "22 1 254:1 / / rw,relatime - ext4 /dev/vda1 rw");
+        assertThat(new ContainerDetector(root, name -> null, Path.of("/etc/podinfo")).runtime())
+                .isEqualTo(ContainerRuntime.NONE);
+
+        write("proc/self/mountinfo", "520 440 0:155 / / rw,relatime - overlay overlay rw");
+        ContainerDetector detector = new ContainerDetector(root, name -> null, Path.of("/etc/podinfo"));
+        assertThat(detector.runtime()).isEqualTo(ContainerRuntime.OTHER);
+        assertThat(detector.identity()).hasValueSatisfying(identity -> assertThat(identity.isEmpty()).isTrue());
+    }
+
+    /**
+     * 测试关闭检测后总是视为不在容器中。
+     */
+    @Test
+    void testDisabled() {
+        assertThat(ContainerDetector.disabled().runtime()).isEqualTo(ContainerRuntime.NONE);
+        assertThat(ContainerDetector.disabled().identity()).isEmpty();
+    }
+
+    private void write(String relative, String content) throws IOException {
+        Path file = root.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content + "\n");
+    }
+}
@@ -0,0 +1,115 @@
+package cn.lrnev.clientstartverify.detector;
+
+import cn.lrnev.clientstartverify.cache.FingerprintCache;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HardwareFingerprintTests {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    // 并发访问在独立的线程池上等待，不能占满采集使用的 executor，否则采集任务只能排队到截止时间
+    private final ExecutorService readers = Executors.newFixedThreadPool(8);
+
+    private final AtomicInteger mbRuns = new AtomicInteger();
+
+    private final AtomicInteger ipRuns = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        readers.shutdownNow();
+    }
+
+    /**
+     * 测试第一次访问时才采集，之后的访问与并发访问都使用同一次采集的结果。
+     */
+    @Test
+    void testCollectsLazilyOnce() {
+        HardwareFingerprint fingerprint = new HardwareFingerprint(detector(
+                FingerprintCollector.of(FingerprintComponent.MB, FingerprintCollector.Cost.HIGH,
+                        context -> Optional.of("mb-" + mbRuns.incrementAndGet()))));
+        assertThat(mbRuns).hasValue(0);
+
+        List<CompletableFuture<String>> reads = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> fingerprint.get(FingerprintComponent.MB), readers))
+                .toList();
+
+        assertThat(reads).allSatisfy(read -> assertThat(read.join()).isEqualTo("mb-1"));
+        assertThat(fingerprint.get(FingerprintComponent.IP)).isEqualTo("10.0.0.1");
+        assertThat(fingerprint.get(FingerprintComponent.CPU)).isEmpty();
+        assertThat(mbRuns).hasValue(1);
+        assertThat(ipRuns).hasValue(1);
+    }
+
+    /**
+     * 测试每次组装的请求是独立的副本，端口、客户与项目取自传入的应用环境。
+     */
+    @Test
+    void testRequestsAreIndependentCopies() {
+        HardwareFingerprint fingerprint = new HardwareFingerprint(detector(
+                FingerprintCollector.of(FingerprintComponent.MB, FingerprintCollector.Cost.HIGH,
+                        context -> Optional.of("mb-" + mbRuns.incrementAndGet()))));
+
+        StarterRequest first = fingerprint.toRequest(new MockEnvironment()
+                .withProperty("server.port", "8080").withProperty("start-verify.customer", "a"));
+        first.setMbSerialNo("changed");
+        StarterRequest second = fingerprint.toRequest(new MockEnvironment().withProperty("server.port", "9090"));
+
+        assertThat(first.getPort()).isEqualTo("8080");
+        assertThat(first.getCustomer()).isEqualTo("a");
+        assertThat(second.getMbSerialNo()).isEqualTo("mb-1");
+        assertThat(second.getPort()).isEqualTo("9090");
+        assertThat(second.getCustomer()).isNull();
+        assertThat(second.isPartial()).isFalse();
+        assertThat(mbRuns).hasValue(1);
+    }
+
+    /**
+     * 测试 refresh 重新采集，不完整的快照不被保留。
+     */
+    @Test
+    void testRefreshAndPartialSnapshots() {
+        HardwareFingerprint fingerprint = new HardwareFingerprint(detector(
+                FingerprintCollector.of(FingerprintComponent.MB, FingerprintCollector.Cost.HIGH, context -> {
+                    if (mbRuns.incrementAndGet() == 1) {
+                        throw new IllegalStateException("probe failed");
+                    }
+                    return Optional.of("mb-" + mbRuns.get());
+                })));
+
+        assertThat(fingerprint.snapshot().partial()).isTrue();
+        assertThat(fingerprint.get(FingerprintComponent.MB)).isEqualTo("mb-2");
+        assertThat(fingerprint.get(FingerprintComponent.MB)).isEqualTo("mb-2");
+
+        HardwareFingerprint.Snapshot refreshed = fingerprint.refresh();
+
+        assertThat(refreshed.value(FingerprintComponent.MB)).isEqualTo("mb-3");
+        assertThat(fingerprint.snapshot()).isSameAs(refreshed);
+        assertThat(mbRuns).hasValue(3);
+    }
+
+    private OperatingSystemDetector detector(FingerprintCollector mb) {
+        FingerprintCollector ip = FingerprintCollector.of(FingerprintComponent.IP, FingerprintCollector.Cost.LOW,
+                context -> {
+                    ipRuns.incrementAndGet();
+                    return Optional.of("10.0.0.1");
+                });
+        return new OperatingSystemDetector(List.of(mb, ip), executor, FingerprintCache.disabled(),
+                VerificationMetrics.NOOP, Duration.ofSeconds(5), ContainerDetector.disabled());
+    }
+}
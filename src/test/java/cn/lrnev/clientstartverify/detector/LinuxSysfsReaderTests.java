@@ -0,0 +1,86 @@
+package cn.lrnev.clientstartverify.detector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LinuxSysfsReaderTests {
+
+    @TempDir
+    Path root;
+
+    /**
+     * 测试从伪造的 sysfs 中读取主板序列号与系统UUID。
+     */
+    @Test
+    void testReadDmiIdentifiers() throws IOException {
+        write("sys/class/dmi/id/board_serial", "  BSN12345  \n");
+        write("sys/class/dmi/id/product_uuid", "4c4c4544-0042-3510-8052-b4c04f4e4d32\n");
+
+        LinuxSysfsReader reader = new LinuxSysfsReader(root);
+
+        assertThat(reader.readBoardSerial()).hasValue("BSN12345");
+        assertThat(reader.readProductUuid()).hasValue("4c4c4544-0042-3510-8052-b4c04f4e4d32");
+    }
+
+    /**
+     * 测试文件缺失或内容为 "Not Specified" 时返回空结果，以便回退到命令方式。
+     */
+    @Test
+    void testMissingOrUnspecifiedValuesAreEmpty() throws IOException {
+        write("sys/class/dmi/id/board_serial", "Not Specified\n");
+
+        LinuxSysfsReader reader = new LinuxSysfsReader(root);
+
+        assertThat(reader.readBoardSerial()).isEmpty();
+        assertThat(reader.readProductUuid()).isEmpty();
+        assertThat(reader.readDiskSerials()).isEmpty();
+        assertThat(reader.readNicAddresses()).isEmpty();
+    }
+
+    /**
+     * 测试硬盘序列号优先读取 serial，其次 wwid，并跳过 loop 等虚拟设备。
+     */
+    @Test
+    void testReadDiskSerials() throws IOException {
+        write("sys/block/sda/device/serial", "WD-WCC4E1234567\n");
+        write("sys/block/sdb/device/wwid", "naa.5000c500a1b2c3d4\n");
+        write("sys/block/nvme0n1/wwid", "eui.0025388b71b1e0a1\n");
+        write("sys/block/loop0/device/serial", "ignored\n");
+        Files.createDirectories(root.resolve("sys/block/vda"));
+
+        assertThat(new LinuxSysfsReader(root).readDiskSerials())
+                .hasValue("eui.0025388b71b1e0a1, WD-WCC4E1234567, naa.5000c500a1b2c3d4");
+    }
+
+    /**
+     * 测试只返回以太网类型网卡的MAC地址，并按接口索引排序。
+     */
+    @Test
+    void testReadNicAddresses() throws IOException {
+        nic("lo", 1, "772", "00:00:00:00:00:00");
+        nic("eth1", 3, "1", "52:54:00:aa:bb:02");
+        nic("eth0", 2, "1", "52:54:00:aa:bb:01");
+        nic("wg0", 4, "65534", "");
+
+        assertThat(new LinuxSysfsReader(root).readNicAddresses())
+                .hasValue("52:54:00:aa:bb:01, 52:54:00:aa:bb:02");
+    }
+
+    private void nic(String name, int ifIndex, String type, String address) throws IOException {
+        write("sys/class/net/" + name + "/ifindex", ifIndex + "\n");
+        write("sys/class/net/" + name + "/type", type + "\n");
+        write("sys/class/net/" + name + "/address", address + "\n");
+    }
+
+    private void write(String relative, String content) throws IOException {
+        Path file = root.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
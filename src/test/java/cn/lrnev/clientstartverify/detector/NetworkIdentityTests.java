@@ -0,0 +1,84 @@
+package cn.lrnev.clientstartverify.detector;
+
+import cn.lrnev.clientstartverify.cache.FingerprintCache;
+import cn.lrnev.clientstartverify.command.RecordedCommandRunner;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NetworkIdentityTests {
+
+    private static final NetworkIdentity.Interface ETH0 = new NetworkIdentity.Interface("eth0", 2,
+            "52:54:00:AA:BB:01", List.of("fe80::5054:ff:feaa:bb01%eth0", "192.168.1.20", "10.0.0.5"));
+
+    private static final NetworkIdentity.Interface ETH1 = new NetworkIdentity.Interface("eth1", 3,
+            "52:54:00:aa:bb:02", List.of("2001:db8::2"));
+
+    @TempDir
+    Path emptySysfs;
+
+    /**
+     * 测试网卡与地址的顺序固定，与枚举顺序无关，摘要随之固定。
+     */
+    @Test
+    void testOrderIsDeterministic() {
+        NetworkIdentity identity = new NetworkIdentity(List.of(ETH1, ETH0));
+
+        assertThat(identity.interfaces()).extracting(NetworkIdentity.Interface::name).containsExactly("eth0", "eth1");
+        assertThat(identity.canonical()).isEqualTo("eth0=52:54:00:aa:bb:01;10.0.0.5,192.168.1.20,"
+                + "fe80::5054:ff:feaa:bb01|eth1=52:54:00:aa:bb:02;2001:db8::2");
+        assertThat(identity.macs()).hasValue("52:54:00:aa:bb:01, 52:54:00:aa:bb:02");
+        assertThat(identity.primaryIpv4()).hasValue("10.0.0.5");
+        assertThat(identity.hash()).hasSize(64).isEqualTo(new NetworkIdentity(List.of(ETH0, ETH1)).hash());
+        assertThat(identity.hash()).isNotEqualTo(new NetworkIdentity(List.of(ETH0)).hash());
+        assertThat(new NetworkIdentity(List.of()).macs()).isEmpty();
+    }
+
+    /**
+     * 测试容器网桥、虚拟网卡对与隧道不计入网络身份。
+     */
+    @Test
+    void testVirtualInterfacesAreExcluded() {
+        assertThat(NetworkIdentity.isVirtual("docker0")).isTrue();
+        assertThat(NetworkIdentity.isVirtual("veth1a2b3c")).isTrue();
+        assertThat(NetworkIdentity.isVirtual("br-0123456789ab")).isTrue();
+        assertThat(NetworkIdentity.isVirtual("cali12345")).isTrue();
+        assertThat(NetworkIdentity.isVirtual("eth0")).isFalse();
+        assertThat(NetworkIdentity.isVirtual("enp0s31f6")).isFalse();
+        assertThat(NetworkIdentity.capture().interfaces())
+                .noneMatch(nic -> nic.name().equals("lo") || NetworkIdentity.isVirtual(nic.name()));
+    }
+
+    /**
+     * 测试 sysfs 不可用时网卡地址与IP地址共用一次网卡枚举，不执行命令。
+     */
+    @Test
+    void testNicAndIpShareOneEnumeration() {
+        AtomicInteger captures = new AtomicInteger();
+        RecordedCommandRunner runner = new RecordedCommandRunner();
+        SystemFingerprintCollectors collectors = new SystemFingerprintCollectors(runner,
+                new LinuxSysfsReader(emptySysfs), ContainerDetector.disabled(), () -> {
+            captures.incrementAndGet();
+            return new NetworkIdentity(List.of(ETH0, ETH1));
+        });
+        OperatingSystemDetector detector = new OperatingSystemDetector(List.of(collectors.nic(), collectors.ip()),
+                Runnable::run, FingerprintCache.disabled(), VerificationMetrics.NOOP, Duration.ofSeconds(5),
+                ContainerDetector.disabled());
+
+        StarterRequest request = detector.detect(new MockEnvironment());
+
+        assertThat(request.getNicSerialNo()).isEqualTo("52:54:00:aa:bb:01, 52:54:00:aa:bb:02");
+        assertThat(request.getIp()).isEqualTo("10.0.0.5");
+        assertThat(captures).hasValue(1);
+        assertThat(runner.totalInvocations()).isZero();
+    }
+}
@@ -0,0 +1,359 @@
+package cn.lrnev.clientstartverify.detector;
+
+import cn.lrnev.clientstartverify.cache.FingerprintCache;
+import cn.lrnev.clientstartverify.cache.ProbeCapabilities;
+import cn.lrnev.clientstartverify.command.RecordedCommandRunner;
+import cn.lrnev.clientstartverify.metrics.RecordedVerificationMetrics;
+import cn.lrnev.clientstartverify.metrics.RecordedVerificationMetrics.Measurement;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import cn.lrnev.clientstartverify.metrics.VerificationOutcome;
+import cn.lrnev.clientstartverify.metrics.VerificationPhase;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledOnOs(OS.LINUX)
+class OperatingSystemDetectorTests {
+
+    @TempDir
+    Path emptySysfs;
+
+    /**
+     * 测试 sysfs 不可用时通过命令获取硬件信息，且每条命令只执行一次。
+     */
+    @Test
+    void testCommandFallbackRunsEachProbeOnce() {
+        RecordedCommandRunner runner = linuxCommands();
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("server.port", "8080")
+                .withProperty("start-verify.customer", "测试公司")
+                .withProperty("start-verify.project", "测试项目");
+
+        StarterRequest request = new OperatingSystemDetector(runner, new LinuxSysfsReader(emptySysfs)).detect(env);
+
+        assertThat(request.getMbSerialNo()).isEqualTo(".5KQ8G13.CNFCW0019N001G.");
+        assertThat(request.getCpuSerialNo()).isEqualTo("54 06 05 00 FF FB EB BF, 54 06 05 00 FF FB EB BF");
+        assertThat(request.getMemorySerialNo()).isEqualTo("3A1F0C2B, 3A1F0D77");
+        assertThat(request.getDiskSerialNo()).isEqualTo("WD-WCC4E1234567, S4EWNX0N123456");
+        // 网卡地址与IP地址取自网卡枚举，不执行命令
+        assertThat(request.getNicSerialNo()).isEqualTo(NetworkIdentity.capture().macs().orElse(""));
+        assertThat(request.getIp()).isEqualTo(NetworkIdentity.capture().primaryIpv4().orElse(""));
+        assertThat(request.getPort()).isEqualTo("8080");
+        assertThat(request.getCustomer()).isEqualTo("测试公司");
+        assertThat(runner.invocations("sudo -n dmidecode -t memory")).isEqualTo(1);
+        assertThat(runner.totalInvocations()).isEqualTo(4);
+    }
+
+    /**
+     * 测试命令超时或不存在时对应字段为空字符串。
+     */
+    @Test
+    void testUnavailableCommandsYieldEmptyValues() {
+        RecordedCommandRunner runner = new RecordedCommandRunner();
+
+        StarterRequest request = new OperatingSystemDetector(runner, new LinuxSysfsReader(emptySysfs))
+                .detect(new MockEnvironment());
+
+        assertThat(request.getMbSerialNo()).isEmpty();
+        assertThat(request.getCpuSerialNo()).isEmpty();
+        assertThat(request.getMemorySerialNo()).isEmpty();
+        assertThat(request.getDiskSerialNo()).isEmpty();
+    }
+
+    /**
+     * 测试记录每个探针的结果：取得值为 success，命令不存在时为 empty。
+     */
+    @Test
+    void testProbeOutcomesAreRecorded() {
+        RecordedCommandRunner runner = new RecordedCommandRunner()
+                .record("sudo -n dmidecode -s baseboard-serial-number", ".5KQ8G13.CNFCW0019N001G.");
+        RecordedVerificationMetrics metrics = new RecordedVerificationMetrics();
+
+        new OperatingSystemDetector(runner, new LinuxSysfsReader(emptySysfs), Runnable::run,
+                FingerprintCache.disabled(), metrics).detect(new MockEnvironment());
+
+        Map<VerificationPhase, VerificationOutcome> outcomes = metrics.measurements().stream()
+                .collect(Collectors.toMap(Measurement::phase, Measurement::outcome));
+        assertThat(outcomes).containsEntry(VerificationPhase.MB, VerificationOutcome.SUCCESS)
+                .containsEntry(VerificationPhase.CPU, VerificationOutcome.EMPTY)
+                .containsEntry(VerificationPhase.MEMORY, VerificationOutcome.EMPTY)
+                .containsEntry(VerificationPhase.DISK, VerificationOutcome.EMPTY)
+                .containsKey(VerificationPhase.NIC)
+                .containsKey(VerificationPhase.IP);
+    }
+
+    /**
+     * 测试探针在独立执行器上并发运行：四个各耗时 300ms 的命令探针，总耗时接近单个探针而不是四个之和。
+     */
+    @Test
+    void testProbesRunConcurrentlyOnDedicatedExecutor() {
+        RecordedCommandRunner runner = linuxCommands().withLatency(Duration.ofMillis(300));
+        ThreadPoolExecutor executor = ProbeExecutors.create(ProbeExecutors.DEFAULT_CONCURRENCY, true);
+        try {
+            OperatingSystemDetector detector = new OperatingSystemDetector(runner, new LinuxSysfsReader(emptySysfs), executor);
+
+            long start = System.nanoTime();
+            detector.detect(new MockEnvironment());
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            assertThat(elapsed).isLessThan(Duration.ofMillis(4 * 300));
+            // 四个命令探针、网卡地址、IP地址以及容器身份，工作线程在结果返回之后才记录完成数
+            awaitIdle(executor);
+            assertThat(executor.getCompletedTaskCount()).isEqualTo(7);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 测试截止时间到达时使用已经取得的结果，未完成的组成部分为空字符串，并标记为不完整。
+     */
+    @Test
+    void testDeadlineReturnsPartialResult() {
+        RecordedCommandRunner runner = linuxCommands();
+        List<FingerprintCollector> collectors = new ArrayList<>();
+        collectors.add(FingerprintCollector.of(FingerprintComponent.DISK, FingerprintCollector.Cost.HIGH, context -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of("never");
+        }));
+        collectors.addAll(new SystemFingerprintCollectors(runner, new LinuxSysfsReader(emptySysfs)).all());
+        ThreadPoolExecutor executor = ProbeExecutors.create(ProbeExecutors.DEFAULT_CONCURRENCY, true);
+        try {
+            OperatingSystemDetector detector = new OperatingSystemDetector(collectors, executor,
+                    FingerprintCache.disabled(), VerificationMetrics.NOOP, Duration.ofMillis(300));
+
+            long start = System.nanoTime();
+            StarterRequest request = detector.detect(new MockEnvironment());
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+            assertThat(request.isPartial()).isTrue();
+            assertThat(request.getDiskSerialNo()).isEmpty();
+            assertThat(request.getMbSerialNo()).isEqualTo(".5KQ8G13.CNFCW0019N001G.");
+            assertThat(runner.invocations("sudo -n lsblk -ndo SERIAL")).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 测试开销小的采集器同样受截止时间约束，阻塞时调用线程不等待，该组成部分记为缺失。
+     */
+    @Test
+    void testLowCostCollectorIsBoundedByDeadline() {
+        List<FingerprintCollector> collectors = new ArrayList<>();
+        collectors.add(FingerprintCollector.of(FingerprintComponent.CONTAINER, FingerprintCollector.Cost.LOW, context -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of("never");
+        }));
+        collectors.addAll(new SystemFingerprintCollectors(linuxCommands(), new LinuxSysfsReader(emptySysfs)).all());
+        ThreadPoolExecutor executor = ProbeExecutors.create(ProbeExecutors.DEFAULT_CONCURRENCY, true);
+        try {
+            OperatingSystemDetector detector = new OperatingSystemDetector(collectors, executor,
+                    FingerprintCache.disabled(), VerificationMetrics.NOOP, Duration.ofMillis(300));
+
+            long start = System.nanoTime();
+            StarterRequest request = detector.detect(new MockEnvironment());
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+            assertThat(request.isPartial()).isTrue();
+            assertThat(request.getContainerIdentity()).isEmpty();
+            assertThat(request.getMbSerialNo()).isEqualTo(".5KQ8G13.CNFCW0019N001G.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 测试未启用的组成部分不运行采集器，结果为空字符串且不标记为不完整。
+     */
+    @Test
+    void testDisabledComponentsAreSkipped() {
+        RecordedCommandRunner runner = linuxCommands();
+        List<FingerprintCollector> enabled = new SystemFingerprintCollectors(runner, new LinuxSysfsReader(emptySysfs))
+                .all().stream()
+                .filter(collector -> collector.component() != FingerprintComponent.MEMORY)
+                .toList();
+
+        StarterRequest request = new OperatingSystemDetector(enabled, Runnable::run, FingerprintCache.disabled(),
+                VerificationMetrics.NOOP, Duration.ofSeconds(5)).detect(new MockEnvironment());
+
+        assertThat(request.getMemorySerialNo()).isEmpty();
+        assertThat(request.getCpuSerialNo()).isNotEmpty();
+        assertThat(request.isPartial()).isFalse();
+        assertThat(runner.invocations("sudo -n dmidecode -t memory")).isZero();
+    }
+
+    /**
+     * 测试容器中不执行任何命令，记录容器运行时与身份信息。
+     */
+    @Test
+    void testContainerSkipsCommands() throws IOException {
+        Files.createFile(emptySysfs.resolve(".dockerenv"));
+        Files.createDirectories(emptySysfs.resolve("etc"));
+        Files.writeString(emptySysfs.resolve("etc/machine-id"), "2f792dd09acb41229091a963bed5b2c7\n");
+        RecordedCommandRunner runner = linuxCommands().withLatency(Duration.ofSeconds(10));
+
+        long start = System.nanoTime();
+        StarterRequest request = new OperatingSystemDetector(runner, new LinuxSysfsReader(emptySysfs))
+                .detect(new MockEnvironment());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(runner.totalInvocations()).isZero();
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+        assertThat(request.getRuntime()).isEqualTo("docker");
+        assertThat(request.getContainerIdentity()).isEqualTo("machineId=2f792dd09acb41229091a963bed5b2c7");
+        assertThat(request.getMbSerialNo()).isEmpty();
+        assertThat(request.isPartial()).isFalse();
+    }
+
+    /**
+     * 测试 sudo 被拒绝时直接执行命令，之后的启动跳过没有结果的探针并直接使用取得结果的方式。
+     */
+    @Test
+    void testCapabilitiesSkipKnownDeadProbes() {
+        ProbeCapabilities capabilities = new ProbeCapabilities(emptySysfs.resolve("home/capabilities.properties"),
+                false, SudoMode.AUTO, new LinuxSysfsReader(emptySysfs));
+        RecordedCommandRunner first = new RecordedCommandRunner().record("lsblk -ndo SERIAL", "WD-WCC4E1234567");
+
+        assertThat(detect(first, SudoMode.AUTO, capabilities).getDiskSerialNo()).isEqualTo("WD-WCC4E1234567");
+        assertThat(first.invocations("sudo -n dmidecode -t memory")).isEqualTo(1);
+        assertThat(first.invocations("dmidecode -t memory")).isEqualTo(1);
+        assertThat(first.invocations("sudo -n lsblk -ndo SERIAL")).isEqualTo(1);
+
+        RecordedCommandRunner next = new RecordedCommandRunner().record("lsblk -ndo SERIAL", "WD-WCC4E1234567");
+        ProbeCapabilities reloaded = new ProbeCapabilities(emptySysfs.resolve("home/capabilities.properties"),
+                false, SudoMode.AUTO, new LinuxSysfsReader(emptySysfs));
+
+        StarterRequest request = detect(next, SudoMode.AUTO, reloaded);
+
+        assertThat(request.getDiskSerialNo()).isEqualTo("WD-WCC4E1234567");
+        assertThat(request.getMbSerialNo()).isEmpty();
+        assertThat(next.invocations("lsblk -ndo SERIAL")).isEqualTo(1);
+        assertThat(next.totalInvocations()).isEqualTo(1);
+    }
+
+    /**
+     * 测试 SMBIOS 结构表中没有处理器与内存结构时回退到 dmidecode，且不把 sysfs 记录为取得结果的方式。
+     */
+    @Test
+    void testSmbiosTableWithoutProcessorsFallsBackToDmidecode() throws IOException {
+        Path tables = Files.createDirectories(emptySysfs.resolve("sys/firmware/dmi/tables"));
+        // 只有 type 127 结束结构
+        Files.write(tables.resolve("DMI"), new byte[]{127, 4, 0, 0, 0, 0});
+        ProbeCapabilities capabilities = new ProbeCapabilities(emptySysfs.resolve("home/capabilities.properties"),
+                false, SudoMode.AUTO, new LinuxSysfsReader(emptySysfs));
+        RecordedCommandRunner runner = linuxCommands();
+
+        StarterRequest request = detect(runner, SudoMode.AUTO, capabilities);
+
+        assertThat(request.getCpuSerialNo()).isEqualTo("54 06 05 00 FF FB EB BF, 54 06 05 00 FF FB EB BF");
+        assertThat(request.getMemorySerialNo()).isEqualTo("3A1F0C2B, 3A1F0D77");
+        assertThat(runner.invocations("sudo -n dmidecode -t processor")).isEqualTo(1);
+        assertThat(capabilities.find(FingerprintComponent.CPU)).map(ProbeCapability::strategy)
+                .hasValue(ProbeStrategy.SUDO_COMMAND);
+        assertThat(capabilities.find(FingerprintComponent.MEMORY)).map(ProbeCapability::strategy)
+                .hasValue(ProbeStrategy.SUDO_COMMAND);
+    }
+
+    /**
+     * 测试主板序列号为 "Not Specified" 时不以系统UUID代替，与 dmidecode 取得的值一致。
+     */
+    @Test
+    void testMissingBoardSerialIsNotReplacedByProductUuid() throws IOException {
+        Path dmi = Files.createDirectories(emptySysfs.resolve("sys/class/dmi/id"));
+        Files.writeString(dmi.resolve("board_serial"), "Not Specified\n");
+        Files.writeString(dmi.resolve("product_uuid"), "4c4c4544-0042-3510-8052-b4c04f4e4d32\n");
+        RecordedCommandRunner runner = linuxCommands();
+
+        StarterRequest request = detect(runner, SudoMode.AUTO, ProbeCapabilities.disabled());
+
+        assertThat(request.getMbSerialNo()).isEqualTo(".5KQ8G13.CNFCW0019N001G.");
+        assertThat(runner.invocations("sudo -n dmidecode -s baseboard-serial-number")).isEqualTo(1);
+    }
+
+    /**
+     * 测试 sudo 设置：NEVER 只直接执行命令，ALWAYS 只以 sudo 执行。
+     */
+    @Test
+    void testSudoMode() {
+        RecordedCommandRunner never = linuxCommands();
+        assertThat(detect(never, SudoMode.NEVER, ProbeCapabilities.disabled()).getMbSerialNo()).isEmpty();
+        assertThat(never.invocations("dmidecode -s baseboard-serial-number")).isEqualTo(1);
+        assertThat(never.invocations("sudo -n dmidecode -s baseboard-serial-number")).isZero();
+
+        RecordedCommandRunner always = new RecordedCommandRunner();
+        detect(always, SudoMode.ALWAYS, ProbeCapabilities.disabled());
+        assertThat(always.invocations("sudo -n lsblk -ndo SERIAL")).isEqualTo(1);
+        assertThat(always.invocations("lsblk -ndo SERIAL")).isZero();
+    }
+
+    private StarterRequest detect(RecordedCommandRunner runner, SudoMode sudo, ProbeCapabilities capabilities) {
+        LinuxSysfsReader sysfs = new LinuxSysfsReader(emptySysfs);
+        ContainerDetector containerDetector = ContainerDetector.rootedAt(emptySysfs);
+        List<FingerprintCollector> collectors = new SystemFingerprintCollectors(runner, sysfs, containerDetector,
+                sudo, capabilities).all();
+        return new OperatingSystemDetector(collectors, Runnable::run, FingerprintCache.disabled(),
+                VerificationMetrics.NOOP, OperatingSystemDetector.DEFAULT_DEADLINE, containerDetector)
+                .detect(new MockEnvironment());
+    }
+
+    static RecordedCommandRunner linuxCommands() {
+        return new RecordedCommandRunner()
+                .record("sudo -n dmidecode -s baseboard-serial-number", ".5KQ8G13.CNFCW0019N001G.")
+                .record("sudo -n dmidecode -t processor",
+                        "# dmidecode 3.3",
+                        "Handle 0x0400, DMI type 4, 48 bytes",
+                        "Processor Information",
+                        "\tSocket Designation: CPU1",
+                        "\tID: 54 06 05 00 FF FB EB BF",
+                        "Handle 0x0401, DMI type 4, 48 bytes",
+                        "Processor Information",
+                        "\tSocket Designation: CPU2",
+                        "\tID: 54 06 05 00 FF FB EB BF")
+                .record("sudo -n dmidecode -t memory",
+                        "Memory Device",
+                        "\tSerial Number: 3A1F0C2B",
+                        "Memory Device",
+                        "\tSerial Number: 3A1F0D77",
+                        "Memory Device",
+                        "\tSerial Number: Not Specified")
+                .record("sudo -n lsblk -ndo SERIAL", "", "WD-WCC4E1234567", "S4EWNX0N123456", "");
+    }
+
+    /**
+     * 等待执行器没有正在执行与排队的任务，最多等待一秒。
+     */
+    private static void awaitIdle(ThreadPoolExecutor executor) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (executor.getCompletedTaskCount() < executor.getTaskCount() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+    }
+}
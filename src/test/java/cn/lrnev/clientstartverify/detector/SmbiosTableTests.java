@@ -0,0 +1,76 @@
+package cn.lrnev.clientstartverify.detector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmbiosTableTests {
+
+    /**
+     * 测试解析 SMBIOS 3.x 服务器结构表：主板序列号、已安装的处理器ID与内存序列号。
+     */
+    @Test
+    void testParseServerTable() throws IOException {
+        SmbiosTable table = SmbiosTable.parse(fixture("server/smbios_entry_point"), fixture("server/DMI"));
+
+        assertThat(table.getMajorVersion()).isEqualTo(3);
+        assertThat(table.getMinorVersion()).isEqualTo(2);
+        assertThat(table.findBaseboardSerial()).hasValue(".5KQ8G13.CNFCW0019N001G.");
+        assertThat(table.joinedProcessorIds()).isEqualTo("54 06 05 00 FF FB EB BF, 54 06 05 00 FF FB EB BF");
+        assertThat(table.joinedMemorySerials()).isEqualTo("3A1F0C2B, 3A1F0D77");
+    }
+
+    /**
+     * 测试解析 SMBIOS 2.x 虚拟机结构表：缺少主板结构，内存序列号未设置，且忽略声明长度之外的数据。
+     */
+    @Test
+    void testParseVirtualMachineTable() throws IOException {
+        SmbiosTable table = SmbiosTable.parse(fixture("qemu/smbios_entry_point"), fixture("qemu/DMI"));
+
+        assertThat(table.getMajorVersion()).isEqualTo(2);
+        assertThat(table.getMinorVersion()).isEqualTo(8);
+        assertThat(table.findBaseboardSerial()).isEmpty();
+        assertThat(table.getProcessorIds()).containsExactly("A5 06 05 00 FF FB 8B 0F");
+        assertThat(table.getMemorySerials()).isEmpty();
+    }
+
+    /**
+     * 测试缺少入口点时仍然可以按结构表本身的长度解析。
+     */
+    @Test
+    void testParseWithoutEntryPoint() throws IOException {
+        SmbiosTable table = SmbiosTable.parse(new byte[0], fixture("server/DMI"));
+
+        assertThat(table.getMajorVersion()).isZero();
+        assertThat(table.getProcessorIds()).hasSize(2);
+    }
+
+    /**
+     * 测试通过 sysfs 读取结构表，缺失时返回空结果以便回退到 dmidecode。
+     */
+    @Test
+    void testReadFromSysfs(@TempDir Path root) throws IOException {
+        LinuxSysfsReader reader = new LinuxSysfsReader(root);
+        assertThat(reader.readSmbiosTable()).isEmpty();
+
+        Path tables = Files.createDirectories(root.resolve("sys/firmware/dmi/tables"));
+        Files.write(tables.resolve("smbios_entry_point"), fixture("server/smbios_entry_point"));
+        Files.write(tables.resolve("DMI"), fixture("server/DMI"));
+
+        assertThat(reader.readSmbiosTable())
+                .hasValueSatisfying(table -> assertThat(table.getMemorySerials()).hasSize(2));
+    }
+
+    private static byte[] fixture(String name) throws IOException {
+        try (InputStream in = SmbiosTableTests.class.getResourceAsStream("/smbios/" + name)) {
+            assertThat(in).as(name).isNotNull();
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package cn.lrnev.clientstartverify.lease;
+
+import cn.lrnev.clientstartverify.verify.FingerprintDigest;
+import cn.lrnev.clientstartverify.verify.StarterRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaseManagerTests {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T06:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 测试保存校验服务签发的 Ed25519 租约后，在有效期内可以离线通过校验。
+     */
+    @Test
+    void testEd25519LeaseRoundTrip() throws NoSuchAlgorithmException {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        LeaseManager manager = manager(keyPair, NOW);
+        StarterRequest request = request();
+
+        manager.accept(Map.of(LeaseManager.LEASE_KEY, signedLease(keyPair, request, NOW.plus(Duration.ofDays(7)))), request);
+
+        assertThat(manager.findValid(request)).isPresent();
+        assertThat(manager.needsRenewal(manager.findValid(request).orElseThrow())).isFalse();
+        assertThat(manager(keyPair, NOW.plus(Duration.ofDays(6).plusHours(1))).findValid(request))
+                .hasValueSatisfying(lease -> assertThat(manager(keyPair, NOW.plus(Duration.ofDays(6).plusHours(1)))
+                        .needsRenewal(lease)).isTrue());
+        assertThat(manager(keyPair, NOW.plus(Duration.ofDays(8))).findValid(request)).isEmpty();
+    }
+
+    /**
+     * 测试 ECDSA 公钥同样可以从 Base64 加载并校验。
+     */
+    @Test
+    void testEcdsaLeaseFromEncodedKeys() throws NoSuchAlgorithmException {
+        KeyPair keyPair = KeyPairGenerator.getInstance("EC").generateKeyPair();
+        LeaseSigner signer = LeaseSigner.fromBase64(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        LeaseVerifier verifier = LeaseVerifier.fromBase64(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+
+        VerificationLease lease = signer.sign(unsignedLease(request(), NOW));
+
+        assertThat(verifier.verify(lease)).isTrue();
+        lease.setExpiresAt(lease.getExpiresAt() + 1);
+        assertThat(verifier.verify(lease)).isFalse();
+    }
+
+    /**
+     * 测试硬件变化、其他密钥签名的租约都不能通过校验，也不会被保存。
+     */
+    @Test
+    void testMismatchedLeasesAreRejected() throws NoSuchAlgorithmException {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        KeyPair otherKeyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        LeaseManager manager = manager(keyPair, NOW);
+        StarterRequest request = request();
+
+        manager.accept(Map.of(LeaseManager.LEASE_KEY, signedLease(otherKeyPair, request, NOW.plus(Duration.ofDays(7)))), request);
+        assertThat(manager.findValid(request)).isEmpty();
+
+        manager.accept(Map.of(LeaseManager.LEASE_KEY, signedLease(keyPair, request, NOW.plus(Duration.ofDays(7)))), request);
+        StarterRequest changed = request();
+        changed.setDiskSerialNo("WD-WCC4E1234567, S4EWNX0N123456");
+        assertThat(manager.findValid(changed)).isEmpty();
+        assertThat(manager.findValid(request)).isPresent();
+
+        manager.revoke();
+        assertThat(manager.findValid(request)).isEmpty();
+    }
+
+    /**
+     * 测试没有采集到任何硬件信息时不保存也不使用租约，否则其他同样没有硬件信息的主机的租约也能通过校验。
+     */
+    @Test
+    void testLeaseWithoutHardwareIsNotUsed() throws NoSuchAlgorithmException {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        LeaseManager manager = manager(keyPair, NOW);
+        StarterRequest empty = new StarterRequest();
+        empty.setCustomer("Mada");
+        empty.setProject("GGSC");
+
+        manager.accept(Map.of(LeaseManager.LEASE_KEY, signedLease(keyPair, empty, NOW.plus(Duration.ofDays(7)))), empty);
+
+        assertThat(manager.findValid(empty)).isEmpty();
+        assertThat(directory.resolve("lease.properties")).doesNotExist();
+    }
+
+    static VerificationLease signedLease(KeyPair keyPair, StarterRequest request, Instant expiresAt) {
+        return new LeaseSigner(keyPair.getPrivate()).sign(unsignedLease(request, expiresAt));
+    }
+
+    static VerificationLease unsignedLease(StarterRequest request, Instant expiresAt) {
+        VerificationLease lease = new VerificationLease();
+        lease.setCustomer(request.getCustomer());
+        lease.setProject(request.getProject());
+        lease.setFingerprintDigest(FingerprintDigest.of(request));
+        lease.setExpiresAt(expiresAt.toEpochMilli());
+        return lease;
+    }
+
+    static StarterRequest request() {
+        StarterRequest request = new StarterRequest();
+        request.setMbSerialNo("BSN12345");
+        request.setCpuSerialNo("54 06 05 00 FF FB EB BF");
+        request.setMemorySerialNo("3A1F0C2B");
+        request.setDiskSerialNo("WD-WCC4E1234567");
+        request.setNicSerialNo("52:54:00:aa:bb:01");
+        request.setCustomer("Mada");
+        request.setProject("GGSC");
+        return request;
+    }
+
+    private LeaseManager manager(KeyPair keyPair, Instant now) {
+        return new LeaseManager(new LeaseVerifier(keyPair.getPublic()), directory.resolve("lease.properties"),
+                Duration.ofDays(1), Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
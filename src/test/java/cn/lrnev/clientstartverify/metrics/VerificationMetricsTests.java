@@ -0,0 +1,88 @@
+package cn.lrnev.clientstartverify.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerificationMetricsTests {
+
+    /**
+     * 测试每个阶段以阶段与结果作为标签记录为 Micrometer 计时器。
+     */
+    @Test
+    void testMicrometerTimersAreTaggedByPhaseAndOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VerificationMetrics metrics = new MicrometerVerificationMetrics(registry);
+
+        metrics.start(VerificationPhase.CPU).stop(VerificationOutcome.SUCCESS);
+        metrics.start(VerificationPhase.HTTP).stop(VerificationOutcome.TIMEOUT);
+        metrics.start(VerificationPhase.HTTP).stop(VerificationOutcome.TIMEOUT);
+
+        assertThat(registry.get(MicrometerVerificationMetrics.TIMER_NAME)
+                .tags("phase", "cpu", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get(MicrometerVerificationMetrics.TIMER_NAME)
+                .tags("phase", "http", "outcome", "timeout").timer().count()).isEqualTo(2);
+    }
+
+    /**
+     * 测试应用上下文中还没有指标注册表时不记录，注册表出现后开始记录。
+     */
+    @Test
+    void testMicrometerRegistryIsResolvedLazily() {
+        try (GenericApplicationContext context = new GenericApplicationContext()) {
+            context.refresh();
+            VerificationMetrics metrics = MicrometerVerificationMetrics.fromBeanFactory(context);
+            metrics.start(VerificationPhase.MB).stop(VerificationOutcome.EMPTY);
+
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            context.getBeanFactory().registerSingleton("meterRegistry", registry);
+            metrics.record(VerificationPhase.MB, VerificationOutcome.EMPTY, Duration.ofMillis(5));
+
+            assertThat(registry.get(MicrometerVerificationMetrics.TIMER_NAME).timer().count()).isEqualTo(1);
+        }
+    }
+
+    /**
+     * 测试每个阶段记录为带结果标签的启动步骤。
+     */
+    @Test
+    void testStartupStepsAreTaggedWithOutcome() {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(16);
+        VerificationMetrics metrics = new StartupStepVerificationMetrics(startup);
+
+        metrics.start(VerificationPhase.DISK).stop(VerificationOutcome.EMPTY);
+
+        List<StartupTimeline.TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+        assertThat(events).hasSize(1);
+        StartupStep step = events.get(0).getStartupStep();
+        assertThat(step.getName()).isEqualTo("start-verify.disk");
+        assertThat(step.getTags()).anySatisfy(tag -> {
+            assertThat(tag.getKey()).isEqualTo("outcome");
+            assertThat(tag.getValue()).isEqualTo("empty");
+        });
+    }
+
+    /**
+     * 测试提前校验保存的记录可以在注册表可用后补记。
+     */
+    @Test
+    void testRecordedMeasurementsReplayIntoRegistry() {
+        RecordedVerificationMetrics recorded = new RecordedVerificationMetrics();
+        recorded.start(VerificationPhase.NIC).stop(VerificationOutcome.SUCCESS);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        recorded.replayTo(VerificationMetrics.of(List.of(VerificationMetrics.NOOP,
+                new MicrometerVerificationMetrics(registry))));
+
+        assertThat(registry.get(MicrometerVerificationMetrics.TIMER_NAME)
+                .tags("phase", "nic", "outcome", "success").timer().count()).isEqualTo(1);
+    }
+}
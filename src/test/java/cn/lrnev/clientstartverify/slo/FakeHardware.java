@@ -0,0 +1,96 @@
+package cn.lrnev.clientstartverify.slo;
+
+import cn.lrnev.clientstartverify.command.CommandResult;
+import cn.lrnev.clientstartverify.command.ProcessCommandRunner;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 模拟的 Linux 硬件
+ * <p>
+ * sysfs 指向空目录，硬件序列号全部来自 dmidecode 与 lsblk。命令行被替换为输出录制内容的 {@code sh} 脚本，
+ * 由真实的 {@link ProcessCommandRunner} 执行，因此进程启动、标准错误的读取线程与超时后结束进程树都与生产环境一致；
+ * 可以为单条命令增加执行耗时、使其挂起或输出大量标准错误。
+ *
+ * @param sysfsRoot 空的 sysfs 根目录
+ * @param scripts   命令行与替换后的脚本
+ */
+record FakeHardware(Path sysfsRoot, Map<String, String> scripts) {
+
+    static final String MB = "sudo -n dmidecode -s baseboard-serial-number";
+    static final String CPU = "sudo -n dmidecode -t processor";
+    static final String MEMORY = "sudo -n dmidecode -t memory";
+    static final String DISK = "sudo -n lsblk -ndo SERIAL";
+
+    /**
+     * @param sysfsRoot 空的 sysfs 根目录
+     * @return 每条命令立即输出录制内容的硬件
+     */
+    static FakeHardware linux(Path sysfsRoot) {
+        Map<String, String> scripts = new HashMap<>();
+        scripts.put(MB, "echo .5KQ8G13.CNFCW0019N001G.");
+        scripts.put(CPU, "printf 'Processor Information\\n\\tID: 54 06 05 00 FF FB EB BF\\n'");
+        scripts.put(MEMORY, "printf 'Memory Device\\n\\tSerial Number: 3A1F0C2B\\n'");
+        scripts.put(DISK, "printf 'WD-WCC4E1234567\\nS4EWNX0N123456\\n'");
+        return new FakeHardware(sysfsRoot, scripts);
+    }
+
+    /**
+     * @param commandLine 命令行
+     * @param delay       输出前的耗时
+     * @return 新的硬件
+     */
+    FakeHardware slow(String commandLine, Duration delay) {
+        return with(commandLine, String.format(Locale.ROOT, "sleep %.3f; %s", delay.toMillis() / 1000.0,
+                scripts.get(commandLine)));
+    }
+
+    /**
+     * 命令持续向标准错误输出并且不退出，只能在超时后被结束。
+     *
+     * @param commandLine 命令行
+     * @return 新的硬件
+     */
+    FakeHardware hanging(String commandLine) {
+        return with(commandLine, "while true; do echo 'waiting for SMBus' >&2; sleep 0.05; done");
+    }
+
+    /**
+     * @return 执行替换后脚本的命令执行器
+     */
+    ProcessCommandRunner commandRunner() {
+        return new ScriptedCommandRunner(Map.copyOf(scripts));
+    }
+
+    private FakeHardware with(String commandLine, String script) {
+        Map<String, String> copy = new HashMap<>(scripts);
+        copy.put(commandLine, script);
+        return new FakeHardware(sysfsRoot, copy);
+    }
+
+    /**
+     * 把命令行替换为脚本后执行，没有脚本的命令按 "command not found" 处理。
+     */
+    private static final class ScriptedCommandRunner extends ProcessCommandRunner {
+
+        private final Map<String, String> scripts;
+
+        private ScriptedCommandRunner(Map<String, String> scripts) {
+            this.scripts = scripts;
+        }
+
+        @Override
+        public CommandResult run(List<String> command, Duration timeout) {
+            String script = scripts.getOrDefault(String.join(" ", command),
+                    "echo \"$0: command not found\" >&2; exit 127");
+            CommandResult result = super.run(List.of("sh", "-c", script, command.get(0)), timeout);
+            return new CommandResult(command, result.getExitCode(), result.getStdout(), result.getStderr(),
+                    result.isTimedOut(), result.isTruncated(), result.getElapsed());
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package cn.lrnev.clientstartverify.slo;
+
+import cn.lrnev.clientstartverify.command.CommandRunner;
+import cn.lrnev.clientstartverify.detector.HardwareFingerprint;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.lease.LeaseManager;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import cn.lrnev.clientstartverify.verify.DefaultStartVerifier;
+import cn.lrnev.clientstartverify.verify.HedgedVerificationClient;
+import cn.lrnev.clientstartverify.verify.StartVerificationException;
+import cn.lrnev.clientstartverify.verify.StartVerifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 启动耗时的回归测试：以 runner 模式启动完整的应用，连接本地的桩校验服务，硬件探针由真实的进程模拟。
+ * 校验耗时的预算可以通过系统属性 {@code start-verify.slo.budget} 调整，例如 {@code -Dstart-verify.slo.budget=PT3S}。
+ */
+class StartupSloTests {
+
+    private static final Duration BUDGET = Duration.parse(System.getProperty("start-verify.slo.budget", "PT2S"));
+
+    // 关闭应用上下文后等待后台线程与子进程退出的时间
+    private static final Duration QUIESCE = Duration.ofSeconds(3);
+
+    @TempDir
+    Path sysfs;
+
+    private final StubLicenseServer server = StubLicenseServer.start();
+
+    private final Set<Thread> threadsBefore = liveThreads();
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    /**
+     * 测试探针与校验服务都有延迟时，校验耗时不超过预算，关闭后没有遗留的线程与子进程。
+     */
+    @Test
+    void testHealthyStartupWithinBudget() {
+        server.latency(Duration.ofMillis(50));
+        FakeHardware hardware = FakeHardware.linux(sysfs)
+                .slow(FakeHardware.MB, Duration.ofMillis(100))
+                .slow(FakeHardware.DISK, Duration.ofMillis(100));
+
+        Outcome outcome = boot(hardware, "start-verify.client.fingerprint-format=digest");
+
+        assertThat(outcome.failure()).isNull();
+        assertThat(outcome.elapsed()).isLessThan(BUDGET);
+        assertThat(server.requests()).isEqualTo(1);
+        assertThat(server.lastBody()).contains("\"fingerprintDigest\"").doesNotContain("5KQ8G13");
+        assertNoLeaks();
+    }
+
+    /**
+     * 测试挂起的探针在采集截止时间被结束，以不完整的指纹继续校验，读取标准错误的线程与子进程不遗留。
+     */
+    @Test
+    void testHangingProbeIsCutAtDetectorDeadline() {
+        Duration deadline = Duration.ofMillis(500);
+        FakeHardware hardware = FakeHardware.linux(sysfs).hanging(FakeHardware.MEMORY);
+
+        Outcome outcome = boot(hardware, "start-verify.detector.deadline=" + deadline.toMillis() + "ms");
+
+        assertThat(outcome.failure()).isNull();
+        assertThat(outcome.elapsed()).isLessThan(deadline.plus(BUDGET));
+        assertThat(server.lastBody()).contains("\"partial\":true");
+        assertNoLeaks();
+    }
+
+    /**
+     * 测试校验服务限流与间歇性错误时按重试策略恢复，耗时不超过建议的等待时间加预算。
+     */
+    @Test
+    void testThrottledAndFlakyServiceRecovers() {
+        server.throttle(1).errorRate(0.3);
+
+        Outcome outcome = boot(FakeHardware.linux(sysfs), "start-verify.retry.base-delay=50ms");
+
+        assertThat(outcome.failure()).isNull();
+        assertThat(server.requests()).isGreaterThanOrEqualTo(2);
+        assertThat(outcome.elapsed()).isLessThan(Duration.ofSeconds(1).plus(BUDGET));
+        assertNoLeaks();
+    }
+
+    /**
+     * 测试校验服务持续不可用或没有响应时，在重试预算与请求超时之内判定失败并退出。
+     */
+    @Test
+    void testFailurePathsExitWithinDeadline() {
+        Duration retryBudget = Duration.ofSeconds(1);
+        Duration clientDeadline = Duration.ofMillis(500);
+        String[] properties = {"start-verify.retry.budget=" + retryBudget.toMillis() + "ms",
+                "start-verify.retry.base-delay=50ms", "start-verify.client.deadline=" + clientDeadline.toMillis() + "ms",
+                "start-verify.client.read-timeout=" + clientDeadline.toMillis() + "ms"};
+
+        server.errorRate(1);
+        Outcome unavailable = boot(FakeHardware.linux(sysfs), properties);
+        assertThat(unavailable.failure()).isInstanceOf(StartVerificationException.class);
+        assertThat(unavailable.elapsed()).isLessThan(retryBudget.plus(clientDeadline).plus(BUDGET));
+
+        server.errorRate(0).latency(Duration.ofSeconds(30));
+        Outcome unresponsive = boot(FakeHardware.linux(sysfs), properties);
+        assertThat(unresponsive.failure()).isInstanceOf(StartVerificationException.class);
+        assertThat(unresponsive.elapsed()).isLessThan(retryBudget.plus(clientDeadline).plus(BUDGET));
+
+        server.latency(Duration.ZERO).reject();
+        Outcome rejected = boot(FakeHardware.linux(sysfs), properties);
+        assertThat(rejected.failure()).isInstanceOf(StartVerificationException.class);
+        assertThat(rejected.elapsed()).isLessThan(BUDGET);
+        assertNoLeaks();
+    }
+
+    /**
+     * 启动应用，runner 模式下校验在启动过程中完成；校验失败时应用上下文被关闭，启动方法正常返回。
+     */
+    private Outcome boot(FakeHardware hardware, String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "start-verify.url=" + server.url(),
+                "start-verify.customer=Mada",
+                "start-verify.project=GGSC",
+                "start-verify.secretKey=secret",
+                "start-verify.cache.enabled=false",
+                "start-verify.detector.container-detection=false",
+                "start-verify.detector.virtual-threads=false",
+                "logging.level.root=warn"));
+        all.addAll(List.of(properties));
+        TimedStartVerifier.reset();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SloApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(initializing -> initializing.getBeanFactory().registerSingleton("fakeHardware", hardware))
+                .properties(all.toArray(String[]::new))
+                .run();
+        context.close();
+        return new Outcome(TimedStartVerifier.elapsed, TimedStartVerifier.failure);
+    }
+
+    /**
+     * 等待后台线程与子进程退出后检查：没有新增的 start-verify 线程，没有存活的子进程。
+     */
+    private void assertNoLeaks() {
+        long deadline = System.nanoTime() + QUIESCE.toNanos();
+        List<String> leaked = leakedThreads();
+        while ((!leaked.isEmpty() || ProcessHandle.current().descendants().anyMatch(ProcessHandle::isAlive))
+                && System.nanoTime() < deadline) {
+            sleep(50);
+            leaked = leakedThreads();
+        }
+        assertThat(leaked).isEmpty();
+        assertThat(ProcessHandle.current().descendants().filter(ProcessHandle::isAlive)
+                .map(process -> process.info().commandLine().orElse("?"))).isEmpty();
+    }
+
+    private List<String> leakedThreads() {
+        return liveThreads().stream()
+                .filter(thread -> !threadsBefore.contains(thread))
+                .map(Thread::getName)
+                .filter(name -> name.startsWith("start-verify-"))
+                .toList();
+    }
+
+    private static Set<Thread> liveThreads() {
+        return Thread.getAllStackTraces().keySet().stream().filter(Thread::isAlive).collect(Collectors.toSet());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param elapsed 校验耗时
+     * @param failure 校验失败时的异常
+     */
+    private record Outcome(Duration elapsed, RuntimeException failure) {
+    }
+
+    /**
+     * 示例应用：完整的自动配置，硬件探针与 sysfs 替换为模拟实现。
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class SloApplication {
+
+        @Bean
+        CommandRunner startVerifyCommandRunner(FakeHardware fakeHardware) {
+            return fakeHardware.commandRunner();
+        }
+
+        @Bean
+        LinuxSysfsReader startVerifySysfsReader(FakeHardware fakeHardware) {
+            return new LinuxSysfsReader(fakeHardware.sysfsRoot());
+        }
+
+        @Bean
+        StartVerifier startVerifier(ConfigurableApplicationContext context, HardwareFingerprint fingerprint,
+                                    LeaseManager leaseManager, VerificationMetrics metrics,
+                                    HedgedVerificationClient client) {
+            return new TimedStartVerifier(context, fingerprint, leaseManager, metrics, client);
+        }
+    }
+
+    /**
+     * 记录校验耗时；校验失败时抛出异常而不是结束测试进程。
+     */
+    static class TimedStartVerifier extends DefaultStartVerifier {
+
+        private static volatile Duration elapsed;
+
+        private static volatile RuntimeException failure;
+
+        TimedStartVerifier(ConfigurableApplicationContext context, HardwareFingerprint fingerprint,
+                           LeaseManager leaseManager, VerificationMetrics metrics, HedgedVerificationClient client) {
+            super(context, fingerprint, leaseManager, metrics, client);
+        }
+
+        static void reset() {
+            elapsed = null;
+            failure = null;
+        }
+
+        @Override
+        public void verify() {
+            long start = System.nanoTime();
+            try {
+                super.verify();
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            } finally {
+                elapsed = Duration.ofNanos(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        protected void exitWithError() {
+            throw new StartVerificationException("Client start verification failed.");
+        }
+    }
+}
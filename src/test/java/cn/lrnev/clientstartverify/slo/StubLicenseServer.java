@@ -0,0 +1,150 @@
+package cn.lrnev.clientstartverify.slo;
+
+import cn.lrnev.clientstartverify.verify.VerificationClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地的桩校验服务
+ * <p>
+ * 基于 JDK 自带的 {@link HttpServer}，可以注入响应延迟、按比例返回 503、对前若干个请求返回 429，
+ * 或者明确拒绝。错误按固定种子的随机数产生，同样的请求顺序得到同样的结果。
+ */
+final class StubLicenseServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Random random = new Random(42);
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger throttled = new AtomicInteger();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile double errorRate;
+    private volatile boolean reject;
+    private volatile String lastBody = "";
+
+    private StubLicenseServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/client/startVerify", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @return 在随机端口上启动的桩校验服务
+     */
+    static StubLicenseServer start() {
+        return new StubLicenseServer();
+    }
+
+    /**
+     * @param latency 每个响应前的延迟
+     * @return 当前桩校验服务
+     */
+    StubLicenseServer latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * @param errorRate 返回 503 的比例
+     * @return 当前桩校验服务
+     */
+    StubLicenseServer errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * @param count 返回 429 并建议 1 秒后重试的请求数
+     * @return 当前桩校验服务
+     */
+    StubLicenseServer throttle(int count) {
+        throttled.set(count);
+        return this;
+    }
+
+    /**
+     * @return 明确拒绝全部请求的桩校验服务
+     */
+    StubLicenseServer reject() {
+        this.reject = true;
+        return this;
+    }
+
+    /**
+     * @return 校验接口地址
+     */
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/client/startVerify";
+    }
+
+    /**
+     * @return 收到的请求数
+     */
+    int requests() {
+        return requests.get();
+    }
+
+    /**
+     * @return 最后一个请求的请求体
+     */
+    String lastBody() {
+        return lastBody;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        lastBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        requests.incrementAndGet();
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+            return;
+        }
+        if (throttled.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            exchange.getResponseHeaders().add(VerificationClient.RETRY_AFTER, "1");
+            respond(exchange, 429, "{\"code\":429,\"msg\":\"服务繁忙\"}");
+        } else if (nextError()) {
+            respond(exchange, 503, "{\"code\":503,\"msg\":\"服务不可用\"}");
+        } else if (reject) {
+            respond(exchange, 200, "{\"code\":403,\"msg\":\"未授权的服务器\"}");
+        } else {
+            respond(exchange, 200, "{\"code\":200,\"msg\":\"操作成功\",\"data\":{\"version\":\"1\"}}");
+        }
+    }
+
+    private boolean nextError() {
+        synchronized (random) {
+            return random.nextDouble() < errorRate;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,121 @@
+package cn.lrnev.clientstartverify.transport;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VerificationTransportTests {
+
+    private static final byte[] BODY = {(byte) 0xa2, 0x00, (byte) 0xff, (byte) 0xc3, 0x28, 0x7f};
+
+    private HttpServer server;
+
+    private volatile String receivedContentType;
+
+    private volatile byte[] receivedBody;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/echo", this::echo);
+        server.createContext("/not-modified", exchange -> {
+            exchange.getResponseHeaders().add("ETag", "\"7\"");
+            exchange.getResponseHeaders().add("Location", "/echo");
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * 测试二进制请求体按原样发送，响应头不区分大小写。
+     */
+    @ParameterizedTest
+    @EnumSource(VerificationTransport.Kind.class)
+    void testSendsBinaryBody(VerificationTransport.Kind kind) {
+        try (VerificationTransport transport = transport(kind)) {
+            TransportResponse response = transport.send(new TransportRequest(url("/echo"),
+                    Map.of("Content-Type", "application/cbor"), BODY, Duration.ofSeconds(5))).join();
+
+            assertThat(response.status()).isEqualTo(200);
+            assertThat(response.body()).containsExactly(BODY);
+            assertThat(response.header("content-type")).isEqualTo("application/cbor");
+            assertThat(receivedBody).containsExactly(BODY);
+            assertThat(receivedContentType).isEqualTo("application/cbor");
+        }
+    }
+
+    /**
+     * 测试 304 直接返回给调用方，不作为重定向处理。
+     */
+    @ParameterizedTest
+    @EnumSource(VerificationTransport.Kind.class)
+    void testDoesNotFollowNotModified(VerificationTransport.Kind kind) {
+        try (VerificationTransport transport = transport(kind)) {
+            TransportResponse response = transport.send(new TransportRequest(url("/not-modified"), Map.of(),
+                    new byte[0], Duration.ofSeconds(5))).join();
+
+            assertThat(response.status()).isEqualTo(304);
+            assertThat(response.header("ETag")).isEqualTo("\"7\"");
+            assertThat(response.body()).isEmpty();
+            assertThat(receivedBody).isNull();
+        }
+    }
+
+    /**
+     * 测试连接失败时返回异常完成的结果，而不是抛出到调用方线程。
+     */
+    @ParameterizedTest
+    @EnumSource(VerificationTransport.Kind.class)
+    void testConnectionRefused(VerificationTransport.Kind kind) {
+        String url = url("/echo");
+        server.stop(0);
+        try (VerificationTransport transport = transport(kind)) {
+            assertThatThrownBy(() -> transport.send(new TransportRequest(url, Map.of(), BODY,
+                    Duration.ofSeconds(5))).join())
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(Exception.class);
+        }
+    }
+
+    private void echo(HttpExchange exchange) throws IOException {
+        receivedContentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        receivedBody = exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", receivedContentType);
+        exchange.sendResponseHeaders(200, receivedBody.length);
+        exchange.getResponseBody().write(receivedBody);
+        exchange.close();
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static VerificationTransport transport(VerificationTransport.Kind kind) {
+        StartVerifyProperties.Client client = new StartVerifyProperties.Client();
+        client.setTransport(kind);
+        client.setConnectTimeout(Duration.ofSeconds(2));
+        VerificationTransport transport = VerificationTransports.of(client);
+        assertThat(transport).isInstanceOf(kind == VerificationTransport.Kind.JDK
+                ? JdkHttpTransport.class : ForestTransport.class);
+        return transport;
+    }
+}
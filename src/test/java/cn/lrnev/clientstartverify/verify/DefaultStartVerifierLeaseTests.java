@@ -0,0 +1,157 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.command.RecordedCommandRunner;
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.detector.OperatingSystemDetector;
+import cn.lrnev.clientstartverify.lease.LeaseManager;
+import cn.lrnev.clientstartverify.lease.LeaseSigner;
+import cn.lrnev.clientstartverify.lease.LeaseVerifier;
+import cn.lrnev.clientstartverify.lease.VerificationLease;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class DefaultStartVerifierLeaseTests {
+
+    @TempDir
+    Path directory;
+
+    private final GenericApplicationContext context = new GenericApplicationContext();
+
+    private KeyPair keyPair;
+
+    private OperatingSystemDetector detector;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException, IOException {
+        keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        // 没有配置 start-verify.url，任何网络请求都会失败
+        context.setEnvironment(new MockEnvironment()
+                .withProperty("start-verify.customer", "Mada")
+                .withProperty("start-verify.project", "GGSC"));
+        // 至少有一个硬件组成部分，租约才能区分主机
+        Path dmi = Files.createDirectories(directory.resolve("sysfs/sys/class/dmi/id"));
+        Files.writeString(dmi.resolve("board_serial"), "BSN12345\n");
+        detector = new OperatingSystemDetector(new RecordedCommandRunner(),
+                new LinuxSysfsReader(directory.resolve("sysfs")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 测试存在有效的离线租约时，不访问校验服务即可通过启动校验。
+     */
+    @Test
+    void testValidLeaseSkipsNetworkRoundTrip() {
+        LeaseManager leaseManager = leaseManager();
+        StarterRequest request = detector.detect(context.getEnvironment());
+        VerificationLease lease = new VerificationLease();
+        lease.setCustomer("Mada");
+        lease.setProject("GGSC");
+        lease.setFingerprintDigest(FingerprintDigest.of(request));
+        lease.setExpiresAt(Instant.now().plus(Duration.ofDays(30)).toEpochMilli());
+        leaseManager.accept(Map.of(LeaseManager.LEASE_KEY, new LeaseSigner(keyPair.getPrivate()).sign(lease)), request);
+
+        assertThatCode(() -> new TestStartVerifier(leaseManager).verify()).doesNotThrowAnyException();
+    }
+
+    /**
+     * 测试没有租约且校验服务不可用时启动失败。
+     */
+    @Test
+    void testMissingLeaseFallsBackToServer() {
+        assertThatIllegalStateException().isThrownBy(() -> new TestStartVerifier(leaseManager()).verify());
+    }
+
+    /**
+     * 测试没有应用上下文时续期被校验服务拒绝：删除租约，续期以 {@link StartVerificationException} 完成，交给调用方终止应用。
+     */
+    @Test
+    void testRejectedRenewalWithoutContextCompletesExceptionally() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/verify", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = "{\"code\":500,\"msg\":\"许可已撤销\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("start-verify.customer", "Mada")
+                .withProperty("start-verify.project", "GGSC")
+                .withProperty("start-verify.url", "http://127.0.0.1:" + server.getAddress().getPort() + "/verify");
+        StartVerifyProperties properties = Binder.get(environment)
+                .bindOrCreate("start-verify", StartVerifyProperties.class);
+        LeaseManager leaseManager = leaseManager();
+        StarterRequest request = detector.detect(environment);
+        VerificationLease lease = new VerificationLease();
+        lease.setCustomer("Mada");
+        lease.setProject("GGSC");
+        lease.setFingerprintDigest(FingerprintDigest.of(request));
+        // 在续期窗口之内
+        lease.setExpiresAt(Instant.now().plus(Duration.ofHours(1)).toEpochMilli());
+        leaseManager.accept(Map.of(LeaseManager.LEASE_KEY, new LeaseSigner(keyPair.getPrivate()).sign(lease)), request);
+        try (HedgedVerificationClient client = HedgedVerificationClient.of(properties, VerificationMetrics.NOOP)) {
+            DefaultStartVerifier verifier = new DefaultStartVerifier(environment, detector, leaseManager,
+                    VerificationMetrics.NOOP, client);
+
+            verifier.verify();
+
+            assertThat(verifier.renewal()).failsWithin(Duration.ofSeconds(10))
+                    .withThrowableOfType(ExecutionException.class)
+                    .withCauseInstanceOf(StartVerificationException.class);
+            assertThat(leaseManager.findValid(request)).isEmpty();
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private LeaseManager leaseManager() {
+        return new LeaseManager(new LeaseVerifier(keyPair.getPublic()), directory.resolve("lease.properties"),
+                Duration.ofDays(1));
+    }
+
+    /**
+     * 以异常代替退出 JVM 的校验器。
+     */
+    private class TestStartVerifier extends DefaultStartVerifier {
+
+        TestStartVerifier(LeaseManager leaseManager) {
+            super(context, detector, leaseManager);
+        }
+
+        @Override
+        protected void exitWithError() {
+            throw new IllegalStateException("start verification failed");
+        }
+    }
+}
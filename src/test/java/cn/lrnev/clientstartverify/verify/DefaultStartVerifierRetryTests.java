@@ -0,0 +1,127 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.command.RecordedCommandRunner;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.detector.OperatingSystemDetector;
+import cn.lrnev.clientstartverify.lease.LeaseManager;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class DefaultStartVerifierRetryTests {
+
+    @TempDir
+    Path directory;
+
+    private HttpServer server;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private volatile int busyResponses;
+
+    private volatile int status = 503;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/verify", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * 测试校验服务返回 503 与 Retry-After 时按建议时间等待后重试成功。
+     */
+    @Test
+    void testRetriesAfterServiceUnavailable() {
+        busyResponses = 1;
+        long start = System.nanoTime();
+
+        verifier(Duration.ofSeconds(10)).verify();
+
+        assertThat(requests).hasValue(2);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+    }
+
+    /**
+     * 测试持续过载超过启动预算后判定校验失败。
+     */
+    @Test
+    void testFailsWhenBudgetExhausted() {
+        busyResponses = Integer.MAX_VALUE;
+        status = 429;
+
+        assertThatExceptionOfType(StartVerificationException.class)
+                .isThrownBy(verifier(Duration.ofMillis(500))::verify);
+        assertThat(requests).hasValue(1);
+    }
+
+    /**
+     * 测试 4xx 等明确的拒绝不重试。
+     */
+    @Test
+    void testClientErrorIsNotRetried() {
+        busyResponses = Integer.MAX_VALUE;
+        status = 403;
+
+        assertThatExceptionOfType(StartVerificationException.class)
+                .isThrownBy(verifier(Duration.ofSeconds(10))::verify);
+        assertThat(requests).hasValue(1);
+    }
+
+    private DefaultStartVerifier verifier(Duration budget) {
+        OperatingSystemDetector detector = new OperatingSystemDetector(new RecordedCommandRunner(),
+                new LinuxSysfsReader(directory));
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("start-verify.customer", "Mada")
+                .withProperty("start-verify.project", "GGSC");
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/verify";
+        RetryPolicy retryPolicy = new RetryPolicy(budget, Duration.ofMillis(50), Duration.ofSeconds(2), 3,
+                Duration.ofSeconds(1), Duration.ZERO);
+        HedgedVerificationClient client = new HedgedVerificationClient(List.of(url), new VerificationClient(),
+                Duration.ofSeconds(5), 0.95, Duration.ofSeconds(1), VerificationMetrics.NOOP, retryPolicy);
+        return new DefaultStartVerifier(environment, detector, LeaseManager.disabled(), VerificationMetrics.NOOP,
+                client);
+    }
+
+    /**
+     * 前 {@code busyResponses} 次返回过载状态并建议 1 秒后重试，之后校验成功。
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        if (requests.incrementAndGet() <= busyResponses) {
+            exchange.getResponseHeaders().add(VerificationClient.RETRY_AFTER, "1");
+            respond(exchange, status, "{\"code\":" + status + ",\"msg\":\"服务繁忙\"}");
+        } else {
+            respond(exchange, 200, "{\"code\":200,\"msg\":\"操作成功\"}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,46 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import cn.lrnev.clientstartverify.metrics.RecordedVerificationMetrics;
+import cn.lrnev.clientstartverify.metrics.VerificationPhase;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.metrics.ApplicationStartup;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class EarlyStartVerificationTests {
+
+    /**
+     * 测试提前校验与自动配置一样只运行 {@code start-verify.detector.components} 中启用的采集器。
+     */
+    @Test
+    void testDisabledComponentsAreNotProbed() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "start-verify.url", "http://127.0.0.1:1/verify",
+                "start-verify.retry.budget", "0s",
+                "start-verify.cache.enabled", "false",
+                "start-verify.detector.deadline", "5s",
+                "start-verify.detector.components.memory", "false")));
+        StartVerifyProperties properties = Binder.get(environment)
+                .bindOrCreate("start-verify", StartVerifyProperties.class);
+
+        EarlyStartVerification verification = EarlyStartVerification.start(environment, properties,
+                ApplicationStartup.DEFAULT);
+        assertThatExceptionOfType(StartVerificationException.class)
+                .isThrownBy(() -> verification.await(Duration.ofSeconds(30)));
+
+        RecordedVerificationMetrics replayed = new RecordedVerificationMetrics();
+        verification.replayTo(replayed);
+        assertThat(replayed.measurements()).extracting(RecordedVerificationMetrics.Measurement::phase)
+                .contains(VerificationPhase.MB, VerificationPhase.CPU, VerificationPhase.HTTP)
+                .doesNotContain(VerificationPhase.MEMORY);
+    }
+}
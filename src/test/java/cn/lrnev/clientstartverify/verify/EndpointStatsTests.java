@@ -0,0 +1,51 @@
+package cn.lrnev.clientstartverify.verify;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointStatsTests {
+
+    private static final Duration DEADLINE = Duration.ofSeconds(5);
+
+    /**
+     * 测试失败不计入延迟：分位数与平均延迟只反映成功的请求，对冲等待时间不会被推到整体超时。
+     */
+    @Test
+    void testFailuresDoNotInflateLatency() {
+        EndpointStats stats = new EndpointStats("http://a", DEADLINE);
+        for (int i = 0; i < 10; i++) {
+            stats.record(Duration.ofMillis(20), true);
+            stats.record(Duration.ofMillis(1), false);
+        }
+
+        assertThat(stats.percentile(0.95)).hasValue(Duration.ofMillis(20));
+        assertThat(stats.snapshot()).satisfies(latency -> {
+            assertThat(latency.ewma()).isEqualTo(Duration.ofMillis(20));
+            assertThat(latency.successes()).isEqualTo(10);
+            assertThat(latency.failures()).isEqualTo(10);
+        });
+    }
+
+    /**
+     * 测试出错的节点按错误率排到后面，恢复后随着成功的请求回到前面。
+     */
+    @Test
+    void testErrorRatePenalizesRanking() {
+        EndpointStats failing = new EndpointStats("http://a", DEADLINE);
+        EndpointStats slow = new EndpointStats("http://b", DEADLINE);
+        failing.record(Duration.ofMillis(5), false);
+        slow.record(Duration.ofMillis(200), true);
+
+        assertThat(failing.sortKey()).isGreaterThan(slow.sortKey());
+
+        for (int i = 0; i < 20; i++) {
+            failing.record(Duration.ofMillis(5), true);
+        }
+
+        assertThat(failing.sortKey()).isLessThan(slow.sortKey());
+        assertThat(failing.snapshot().errorRate()).isLessThan(0.01);
+    }
+}
@@ -0,0 +1,97 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.detector.FingerprintComponent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FingerprintDigestTests {
+
+    /**
+     * 测试网卡与硬盘的顺序、大小写与多余的空白不影响摘要。
+     */
+    @Test
+    void testOrderAndWhitespaceAreIgnored() {
+        StarterRequest first = request("AA:BB:CC:00:00:01, aa:bb:cc:00:00:02", "disk-1,disk-2");
+        StarterRequest second = request("aa:bb:cc:00:00:02,aa:bb:cc:00:00:01,", " disk-2 , disk-1");
+
+        assertThat(FingerprintDigest.normalize(" b, A ,,a")).isEqualTo("a,b");
+        assertThat(FingerprintDigest.of(second)).hasSize(64).isEqualTo(FingerprintDigest.of(first));
+    }
+
+    /**
+     * 测试更换一个组成部分时只有该组成部分的摘要变化，密钥不同时全部摘要都不同。
+     */
+    @Test
+    void testComponentDigestsChangeIndependently() {
+        StarterRequest original = request("aa:bb:cc:00:00:01", "disk-1");
+        StarterRequest replacedDisk = request("aa:bb:cc:00:00:01", "disk-9");
+
+        Map<FingerprintComponent, String> before = FingerprintDigest.components(original, "secret");
+        Map<FingerprintComponent, String> after = FingerprintDigest.components(replacedDisk, "secret");
+
+        assertThat(before).containsOnlyKeys(FingerprintComponent.MB, FingerprintComponent.CPU,
+                FingerprintComponent.DISK, FingerprintComponent.NIC);
+        assertThat(after.get(FingerprintComponent.DISK)).isNotEqualTo(before.get(FingerprintComponent.DISK));
+        assertThat(after).containsEntry(FingerprintComponent.MB, before.get(FingerprintComponent.MB))
+                .containsEntry(FingerprintComponent.NIC, before.get(FingerprintComponent.NIC));
+        assertThat(FingerprintDigest.components(original, null).get(FingerprintComponent.MB))
+                .isNotEqualTo(before.get(FingerprintComponent.MB));
+        assertThat(FingerprintDigest.components(original, "other").get(FingerprintComponent.MB))
+                .isNotEqualTo(before.get(FingerprintComponent.MB));
+    }
+
+    /**
+     * 测试只携带摘要的请求不含原始序列号与密钥，综合摘要与原始请求计算的一致。
+     */
+    @Test
+    void testDigestOnlyRequestDropsRawValues() {
+        StarterRequest request = request("aa:bb:cc:00:00:01", "disk-1");
+        request.setSecretKey("secret");
+
+        StarterRequest digested = FingerprintFormat.DIGEST.apply(request);
+
+        assertThat(digested.getMbSerialNo()).isNull();
+        assertThat(digested.getNicSerialNo()).isNull();
+        assertThat(digested.getDiskSerialNo()).isNull();
+        assertThat(digested.getSecretKey()).isNull();
+        assertThat(digested.getCustomer()).isEqualTo("Mada");
+        assertThat(digested.getComponentDigests()).isEqualTo(FingerprintDigest.components(request, "secret"));
+        assertThat(FingerprintDigest.of(digested)).isEqualTo(FingerprintDigest.of(request));
+        assertThat(FingerprintFormat.RAW.apply(request)).isSameAs(request);
+    }
+
+    /**
+     * 测试没有任何硬件组成部分的请求不能区分主机：不同主机的综合摘要相同。
+     */
+    @Test
+    void testEmptyHardwareDoesNotIdentifyHost() {
+        StarterRequest first = new StarterRequest();
+        first.setIp("10.0.0.5");
+        first.setContainerIdentity("node=worker-1");
+        StarterRequest second = new StarterRequest();
+        second.setIp("10.0.0.6");
+        second.setMbSerialNo(" , ");
+
+        assertThat(FingerprintDigest.of(first)).isEqualTo(FingerprintDigest.of(second));
+        assertThat(FingerprintDigest.identifiesHost(first)).isFalse();
+        assertThat(FingerprintDigest.identifiesHost(FingerprintDigest.digestOnly(second))).isFalse();
+        assertThat(FingerprintDigest.identifiesHost(request("aa:bb:cc:00:00:01", "disk-1"))).isTrue();
+        assertThat(FingerprintDigest.identifiesHost(FingerprintDigest.digestOnly(request("aa:bb:cc:00:00:01", "disk-1"))))
+                .isTrue();
+    }
+
+    private static StarterRequest request(String nic, String disk) {
+        StarterRequest request = new StarterRequest();
+        request.setMbSerialNo("MB-1");
+        request.setCpuSerialNo("CPU-1");
+        request.setNicSerialNo(nic);
+        request.setDiskSerialNo(disk);
+        request.setIp("10.0.0.5");
+        request.setCustomer("Mada");
+        request.setProject("GGSC");
+        return request;
+    }
+}
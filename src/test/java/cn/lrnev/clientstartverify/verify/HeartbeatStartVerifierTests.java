@@ -0,0 +1,126 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.command.RecordedCommandRunner;
+import cn.lrnev.clientstartverify.detector.LinuxSysfsReader;
+import cn.lrnev.clientstartverify.detector.OperatingSystemDetector;
+import cn.lrnev.clientstartverify.lease.LeaseManager;
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class HeartbeatStartVerifierTests {
+
+    @TempDir
+    Path directory;
+
+    private HttpServer server;
+
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+
+    private final AtomicBoolean revoked = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/heartbeat", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * 测试许可未变化时携带上次的版本并收到 304，下次间隔使用校验服务的建议值。
+     */
+    @Test
+    void testUnchangedLicenseUsesConditionalRequest() {
+        HeartbeatStartVerifier heartbeat = heartbeat(0);
+
+        assertThat(heartbeat.verifyOnce()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(heartbeat.verifyOnce()).isEqualTo(Duration.ofMinutes(10));
+        assertThat(ifNoneMatch).containsExactly("", "\"license-v1\"");
+    }
+
+    /**
+     * 测试校验服务拒绝时视为许可被撤销，并删除离线租约。
+     */
+    @Test
+    void testRevokedLicenseFailsVerification() {
+        revoked.set(true);
+
+        assertThatExceptionOfType(StartVerificationException.class).isThrownBy(heartbeat(0)::verify)
+                .withMessageContaining("许可已撤销");
+    }
+
+    /**
+     * 测试抖动后的间隔落在设定的比例范围内。
+     */
+    @Test
+    void testJitterStaysWithinBounds() {
+        HeartbeatStartVerifier heartbeat = heartbeat(0.2);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(heartbeat.jittered(Duration.ofSeconds(100)))
+                    .isBetween(Duration.ofSeconds(80), Duration.ofSeconds(120));
+        }
+    }
+
+    private HeartbeatStartVerifier heartbeat(double jitter) {
+        OperatingSystemDetector detector = new OperatingSystemDetector(new RecordedCommandRunner(),
+                new LinuxSysfsReader(directory));
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("start-verify.customer", "Mada")
+                .withProperty("start-verify.project", "GGSC");
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/heartbeat";
+        HedgedVerificationClient client = new HedgedVerificationClient(List.of(url), new VerificationClient(),
+                Duration.ofSeconds(5), 0.95, Duration.ofSeconds(1), VerificationMetrics.NOOP);
+        return new HeartbeatStartVerifier(environment, detector, LeaseManager.disabled(), client,
+                Duration.ofMinutes(10), jitter, Duration.ofMinutes(1), Duration.ofHours(1), () -> {
+        });
+    }
+
+    /**
+     * 第一次返回许可版本与 5 分钟的建议间隔，之后版本一致时返回 304。
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String version = exchange.getRequestHeaders().getFirst(VerificationClient.IF_NONE_MATCH);
+        ifNoneMatch.add(version == null ? "" : version);
+        exchange.getRequestBody().readAllBytes();
+        if (revoked.get()) {
+            respond(exchange, 200, "{\"code\":500,\"msg\":\"许可已撤销\"}");
+        } else if ("\"license-v1\"".equals(version)) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+        } else {
+            exchange.getResponseHeaders().add(VerificationClient.ETAG, "\"license-v1\"");
+            respond(exchange, 200, "{\"code\":200,\"msg\":\"操作成功\",\"data\":{\"nextCheck\":300}}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,166 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class HedgedVerificationClientTests {
+
+    private static final String OK = "{\"code\":200,\"msg\":\"操作成功\"}";
+
+    private final List<HttpServer> servers = new ArrayList<>();
+
+    private final List<HedgedVerificationClient> clients = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        clients.forEach(HedgedVerificationClient::close);
+        servers.forEach(server -> server.stop(0));
+    }
+
+    /**
+     * 测试最快节点超过对冲等待时间仍未响应时，向第二个节点发送对冲请求并采用其响应。
+     */
+    @Test
+    void testSlowEndpointIsHedged() {
+        AtomicInteger fastHits = new AtomicInteger();
+        String slow = endpoint(Duration.ofSeconds(2), 200, new AtomicInteger());
+        String fast = endpoint(Duration.ZERO, 200, fastHits);
+        HedgedVerificationClient client = client(List.of(slow, fast), Duration.ofSeconds(5), Duration.ofMillis(100));
+
+        long start = System.nanoTime();
+        VerificationResponse response = client.post(Map.of(), Map.of());
+
+        assertThat(response.isOk()).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(fastHits).hasValue(1);
+    }
+
+    /**
+     * 测试节点返回 5xx 时立即切换到下一个节点，失败计入该节点的统计。
+     */
+    @Test
+    void testFailingEndpointFailsOver() {
+        String failing = endpoint(Duration.ZERO, 503, new AtomicInteger());
+        String healthy = endpoint(Duration.ZERO, 200, new AtomicInteger());
+        HedgedVerificationClient client = client(List.of(failing, healthy), Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        assertThat(client.post(Map.of(), Map.of()).isOk()).isTrue();
+        assertThat(client.latencies()).satisfiesExactly(
+                latency -> assertThat(latency.failures()).isEqualTo(1),
+                latency -> assertThat(latency.successes()).isEqualTo(1));
+    }
+
+    /**
+     * 测试节点返回 429 时与 5xx 一样切换到下一个节点。
+     */
+    @Test
+    void testOverloadedEndpointFailsOver() {
+        String overloaded = endpoint(Duration.ZERO, 429, new AtomicInteger());
+        String healthy = endpoint(Duration.ZERO, 200, new AtomicInteger());
+        HedgedVerificationClient client = client(List.of(overloaded, healthy), Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        assertThat(client.post(Map.of(), Map.of()).isOk()).isTrue();
+        assertThat(client.latencies().get(0).failures()).isEqualTo(1);
+    }
+
+    /**
+     * 测试节点返回 429 以外的 4xx 时直接返回该响应，不切换节点，按实际耗时计入统计而不是按整体超时惩罚。
+     */
+    @Test
+    void testClientErrorIsReturnedWithoutFailover() {
+        AtomicInteger healthyHits = new AtomicInteger();
+        String forbidden = endpoint(Duration.ZERO, 403, new AtomicInteger());
+        String healthy = endpoint(Duration.ZERO, 200, healthyHits);
+        HedgedVerificationClient client = client(List.of(forbidden, healthy), Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        VerificationResponse response = client.post(Map.of(), Map.of());
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(healthyHits).hasValue(0);
+        assertThat(client.latencies().get(0)).satisfies(latency -> {
+            assertThat(latency.successes()).isEqualTo(1);
+            assertThat(latency.failures()).isZero();
+            assertThat(latency.ewma()).isLessThan(Duration.ofSeconds(1));
+        });
+    }
+
+    /**
+     * 测试按平均延迟排序：出错的节点之后的请求优先发送到健康节点。
+     */
+    @Test
+    void testFastestEndpointIsPreferred() {
+        AtomicInteger failingHits = new AtomicInteger();
+        String failing = endpoint(Duration.ZERO, 503, failingHits);
+        String healthy = endpoint(Duration.ZERO, 200, new AtomicInteger());
+        HedgedVerificationClient client = client(List.of(failing, healthy), Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        for (int i = 0; i < 3; i++) {
+            client.post(Map.of(), Map.of());
+        }
+
+        assertThat(failingHits).hasValue(1);
+    }
+
+    /**
+     * 测试所有节点都超过整体超时时以超时失败。
+     */
+    @Test
+    void testDeadlineBoundsTotalTime() {
+        String slow = endpoint(Duration.ofSeconds(2), 200, new AtomicInteger());
+        HedgedVerificationClient client = client(List.of(slow), Duration.ofMillis(300), Duration.ofMillis(100));
+
+        assertThatExceptionOfType(UncheckedIOException.class).isThrownBy(() -> client.post(Map.of(), Map.of()))
+                .withCauseInstanceOf(HttpTimeoutException.class);
+    }
+
+    private HedgedVerificationClient client(List<String> endpoints, Duration deadline, Duration hedgeDelay) {
+        HedgedVerificationClient client = new HedgedVerificationClient(endpoints,
+                new VerificationClient(Duration.ofSeconds(1), Duration.ofSeconds(5)), deadline, 0.95, hedgeDelay,
+                VerificationMetrics.NOOP);
+        clients.add(client);
+        return client;
+    }
+
+    private String endpoint(Duration delay, int status, AtomicInteger hits) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/verify", exchange -> {
+                hits.incrementAndGet();
+                exchange.getRequestBody().readAllBytes();
+                try {
+                    Thread.sleep(delay.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = OK.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            server.start();
+            servers.add(server);
+            return "http://127.0.0.1:" + server.getAddress().getPort() + "/verify";
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.core.StartVerifyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryPolicyTests {
+
+    /**
+     * 测试退避时间不低于基础间隔、不超过上限。
+     */
+    @Test
+    void testBackoffStaysWithinBounds() {
+        RetryPolicy policy = new RetryPolicy(Duration.ofHours(1), Duration.ofMillis(100), Duration.ofSeconds(2),
+                1000, Duration.ofMillis(1), Duration.ZERO);
+        RetryPolicy.Backoff backoff = policy.start();
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(backoff.next(null)).hasValueSatisfying(delay ->
+                    assertThat(delay).isBetween(Duration.ofMillis(100), Duration.ofSeconds(2)));
+        }
+    }
+
+    /**
+     * 测试校验服务建议的等待时间优先，并在其后加入不超过基础间隔的随机时间。
+     */
+    @Test
+    void testRetryAfterIsHonoured() {
+        RetryPolicy policy = new RetryPolicy(Duration.ofHours(1), Duration.ofMillis(100), Duration.ofSeconds(2),
+                3, Duration.ofSeconds(1), Duration.ZERO);
+
+        assertThat(policy.start().next(Duration.ofSeconds(10))).hasValueSatisfying(delay ->
+                assertThat(delay).isBetween(Duration.ofSeconds(10), Duration.ofMillis(10_100)));
+    }
+
+    /**
+     * 测试等待会超出启动预算时不再重试。
+     */
+    @Test
+    void testBudgetExhausted() {
+        RetryPolicy policy = new RetryPolicy(Duration.ofSeconds(5), Duration.ofMillis(100), Duration.ofSeconds(2),
+                3, Duration.ofSeconds(1), Duration.ZERO);
+
+        assertThat(policy.start().next(Duration.ofSeconds(10))).isEmpty();
+        assertThat(RetryPolicy.none().start().next(null)).isEmpty();
+    }
+
+    /**
+     * 测试令牌用完后按令牌间隔限速。
+     */
+    @Test
+    void testTokenBucketThrottlesBursts() {
+        RetryPolicy policy = new RetryPolicy(Duration.ofHours(1), Duration.ofMillis(1), Duration.ofMillis(1),
+                2, Duration.ofSeconds(5), Duration.ZERO);
+        RetryPolicy.Backoff backoff = policy.start();
+
+        assertThat(backoff.next(null)).hasValue(Duration.ofMillis(1));
+        assertThat(backoff.next(null)).hasValue(Duration.ofMillis(1));
+        Optional<Duration> throttled = backoff.next(null);
+        assertThat(throttled).hasValueSatisfying(delay ->
+                assertThat(delay).isBetween(Duration.ofSeconds(4), Duration.ofSeconds(5)));
+    }
+
+    /**
+     * 测试准入延迟按实例规模与校验服务处理能力计算，且不超过上限。
+     */
+    @Test
+    void testAdmissionDelayScalesWithFleet() {
+        StartVerifyProperties.Retry retry = new StartVerifyProperties.Retry();
+        assertThat(RetryPolicy.of(retry).admissionDelay()).isZero();
+
+        retry.setFleetSize(100);
+        retry.setAdmissionRate(50);
+        for (int i = 0; i < 50; i++) {
+            assertThat(RetryPolicy.of(retry).admissionDelay()).isBetween(Duration.ZERO, Duration.ofSeconds(2));
+        }
+
+        retry.setFleetSize(100_000);
+        for (int i = 0; i < 50; i++) {
+            assertThat(RetryPolicy.of(retry).admissionDelay()).isLessThanOrEqualTo(retry.getMaxAdmissionDelay());
+        }
+    }
+}
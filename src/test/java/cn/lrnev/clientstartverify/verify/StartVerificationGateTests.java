@@ -0,0 +1,87 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.metrics.VerificationMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class StartVerificationGateTests {
+
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    private final StartVerifier startVerifier = mock(StartVerifier.class);
+
+    /**
+     * 测试提前校验通过后关口放行，且不会再次校验。
+     */
+    @Test
+    void testCompletedVerificationOpensGate() {
+        StartVerificationGate gate = gate(CompletableFuture.completedFuture(null), Duration.ofSeconds(1));
+
+        gate.start();
+
+        assertThat(gate.isRunning()).isTrue();
+        verifyNoInteractions(startVerifier);
+    }
+
+    /**
+     * 测试提前校验未通过时关口抛出异常，终止上下文刷新。
+     */
+    @Test
+    void testFailedVerificationStopsStartup() {
+        StartVerificationGate gate = gate(
+                CompletableFuture.failedFuture(new StartVerificationException("rejected")), Duration.ofSeconds(1));
+
+        assertThatExceptionOfType(StartVerificationException.class).isThrownBy(gate::start).withMessage("rejected");
+        assertThat(gate.isRunning()).isFalse();
+    }
+
+    /**
+     * 测试提前校验超时视为校验未通过。
+     */
+    @Test
+    void testPendingVerificationTimesOut() {
+        StartVerificationGate gate = gate(new CompletableFuture<>(), Duration.ofMillis(50));
+
+        assertThatExceptionOfType(StartVerificationException.class).isThrownBy(gate::start)
+                .withMessageContaining("did not complete");
+    }
+
+    /**
+     * 测试提前校验开始的续期被拒绝时调用应用上下文提供的处理，续期因其他原因失败时不调用。
+     */
+    @Test
+    void testRejectedRenewalIsHandedToContext() {
+        AtomicInteger revoked = new AtomicInteger();
+        CompletableFuture<Void> renewal = new CompletableFuture<>();
+        beanFactory.registerSingleton(EarlyStartVerification.BEAN_NAME,
+                new EarlyStartVerification(CompletableFuture.completedFuture(null), renewal));
+        StartVerificationGate gate = new StartVerificationGate(beanFactory.getBeanProvider(EarlyStartVerification.class),
+                startVerifier, Duration.ofSeconds(1), VerificationMetrics.NOOP, revoked::incrementAndGet);
+
+        gate.start();
+        assertThat(revoked).hasValue(0);
+
+        renewal.completeExceptionally(new StartVerificationException("Client start verification failed."));
+        assertThat(revoked).hasValue(1);
+
+        new EarlyStartVerification(CompletableFuture.completedFuture(null),
+                CompletableFuture.failedFuture(new IllegalStateException("interrupted")))
+                .onRenewalRejected(revoked::incrementAndGet);
+        assertThat(revoked).hasValue(1);
+    }
+
+    private StartVerificationGate gate(CompletableFuture<Void> result, Duration timeout) {
+        beanFactory.registerSingleton(EarlyStartVerification.BEAN_NAME, new EarlyStartVerification(result));
+        return new StartVerificationGate(beanFactory.getBeanProvider(EarlyStartVerification.class), startVerifier,
+                timeout, VerificationMetrics.NOOP);
+    }
+}
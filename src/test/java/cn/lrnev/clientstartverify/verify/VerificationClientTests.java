@@ -0,0 +1,105 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.core.R;
+import cn.lrnev.clientstartverify.transport.JdkHttpTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerificationClientTests {
+
+    private HttpServer server;
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private volatile boolean acceptCbor = true;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/verify", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * 测试以压缩的 CBOR 发送请求，并按响应的 Content-Type 解码 CBOR 响应。
+     */
+    @Test
+    void testCborRequestAndResponse() {
+        VerificationClient client = new VerificationClient(new JdkHttpTransport(null), null, WireFormat.CBOR, 0);
+
+        VerificationResponse response = client.post(url(), request(), Map.of());
+
+        assertThat(response.getBody().getMsg()).isEqualTo("操作成功");
+        assertThat(requests).containsExactly("application/cbor gzip");
+    }
+
+    /**
+     * 测试校验服务以 415 拒绝 CBOR 时改用 JSON 重新发送，之后的请求直接使用 JSON。
+     */
+    @Test
+    void testFallsBackToJson() {
+        acceptCbor = false;
+        VerificationClient client = new VerificationClient(new JdkHttpTransport(null), null, WireFormat.CBOR, 0);
+
+        assertThat(client.post(url(), request(), Map.of()).getBody().getMsg()).isEqualTo("操作成功");
+        assertThat(client.post(url(), request(), Map.of()).getBody().getMsg()).isEqualTo("操作成功");
+
+        assertThat(requests).containsExactly("application/cbor gzip", "application/json -", "application/json -");
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/verify";
+    }
+
+    private static StarterRequest request() {
+        StarterRequest request = new StarterRequest();
+        request.setCustomer("Mada");
+        request.setProject("GGSC");
+        return request;
+    }
+
+    /**
+     * 记录请求的 Content-Type 与 Content-Encoding，解码请求后以相同的格式返回。
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        requests.add(contentType + " " + (contentEncoding == null ? "-" : contentEncoding));
+        WireFormat format = WireFormat.fromContentType(contentType);
+        if (format == WireFormat.CBOR && !acceptCbor) {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(415, -1);
+            exchange.close();
+            return;
+        }
+        InputStream body = "gzip".equals(contentEncoding)
+                ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody();
+        ObjectMapper mapper = format == WireFormat.CBOR ? new ObjectMapper(new CBORFactory()) : new ObjectMapper();
+        StarterRequest request = mapper.readValue(body, StarterRequest.class);
+        byte[] response = VerificationCodec.encode("Mada".equals(request.getCustomer()) ? R.ok() : R.fail(), format);
+        exchange.getResponseHeaders().add("Content-Type", format.mediaType());
+        exchange.sendResponseHeaders(200, response.length);
+        exchange.getResponseBody().write(response);
+        exchange.close();
+    }
+}
@@ -0,0 +1,89 @@
+package cn.lrnev.clientstartverify.verify;
+
+import cn.lrnev.clientstartverify.core.R;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+class VerificationCodecTests {
+
+    private static final int ITERATIONS = 20_000;
+
+    /**
+     * 对比多硬盘、多网卡服务器的请求在 JSON、CBOR 与 CBOR+gzip 下的大小与编码耗时。
+     */
+    @Test
+    void testCborIsSmallerThanJson() {
+        StarterRequest request = largeRequest();
+
+        byte[] json = VerificationCodec.encode(request, WireFormat.JSON);
+        byte[] cbor = VerificationCodec.encode(request, WireFormat.CBOR);
+        byte[] cborGzip = VerificationCodec.gzip(cbor);
+        byte[] jsonGzip = VerificationCodec.gzip(json);
+
+        log.info("StarterRequest size: JSON {} B, JSON+gzip {} B, CBOR {} B, CBOR+gzip {} B",
+                json.length, jsonGzip.length, cbor.length, cborGzip.length);
+        log.info("Encode time per request: JSON {} ns, CBOR {} ns, CBOR+gzip {} ns",
+                averageNanos(() -> VerificationCodec.encode(request, WireFormat.JSON)),
+                averageNanos(() -> VerificationCodec.encode(request, WireFormat.CBOR)),
+                averageNanos(() -> VerificationCodec.gzip(VerificationCodec.encode(request, WireFormat.CBOR))));
+
+        assertThat(cbor.length).isLessThan(json.length);
+        assertThat(cborGzip.length).isLessThan(cbor.length);
+    }
+
+    /**
+     * 测试两种格式、压缩前后都能还原响应。
+     */
+    @Test
+    void testResponseRoundTrip() {
+        R<Map<String, Object>> response = R.ok("操作成功", Map.of("version", "3", "nextCheck", 600));
+
+        for (WireFormat format : WireFormat.values()) {
+            byte[] encoded = VerificationCodec.encode(response, format);
+            assertThat(VerificationCodec.decode(encoded, format, null)).isEqualTo(response);
+            assertThat(VerificationCodec.decode(VerificationCodec.gzip(encoded), format, "gzip")).isEqualTo(response);
+        }
+        assertThat(WireFormat.fromContentType("application/cbor")).isEqualTo(WireFormat.CBOR);
+        assertThat(WireFormat.fromContentType("application/json;charset=UTF-8")).isEqualTo(WireFormat.JSON);
+    }
+
+    private static StarterRequest largeRequest() {
+        StringJoiner disks = new StringJoiner(", ");
+        for (int i = 0; i < 24; i++) {
+            disks.add(String.format("WD-WX%02dD81ABCDE", i));
+        }
+        StringJoiner nics = new StringJoiner(", ");
+        for (int i = 0; i < 8; i++) {
+            nics.add(String.format("3c:ec:ef:%02x:5a:10", i));
+        }
+        StarterRequest request = new StarterRequest();
+        request.setMbSerialNo(".5KQ8G13.CNFCW0019N001G.");
+        request.setCpuSerialNo("54 06 05 00 FF FB EB BF, 54 06 05 00 FF FB EB BF");
+        request.setMemorySerialNo("3A1F0C2B, 3A1F0D77, 3A1F0E01, 3A1F0E92");
+        request.setDiskSerialNo(disks.toString());
+        request.setNicSerialNo(nics.toString());
+        request.setIp("10.20.30.40");
+        request.setPort("8080");
+        request.setCustomer("Mada");
+        request.setProject("GGSC");
+        request.setSecretKey("123456");
+        return request;
+    }
+
+    private static long averageNanos(Runnable encode) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            encode.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            encode.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+}